@@ -0,0 +1,138 @@
+package com.tpo.unoMas.config;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Límite de requests en curso. Con hilos de plataforma el tope lo pone maxThreads de Tomcat;
+ * con hilos virtuales no hay tope y miles de requests terminarían esperando una conexión del pool
+ * hasta el timeout. Cada request toma un permiso (esperando como mucho esperaMaxMillis) y, si no
+ * lo consigue, se responde 503 con Retry-After sin llegar a la base.
+ *
+ * Son dos guardas. La de requests acota todo lo que está en curso y, si el controller es asíncrono
+ * (el login devuelve un CompletableFuture que termina en el pool de BCrypt), el permiso se libera
+ * recién al completarse la respuesta. La de base se dimensiona con el pool de Hikari y se toma solo
+ * mientras el hilo del request está dentro de la aplicación, que es donde se usan las conexiones:
+ * así las requests de más se rechazan enseguida en lugar de esperar una conexión hasta el timeout.
+ */
+public class AdmisionFilter extends OncePerRequestFilter {
+
+	private final Semaphore permisos;
+	private final Semaphore permisosBase;
+	private final long esperaMaxMillis;
+	private final Counter rechazadas;
+	private final Counter rechazadasBase;
+
+	public AdmisionFilter(int maxConcurrentes, int maxConcurrentesBase, long esperaMaxMillis, MeterRegistry registry) {
+		this.permisos = new Semaphore(maxConcurrentes);
+		this.permisosBase = new Semaphore(maxConcurrentesBase);
+		this.esperaMaxMillis = esperaMaxMillis;
+		this.rechazadas = Counter.builder("unomas.web.rechazadas")
+				.description("Requests rechazadas con 503 por falta de permisos").register(registry);
+		this.rechazadasBase = Counter.builder("unomas.web.rechazadas.base")
+				.description("Requests rechazadas con 503 por falta de permisos de base").register(registry);
+		Gauge.builder("unomas.web.en_curso", permisos, p -> maxConcurrentes - p.availablePermits())
+				.description("Requests admitidas y todavía en curso").register(registry);
+		Gauge.builder("unomas.web.base.en_curso", permisosBase, p -> maxConcurrentesBase - p.availablePermits())
+				.description("Requests con un permiso de base tomado").register(registry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// Health y scrape tienen que responder aunque la aplicación esté saturada
+		return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!adquirir(permisos)) {
+			rechazar(response, rechazadas);
+			return;
+		}
+
+		if (!adquirir(permisosBase)) {
+			permisos.release();
+			rechazar(response, rechazadasBase);
+			return;
+		}
+
+		boolean asincronica = false;
+		try {
+			filterChain.doFilter(request, response);
+			asincronica = request.isAsyncStarted();
+		} finally {
+			permisosBase.release();
+			if (asincronica) {
+				request.getAsyncContext().addListener(new LiberarAlCompletar());
+			} else {
+				permisos.release();
+			}
+		}
+	}
+
+	private boolean adquirir(Semaphore semaforo) {
+		try {
+			return semaforo.tryAcquire(esperaMaxMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void rechazar(HttpServletResponse response, Counter contador) throws IOException {
+		contador.increment();
+		response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+		response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servidor ocupado, reintente en breve.");
+	}
+
+	/**
+	 * Devuelve el permiso del request cuando termina la respuesta asíncrona. Después de onError y
+	 * onTimeout el contenedor igual llama a onComplete: el flag evita liberarlo dos veces.
+	 */
+	private final class LiberarAlCompletar implements AsyncListener {
+
+		private final AtomicBoolean liberado = new AtomicBoolean();
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			liberar();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			liberar();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// Un nuevo startAsync descarta los listeners: hay que volver a registrarse
+			event.getAsyncContext().addListener(this);
+		}
+
+		private void liberar() {
+			if (liberado.compareAndSet(false, true)) {
+				permisos.release();
+			}
+		}
+	}
+}
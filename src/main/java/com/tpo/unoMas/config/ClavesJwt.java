@@ -0,0 +1,107 @@
+package com.tpo.unoMas.config;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Claves HMAC de firma de los JWT, identificadas por kid. Los tokens se firman con la clave activa
+ * y llevan su kid en el header; al verificar se elige la clave por ese kid. Para rotar sin cortar
+ * sesiones: se agrega la clave nueva en todos los nodos, después se la marca activa y, cuando
+ * vencieron los tokens firmados con la anterior, se la quita.
+ */
+public class ClavesJwt {
+
+	public static final String CLAIM_TIPO = "tipo";
+	public static final String TIPO_ACCESO = "acceso";
+	public static final String TIPO_REFRESCO = "refresco";
+
+	private final Map<String, SecretKey> claves;
+	private final String activa;
+	private final JwtParser parser;
+
+	/**
+	 * @param claves kid -> clave HMAC (al menos 256 bits)
+	 * @param activa kid de la clave con la que se firma
+	 * @throws IllegalArgumentException si la clave activa no está entre las claves
+	 */
+	public ClavesJwt(Map<String, SecretKey> claves, String activa) {
+		if (!claves.containsKey(activa)) {
+			throw new IllegalArgumentException("La clave activa '" + activa + "' no está entre las claves configuradas");
+		}
+		this.claves = Map.copyOf(claves);
+		this.activa = activa;
+
+		// JwtParser es inmutable y thread-safe: se construye una sola vez
+		this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+			@Override
+			public Key resolveSigningKey(JwsHeader header, Claims claims) {
+				SecretKey clave = header.getKeyId() == null ? null : ClavesJwt.this.claves.get(header.getKeyId());
+				if (clave == null) {
+					throw new UnsupportedJwtException("Token sin kid o con un kid desconocido: " + header.getKeyId());
+				}
+				return clave;
+			}
+		}).build();
+	}
+
+	/**
+	 * @param claves lista "kid:claveBase64,kid:claveBase64"
+	 * @param activa kid de la clave con la que se firma
+	 */
+	public static ClavesJwt desdeConfiguracion(String claves, String activa) {
+		Map<String, SecretKey> porKid = new LinkedHashMap<>();
+		for (String entrada : claves.split(",")) {
+			String[] partes = entrada.strip().split(":", 2);
+			if (partes.length != 2 || partes[0].isBlank()) {
+				throw new IllegalArgumentException("Clave JWT mal formada, se espera kid:claveBase64");
+			}
+			porKid.put(partes[0].strip(), Keys.hmacShaKeyFor(Base64.getDecoder().decode(partes[1].strip())));
+		}
+		return new ClavesJwt(porKid, activa);
+	}
+
+	/**
+	 * Una clave aleatoria propia de este proceso: los tokens no sobreviven a un reinicio
+	 * ni sirven en otro nodo. Solo para desarrollo y tests.
+	 */
+	public static ClavesJwt efimera() {
+		String kid = "efimera-" + UUID.randomUUID();
+		return new ClavesJwt(Map.of(kid, Keys.secretKeyFor(SignatureAlgorithm.HS256)), kid);
+	}
+
+	/**
+	 * Firma con la clave activa y agrega su kid al header.
+	 * @param builder
+	 * @return el token compacto
+	 */
+	public String firmar(JwtBuilder builder) {
+		return builder.setHeaderParam(JwsHeader.KEY_ID, activa).signWith(claves.get(activa), SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	/**
+	 * @return parser que valida firma (según el kid) y expiración
+	 */
+	public JwtParser parser() {
+		return parser;
+	}
+
+	public String getActiva() {
+		return activa;
+	}
+}
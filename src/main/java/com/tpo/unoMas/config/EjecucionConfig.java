@@ -0,0 +1,33 @@
+package com.tpo.unoMas.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Modelo de ejecución. Con spring.threads.virtual.enabled=true (Java 21+) Tomcat, los @Async
+ * (applicationTaskExecutor) y los @Scheduled corren en hilos virtuales; los límites de concurrencia
+ * quedan a cargo de AdmisionFilter, del pool de Hikari y de spring.task.*.concurrency-limit.
+ * La verificación BCrypt sigue en su pool de plataforma (VerificadorPasswordService): es CPU pura.
+ */
+@Configuration
+@EnableAsync
+public class EjecucionConfig {
+
+	@Bean
+	public FilterRegistrationBean<AdmisionFilter> admisionFilter(MeterRegistry registry,
+			@Value("${unomas.web.max-concurrentes:200}") int maxConcurrentes,
+			@Value("${unomas.web.max-concurrentes-base:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentesBase,
+			@Value("${unomas.web.espera-max-ms:100}") long esperaMaxMillis) {
+		FilterRegistrationBean<AdmisionFilter> registro = new FilterRegistrationBean<>(
+				new AdmisionFilter(maxConcurrentes, maxConcurrentesBase, esperaMaxMillis, registry));
+		// Después del filtro de observación (así los 503 quedan en http.server.requests) y antes de seguridad
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+		return registro;
+	}
+}
@@ -3,17 +3,14 @@ package com.tpo.unoMas.config;
 import java.io.IOException;
 import java.util.Date;
 
-import javax.crypto.SecretKey;
-
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,10 +18,22 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-	private final SecretKey secretKey;
+	static final long CACHE_TTL_MILLIS = 30_000;
+	static final int CACHE_MAX_ENTRADAS = 10_000;
+
+	private final JwtParser parser;
+	private final ListaRevocacion revocados;
+	private final TokenCache tokenCache;
+	private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+	public JwtAuthFilter(ClavesJwt claves, ListaRevocacion revocados) {
+		this(claves, revocados, new TokenCache(CACHE_TTL_MILLIS, CACHE_MAX_ENTRADAS));
+	}
 
-	public JwtAuthFilter(SecretKey secretKey) {
-		this.secretKey = secretKey;
+	public JwtAuthFilter(ClavesJwt claves, ListaRevocacion revocados, TokenCache tokenCache) {
+		this.parser = claves.parser();
+		this.revocados = revocados;
+		this.tokenCache = tokenCache;
 	}
 
 	@Override
@@ -33,13 +42,13 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 		try {
 			String token = extractJwtFromRequest(request);
 
-			if (token != null && validateToken(token)) {
-				String username = extractUsernameFromToken(token);
+			if (token != null) {
+				String username = resolverUsuario(token);
 
 				if (username != null) {
 					UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
 							username, null, null);
-					authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+					authenticationToken.setDetails(detailsSource.buildDetails(request));
 
 					SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 				}
@@ -65,47 +74,53 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 		return null;
 	}
 
-	private boolean validateToken(String token) {
-		try {
-			Jws<Claims> claimsJws = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token);
-
-			// Verifica la firma y la expiración del token
-			if (isTokenSignatureValid(claimsJws) && isTokenNotExpired(claimsJws.getBody().getExpiration())) {
-				return true;
+	/**
+	 * Verifica el token una única vez (firma según su kid + expiración) y devuelve el usuario.
+	 * Los tokens ya verificados se sirven desde la cache sin volver a calcular el HMAC; la lista
+	 * de revocación se consulta en cada request, así que un logout corta también los cacheados.
+	 * @param token
+	 * @return el subject del token, o null si no es un token de acceso válido o fue revocado
+	 */
+	private String resolverUsuario(String token) {
+		long ahora = System.currentTimeMillis();
+
+		TokenVerificado verificado = tokenCache.get(token, ahora);
+		if (verificado == null) {
+			verificado = verificar(token);
+			if (verificado == null) {
+				return null;
 			}
-		} catch (Exception e) {
-			System.out.println("ERROR: " + e.getMessage());
+			tokenCache.put(token, verificado, ahora);
 		}
 
-		return false;
-	}
-
-	private boolean isTokenSignatureValid(Jws<Claims> claimsJws) {
-		// Verifica la firma del token con la clave secreta
-		try {
-			claimsJws.getBody(); // Esto lanzará una excepción si la firma es inválida
-			return true;
-		} catch (Exception e) {
-			return false;
+		if (revocados.estaRevocado(verificado.jti(), verificado.expiracion(), ahora)) {
+			return null;
 		}
+		return verificado.username();
 	}
 
-	private boolean isTokenNotExpired(Date expirationDate) {
-		// Verifica si la fecha de expiración del token es posterior a la fecha actual
-		return expirationDate != null && !expirationDate.before(new Date());
-	}
-
-	public String extractUsernameFromToken(String token) {
+	private TokenVerificado verificar(String token) {
 		try {
-			Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
-
-			// Extraer el nombre de usuario de la carga útil del token
+			// parseClaimsJws valida la firma y rechaza tokens expirados
+			Claims claims = parser.parseClaimsJws(token).getBody();
+			Date expiration = claims.getExpiration();
 			String username = claims.getSubject();
-			return username;
-		} catch (Exception e) {
-			// Manejar cualquier excepción que pueda ocurrir al analizar el token
+
+			// Un refresh token no sirve como token de acceso
+			if (expiration == null || username == null || claims.getId() == null
+					|| !ClavesJwt.TIPO_ACCESO.equals(claims.get(ClavesJwt.CLAIM_TIPO))) {
+				return null;
+			}
+
+			return new TokenVerificado(username, claims.getId(), expiration.getTime());
+		} catch (JwtException | IllegalArgumentException e) {
+			logger.debug("Token JWT inválido: " + e.getMessage());
 			return null;
 		}
 	}
 
+	public String extractUsernameFromToken(String token) {
+		return resolverUsuario(token);
+	}
+
 }
@@ -0,0 +1,94 @@
+package com.tpo.unoMas.config;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket de una política, por cliente, implementado como GCRA: en lugar de fichas y
+ * fecha de recarga, cada cliente guarda un único long, el instante teórico de su próxima llegada
+ * (TAT). Cada request avanza el TAT un intervalo (periodo / permisos) y se admite si no queda más
+ * de "ráfaga" intervalos por delante del reloj; la actualización es un compareAndSet, sin locks.
+ * <p>
+ * Los clientes viven en un ConcurrentHashMap (lecturas sin lock, altas con lock por bin). Un
+ * cliente cuyo TAT ya pasó tiene el bucket lleno y es indistinguible de uno nuevo, así que se
+ * descarta sin cambiar el resultado: purgar(), llamado por una tarea programada fuera del hilo de
+ * los requests, los elimina y la memoria queda acotada a los clientes activos entre dos pasadas.
+ * Si aun así se llega a maxClientes, los clientes nuevos comparten un bucket de desborde hasta la
+ * próxima purga: con muchas direcciones distintas el límite pasa a ser conjunto en lugar de dejar
+ * de aplicarse.
+ */
+public class LimitadorTasa {
+
+	static final String CLAVE_DESBORDE = "*";
+
+	private final long intervaloNanos;
+	private final long toleranciaNanos;
+	private final int maxClientes;
+	private final ConcurrentHashMap<String, AtomicLong> clientes = new ConcurrentHashMap<>();
+	private final AtomicLong desborde = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * @param permisos    requests admitidas por periodo, sostenidas
+	 * @param periodoNanos
+	 * @param rafaga      requests seguidas que admite un cliente con el bucket lleno
+	 * @param maxClientes clientes con estado propio como máximo
+	 */
+	public LimitadorTasa(long permisos, long periodoNanos, int rafaga, int maxClientes) {
+		if (permisos <= 0 || periodoNanos <= 0 || rafaga <= 0) {
+			throw new IllegalArgumentException("permisos, periodo y ráfaga tienen que ser positivos");
+		}
+		this.intervaloNanos = Math.max(1, periodoNanos / permisos);
+		this.toleranciaNanos = intervaloNanos * rafaga;
+		this.maxClientes = maxClientes;
+	}
+
+	/**
+	 * @param cliente
+	 * @param ahora   reloj monotónico, en nanos
+	 * @return 0 si se admite; si no, los nanos que faltan para que se admita la próxima
+	 */
+	public long intentar(String cliente, long ahora) {
+		AtomicLong tat = clientes.get(cliente);
+		if (tat == null) {
+			tat = clientes.size() < maxClientes
+					? clientes.computeIfAbsent(cliente, c -> new AtomicLong(Long.MIN_VALUE))
+					: desborde;
+		}
+
+		while (true) {
+			long actual = tat.get();
+			long nuevo = Math.max(actual, ahora) + intervaloNanos;
+			long adelanto = nuevo - ahora;
+			if (adelanto > toleranciaNanos) {
+				return adelanto - toleranciaNanos;
+			}
+			if (tat.compareAndSet(actual, nuevo)) {
+				return 0;
+			}
+		}
+	}
+
+	public int size() {
+		return clientes.size();
+	}
+
+	/**
+	 * Descarta los clientes con el bucket lleno. Recorre el mapa entero: no se llama desde intentar,
+	 * para que ningún request pague la pasada.
+	 * @param ahora reloj monotónico, en nanos
+	 * @return clientes descartados
+	 */
+	public int purgar(long ahora) {
+		int descartados = 0;
+		// Un request en vuelo sobre una entrada recién quitada actualiza una copia descartada:
+		// como el bucket estaba lleno, el siguiente vuelve a empezar con el bucket lleno
+		for (Iterator<AtomicLong> it = clientes.values().iterator(); it.hasNext();) {
+			if (it.next().get() <= ahora) {
+				it.remove();
+				descartados++;
+			}
+		}
+		return descartados;
+	}
+}
@@ -0,0 +1,133 @@
+package com.tpo.unoMas.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Límite de tasa por cliente y por ruta, antes de JwtAuthFilter y de AdmisionFilter: una versión
+ * de la app que reintenta en loop recibe 429 con Retry-After sin tomar un permiso de admisión,
+ * un hilo de BCrypt ni una conexión del pool.
+ * <p>
+ * El cliente es el usuario del token si JwtAuthFilter ya lo verificó (está en la TokenCache
+ * compartida) y si no la IP: el filtro no verifica firmas, y un token inventado no sirve para
+ * repartir requests entre usuarios falsos. Las rutas sin política no se limitan.
+ */
+public class LimiteTasaFilter extends OncePerRequestFilter {
+
+	private final List<PoliticaLimite> politicas;
+	private final LimitadorTasa[] limitadores;
+	private final Counter[] limitadas;
+	private final TokenCache tokenCache;
+	private final LongSupplier reloj;
+
+	public LimiteTasaFilter(List<PoliticaLimite> politicas, int maxClientes, TokenCache tokenCache,
+			MeterRegistry registry) {
+		this(politicas, maxClientes, tokenCache, registry, System::nanoTime);
+	}
+
+	/**
+	 * @param maxClientes clientes con estado propio por política
+	 * @param reloj       reloj monotónico en nanos
+	 */
+	public LimiteTasaFilter(List<PoliticaLimite> politicas, int maxClientes, TokenCache tokenCache,
+			MeterRegistry registry, LongSupplier reloj) {
+		this.politicas = List.copyOf(politicas);
+		this.limitadores = new LimitadorTasa[this.politicas.size()];
+		this.limitadas = new Counter[this.politicas.size()];
+		this.tokenCache = tokenCache;
+		this.reloj = reloj;
+
+		for (int i = 0; i < limitadores.length; i++) {
+			PoliticaLimite politica = this.politicas.get(i);
+			limitadores[i] = politica.crearLimitador(maxClientes);
+			limitadas[i] = Counter.builder("unomas.web.limitadas").tag("politica", politica.nombre())
+					.description("Requests rechazadas con 429 por límite de tasa").register(registry);
+		}
+		Gauge.builder("unomas.web.limite.clientes", this, LimiteTasaFilter::clientes)
+				.description("Clientes con estado en los limitadores de tasa").register(registry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		// Health y scrape tienen que responder aunque un cliente esté limitado
+		return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		int indice = politica(request);
+		if (indice < 0) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		long espera = limitadores[indice].intentar(cliente(request), reloj.getAsLong());
+		if (espera > 0) {
+			limitadas[indice].increment();
+			long segundos = Math.max(1, (espera + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+			response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+			response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(),
+					"Demasiadas solicitudes, reintente en " + segundos + " s.");
+			return;
+		}
+
+		filterChain.doFilter(request, response);
+	}
+
+	/**
+	 * Purga de los limitadores, en el scheduler y no en el camino de los requests.
+	 */
+	@Scheduled(initialDelayString = "${unomas.limite.purga-ms:1000}", fixedDelayString = "${unomas.limite.purga-ms:1000}")
+	public void purgar() {
+		long ahora = reloj.getAsLong();
+		for (LimitadorTasa limitador : limitadores) {
+			limitador.purgar(ahora);
+		}
+	}
+
+	private int politica(HttpServletRequest request) {
+		String ruta = request.getRequestURI().substring(request.getContextPath().length());
+		String metodo = request.getMethod();
+		for (int i = 0; i < limitadores.length; i++) {
+			if (politicas.get(i).aplica(metodo, ruta)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private String cliente(HttpServletRequest request) {
+		String autorizacion = request.getHeader(HttpHeaders.AUTHORIZATION);
+		if (autorizacion != null && autorizacion.startsWith("Bearer ")) {
+			TokenVerificado verificado = tokenCache.get(autorizacion.substring(7), System.currentTimeMillis());
+			if (verificado != null) {
+				return "u:" + verificado.username();
+			}
+		}
+		return "ip:" + request.getRemoteAddr();
+	}
+
+	private int clientes() {
+		int total = 0;
+		for (LimitadorTasa limitador : limitadores) {
+			total += limitador.size();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,81 @@
+package com.tpo.unoMas.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tokens revocados (logout, refresh ya usado), por jti. Las entradas se agrupan en buckets según
+ * la expiración del token: un token vencido ya lo rechaza el parser, así que cada bucket se
+ * descarta completo cuando termina su ventana, sin recorrer entradas. La memoria queda acotada
+ * a los tokens revocados que todavía no vencieron.
+ * La consulta usa el jti y la expiración del propio token: un get del bucket y un contains, O(1).
+ * La lista en memoria es local a cada nodo; TokenService la respalda en la tabla tokens_revocados
+ * y la recarga desde ahí al arrancar.
+ */
+public class ListaRevocacion {
+
+	private final long anchoBucketMillis;
+	private final ConcurrentHashMap<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+	private final AtomicLong ultimoBucketPurgado = new AtomicLong();
+
+	/**
+	 * @param anchoBucketMillis ventana de expiración que cubre cada bucket
+	 */
+	public ListaRevocacion(long anchoBucketMillis) {
+		this.anchoBucketMillis = anchoBucketMillis;
+	}
+
+	/**
+	 * @param jti
+	 * @param expiracion expiración del token, en epoch millis
+	 * @param ahora
+	 * @return true si el token no estaba revocado (false si ya lo estaba o si ya venció)
+	 */
+	public boolean revocar(String jti, long expiracion, long ahora) {
+		purgar(ahora);
+		if (expiracion <= ahora) {
+			return false;
+		}
+		return buckets.computeIfAbsent(expiracion / anchoBucketMillis, bucket -> ConcurrentHashMap.newKeySet())
+				.add(jti);
+	}
+
+	public boolean estaRevocado(String jti, long expiracion, long ahora) {
+		purgar(ahora);
+		Set<String> bucket = buckets.get(expiracion / anchoBucketMillis);
+		return bucket != null && bucket.contains(jti);
+	}
+
+	/**
+	 * @return cantidad de tokens revocados que todavía no vencieron (recorre los buckets, no las entradas)
+	 */
+	public int size() {
+		int total = 0;
+		for (Set<String> bucket : buckets.values()) {
+			total += bucket.size();
+		}
+		return total;
+	}
+
+	/**
+	 * @param ahora
+	 * @return inicio del bucket actual: todo token que vence antes ya fue descartado de la lista
+	 */
+	public long inicioBucketActual(long ahora) {
+		return ahora / anchoBucketMillis * anchoBucketMillis;
+	}
+
+	private void purgar(long ahora) {
+		long actual = ahora / anchoBucketMillis;
+		long ultimo = ultimoBucketPurgado.get();
+
+		// Una pasada por ventana: en el resto de las llamadas es una lectura y una comparación
+		if (actual <= ultimo || !ultimoBucketPurgado.compareAndSet(ultimo, actual)) {
+			return;
+		}
+
+		// Todos los tokens de un bucket anterior al actual ya vencieron
+		buckets.keySet().removeIf(bucket -> bucket < actual);
+	}
+}
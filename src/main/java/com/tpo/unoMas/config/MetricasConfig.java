@@ -0,0 +1,22 @@
+package com.tpo.unoMas.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Habilita @Timed (timers por clase y método en los DAO) y las tareas @Scheduled que refrescan gauges.
+ * Histogramas y percentiles se configuran por nombre de métrica en application.properties.
+ */
+@Configuration
+@EnableScheduling
+public class MetricasConfig {
+
+	@Bean
+	public TimedAspect timedAspect(MeterRegistry registry) {
+		return new TimedAspect(registry);
+	}
+}
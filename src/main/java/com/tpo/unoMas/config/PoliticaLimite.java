@@ -0,0 +1,63 @@
+package com.tpo.unoMas.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de tasa de un grupo de rutas: permisos sostenidos por periodo y ráfaga admitida.
+ * @param metodo  método HTTP, o "*" para cualquiera
+ * @param prefijo prefijo de la ruta, sin el context path
+ */
+public record PoliticaLimite(String metodo, String prefijo, long permisos, long periodoSegundos, int rafaga) {
+
+	public PoliticaLimite {
+		if (permisos <= 0 || periodoSegundos <= 0 || rafaga <= 0) {
+			throw new IllegalArgumentException("Política de límite " + metodo + " " + prefijo
+					+ ": permisos, periodo y ráfaga tienen que ser positivos");
+		}
+	}
+
+	public boolean aplica(String metodoRequest, String ruta) {
+		return ruta.startsWith(prefijo) && ("*".equals(metodo) || metodo.equalsIgnoreCase(metodoRequest));
+	}
+
+	public String nombre() {
+		return metodo + " " + prefijo;
+	}
+
+	public LimitadorTasa crearLimitador(int maxClientes) {
+		return new LimitadorTasa(permisos, TimeUnit.SECONDS.toNanos(periodoSegundos), rafaga, maxClientes);
+	}
+
+	/**
+	 * Lee "METODO /prefijo permisos/segundos ráfaga" separadas por coma, por ejemplo
+	 * "POST /auth/login 10/60 5, * /api 20/1 40". Se aplica la primera que coincide, así que las
+	 * rutas más específicas van primero.
+	 * @param politicas
+	 * @return las políticas en el orden configurado (vacía si no hay ninguna)
+	 * @throws IllegalArgumentException si alguna entrada está mal formada
+	 */
+	public static List<PoliticaLimite> desdeConfiguracion(String politicas) {
+		List<PoliticaLimite> resultado = new ArrayList<>();
+		if (politicas == null || politicas.isBlank()) {
+			return resultado;
+		}
+
+		for (String entrada : politicas.split(",")) {
+			String[] partes = entrada.strip().split("\\s+");
+			String[] tasa = partes.length == 4 ? partes[2].split("/") : new String[0];
+			if (tasa.length != 2 || !partes[1].startsWith("/")) {
+				throw new IllegalArgumentException("Política de límite mal formada, se espera "
+						+ "\"METODO /prefijo permisos/segundos ráfaga\": " + entrada.strip());
+			}
+			try {
+				resultado.add(new PoliticaLimite(partes[0].toUpperCase(), partes[1], Long.parseLong(tasa[0]),
+						Long.parseLong(tasa[1]), Integer.parseInt(partes[3])));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Política de límite mal formada: " + entrada.strip(), e);
+			}
+		}
+		return resultado;
+	}
+}
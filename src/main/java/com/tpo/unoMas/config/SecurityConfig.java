@@ -1,53 +1,111 @@
 package com.tpo.unoMas.config;
 
-import java.util.Base64;
-
-import javax.crypto.SecretKey;
-
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+	private static final Log logger = LogFactory.getLog(SecurityConfig.class);
+
 	@Bean
-	public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+	public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthFilter jwtAuth) throws Exception {
 	    http.csrf(csrf -> csrf.disable()) // útil si estás usando Postman
         .authorizeHttpRequests(authz -> authz
+            // El request original ya se autorizó: la exportación en streaming sigue en un dispatch ASYNC
+            // y los 400 de Spring en uno ERROR, donde JwtAuthFilter no vuelve a correr
+            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
             .requestMatchers("/api/clientes").permitAll()
+            .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
             .anyRequest().authenticated())
-        .addFilterBefore(jwtAuth(), UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuth, UsernamePasswordAuthenticationFilter.class);
     return http.build();
 	}
 
 	@Bean
 	public WebSecurityCustomizer webSecurityCustomizer() {
-		return (web) -> web.ignoring().requestMatchers("saludos/hola", "auth/login");
+		return (web) -> web.ignoring().requestMatchers("saludos/hola", "auth/login", "auth/refresh");
+	}
+
+	@Bean
+	public JwtAuthFilter jwtAuth(ClavesJwt clavesJwt, ListaRevocacion listaRevocacion, TokenCache tokenCache) {
+		return new JwtAuthFilter(clavesJwt, listaRevocacion, tokenCache);
+	}
+
+	/**
+	 * Tokens ya verificados por JwtAuthFilter; LimiteTasaFilter la lee para identificar al usuario sin verificar.
+	 */
+	@Bean
+	public TokenCache tokenCache() {
+		return new TokenCache(JwtAuthFilter.CACHE_TTL_MILLIS, JwtAuthFilter.CACHE_MAX_ENTRADAS);
+	}
+
+	/**
+	 * Bean propio para que corra su purga programada (@Scheduled); se registra como filtro abajo.
+	 */
+	@Bean
+	public LimiteTasaFilter limiteTasa(TokenCache tokenCache, MeterRegistry registry,
+			@Value("${unomas.limite.politicas:}") String politicas,
+			@Value("${unomas.limite.max-clientes:100000}") int maxClientes) {
+		return new LimiteTasaFilter(PoliticaLimite.desdeConfiguracion(politicas), maxClientes, tokenCache, registry);
 	}
 
+	/**
+	 * Como filtro del servlet y no dentro de la cadena de seguridad: /auth/login y /auth/refresh
+	 * están excluidas de esa cadena (webSecurityCustomizer) y son justamente las más caras.
+	 */
 	@Bean
-	public JwtAuthFilter jwtAuth() {
-		return new JwtAuthFilter(secretKey());
+	public FilterRegistrationBean<LimiteTasaFilter> limiteTasaFilter(LimiteTasaFilter limiteTasa) {
+		FilterRegistrationBean<LimiteTasaFilter> registro = new FilterRegistrationBean<>(limiteTasa);
+		// Después del filtro de observación y antes de AdmisionFilter: un request limitado no toma permiso
+		registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+		return registro;
 	}
 
+	/**
+	 * Encoder único y compartido. Al subir la fuerza, los hashes viejos se recalculan en el próximo login.
+	 */
 	@Bean
-	public SecretKey secretKey() {
-		SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-		byte[] encodedKey = secretKey.getEncoded();
-		String encodedKeyBase64 = Base64.getEncoder().encodeToString(encodedKey);
+	public BCryptPasswordEncoder passwordEncoder(@Value("${unomas.password.bcrypt-fuerza:10}") int fuerza) {
+		return new BCryptPasswordEncoder(fuerza);
+	}
 
-		// Registro de la clave secreta (solo para fines de depuración)
-		System.out.println("Secret Key (Base64): " + encodedKeyBase64);
+	/**
+	 * Claves de firma compartidas por todos los nodos (unomas.jwt.claves, "kid:claveBase64,..."),
+	 * firmando con unomas.jwt.clave-activa. Sin claves configuradas se usa una efímera de este proceso.
+	 */
+	@Bean
+	public ClavesJwt clavesJwt(@Value("${unomas.jwt.claves:}") String claves,
+			@Value("${unomas.jwt.clave-activa:}") String activa) {
+		if (claves.isBlank()) {
+			logger.warn("unomas.jwt.claves no configurada: se usa una clave efímera (los tokens no sobreviven a un reinicio)");
+			return ClavesJwt.efimera();
+		}
+		return ClavesJwt.desdeConfiguracion(claves, activa);
+	}
 
-		return secretKey;
+	@Bean
+	public ListaRevocacion listaRevocacion(MeterRegistry registry,
+			@Value("${unomas.jwt.revocacion.ancho-bucket-s:60}") long anchoBucketSegundos) {
+		ListaRevocacion lista = new ListaRevocacion(anchoBucketSegundos * 1000);
+		Gauge.builder("unomas.jwt.revocados", lista, ListaRevocacion::size)
+				.description("Tokens revocados que todavía no vencieron").register(registry);
+		return lista;
 	}
 }
@@ -0,0 +1,82 @@
+package com.tpo.unoMas.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache acotada de tokens JWT ya verificados (token -> usuario, jti y expiración).
+ * Cada entrada vive como máximo ttlMillis y nunca más allá de la expiración del token,
+ * de modo que los tokens "calientes" no vuelven a pasar por la verificación HMAC.
+ */
+public class TokenCache {
+
+	private static final long INTERVALO_LIMPIEZA_MILLIS = 1_000;
+
+	private final ConcurrentHashMap<String, Entrada> entradas = new ConcurrentHashMap<>();
+	private final AtomicLong ultimaLimpieza = new AtomicLong();
+	private final long ttlMillis;
+	private final int maxEntradas;
+
+	/**
+	 * @param ttlMillis   tiempo máximo que se reutiliza una verificación
+	 * @param maxEntradas cantidad máxima de tokens en cache (0 deshabilita la cache)
+	 */
+	public TokenCache(long ttlMillis, int maxEntradas) {
+		this.ttlMillis = ttlMillis;
+		this.maxEntradas = maxEntradas;
+	}
+
+	public TokenVerificado get(String token, long ahora) {
+		Entrada entrada = entradas.get(token);
+
+		if (entrada == null) {
+			return null;
+		}
+
+		if (entrada.venceEn() <= ahora) {
+			entradas.remove(token, entrada);
+			return null;
+		}
+
+		return entrada.token();
+	}
+
+	public void put(String token, TokenVerificado verificado, long ahora) {
+		if (maxEntradas <= 0) {
+			return;
+		}
+
+		if (entradas.size() >= maxEntradas) {
+			limpiarVencidas(ahora);
+
+			// Si sigue llena no se cachea: el token se verificará de nuevo en el próximo request
+			if (entradas.size() >= maxEntradas) {
+				return;
+			}
+		}
+
+		entradas.put(token, new Entrada(verificado, Math.min(ahora + ttlMillis, verificado.expiracion())));
+	}
+
+	public void invalidar(String token) {
+		entradas.remove(token);
+	}
+
+	public int size() {
+		return entradas.size();
+	}
+
+	private void limpiarVencidas(long ahora) {
+		long ultima = ultimaLimpieza.get();
+
+		// Como mucho una pasada por segundo, para no recorrer el mapa en cada request
+		if (ahora - ultima < INTERVALO_LIMPIEZA_MILLIS || !ultimaLimpieza.compareAndSet(ultima, ahora)) {
+			return;
+		}
+
+		entradas.values().removeIf(entrada -> entrada.venceEn() <= ahora);
+	}
+
+	private record Entrada(TokenVerificado token, long venceEn) {
+	}
+}
@@ -0,0 +1,10 @@
+package com.tpo.unoMas.config;
+
+/**
+ * Datos de un token de acceso con firma y expiración ya verificadas.
+ * @param username   subject del token
+ * @param jti        id del token, para consultar la lista de revocación
+ * @param expiracion expiración en epoch millis
+ */
+public record TokenVerificado(String username, String jti, long expiracion) {
+}
@@ -1,48 +1,81 @@
 package com.tpo.unoMas.controller;
 
-import java.util.Date;
-
-import javax.crypto.SecretKey;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.tpo.unoMas.model.entity.TokensDTO;
 import com.tpo.unoMas.model.entity.UsuarioDTO;
 import com.tpo.unoMas.service.IUsuarioService;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import com.tpo.unoMas.service.TokenService;
+import io.jsonwebtoken.JwtException;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
-	
-	private final int EXPIRATION_TIME_IN_MIN = 60;
-	
+
 	@Autowired
 	private IUsuarioService usuarioService;
 
 	@Autowired
-	private SecretKey secretKey; // Inyecta la clave secreta
+	private TokenService tokenService;
 
+	/**
+	 * La verificación BCrypt corre en el pool acotado de VerificadorPasswordService: el hilo de
+	 * Tomcat queda libre mientras tanto (respuesta asíncrona) y, si el pool está saturado,
+	 * se responde 503 con Retry-After en vez de encolar sin límite.
+	 * Devuelve un token de acceso de vida corta y un refresh token.
+	 */
 	@PostMapping("/login")
-	public ResponseEntity<String> login(@RequestBody UsuarioDTO credentials) {
-		// Validar las credenciales aquí (puedes usar Spring Security u otros
-		// mecanismos)
-		if (usuarioService.findUser(credentials.getUsername(), credentials.getPassword()) != null) {
-			// Crear el token JWT
-			String token = Jwts.builder().setSubject(credentials.getUsername()).setIssuedAt(new Date())
-					.setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_IN_MIN * 60 * 1000))
-					.signWith(secretKey, SignatureAlgorithm.HS256).compact();
-
-			return new ResponseEntity<>(token, HttpStatus.OK);
-		} else {
-			return new ResponseEntity<>("Credenciales inválidas.", HttpStatus.UNAUTHORIZED);
+	public CompletableFuture<ResponseEntity<?>> login(@RequestBody UsuarioDTO credentials) {
+		try {
+			return usuarioService.autenticar(credentials.getUsername(), credentials.getPassword()).thenApply(usuario -> {
+				if (usuario != null) {
+					return new ResponseEntity<>(tokenService.emitir(usuario.getUsername()), HttpStatus.OK);
+				} else {
+					return new ResponseEntity<>("Credenciales inválidas.", HttpStatus.UNAUTHORIZED);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "1").body("Demasiados intentos de login, reintente en breve."));
+		}
+	}
+
+	/**
+	 * Canjea un refresh token por un par nuevo. Cada refresh token sirve una sola vez.
+	 */
+	@PostMapping("/refresh")
+	public ResponseEntity<?> refresh(@RequestBody TokensDTO tokens) {
+		try {
+			return new ResponseEntity<>(tokenService.refrescar(tokens.getRefreshToken()), HttpStatus.OK);
+		} catch (JwtException e) {
+			return new ResponseEntity<>("Refresh token inválido: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
+		}
+	}
+
+	/**
+	 * Revoca el token de acceso del request y, si viene en el cuerpo, el refresh token.
+	 */
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+			@RequestBody(required = false) TokensDTO tokens) {
+		if (authorization.startsWith("Bearer ")) {
+			tokenService.revocar(authorization.substring(7));
+		}
+		if (tokens != null && tokens.getRefreshToken() != null) {
+			tokenService.revocar(tokens.getRefreshToken());
 		}
+		return ResponseEntity.noContent().build();
 	}
 
 }
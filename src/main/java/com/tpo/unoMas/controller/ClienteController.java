@@ -1,11 +1,21 @@
 package com.tpo.unoMas.controller;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,58 +23,199 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tpo.unoMas.model.entity.Cliente;
 import com.tpo.unoMas.model.entity.ClienteDTO;
+import com.tpo.unoMas.model.entity.PaginaDTO;
+import com.tpo.unoMas.model.entity.TransferenciaDTO;
 import com.tpo.unoMas.service.IClienteService;
+import com.tpo.unoMas.service.TransferenciaClientesService;
+import com.tpo.unoMas.service.TransferenciaClientesService.Formato;
+import jakarta.annotation.PostConstruct;
 
 @RestController
 @RequestMapping("/api")
 public class ClienteController {
+	private static final int LIMITE_PAGINA_MAXIMO = 500;
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+	private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+	private static final String SUFIJO_GZIP = "-gzip";
+	private static final int TAMANIO_BUFFER_GZIP = 8192;
+
 	@Autowired
 	private IClienteService clienteService;
 
+	@Autowired
+	private TransferenciaClientesService transferenciaService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// Sin flush por cliente: cada flush mandaría un chunk HTTP
+	private ObjectWriter escritorCliente;
+
+	@PostConstruct
+	public void inicializar() {
+		escritorCliente = objectMapper.writerFor(ClienteDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+	}
+
+	/**
+	 * El ETag es la versión del listado y se lee antes que los clientes: si alguien los modifica en el
+	 * medio, la respuesta trae datos más nuevos que su ETag y el próximo GET los vuelve a pedir, nunca
+	 * al revés. Con If-None-Match vigente responde 304 después de esa única consulta, sin leer filas.
+	 * <p>
+	 * El arreglo JSON se escribe a medida que se recorren los clientes, sin armar la lista ni el cuerpo
+	 * en memoria. La compresión se hace acá y no en Tomcat, que no comprime respuestas con ETag fuerte:
+	 * la versión gzip es otra representación y lleva su propio ETag fuerte ("version-gzip").
+	 */
 	// @RequestMapping(value = "/clientes", method = RequestMethod.GET)
 	@GetMapping("/clientes")
-	public List<ClienteDTO> findAll() {
-		List<Cliente> clientes = clienteService.findAll();
-        List<ClienteDTO> clienteDTOs = new ArrayList<>();
+	public ResponseEntity<StreamingResponseBody> findAll(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		boolean gzip = aceptaGzip(acceptEncoding);
+		String version = clienteService.versionListado() + (gzip ? SUFIJO_GZIP : "");
+		if (coincideIfNoneMatch(ifNoneMatch, version)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).varyBy(HttpHeaders.ACCEPT_ENCODING)
+					.build();
+		}
 
-        for (Cliente cliente : clientes) {
-            ClienteDTO clienteDTO = convertToDTO(cliente);
-            clienteDTOs.add(clienteDTO);
-        }
+		StreamingResponseBody body = salida -> {
+			GZIPOutputStream comprimida = gzip ? new GZIPOutputStream(salida, TAMANIO_BUFFER_GZIP) : null;
+			escribirListado(comprimida != null ? comprimida : salida);
+			if (comprimida != null) {
+				comprimida.finish();
+			}
+		};
 
-        return clienteDTOs;
+		ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok().eTag(version).varyBy(HttpHeaders.ACCEPT_ENCODING)
+				.contentType(MediaType.APPLICATION_JSON);
+		if (gzip) {
+			respuesta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return respuesta.body(body);
 	}
 
+	/**
+	 * Paginación por keyset: el cursor codifica el último id devuelto y la consulta
+	 * sigue desde ahí por la PK, con costo constante sin importar la página.
+	 */
+	@GetMapping("/clientes/pagina")
+	public ResponseEntity<?> findPagina(@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "limite", defaultValue = "50") int limite) {
+		if (limite <= 0 || limite > LIMITE_PAGINA_MAXIMO) {
+			String mensaje = "El límite debe estar entre 1 y " + LIMITE_PAGINA_MAXIMO;
+			return new ResponseEntity<>(mensaje, HttpStatus.BAD_REQUEST);
+		}
+
+		Long despuesDeId;
+		try {
+			despuesDeId = decodificarCursor(cursor);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>("Cursor inválido", HttpStatus.BAD_REQUEST);
+		}
+
+		// Se pide uno de más para saber si existe una página siguiente
+		List<ClienteDTO> clienteDTOs = clienteService.findPagina(despuesDeId, limite + 1);
+		boolean hayMas = clienteDTOs.size() > limite;
+		if (hayMas) {
+			clienteDTOs = clienteDTOs.subList(0, limite);
+		}
+
+		String siguienteCursor = hayMas ? codificarCursor(clienteDTOs.get(clienteDTOs.size() - 1).getId()) : null;
+		return new ResponseEntity<>(new PaginaDTO<>(clienteDTOs, siguienteCursor), HttpStatus.OK);
+	}
+
+	/**
+	 * Exportación completa en NDJSON (un ClienteDTO por línea) o CSV, escrita a medida que se
+	 * recorre el resultado: la memoria usada no depende del tamaño de la tabla.
+	 */
+	@GetMapping("/clientes/export")
+	public ResponseEntity<StreamingResponseBody> exportar(
+			@RequestParam(value = "formato", defaultValue = "ndjson") String formato) {
+		Formato formatoExportacion;
+		try {
+			formatoExportacion = Formato.de(formato);
+		} catch (IllegalArgumentException e) {
+			// El tipo de retorno tiene que ser StreamingResponseBody para que la exportación no se arme en memoria
+			byte[] mensaje = e.getMessage().getBytes(StandardCharsets.UTF_8);
+			return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(salida -> salida.write(mensaje));
+		}
+
+		StreamingResponseBody body = outputStream -> transferenciaService.exportar(outputStream, formatoExportacion);
+
+		MediaType tipo = formatoExportacion == Formato.CSV ? CSV : NDJSON;
+		return ResponseEntity.ok().contentType(tipo).body(body);
+	}
+
+	/**
+	 * Importación masiva desde el cuerpo del request, en CSV (con encabezado nombre,apellido,email)
+	 * o NDJSON según el Content-Type. Se lee en streaming y se inserta por lotes; la respuesta
+	 * resume filas importadas, rechazadas (con los primeros errores) y throughput.
+	 */
+	@PostMapping(value = "/clientes/import", consumes = { "text/csv", "application/x-ndjson" })
+	public ResponseEntity<?> importar(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+			InputStream cuerpo) throws IOException {
+		Formato formato = CSV.isCompatibleWith(contentType) ? Formato.CSV : Formato.NDJSON;
+
+		try {
+			return new ResponseEntity<>(transferenciaService.importar(cuerpo, formato), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	/**
+	 * Progreso de las importaciones y exportaciones en curso y resumen de las últimas terminadas.
+	 */
+	@GetMapping("/clientes/transferencias")
+	public List<TransferenciaDTO> transferencias() {
+		return transferenciaService.listar();
+	}
+
+	/**
+	 * El ETag es la versión del cliente: se devuelve en If-Match al modificarlo y en If-None-Match
+	 * para que, si no cambió, la respuesta sea un 304 resuelto con la consulta de la versión sola.
+	 */
 	@GetMapping("/clientes/{clienteId}")
-	public ResponseEntity<?> getCliente(@PathVariable int clienteId) {
-		Cliente cliente = clienteService.findById(clienteId);		
+	public ResponseEntity<?> getCliente(@PathVariable int clienteId,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+		if (ifNoneMatch != null) {
+			Long version = clienteService.findVersion(clienteId);
+			if (version != null && coincideIfNoneMatch(ifNoneMatch, String.valueOf(version))) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(String.valueOf(version)).build();
+			}
+		}
 
-		if (cliente == null) {
+		ClienteDTO clienteDTO = clienteService.findDTOById(clienteId);		
+
+		if (clienteDTO == null) {
 			String mensaje = "Cliente no encontrado con ID: " + clienteId;
 			return new ResponseEntity<>(mensaje, HttpStatus.NOT_FOUND);
 		}
 
-		ClienteDTO clienteDTO = convertToDTO(cliente);
-		return new ResponseEntity<>(clienteDTO, HttpStatus.OK);
+		return ResponseEntity.ok().eTag(String.valueOf(clienteDTO.getVersion())).body(clienteDTO);
 	}
 
 	@GetMapping("/clientesParam")
 	public ResponseEntity<?> getClienteParam(@RequestParam("clienteId") int clienteId) {
-		Cliente cliente = clienteService.findById(clienteId);
+		ClienteDTO clienteDTO = clienteService.findDTOById(clienteId);
 
-		if (cliente == null) {
+		if (clienteDTO == null) {
 			String mensaje = "Cliente no encontrado con ID: " + clienteId;
 			return new ResponseEntity<>(mensaje, HttpStatus.NOT_FOUND);
 		}
 
-		ClienteDTO clienteDTO = convertToDTO(cliente);
 		return new ResponseEntity<>(clienteDTO, HttpStatus.OK);
 	}
 
@@ -76,23 +227,41 @@ public class ClienteController {
 		
 		ClienteDTO nuevoClienteDTO = convertToDTO(cliente);
 
-		return new ResponseEntity<>(nuevoClienteDTO, HttpStatus.CREATED);
+		return ResponseEntity.status(HttpStatus.CREATED).eTag(String.valueOf(cliente.getVersion())).body(nuevoClienteDTO);
 	}
 
+	/**
+	 * Modificación en una transacción con un solo UPDATE. Con If-Match (el ETag de GET /clientes/{id})
+	 * solo se aplica si nadie modificó el cliente desde esa lectura; si no, responde 412.
+	 */
 	@PutMapping("/clientes/{clienteId}")
-	public ResponseEntity<?> updateCliente(@PathVariable int clienteId, @RequestBody ClienteDTO clienteDTO) {
-		Cliente clienteOld = clienteService.findById(clienteId);
+	public ResponseEntity<?> updateCliente(@PathVariable int clienteId,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+			@RequestBody ClienteDTO clienteDTO) {
+		// If-Match usa comparación fuerte (RFC 9110): un ETag débil nunca coincide
+		if (ifMatch != null && ifMatch.strip().startsWith("W/")) {
+			return new ResponseEntity<>("If-Match no admite ETags débiles: " + ifMatch, HttpStatus.PRECONDITION_FAILED);
+		}
 
-		if (clienteOld == null) {
-			String mensaje = "Cliente no encontrado con ID: " + clienteId;
-			return new ResponseEntity<>(mensaje, HttpStatus.NOT_FOUND);
+		Long versionEsperada;
+		try {
+			versionEsperada = versionDeIfMatch(ifMatch);
+		} catch (NumberFormatException e) {
+			return new ResponseEntity<>("If-Match inválido: " + ifMatch, HttpStatus.BAD_REQUEST);
 		}
 
 		Cliente clienteToUpdate = convertToEntity(clienteDTO);
-		clienteService.update(clienteId, clienteToUpdate);
-		
-        ClienteDTO clienteUpdatedDTO = convertToDTO(clienteToUpdate);
-		return new ResponseEntity<>(clienteUpdatedDTO, HttpStatus.OK);
+		long version;
+		try {
+			version = clienteService.update(clienteId, clienteToUpdate, versionEsperada);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		} catch (OptimisticLockingFailureException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.PRECONDITION_FAILED);
+		}
+
+		ClienteDTO clienteUpdatedDTO = convertToDTO(clienteToUpdate);
+		return ResponseEntity.ok().eTag(String.valueOf(version)).body(clienteUpdatedDTO);
 	}
 
 	@DeleteMapping("clientes/{clienteId}")
@@ -120,6 +289,102 @@ public class ClienteController {
 		return clienteDTO;
 	}
 
+	/**
+	 * @param ifMatch un único ETag fuerte, con o sin comillas; "*" o null no controlan la versión
+	 * @return la versión, o null
+	 * @throws NumberFormatException si el ETag no es una versión
+	 */
+	private Long versionDeIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+			return null;
+		}
+
+		return Long.valueOf(valorEtag(ifMatch));
+	}
+
+	/**
+	 * Comparación débil, la que RFC 9110 pide para If-None-Match: W/"3" coincide con "3". Un proxy
+	 * que recomprime la respuesta puede debilitar el ETag, y el cliente lo devuelve así.
+	 * @param ifNoneMatch ETags separados por coma, "*" o null
+	 * @param version     valor actual del ETag, sin comillas
+	 */
+	private boolean coincideIfNoneMatch(String ifNoneMatch, String version) {
+		if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+			return false;
+		}
+
+		for (String etag : ifNoneMatch.split(",")) {
+			if (etag.strip().equals("*") || valorEtag(etag).equals(version)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param acceptEncoding por ejemplo "br, gzip;q=0.8"; gzip (o *) con q=0 cuenta como rechazado
+	 */
+	private boolean aceptaGzip(String acceptEncoding) {
+		if (acceptEncoding == null) {
+			return false;
+		}
+
+		for (String codificacion : acceptEncoding.split(",")) {
+			String[] partes = codificacion.split(";");
+			String nombre = partes[0].strip();
+			if (nombre.equalsIgnoreCase("gzip") || nombre.equals("*")) {
+				return partes.length < 2 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+			}
+		}
+		return false;
+	}
+
+	private String valorEtag(String etag) {
+		String valor = etag.strip();
+		if (valor.startsWith("W/")) {
+			valor = valor.substring(2);
+		}
+		if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+			valor = valor.substring(1, valor.length() - 1);
+		}
+		return valor;
+	}
+
+	/**
+	 * Escribe el arreglo de ClienteDTO recorriendo el resultado con un cursor: la memoria usada no
+	 * depende del tamaño de la tabla.
+	 */
+	private void escribirListado(OutputStream salida) throws IOException {
+		try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+			// El stream es de la respuesta: se vacía al cerrar el generador pero no se cierra
+			generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generador.writeStartArray();
+			try {
+				clienteService.exportar(cliente -> {
+					try {
+						escritorCliente.writeValue(generador, cliente);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			generador.writeEndArray();
+		}
+	}
+
+	private String codificarCursor(Long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Long decodificarCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Método auxiliar para convertir a Cliente
 	 * @param clienteDTO
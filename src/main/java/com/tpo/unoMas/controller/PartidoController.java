@@ -0,0 +1,216 @@
+package com.tpo.unoMas.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.entity.PaginaDTO;
+import com.tpo.unoMas.model.entity.PartidoCercanoDTO;
+import com.tpo.unoMas.model.entity.PartidoRecomendadoDTO;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.service.IPartidoService;
+
+@RestController
+@RequestMapping("/api")
+public class PartidoController {
+
+	private static final int LIMITE_MAXIMO = 100;
+	// Las búsquedas por radio recorren celdas que crecen con su cuadrado: más allá de esto no es "cerca"
+	private static final double RADIO_MAXIMO_KM = 50;
+
+	@Autowired
+	private IPartidoService partidoService;
+
+	/**
+	 * Búsqueda por deporte, nivel, zona, estado y ventana de fechaHora [desde, hasta), en orden de fecha.
+	 * Paginación por keyset: el cursor codifica fechaHora e id del último partido devuelto.
+	 * El plantel de cada partido solo se incluye con incluirJugadores=true.
+	 */
+	@GetMapping("/partidos")
+	public ResponseEntity<?> buscar(@RequestParam(value = "deporteId", required = false) Long deporteId,
+			@RequestParam(value = "nivel", required = false) Nivel nivel,
+			@RequestParam(value = "zonaId", required = false) Long zonaId,
+			@RequestParam(value = "estado", required = false) String estado,
+			@RequestParam(value = "desde", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+			@RequestParam(value = "hasta", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "limite", defaultValue = "20") int limite,
+			@RequestParam(value = "incluirJugadores", defaultValue = "false") boolean incluirJugadores) {
+		if (limite <= 0 || limite > LIMITE_MAXIMO) {
+			return new ResponseEntity<>("El límite debe estar entre 1 y " + LIMITE_MAXIMO, HttpStatus.BAD_REQUEST);
+		}
+		if (desde != null && hasta != null && !desde.isBefore(hasta)) {
+			return new ResponseEntity<>("desde debe ser anterior a hasta", HttpStatus.BAD_REQUEST);
+		}
+
+		EstadoPartido estadoPartido;
+		try {
+			estadoPartido = estado == null ? null : EstadoPartido.desdeNombre(estado);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+		}
+
+		LocalDateTime despuesDeFecha = null;
+		Long despuesDeId = null;
+		if (cursor != null && !cursor.isBlank()) {
+			try {
+				String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+				despuesDeFecha = LocalDateTime.parse(partes[0]);
+				despuesDeId = Long.valueOf(partes[1]);
+			} catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+				return new ResponseEntity<>("Cursor inválido", HttpStatus.BAD_REQUEST);
+			}
+		}
+
+		FiltroPartidos filtro = new FiltroPartidos(deporteId, nivel, zonaId, estadoPartido, desde, hasta);
+		// Se pide uno de más para saber si existe una página siguiente
+		List<PartidoResumenDTO> partidos = partidoService.buscar(filtro, despuesDeFecha, despuesDeId, limite + 1,
+				incluirJugadores);
+		boolean hayMas = partidos.size() > limite;
+		if (hayMas) {
+			partidos = partidos.subList(0, limite);
+		}
+
+		String siguienteCursor = hayMas ? codificarCursor(partidos.get(partidos.size() - 1)) : null;
+		return new ResponseEntity<>(new PaginaDTO<>(partidos, siguienteCursor), HttpStatus.OK);
+	}
+
+	@GetMapping("/partidos/cercanos")
+	public ResponseEntity<?> buscarCercanos(@RequestParam("latitud") double latitud,
+			@RequestParam("longitud") double longitud,
+			@RequestParam(value = "radioKm", defaultValue = "5") double radioKm,
+			@RequestParam(value = "deporteId", required = false) Long deporteId,
+			@RequestParam(value = "nivel", required = false) Nivel nivel,
+			@RequestParam(value = "limite", defaultValue = "20") int limite) {
+		if (!Double.isFinite(latitud) || latitud < -90 || latitud > 90) {
+			return new ResponseEntity<>("latitud debe estar entre -90 y 90", HttpStatus.BAD_REQUEST);
+		}
+		if (!Double.isFinite(longitud) || longitud < -180 || longitud > 180) {
+			return new ResponseEntity<>("longitud debe estar entre -180 y 180", HttpStatus.BAD_REQUEST);
+		}
+		ResponseEntity<?> invalido = validarRadioYLimite(radioKm, limite);
+		if (invalido != null) {
+			return invalido;
+		}
+
+		List<PartidoCercanoDTO> partidos = partidoService.buscarCercanos(latitud, longitud, radioKm, deporteId, nivel,
+				limite);
+		return new ResponseEntity<>(partidos, HttpStatus.OK);
+	}
+
+	@GetMapping("/partidos/{partidoId}")
+	public ResponseEntity<?> findDetalle(@PathVariable Long partidoId) {
+		try {
+			return new ResponseEntity<>(partidoService.findDetalle(partidoId), HttpStatus.OK);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		}
+	}
+
+	@GetMapping("/jugadores/{jugadorId}/recomendaciones")
+	public ResponseEntity<?> recomendar(@PathVariable Long jugadorId,
+			@RequestParam(value = "radioKm", defaultValue = "10") double radioKm,
+			@RequestParam(value = "limite", defaultValue = "20") int limite) {
+		ResponseEntity<?> invalido = validarRadioYLimite(radioKm, limite);
+		if (invalido != null) {
+			return invalido;
+		}
+
+		try {
+			List<PartidoRecomendadoDTO> partidos = partidoService.recomendar(jugadorId, radioKm, limite);
+			return new ResponseEntity<>(partidos, HttpStatus.OK);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		}
+	}
+
+	/**
+	 * Con el partido completo el jugador queda en la lista de espera (202 con su posición) y entra
+	 * solo cuando se libera un lugar; no hace falta reintentar.
+	 */
+	@PostMapping("/partidos/{partidoId}/jugadores/{jugadorId}")
+	public ResponseEntity<String> agregarJugador(@PathVariable Long partidoId, @PathVariable Long jugadorId) {
+		Integer posicionEnEspera;
+		try {
+			posicionEnEspera = partidoService.agregarJugador(partidoId, jugadorId);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		} catch (IllegalStateException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+		}
+
+		if (posicionEnEspera != null) {
+			String mensaje = "Partido completo, jugador en lista de espera [partidoID: " + partidoId + ", jugadorID: "
+					+ jugadorId + ", posición: " + posicionEnEspera + "]";
+			return new ResponseEntity<>(mensaje, HttpStatus.ACCEPTED);
+		}
+
+		String mensaje = "Jugador agregado [partidoID: " + partidoId + ", jugadorID: " + jugadorId + "]";
+		return new ResponseEntity<>(mensaje, HttpStatus.OK);
+	}
+
+	@DeleteMapping("/partidos/{partidoId}/jugadores/{jugadorId}")
+	public ResponseEntity<String> removerJugador(@PathVariable Long partidoId, @PathVariable Long jugadorId) {
+		try {
+			partidoService.removerJugador(partidoId, jugadorId);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		} catch (IllegalStateException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+		}
+
+		String mensaje = "Jugador removido [partidoID: " + partidoId + ", jugadorID: " + jugadorId + "]";
+		return new ResponseEntity<>(mensaje, HttpStatus.OK);
+	}
+
+	@PostMapping("/partidos/{partidoId}/jugadores/{jugadorId}/confirmacion")
+	public ResponseEntity<String> confirmarAsistencia(@PathVariable Long partidoId, @PathVariable Long jugadorId) {
+		try {
+			partidoService.confirmarAsistencia(partidoId, jugadorId);
+		} catch (NoSuchElementException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+		}
+
+		String mensaje = "Asistencia confirmada [partidoID: " + partidoId + ", jugadorID: " + jugadorId + "]";
+		return new ResponseEntity<>(mensaje, HttpStatus.OK);
+	}
+
+	/**
+	 * El 400 para un radio o un límite fuera de rango, o null si los dos son válidos.
+	 * Un radio no finito (NaN, Infinity) también se rechaza: ninguna comparación lo acotaría.
+	 */
+	private ResponseEntity<?> validarRadioYLimite(double radioKm, int limite) {
+		if (!Double.isFinite(radioKm) || radioKm <= 0 || radioKm > RADIO_MAXIMO_KM || limite <= 0
+				|| limite > LIMITE_MAXIMO) {
+			String mensaje = "radioKm debe estar entre 0 y " + (int) RADIO_MAXIMO_KM
+					+ " y limite debe estar entre 1 y " + LIMITE_MAXIMO;
+			return new ResponseEntity<>(mensaje, HttpStatus.BAD_REQUEST);
+		}
+		return null;
+	}
+
+	private String codificarCursor(PartidoResumenDTO ultimo) {
+		String valor = ultimo.getFechaHora() + "|" + ultimo.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -1,14 +1,21 @@
 package com.tpo.unoMas.model;
 
+import com.tpo.unoMas.service.ReferenciaListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
+// Dato de referencia: se lee de la caché de segundo nivel y de DatosReferencia
 @Entity
 @Table(name = "deportes")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenciaListener.class)
 public class Deporte {
 
     @Id
@@ -30,6 +37,10 @@ public class Deporte {
     @OneToMany(mappedBy = "deporte", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Partido> partidos = new ArrayList<>();
 
+    protected Deporte() {
+        // Requerido por JPA
+    }
+
     public Deporte(String nombre, String descripcion) {
         this.nombre = nombre;
         this.descripcion = descripcion;
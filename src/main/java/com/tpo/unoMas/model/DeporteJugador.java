@@ -38,6 +38,7 @@ public class DeporteJugador {
         this.jugador = jugador;
         this.deporte = deporte;
         this.nivel = nivel;
+        this.esFavorito = esFavorito;
     }
 
     public Long getId() {
@@ -0,0 +1,65 @@
+package com.tpo.unoMas.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Un jugador en la lista de espera de un partido completo. El turno es correlativo por partido
+ * (Partido.ultimoTurnoEspera) y el índice (partido_id, turno) da el primero de la fila con una
+ * sola lectura, sin cargar la lista.
+ */
+@Entity
+@Table(name = "partido_espera", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_partido_espera_jugador", columnNames = { "partido_id", "jugador_id" }),
+        @UniqueConstraint(name = "uk_partido_espera_turno", columnNames = { "partido_id", "turno" })
+})
+public class EnEspera {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partido_id", nullable = false)
+    private Partido partido;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "jugador_id", nullable = false)
+    private Jugador jugador;
+
+    @Column(nullable = false)
+    private long turno;
+
+    @Column(nullable = false)
+    private LocalDateTime anotado;
+
+    protected EnEspera() {
+    }
+
+    EnEspera(Partido partido, Jugador jugador, long turno) {
+        this.partido = partido;
+        this.jugador = jugador;
+        this.turno = turno;
+        this.anotado = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Partido getPartido() {
+        return partido;
+    }
+
+    public Jugador getJugador() {
+        return jugador;
+    }
+
+    public long getTurno() {
+        return turno;
+    }
+
+    public LocalDateTime getAnotado() {
+        return anotado;
+    }
+}
@@ -0,0 +1,64 @@
+package com.tpo.unoMas.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Un jugador en el plantel de un partido: es la fila de partido_jugador, con la confirmación
+ * de asistencia como columna en lugar de una segunda tabla de unión.
+ */
+@Entity
+@Table(name = "partido_jugador")
+public class Inscripcion {
+
+    @EmbeddedId
+    private InscripcionId id = new InscripcionId();
+
+    @MapsId("partidoId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "partido_id")
+    private Partido partido;
+
+    @MapsId("jugadorId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "jugador_id")
+    private Jugador jugador;
+
+    @Column(nullable = false)
+    private boolean confirmado;
+
+    protected Inscripcion() {
+    }
+
+    Inscripcion(Partido partido, Jugador jugador) {
+        this.partido = partido;
+        this.jugador = jugador;
+    }
+
+    /**
+     * Marca la asistencia; confirmar dos veces no cambia nada.
+     * @return true si el jugador todavía no había confirmado
+     */
+    boolean confirmar() {
+        if (confirmado) {
+            return false;
+        }
+        confirmado = true;
+        return true;
+    }
+
+    public InscripcionId getId() {
+        return id;
+    }
+
+    public Partido getPartido() {
+        return partido;
+    }
+
+    public Jugador getJugador() {
+        return jugador;
+    }
+
+    public boolean isConfirmado() {
+        return confirmado;
+    }
+}
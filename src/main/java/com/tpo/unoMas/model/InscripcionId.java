@@ -0,0 +1,44 @@
+package com.tpo.unoMas.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class InscripcionId implements Serializable {
+
+    @Column(name = "partido_id")
+    private Long partidoId;
+
+    @Column(name = "jugador_id")
+    private Long jugadorId;
+
+    protected InscripcionId() {
+    }
+
+    public InscripcionId(Long partidoId, Long jugadorId) {
+        this.partidoId = partidoId;
+        this.jugadorId = jugadorId;
+    }
+
+    public Long getPartidoId() {
+        return partidoId;
+    }
+
+    public Long getJugadorId() {
+        return jugadorId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InscripcionId otro)) return false;
+        return Objects.equals(partidoId, otro.partidoId) && Objects.equals(jugadorId, otro.jugadorId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partidoId, jugadorId);
+    }
+}
@@ -2,11 +2,14 @@ package com.tpo.unoMas.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "jugadores")
@@ -40,18 +43,17 @@ public class Jugador {
     private Zona zona;
 
     @OneToMany(mappedBy = "jugador", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<DeporteJugador> deportes = new ArrayList<>();
 
     @OneToMany(mappedBy = "organizador", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     private List<Partido> partidosOrganizados = new ArrayList<>();
 
-    @ManyToMany
-    @JoinTable(
-            name = "jugador_partidos",
-            joinColumns = @JoinColumn(name = "jugador_id"),
-            inverseJoinColumns = @JoinColumn(name = "partido_id")
-    )
-    private Set<Partido> partidosParticipados = new HashSet<>();
+    // Lado inverso de partido_jugador, que mantiene Partido a través de sus inscripciones
+    @OneToMany(mappedBy = "jugador")
+    @BatchSize(size = 50)
+    private Set<Inscripcion> inscripciones = new HashSet<>();
 
     public Jugador() {
     }
@@ -64,14 +66,19 @@ public class Jugador {
     }
 
     // State Jugador
-    public void agregarPartido(Partido partido) {
-        Objects.requireNonNull(partido, "El partido no puede ser null");
-        this.partidosParticipados.add(partido);
+    // Sin cargar: la colección se lee de partido_jugador cuando alguien la pida
+    void agregarInscripcion(Inscripcion inscripcion) {
+        Objects.requireNonNull(inscripcion, "La inscripción no puede ser null");
+        if (Hibernate.isInitialized(inscripciones)) {
+            this.inscripciones.add(inscripcion);
+        }
     }
 
-    public void removerPartido(Partido partido) {
-        Objects.requireNonNull(partido, "El partido no puede ser null");
-        this.partidosParticipados.remove(partido);
+    void removerInscripcion(Inscripcion inscripcion) {
+        Objects.requireNonNull(inscripcion, "La inscripción no puede ser null");
+        if (Hibernate.isInitialized(inscripciones)) {
+            this.inscripciones.remove(inscripcion);
+        }
     }
 
 
@@ -137,10 +144,6 @@ public class Jugador {
     }
 
     public Set<Partido> getPartidosParticipados() {
-        return partidosParticipados;
-    }
-
-    public void setPartidosParticipados(Set<Partido> partidosParticipados) {
-        this.partidosParticipados = partidosParticipados;
+        return inscripciones.stream().map(Inscripcion::getPartido).collect(Collectors.toUnmodifiableSet());
     }
 }
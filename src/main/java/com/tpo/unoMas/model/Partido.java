@@ -1,28 +1,76 @@
 package com.tpo.unoMas.model;
 
+import com.tpo.unoMas.model.estado.Confirmado;
 import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.estado.EstadoPartidoConverter;
 import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import com.tpo.unoMas.model.evento.AsistenciaConfirmada;
+import com.tpo.unoMas.model.evento.CambioEstadoPartido;
+import com.tpo.unoMas.model.evento.EsperaDescartada;
+import com.tpo.unoMas.model.evento.EventoPartido;
+import com.tpo.unoMas.model.evento.JugadorAgregado;
+import com.tpo.unoMas.model.evento.JugadorPromovido;
+import com.tpo.unoMas.model.evento.JugadorRemovido;
+import com.tpo.unoMas.service.PartidoAgendaListener;
+import com.tpo.unoMas.service.PartidoEventoListener;
+import com.tpo.unoMas.service.PartidoIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.validation.constraints.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
-@Table(name = "partidos")
+// Índices de la búsqueda de /api/partidos: igualdad en los filtros y rango en fecha_hora, con id al final
+// para que el orden (fecha_hora, id) del keyset salga del índice sin ordenar
+@Table(name = "partidos", indexes = {
+        @Index(name = "idx_partidos_deporte_nivel_fecha", columnList = "deporte_id, nivel_id, fecha_hora, id"),
+        @Index(name = "idx_partidos_zona_fecha", columnList = "zona_id, fecha_hora, id"),
+        @Index(name = "idx_partidos_estado_fecha", columnList = "estado, fecha_hora, id")
+})
+@NamedEntityGraph(name = Partido.GRAFO_DETALLE, attributeNodes = {
+        @NamedAttributeNode("zona"),
+        @NamedAttributeNode("deporte"),
+        @NamedAttributeNode(value = "inscripciones", subgraph = "inscripciones")
+}, subgraphs = @NamedSubgraph(name = "inscripciones", attributeNodes = @NamedAttributeNode("jugador")))
+@EntityListeners({ PartidoIndexListener.class, PartidoAgendaListener.class, PartidoEventoListener.class })
 public class Partido  {
+
+    /** Partido con zona, deporte y plantel (cada inscripción ya trae si el jugador confirmó). */
+    public static final String GRAFO_DETALLE = "Partido.detalle";
+
+    /**
+     * Restricciones que se validan solo al insertar: al llegar la hora de inicio la agenda sigue
+     * guardando el partido con una fechaHora que ya no es futura.
+     */
+    public interface Alta {
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Control optimista: dos transacciones que modifican el mismo partido no se pisan
+    @Version
+    private Long version;
+
     @NotBlank(message = "El título no puede estar vacío")
     private String titulo;
 
     @NotNull(message = "La fecha y hora no pueden ser nulas")
-    @Future(message = "La fecha y hora deben ser futuras")
+    @Future(message = "La fecha y hora deben ser futuras", groups = Alta.class)
     @Column(name = "fecha_hora", nullable = false)
     private LocalDateTime fechaHora;
 
@@ -41,16 +89,31 @@ public class Partido  {
     @Column(name = "nivel_id", nullable = false)
     private Nivel nivel;
 
-    @ManyToMany
-    @JoinTable(
-            name = "partido_jugador",
-            joinColumns = @JoinColumn(name = "partido_id"),
-            inverseJoinColumns = @JoinColumn(name = "jugador_id")
-    )
-    private Set<Jugador> jugadores = new HashSet<>();
+    @OneToMany(mappedBy = "partido", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    private Set<Inscripcion> inscripciones = new HashSet<>();
 
-    @Transient
-    private EstadoPartido estado;
+    // Cantidad de inscripciones confirmadas; se mantiene junto con el flag para no recorrer el plantel
+    @Column(nullable = false)
+    private int confirmados;
+
+    // Cantidad de inscripciones; se mantiene junto con el plantel (y viaja con el @Version) para que
+    // los listados y el chequeo de cupo no inicialicen la colección. PartidoInscriptosReconciliador
+    // corrige los desvíos
+    @Column(nullable = false)
+    private int inscriptos;
+
+    // Lista de espera: la fila solo guarda el último turno entregado y cuántos esperan; las entradas
+    // viven en partido_espera (EnEspera) y no se cargan para anotar ni para promover
+    @Column(nullable = false)
+    private long ultimoTurnoEspera;
+
+    @Column(nullable = false)
+    private int enEspera;
+
+    @Convert(converter = EstadoPartidoConverter.class)
+    @Column(name = "estado", nullable = false, length = 1)
+    private EstadoPartido estado = NecesitamosJugadores.INSTANCIA;
 
     @NotNull(message = "El organizador no puede ser null")
     @ManyToOne(fetch = FetchType.LAZY)
@@ -68,20 +131,35 @@ public class Partido  {
     @Column(nullable = false)
     private Integer duracionMinutos;
 
-    @ManyToMany
-    @JoinTable(
-            name = "partido_jugador_confirmado",
-            joinColumns = @JoinColumn(name = "partido_id"),
-            inverseJoinColumns = @JoinColumn(name = "jugador_id")
-    )
-    private Set<Jugador> jugadoresConfirmados = new HashSet<>();
+    // Inscripción de cada jugador ya consultado (null si no está en el plantel); la sesión garantiza una
+    // sola instancia por jugador. El servicio la busca por clave (partido_id, jugador_id) antes de operar,
+    // así altas, bajas y confirmaciones no cargan el plantel; sin esa búsqueda se indexa el plantel completo
+    @Transient
+    private final Map<Jugador, Inscripcion> inscripcionPorJugador = new HashMap<>();
+
+    @Transient
+    private boolean plantelIndexado;
+
+    // Altas y bajas hechas sin el plantel cargado; el servicio las toma y las guarda. Si algo carga
+    // el plantel antes, se aplican sobre la colección (ver plantel())
+    @Transient
+    private final List<Inscripcion> altasPlantel = new ArrayList<>();
+
+    @Transient
+    private final List<Inscripcion> bajasPlantel = new ArrayList<>();
+
+    // Eventos todavía no publicados; PartidoEventoListener los toma al guardar
+    @Transient
+    private final List<EventoPartido> eventos = new ArrayList<>();
+
+    // Altas en la lista de espera todavía no guardadas; el servicio las toma y las persiste
+    @Transient
+    private final List<EnEspera> altasEnEspera = new ArrayList<>();
 
 
     // Constructores
     public Partido() {
-        this.jugadores = new HashSet<>();
-        this.jugadoresConfirmados = new HashSet<>();
-        this.estado = new NecesitamosJugadores();
+        this.inscripciones = new HashSet<>();
     }
 
     public Partido(String nombre, String descripcion, LocalDateTime fechaHora,
@@ -90,14 +168,14 @@ public class Partido  {
         this.minJugadores = minJugadores;
         this.maxJugadores = maxJugadores;
         this.zona = zona;
-        this.jugadores = new HashSet<>();
-        this.jugadoresConfirmados = new HashSet<>();
-        this.estado = new NecesitamosJugadores();
+        this.inscripciones = new HashSet<>();
     }
 
 
     // Service Partido
-    public void agregarJugador(Jugador jugador) {
+    // Las operaciones que leen y modifican el plantel son synchronized: el chequeo de cupo
+    // y el alta se hacen de forma atómica sobre esta instancia
+    public synchronized void agregarJugador(Jugador jugador) {
         Objects.requireNonNull(jugador, "El jugador no puede ser null");
         if (this.estado != null) {
             this.estado.agregarJugador(this, jugador);
@@ -106,7 +184,7 @@ public class Partido  {
         }
     }
 
-    public void removerJugador(Jugador jugador) {
+    public synchronized void removerJugador(Jugador jugador) {
         Objects.requireNonNull(jugador, "El jugador no puede ser null");
         if (this.estado != null) {
             this.estado.removerJugador(this, jugador);
@@ -117,63 +195,240 @@ public class Partido  {
 
     //State Partido
 
-    public void iniciar() {
+    public synchronized void iniciar() {
         if (this.estado != null) {
             this.estado.iniciarPartido(this);
         }
     }
 
-    public void finalizar() {
+    public synchronized void finalizar() {
         if (this.estado != null) {
             this.estado.finalizarPartido(this);
         }
     }
 
-    public void cancelar() {
+    public synchronized void cancelar() {
         if (this.estado != null) {
             this.estado.cancelarPartido(this);
         }
     }
 
     public boolean agregarJugadorInterno(Jugador jugador) {
-        boolean agregado = jugadores.add(jugador);
-        if (agregado) {
-            jugador.agregarPartido(this);
+        if (inscripcionDe(jugador) != null) {
+            return false;
         }
-        return agregado;
+        Inscripcion inscripcion = new Inscripcion(this, jugador);
+        if (Hibernate.isInitialized(inscripciones)) {
+            inscripciones.add(inscripcion);
+        } else {
+            altasPlantel.add(inscripcion);
+        }
+        inscripcionPorJugador.put(jugador, inscripcion);
+        inscriptos++;
+        jugador.agregarInscripcion(inscripcion);
+        eventos.add(new JugadorAgregado(jugador.getId(), LocalDateTime.now()));
+        return true;
     }
 
     public boolean removerJugadorInterno(Jugador jugador) {
-        boolean removido = jugadores.remove(jugador);
-        if (removido) {
-            jugador.removerPartido(this);
-            jugadoresConfirmados.remove(jugador);
+        Inscripcion inscripcion = inscripcionDe(jugador);
+        if (inscripcion == null) {
+            return false;
+        }
+        inscripcionPorJugador.put(jugador, null);
+        if (Hibernate.isInitialized(inscripciones)) {
+            inscripciones.remove(inscripcion);
+        } else if (!altasPlantel.remove(inscripcion)) {
+            bajasPlantel.add(inscripcion);
+        }
+        inscriptos--;
+        jugador.removerInscripcion(inscripcion);
+        if (inscripcion.isConfirmado()) {
+            confirmados--;
+        }
+        eventos.add(new JugadorRemovido(jugador.getId(), LocalDateTime.now()));
+        return true;
+    }
+
+    /**
+     * Anota al jugador al final de la lista de espera; la entrada queda pendiente en
+     * {@link #tomarAltasEnEspera()} hasta que se guarde.
+     */
+    public void agregarAEsperaInterno(Jugador jugador) {
+        altasEnEspera.add(new EnEspera(this, jugador, ++ultimoTurnoEspera));
+        enEspera++;
+    }
+
+    /**
+     * Pasa al plantel al primero de la lista de espera. Solo se llama con un lugar libre
+     * y en un estado que admite promociones.
+     */
+    public synchronized void promoverDeEspera(EnEspera primero) {
+        Jugador jugador = primero.getJugador();
+        enEspera--;
+        estado.promoverJugador(this, jugador);
+        eventos.add(new JugadorPromovido(jugador.getId(), titulo, jugador.getTokenFCM(), LocalDateTime.now()));
+    }
+
+    public synchronized void salirDeEspera() {
+        enEspera--;
+    }
+
+    /**
+     * Descarta la lista de espera (el servicio ya borró las entradas) y registra el aviso a quienes esperaban.
+     * @param tokensFCM tokens de los jugadores que estaban en la lista
+     */
+    public synchronized void descartarEspera(Set<String> tokensFCM) {
+        int descartados = enEspera;
+        enEspera = 0;
+        eventos.add(new EsperaDescartada(titulo, estado, descartados, tokensFCM, LocalDateTime.now()));
+    }
+
+    /**
+     * Vuelve a aplicar la regla del mínimo de jugadores sobre el contador actual, como lo harían
+     * altas y bajas. Se usa cuando el contador cambió por fuera de ellas (PartidoInscriptosReconciliador).
+     */
+    public synchronized void reevaluarMinimo() {
+        if (estado instanceof NecesitamosJugadores && inscriptos >= minJugadores) {
+            cambiarEstado(PartidoArmado.INSTANCIA);
+        } else if ((estado instanceof PartidoArmado || estado instanceof Confirmado) && inscriptos < minJugadores) {
+            cambiarEstado(NecesitamosJugadores.INSTANCIA);
+        }
+    }
+
+    public synchronized List<EnEspera> tomarAltasEnEspera() {
+        List<EnEspera> pendientes = List.copyOf(altasEnEspera);
+        altasEnEspera.clear();
+        return pendientes;
+    }
+
+    /**
+     * Registra la inscripción del jugador buscada por clave (null si no está en el plantel), para que
+     * las operaciones sobre ese jugador no tengan que cargar el plantel.
+     */
+    public synchronized void conocerInscripcion(Jugador jugador, Inscripcion inscripcion) {
+        inscripcionPorJugador.put(jugador, inscripcion);
+    }
+
+    public synchronized List<Inscripcion> tomarAltasPlantel() {
+        List<Inscripcion> pendientes = List.copyOf(altasPlantel);
+        altasPlantel.clear();
+        return pendientes;
+    }
+
+    public synchronized List<Inscripcion> tomarBajasPlantel() {
+        List<Inscripcion> pendientes = List.copyOf(bajasPlantel);
+        bajasPlantel.clear();
+        return pendientes;
+    }
+
+    private Inscripcion inscripcionDe(Jugador jugador) {
+        if (!plantelIndexado && !inscripcionPorJugador.containsKey(jugador)) {
+            for (Inscripcion inscripcion : plantel()) {
+                inscripcionPorJugador.putIfAbsent(inscripcion.getJugador(), inscripcion);
+            }
+            plantelIndexado = true;
         }
-        return removido;
+        return inscripcionPorJugador.get(jugador);
+    }
+
+    // Carga el plantel y le aplica las altas y bajas pendientes: desde acá las guarda la cascada
+    private Set<Inscripcion> plantel() {
+        if (!altasPlantel.isEmpty() || !bajasPlantel.isEmpty()) {
+            bajasPlantel.forEach(inscripciones::remove);
+            inscripciones.addAll(altasPlantel);
+            altasPlantel.clear();
+            bajasPlantel.clear();
+        }
+        return inscripciones;
     }
 
     public void cambiarEstado(EstadoPartido nuevoEstado) {
         Objects.requireNonNull(nuevoEstado, "El nuevo estado no puede ser null");
+        EstadoPartido anterior = this.estado;
         this.estado = nuevoEstado;
 
+        if (anterior != nuevoEstado) {
+            eventos.add(new CambioEstadoPartido(titulo, anterior, nuevoEstado, tokensFCM(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Devuelve los eventos registrados desde la última llamada y los descarta.
+     */
+    public synchronized List<EventoPartido> tomarEventos() {
+        List<EventoPartido> pendientes = List.copyOf(eventos);
+        eventos.clear();
+        return pendientes;
+    }
+
+    // Se toman en la transición, con la sesión abierta, para no tener que volver a la base al enviar
+    private Set<String> tokensFCM() {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (organizador != null && organizador.getTokenFCM() != null) {
+            tokens.add(organizador.getTokenFCM());
+        }
+        for (Inscripcion inscripcion : plantel()) {
+            Jugador jugador = inscripcion.getJugador();
+            if (jugador.getTokenFCM() != null) {
+                tokens.add(jugador.getTokenFCM());
+            }
+        }
+        return tokens;
     }
 
     // Metodos Utiles - Partido
     public boolean estaCompleto() {
-        return jugadores.size() == maxJugadores;
+        return inscriptos >= maxJugadores;
+    }
+
+    public synchronized boolean estaInscripto(Jugador jugador) {
+        return inscripcionDe(jugador) != null;
+    }
+
+    public int getCantidadJugadores() {
+        return inscriptos;
+    }
+
+    public int getPlazasLibres() {
+        return Math.max(0, maxJugadores - inscriptos);
+    }
+
+    public int getEnEspera() {
+        return enEspera;
+    }
+
+    public boolean admiteAltas() {
+        return estado instanceof NecesitamosJugadores || estado instanceof PartidoArmado;
+    }
+
+    /**
+     * Un lugar libre se ofrece a la lista de espera también en Confirmado: el plantel ya estaba
+     * armado y el promovido ocupa el lugar que otro dejó. En Confirmado no se suman altas nuevas
+     * a la lista; solo se atiende a quienes ya esperaban.
+     */
+    public boolean admitePromociones() {
+        return admiteAltas() || estado instanceof Confirmado;
     }
 
     public boolean estaEnElFuturo() {
         return fechaHora.isAfter(LocalDateTime.now());
     }
 
-    public void confirmarAsistencia(Jugador jugador) {
-        if (!jugadores.contains(jugador))
+    // Solo cambia el flag de una fila de partido_jugador y el contador; el @Version del partido
+    // serializa las confirmaciones concurrentes entre transacciones
+    public synchronized void confirmarAsistencia(Jugador jugador) {
+        Inscripcion inscripcion = inscripcionDe(jugador);
+        if (inscripcion == null)
             throw new IllegalArgumentException("El jugador no está en la lista");
 
-        jugadoresConfirmados.add(jugador);
+        if (inscripcion.confirmar()) {
+            confirmados++;
+            eventos.add(new AsistenciaConfirmada(jugador.getId(), LocalDateTime.now()));
+        }
 
-        if (jugadoresConfirmados.size() == jugadores.size()) {
+        // Un promovido desde la espera confirma sobre un partido que ya estaba confirmado
+        if (confirmados == inscriptos && !(estado instanceof Confirmado)) {
             estado.confirmarPartido(this);
         }
     }
@@ -185,6 +440,10 @@ public class Partido  {
         return id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public String getTitulo() {
         return titulo;
     }
@@ -225,12 +484,12 @@ public class Partido  {
         this.nivel = nivel;
     }
 
-    public Set<Jugador> getJugadores() {
-        return jugadores;
+    public Set<Inscripcion> getInscripciones() {
+        return Collections.unmodifiableSet(plantel());
     }
 
-    public void setJugadores(Set<Jugador> jugadores) {
-        this.jugadores = jugadores;
+    public Set<Jugador> getJugadores() {
+        return plantel().stream().map(Inscripcion::getJugador).collect(Collectors.toUnmodifiableSet());
     }
 
     public EstadoPartido getEstado() {
@@ -274,11 +533,12 @@ public class Partido  {
     }
 
     public Set<Jugador> getJugadoresConfirmados() {
-        return jugadoresConfirmados;
+        return plantel().stream().filter(Inscripcion::isConfirmado).map(Inscripcion::getJugador)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
-    public void setJugadoresConfirmados(Set<Jugador> jugadoresConfirmados) {
-        this.jugadoresConfirmados = jugadoresConfirmados;
+    public int getConfirmados() {
+        return confirmados;
     }
 
 
@@ -292,7 +552,7 @@ public class Partido  {
                 ", deporte=" + deporte +
                 ", nivel=" + nivel +
                 ", maxJugadores=" + maxJugadores +
-                ", jugadores=" + jugadores +
+                ", jugadores=" + getJugadores() +
                 ", estado=" + estado +
                 '}';
     }
@@ -2,12 +2,14 @@ package com.tpo.unoMas.model;
 
 import jakarta.persistence.*;
 
+@Embeddable
 public class Ubicacion {
 
-    @Column(name = "latitud", nullable = false, precision = 10, scale = 7)
+    // Hibernate no admite precision/scale en columnas de punto flotante
+    @Column(name = "latitud", nullable = false)
     private Double latitud;      // ejemplo:  -34.6036840
 
-    @Column(name = "longitud", nullable = false, precision = 10, scale = 7)
+    @Column(name = "longitud", nullable = false)
     private Double longitud;     // ejemplo:  -58.3815591
 
 
@@ -1,9 +1,17 @@
 package com.tpo.unoMas.model;
 
 
+import com.tpo.unoMas.service.ReferenciaListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+// Dato de referencia: se lee de la caché de segundo nivel y de DatosReferencia
 @Entity
 @Table(name = "zonas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(ReferenciaListener.class)
 public class Zona {
 
     @Id
@@ -23,6 +31,10 @@ public class Zona {
     private Ubicacion ubicacion;
 
 
+    protected Zona() {
+        // Requerido por JPA
+    }
+
     public Zona(String barrio, String partido, Ubicacion ubicacion) {
         this.barrio = barrio;
         this.partido = partido;
@@ -1,19 +1,39 @@
 package com.tpo.unoMas.model.dao;
 
+import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.function.Consumer;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
 import org.hibernate.query.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import com.tpo.unoMas.model.entity.VersionListado;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 @Repository
+@Timed("unomas.dao")
 public class ClienteDAOImpl implements IClienteDAO {
 
+	private static final int TAMANIO_LOTE = 500;
+
+	// Proyección directa al DTO: sin entidades administradas, snapshots de dirty-checking ni copia posterior
+	private static final String SELECT_DTO = "select new com.tpo.unoMas.model.entity.ClienteDTO(c.id, c.nombre, c.apellido, c.email) from Cliente c";
+
+	private static final String INSERT_CLIENTE = "insert into clientes (nombre, apellido, email, create_at, version) values (?, ?, ?, ?, 0)";
+
+	private static final String LISTADO_CLIENTES = "clientes";
+
+	private static final String UPDATE_CLIENTE = "update Cliente set nombre = :nombre, apellido = :apellido, email = :email, createAt = :createAt, version = version + 1 where id = :idCliente";
+
 	@PersistenceContext
 	private EntityManager entityManager;
 
@@ -38,11 +58,196 @@ public class ClienteDAOImpl implements IClienteDAO {
 		return cliente;
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<ClienteDTO> findAllDTO() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<ClienteDTO> getQuery = currentSession.createQuery(SELECT_DTO + " order by c.id", ClienteDTO.class);
+		List<ClienteDTO> clientes = getQuery.getResultList();
+
+		return clientes;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public ClienteDTO findDTOById(int id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<ClienteDTO> getQuery = currentSession.createQuery(
+				"select new com.tpo.unoMas.model.entity.ClienteDTO(c.id, c.nombre, c.apellido, c.email, c.version) from Cliente c where c.id = :idCliente",
+				ClienteDTO.class);
+		getQuery.setParameter("idCliente", (long) id);
+
+		return getQuery.uniqueResult();
+	}
+
+	/**
+	 * Solo la versión, para responder un GET condicional sin leer ni serializar el cliente.
+	 * @param id
+	 * @return la versión, o null si no existe
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Long findVersion(int id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Long> versionQuery = currentSession.createQuery("select c.version from Cliente c where c.id = :idCliente",
+				Long.class);
+		versionQuery.setParameter("idCliente", (long) id);
+		return versionQuery.uniqueResult();
+	}
+
+	/**
+	 * Versión del listado completo: una sola fila leída por PK, sin tocar la tabla de clientes.
+	 * @return la versión, que cambia con cada alta, baja o modificación
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long findVersionListado() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Long> versionQuery = currentSession
+				.createQuery("select v.valor from VersionListado v where v.nombre = :nombre", Long.class);
+		versionQuery.setParameter("nombre", LISTADO_CLIENTES);
+		Long version = versionQuery.uniqueResult();
+		return version == null ? 0L : version;
+	}
+
+	/**
+	 * Crea la fila de la versión del listado si todavía no existe. Se llama al arrancar, antes de
+	 * cualquier escritura: así incrementarla es siempre un UPDATE y nunca compiten dos INSERT.
+	 */
+	@Override
+	@Transactional
+	public void inicializarVersionListado() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		if (currentSession.get(VersionListado.class, LISTADO_CLIENTES) == null) {
+			currentSession.persist(new VersionListado(LISTADO_CLIENTES));
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ClienteDTO> findPaginaDTO(Long despuesDeId, int limite) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		// Keyset: se busca por id > cursor usando el índice de la PK, sin OFFSET
+		Query<ClienteDTO> getQuery = currentSession.createQuery(
+				SELECT_DTO + " where c.id > :despuesDeId order by c.id", ClienteDTO.class);
+		getQuery.setParameter("despuesDeId", despuesDeId == null ? 0L : despuesDeId);
+		getQuery.setMaxResults(limite);
+
+		return getQuery.getResultList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void recorrerTodos(Consumer<ClienteDTO> consumidor) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		// En MySQL el driver solo respeta el fetch size con useCursorFetch=true en la URL;
+		// sin eso trae el resultado completo a memoria
+		Query<ClienteDTO> getQuery = currentSession.createQuery(SELECT_DTO + " order by c.id", ClienteDTO.class);
+		getQuery.setFetchSize(TAMANIO_LOTE);
+
+		// Las proyecciones no se registran en el contexto de persistencia: no hace falta limpiarlo
+		try (ScrollableResults<ClienteDTO> resultados = getQuery.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (resultados.next()) {
+				consumidor.accept(resultados.get());
+			}
+		}
+	}
+
 	@Override
 	@Transactional
 	public void save(Cliente cliente) {
 		Session currentSession = entityManager.unwrap(Session.class);
 		currentSession.persist(cliente);
+		incrementarVersionListado(currentSession);
+	}
+
+	/**
+	 * Modificación en un solo UPDATE, sin cargar la entidad. Con versionEsperada solo se aplica si
+	 * la fila sigue en esa versión (control optimista); sin ella se aplica siempre y se lee la
+	 * versión resultante en la misma transacción. Si se aplica, sube también la versión del listado.
+	 * @param id
+	 * @param cliente         valores nuevos de nombre, apellido, email y createAt
+	 * @param versionEsperada versión del If-Match, o null
+	 * @return la versión nueva, o null si ninguna fila coincidió (no existe o cambió de versión)
+	 */
+	@Override
+	@Transactional
+	public Long actualizar(int id, Cliente cliente, Long versionEsperada) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		MutationQuery theQuery = currentSession.createMutationQuery(
+				versionEsperada == null ? UPDATE_CLIENTE : UPDATE_CLIENTE + " and version = :version");
+		theQuery.setParameter("nombre", cliente.getNombre());
+		theQuery.setParameter("apellido", cliente.getApellido());
+		theQuery.setParameter("email", cliente.getEmail());
+		theQuery.setParameter("createAt", cliente.getCreateAt());
+		theQuery.setParameter("idCliente", (long) id);
+		if (versionEsperada != null) {
+			theQuery.setParameter("version", versionEsperada);
+		}
+
+		if (theQuery.executeUpdate() == 0) {
+			return null;
+		}
+		incrementarVersionListado(currentSession);
+		if (versionEsperada != null) {
+			return versionEsperada + 1;
+		}
+
+		Query<Long> versionQuery = currentSession.createQuery("select c.version from Cliente c where c.id = :idCliente",
+				Long.class);
+		versionQuery.setParameter("idCliente", (long) id);
+		return versionQuery.uniqueResult();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public boolean existe(int id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Long> theQuery = currentSession.createQuery("select c.id from Cliente c where c.id = :idCliente", Long.class);
+		theQuery.setParameter("idCliente", (long) id);
+
+		return theQuery.uniqueResult() != null;
+	}
+
+	/**
+	 * Alta masiva en un único lote JDBC. Con GenerationType.IDENTITY Hibernate no puede agrupar
+	 * los INSERT (necesita el id de cada fila al persistirla), así que el lote se arma sobre la
+	 * conexión de la transacción. Los ids generados no se leen: las filas no quedan administradas.
+	 * En MySQL, rewriteBatchedStatements=true en la URL hace que el driver envíe el lote como
+	 * INSERTs multi-fila en lugar de una sentencia por fila.
+	 * @param clientes
+	 * @return cantidad de filas insertadas
+	 */
+	@Override
+	@Transactional
+	public int insertarLote(List<Cliente> clientes) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		int insertadas = currentSession.doReturningWork(connection -> {
+			try (PreparedStatement insert = connection.prepareStatement(INSERT_CLIENTE)) {
+				for (Cliente cliente : clientes) {
+					insert.setString(1, cliente.getNombre());
+					insert.setString(2, cliente.getApellido());
+					insert.setString(3, cliente.getEmail());
+					insert.setDate(4, new java.sql.Date(cliente.getCreateAt().getTime()));
+					insert.addBatch();
+				}
+				return insert.executeBatch().length;
+			}
+		});
+		if (insertadas > 0) {
+			incrementarVersionListado(currentSession);
+		}
+		return insertadas;
 	}
 
 	@Override
@@ -52,6 +257,19 @@ public class ClienteDAOImpl implements IClienteDAO {
 
 		Query theQuery = currentSession.createQuery("delete from Cliente where id=:idCliente");
 		theQuery.setParameter("idCliente", id);
+		if (theQuery.executeUpdate() > 0) {
+			incrementarVersionListado(currentSession);
+		}
+	}
+
+	/**
+	 * En la transacción de la escritura: si hace rollback, la versión tampoco cambia. El UPDATE
+	 * bloquea la fila hasta el commit, así que las escrituras de clientes se serializan en ese tramo.
+	 */
+	private void incrementarVersionListado(Session currentSession) {
+		MutationQuery theQuery = currentSession
+				.createMutationQuery("update VersionListado set valor = valor + 1 where nombre = :nombre");
+		theQuery.setParameter("nombre", LISTADO_CLIENTES);
 		theQuery.executeUpdate();
 	}
 
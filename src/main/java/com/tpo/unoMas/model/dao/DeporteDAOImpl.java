@@ -0,0 +1,41 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.Deporte;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class DeporteDAOImpl implements IDeporteDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Deporte findById(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Deporte deporte = currentSession.get(Deporte.class, id);
+
+		return deporte;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Deporte> findAll() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Deporte> theQuery = currentSession.createQuery("FROM Deporte", Deporte.class);
+
+		return theQuery.getResultList();
+	}
+}
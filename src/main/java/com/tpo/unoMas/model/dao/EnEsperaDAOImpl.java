@@ -0,0 +1,94 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.EnEspera;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class EnEsperaDAOImpl implements IEnEsperaDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public EnEspera find(Long partidoId, Long jugadorId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<EnEspera> theQuery = currentSession.createQuery(
+				"FROM EnEspera e WHERE e.partido.id = :partidoId AND e.jugador.id = :jugadorId", EnEspera.class);
+		theQuery.setParameter("partidoId", partidoId);
+		theQuery.setParameter("jugadorId", jugadorId);
+
+		return theQuery.uniqueResult();
+	}
+
+	/**
+	 * Primero de la fila: lectura del índice (partido_id, turno) cortada en una fila.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public EnEspera findPrimero(Long partidoId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<EnEspera> theQuery = currentSession.createQuery(
+				"FROM EnEspera e WHERE e.partido.id = :partidoId ORDER BY e.partido.id, e.turno", EnEspera.class);
+		theQuery.setParameter("partidoId", partidoId);
+		theQuery.setMaxResults(1);
+
+		return theQuery.uniqueResult();
+	}
+
+	@Override
+	@Transactional
+	public void save(EnEspera enEspera) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		currentSession.persist(enEspera);
+	}
+
+	@Override
+	@Transactional
+	public void delete(EnEspera enEspera) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		currentSession.remove(enEspera);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<String> findTokensFCM(Long partidoId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<String> theQuery = currentSession.createQuery("SELECT e.jugador.tokenFCM FROM EnEspera e "
+				+ "WHERE e.partido.id = :partidoId AND e.jugador.tokenFCM IS NOT NULL", String.class);
+		theQuery.setParameter("partidoId", partidoId);
+
+		return theQuery.getResultList();
+	}
+
+	/**
+	 * Un solo DELETE por partido_id, sin cargar las entradas.
+	 */
+	@Override
+	@Transactional
+	public int deleteByPartido(Long partidoId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		MutationQuery theQuery = currentSession.createMutationQuery(
+				"DELETE FROM EnEspera e WHERE e.partido.id = :partidoId");
+		theQuery.setParameter("partidoId", partidoId);
+
+		return theQuery.executeUpdate();
+	}
+}
@@ -0,0 +1,15 @@
+package com.tpo.unoMas.model.dao;
+
+import java.time.LocalDateTime;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+
+/**
+ * Filtros de la búsqueda de partidos; los null no filtran.
+ * @param desde fecha y hora mínima, inclusive
+ * @param hasta fecha y hora máxima, exclusive
+ */
+public record FiltroPartidos(Long deporteId, Nivel nivel, Long zonaId, EstadoPartido estado, LocalDateTime desde,
+		LocalDateTime hasta) {
+}
@@ -1,15 +1,37 @@
 package com.tpo.unoMas.model.dao;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
 
 public interface IClienteDAO {
 	public List<Cliente> findAll();
 
 	public Cliente findById(int id);
 
+	public List<ClienteDTO> findAllDTO();
+
+	public ClienteDTO findDTOById(int id);
+
+	public Long findVersion(int id);
+
+	public long findVersionListado();
+
+	public void inicializarVersionListado();
+
+	public List<ClienteDTO> findPaginaDTO(Long despuesDeId, int limite);
+
+	public void recorrerTodos(Consumer<ClienteDTO> consumidor);
+
 	public void save(Cliente cliente);
 
+	public int insertarLote(List<Cliente> clientes);
+
+	public Long actualizar(int id, Cliente cliente, Long versionEsperada);
+
+	public boolean existe(int id);
+
 	public void deleteById(int id);
 }
@@ -0,0 +1,11 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import com.tpo.unoMas.model.Deporte;
+
+public interface IDeporteDAO {
+	public Deporte findById(Long id);
+
+	public List<Deporte> findAll();
+}
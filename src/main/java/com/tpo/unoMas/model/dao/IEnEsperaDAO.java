@@ -0,0 +1,27 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import com.tpo.unoMas.model.EnEspera;
+
+public interface IEnEsperaDAO {
+	public EnEspera find(Long partidoId, Long jugadorId);
+
+	public EnEspera findPrimero(Long partidoId);
+
+	public void save(EnEspera enEspera);
+
+	public void delete(EnEspera enEspera);
+
+	/**
+	 * @param partidoId
+	 * @return tokens FCM (no nulos) de los jugadores en la lista de espera del partido
+	 */
+	public List<String> findTokensFCM(Long partidoId);
+
+	/**
+	 * @param partidoId
+	 * @return cantidad de entradas borradas
+	 */
+	public int deleteByPartido(Long partidoId);
+}
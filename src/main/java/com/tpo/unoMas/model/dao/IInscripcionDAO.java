@@ -0,0 +1,11 @@
+package com.tpo.unoMas.model.dao;
+
+import com.tpo.unoMas.model.Inscripcion;
+
+public interface IInscripcionDAO {
+	public Inscripcion find(Long partidoId, Long jugadorId);
+
+	public void save(Inscripcion inscripcion);
+
+	public void delete(Inscripcion inscripcion);
+}
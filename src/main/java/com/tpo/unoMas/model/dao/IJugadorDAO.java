@@ -0,0 +1,9 @@
+package com.tpo.unoMas.model.dao;
+
+import com.tpo.unoMas.model.Jugador;
+
+public interface IJugadorDAO {
+	public Jugador findById(Long id);
+
+	public Jugador findConDeportes(Long id);
+}
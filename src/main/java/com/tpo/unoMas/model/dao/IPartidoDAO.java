@@ -0,0 +1,32 @@
+package com.tpo.unoMas.model.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+
+public interface IPartidoDAO {
+	public Partido findById(Long id);
+
+	public Partido findDetalle(Long id);
+
+	public List<Partido> findAbiertos();
+
+	public List<Object[]> findPendientesDeAgenda();
+
+	public List<Long> findIdsConJugador(Long jugadorId);
+
+	public Map<EstadoPartido, Long> contarActivosPorEstado();
+
+	public List<PartidoResumenDTO> buscar(FiltroPartidos filtro, LocalDateTime despuesDeFecha, Long despuesDeId,
+			int limite);
+
+	public List<Object[]> findPlanteles(List<Long> partidoIds);
+
+	public List<Object[]> findInscriptosDesfasados();
+
+	public int repararInscriptos(List<Long> partidoIds);
+}
@@ -0,0 +1,11 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import com.tpo.unoMas.service.EventoDePartido;
+
+public interface IPartidoEventoDAO {
+	public void insertarAlConfirmar(List<EventoDePartido> eventos);
+
+	public long contar();
+}
@@ -0,0 +1,22 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import com.tpo.unoMas.model.entity.TokenRevocado;
+
+public interface ITokenRevocadoDAO {
+	/**
+	 * @param jti
+	 * @param expiracion
+	 * @throws org.springframework.dao.DataIntegrityViolationException si el jti ya estaba revocado
+	 */
+	public void insertar(String jti, long expiracion);
+
+	public List<TokenRevocado> findVigentes(long ahora);
+
+	/**
+	 * @param limite
+	 * @return cantidad de tokens borrados
+	 */
+	public int deleteVencidosAntesDe(long limite);
+}
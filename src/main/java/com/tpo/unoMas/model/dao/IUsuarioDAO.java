@@ -3,5 +3,7 @@ package com.tpo.unoMas.model.dao;
 import com.tpo.unoMas.model.entity.Usuario;
 
 public interface IUsuarioDAO {
-	public Usuario findUser(String username, String password);
+	public Usuario findByUsername(String username);
+
+	public void updatePassword(Long id, String passwordHash);
 }
@@ -0,0 +1,11 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import com.tpo.unoMas.model.Zona;
+
+public interface IZonaDAO {
+	public Zona findById(Long id);
+
+	public List<Zona> findAll();
+}
@@ -0,0 +1,46 @@
+package com.tpo.unoMas.model.dao;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.Inscripcion;
+import com.tpo.unoMas.model.InscripcionId;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class InscripcionDAOImpl implements IInscripcionDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/**
+	 * Una fila de partido_jugador por su clave primaria, sin cargar el resto del plantel.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Inscripcion find(Long partidoId, Long jugadorId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		return currentSession.find(Inscripcion.class, new InscripcionId(partidoId, jugadorId));
+	}
+
+	@Override
+	@Transactional
+	public void save(Inscripcion inscripcion) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		currentSession.persist(inscripcion);
+	}
+
+	@Override
+	@Transactional
+	public void delete(Inscripcion inscripcion) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		currentSession.remove(inscripcion);
+	}
+}
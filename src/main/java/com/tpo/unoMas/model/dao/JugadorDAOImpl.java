@@ -0,0 +1,47 @@
+package com.tpo.unoMas.model.dao;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.Jugador;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class JugadorDAOImpl implements IJugadorDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Jugador findById(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Jugador jugador = currentSession.get(Jugador.class, id);
+
+		return jugador;
+	}
+
+	/**
+	 * Trae el jugador con sus deportes en un solo SELECT; la zona y cada Deporte salen de la
+	 * caché de segundo nivel.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Jugador findConDeportes(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Jugador> theQuery = currentSession.createQuery(
+				"FROM Jugador j LEFT JOIN FETCH j.deportes WHERE j.id = :id",
+				Jugador.class);
+		theQuery.setParameter("id", id);
+
+		return theQuery.uniqueResult();
+	}
+
+}
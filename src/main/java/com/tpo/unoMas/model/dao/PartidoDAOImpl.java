@@ -0,0 +1,237 @@
+package com.tpo.unoMas.model.dao;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.Confirmado;
+import com.tpo.unoMas.model.estado.EnJuego;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class PartidoDAOImpl implements IPartidoDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Partido findById(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Partido partido = currentSession.get(Partido.class, id);
+
+		return partido;
+	}
+
+	/**
+	 * Partido con zona, deporte y plantel en un solo SELECT con el grafo Partido.detalle;
+	 * la confirmación viaja en la misma fila de cada inscripción.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public Partido findDetalle(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Partido> theQuery = currentSession.createQuery("FROM Partido p WHERE p.id = :id", Partido.class);
+		theQuery.setParameter("id", id);
+		theQuery.applyGraph(currentSession.getEntityGraph(Partido.GRAFO_DETALLE), GraphSemantic.FETCH);
+
+		return theQuery.uniqueResult();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Partido> findAbiertos() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		// Sin JOIN a zonas: las coordenadas que necesita el índice salen de DatosReferencia
+		Query<Partido> theQuery = currentSession.createQuery(
+				"FROM Partido p WHERE p.fechaHora > :ahora AND p.estado IN (:abiertos)",
+				Partido.class);
+		theQuery.setParameter("ahora", LocalDateTime.now());
+		theQuery.setParameterList("abiertos", List.of(NecesitamosJugadores.INSTANCIA, PartidoArmado.INSTANCIA));
+
+		return theQuery.getResultList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Object[]> findPendientesDeAgenda() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		// Solo las columnas que necesita la agenda: id, fechaHora, duracionMinutos y estado
+		Query<Object[]> theQuery = currentSession.createQuery(
+				"SELECT p.id, p.fechaHora, p.duracionMinutos, p.estado FROM Partido p WHERE p.estado IN (:pendientes)",
+				Object[].class);
+		theQuery.setParameterList("pendientes",
+				List.of(NecesitamosJugadores.INSTANCIA, Confirmado.INSTANCIA, EnJuego.INSTANCIA));
+
+		return theQuery.getResultList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Long> findIdsConJugador(Long jugadorId) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Long> theQuery = currentSession.createQuery(
+				"SELECT i.id.partidoId FROM Inscripcion i WHERE i.id.jugadorId = :jugadorId", Long.class);
+		theQuery.setParameter("jugadorId", jugadorId);
+
+		return theQuery.getResultList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<EstadoPartido, Long> contarActivosPorEstado() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Object[]> theQuery = currentSession.createQuery(
+				"SELECT p.estado, count(p) FROM Partido p WHERE p.estado IN (:activos) GROUP BY p.estado", Object[].class);
+		theQuery.setParameterList("activos", List.of(NecesitamosJugadores.INSTANCIA, PartidoArmado.INSTANCIA,
+				Confirmado.INSTANCIA, EnJuego.INSTANCIA));
+
+		Map<EstadoPartido, Long> cantidades = new HashMap<>();
+		for (Object[] fila : theQuery.getResultList()) {
+			cantidades.put((EstadoPartido) fila[0], (Long) fila[1]);
+		}
+		return cantidades;
+	}
+
+	/**
+	 * Búsqueda paginada por keyset sobre (fechaHora, id): sigue después del último partido devuelto,
+	 * así que cada página cuesta lo mismo sin importar cuántas se hayan pedido antes. Proyecta solo
+	 * columnas de partidos (zona.id y deporte.id son las FK, sin JOIN) y nunca toca el plantel.
+	 * @param despuesDeFecha fecha del último partido de la página anterior, o null para la primera
+	 * @param despuesDeId    id del último partido de la página anterior
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<PartidoResumenDTO> buscar(FiltroPartidos filtro, LocalDateTime despuesDeFecha, Long despuesDeId,
+			int limite) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		StringBuilder hql = new StringBuilder("SELECT new com.tpo.unoMas.model.entity.PartidoResumenDTO(p.id, "
+				+ "p.titulo, p.fechaHora, p.deporte.id, p.zona.id, p.nivel, p.estado, p.confirmados, "
+				+ "p.inscriptos, p.minJugadores, p.maxJugadores) FROM Partido p WHERE 1 = 1");
+		Map<String, Object> parametros = new HashMap<>();
+		if (filtro.deporteId() != null) {
+			hql.append(" AND p.deporte.id = :deporteId");
+			parametros.put("deporteId", filtro.deporteId());
+		}
+		if (filtro.nivel() != null) {
+			hql.append(" AND p.nivel = :nivel");
+			parametros.put("nivel", filtro.nivel());
+		}
+		if (filtro.zonaId() != null) {
+			hql.append(" AND p.zona.id = :zonaId");
+			parametros.put("zonaId", filtro.zonaId());
+		}
+		if (filtro.estado() != null) {
+			hql.append(" AND p.estado = :estado");
+			parametros.put("estado", filtro.estado());
+		}
+		if (filtro.desde() != null) {
+			hql.append(" AND p.fechaHora >= :desde");
+			parametros.put("desde", filtro.desde());
+		}
+		if (filtro.hasta() != null) {
+			hql.append(" AND p.fechaHora < :hasta");
+			parametros.put("hasta", filtro.hasta());
+		}
+		if (despuesDeFecha != null) {
+			// El ">=" redundante le da al índice el inicio del rango; el OR solo descarta los empates ya devueltos
+			hql.append(" AND p.fechaHora >= :despuesDeFecha"
+					+ " AND (p.fechaHora > :despuesDeFecha OR p.id > :despuesDeId)");
+			parametros.put("despuesDeFecha", despuesDeFecha);
+			parametros.put("despuesDeId", despuesDeId);
+		}
+		// Las columnas fijadas por igualdad encabezan el ORDER BY: no cambian el orden, pero así el motor
+		// reconoce que el índice compuesto ya entrega las filas ordenadas y corta en el límite sin ordenar
+		hql.append(" ORDER BY ");
+		if (filtro.deporteId() != null && filtro.nivel() != null) {
+			hql.append("p.deporte.id, p.nivel, ");
+		} else if (filtro.zonaId() != null) {
+			hql.append("p.zona.id, ");
+		} else if (filtro.estado() != null) {
+			hql.append("p.estado, ");
+		}
+		hql.append("p.fechaHora, p.id");
+
+		Query<PartidoResumenDTO> theQuery = currentSession.createQuery(hql.toString(), PartidoResumenDTO.class);
+		parametros.forEach(theQuery::setParameter);
+		theQuery.setMaxResults(limite);
+
+		return theQuery.getResultList();
+	}
+
+	/**
+	 * Planteles de varios partidos en una sola consulta: partidoId, jugadorId, nombre y confirmado.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Object[]> findPlanteles(List<Long> partidoIds) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Object[]> theQuery = currentSession.createQuery(
+				"SELECT i.id.partidoId, j.id, j.nombre, i.confirmado FROM Inscripcion i JOIN i.jugador j "
+						+ "WHERE i.id.partidoId IN (:partidoIds)", Object[].class);
+		theQuery.setParameterList("partidoIds", partidoIds);
+
+		return theQuery.getResultList();
+	}
+
+	/**
+	 * Partidos activos cuyo contador de inscriptos no coincide con las filas de partido_jugador:
+	 * id, inscriptos guardado y cantidad real.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<Object[]> findInscriptosDesfasados() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Object[]> theQuery = currentSession.createQuery(
+				"SELECT p.id, p.inscriptos, count(i) FROM Partido p LEFT JOIN p.inscripciones i "
+						+ "WHERE p.estado IN (:activos) GROUP BY p.id, p.inscriptos HAVING p.inscriptos <> count(i)",
+				Object[].class);
+		theQuery.setParameterList("activos", List.of(NecesitamosJugadores.INSTANCIA, PartidoArmado.INSTANCIA,
+				Confirmado.INSTANCIA, EnJuego.INSTANCIA));
+
+		return theQuery.getResultList();
+	}
+
+	/**
+	 * Recalcula el contador desde partido_jugador en un solo UPDATE. Sube la versión: una transacción
+	 * que tenía cargado el partido con el contador viejo falla por control optimista y reintenta.
+	 * @return cantidad de partidos corregidos
+	 */
+	@Override
+	@Transactional
+	public int repararInscriptos(List<Long> partidoIds) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		String contar = "(SELECT count(i) FROM Inscripcion i WHERE i.id.partidoId = p.id)";
+		MutationQuery theQuery = currentSession.createMutationQuery("UPDATE Partido p SET p.inscriptos = " + contar
+				+ ", p.version = p.version + 1 WHERE p.id IN (:partidoIds) AND p.inscriptos <> " + contar);
+		theQuery.setParameterList("partidoIds", partidoIds);
+
+		return theQuery.executeUpdate();
+	}
+}
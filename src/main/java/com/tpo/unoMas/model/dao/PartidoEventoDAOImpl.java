@@ -0,0 +1,82 @@
+package com.tpo.unoMas.model.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tpo.unoMas.service.EventoDePartido;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class PartidoEventoDAOImpl implements IPartidoEventoDAO {
+
+	private static final String INSERT = "INSERT INTO partido_eventos (partido_id, tipo, datos, ocurrido) VALUES (?, ?, ?, ?)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	/**
+	 * Programa la inserción de los eventos en el outbox justo antes del commit de la transacción
+	 * actual, después del último flush, en un único batch JDBC sobre la misma conexión.
+	 * La lista se lee recién en ese momento, así que puede seguir creciendo hasta entonces.
+	 */
+	@Override
+	@Transactional
+	public void insertarAlConfirmar(List<EventoDePartido> eventos) {
+		SessionImplementor currentSession = entityManager.unwrap(SessionImplementor.class);
+
+		currentSession.getActionQueue()
+				.registerProcess((BeforeTransactionCompletionProcess) session -> insertar(session, eventos));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long contar() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		return currentSession.createQuery("SELECT count(r) FROM RegistroEventoPartido r", Long.class)
+				.getSingleResult();
+	}
+
+	private void insertar(SessionImplementor session, List<EventoDePartido> eventos) {
+		if (eventos.isEmpty()) {
+			return;
+		}
+
+		session.doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+				for (EventoDePartido evento : eventos) {
+					statement.setLong(1, evento.partidoId());
+					statement.setString(2, evento.evento().tipo());
+					statement.setString(3, serializar(evento));
+					statement.setTimestamp(4, Timestamp.valueOf(evento.evento().ocurrido()));
+					statement.addBatch();
+				}
+				statement.executeBatch();
+			}
+		});
+	}
+
+	private String serializar(EventoDePartido evento) {
+		try {
+			return objectMapper.writeValueAsString(evento.evento().datos());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("No se pudo serializar el evento " + evento.evento().tipo(), e);
+		}
+	}
+}
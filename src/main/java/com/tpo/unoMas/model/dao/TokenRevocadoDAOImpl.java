@@ -0,0 +1,59 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.entity.TokenRevocado;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class TokenRevocadoDAOImpl implements ITokenRevocadoDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional
+	public void insertar(String jti, long expiracion) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		// INSERT directo y no persist: un jti repetido falla por la clave primaria, también entre nodos
+		MutationQuery theQuery = currentSession.createMutationQuery(
+				"INSERT INTO TokenRevocado (jti, expiracion) VALUES (:jti, :expiracion)");
+		theQuery.setParameter("jti", jti);
+		theQuery.setParameter("expiracion", expiracion);
+		theQuery.executeUpdate();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<TokenRevocado> findVigentes(long ahora) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<TokenRevocado> theQuery = currentSession.createQuery(
+				"FROM TokenRevocado WHERE expiracion > :ahora", TokenRevocado.class);
+		theQuery.setParameter("ahora", ahora);
+
+		return theQuery.getResultList();
+	}
+
+	@Override
+	@Transactional
+	public int deleteVencidosAntesDe(long limite) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		MutationQuery theQuery = currentSession.createMutationQuery(
+				"DELETE FROM TokenRevocado WHERE expiracion < :limite");
+		theQuery.setParameter("limite", limite);
+
+		return theQuery.executeUpdate();
+	}
+}
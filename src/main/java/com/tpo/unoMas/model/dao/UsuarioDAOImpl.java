@@ -1,16 +1,18 @@
 package com.tpo.unoMas.model.dao;
 
 import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
 import org.hibernate.query.Query;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.tpo.unoMas.model.entity.Usuario;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
 @Repository
+@Timed("unomas.dao")
 public class UsuarioDAOImpl implements IUsuarioDAO {
 
 	@PersistenceContext
@@ -18,30 +20,24 @@ public class UsuarioDAOImpl implements IUsuarioDAO {
 
 	@Override
 	@Transactional(readOnly = true)
-	public Usuario findUser(String username, String password) {
+	public Usuario findByUsername(String username) {
 		Session currentSession = entityManager.unwrap(Session.class);
 
 		Query<Usuario> theQuery = currentSession.createQuery("FROM Usuario WHERE username=:username", Usuario.class);
 		theQuery.setParameter("username", username);
 
-		Usuario user = theQuery.uniqueResult();
-
-		if(user != null && checkPassword(password, user.getPassword())) {
-			return user;
-		} else {
-			return null;
-		}
+		return theQuery.uniqueResult();
 	}
 
-	private boolean checkPassword(String password, String passwordDB) {
-		BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-		String hashedPassword = passwordEncoder.encode(password);
-		System.out.println("Password: " + password);
-		System.out.println("hashedPassword: " + hashedPassword);
-		System.out.println("passwordDB: " + passwordDB);
-		boolean isPasswordMatch = passwordEncoder.matches(password, passwordDB);
-		
-		return isPasswordMatch;
+	@Override
+	@Transactional
+	public void updatePassword(Long id, String passwordHash) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		MutationQuery theQuery = currentSession.createMutationQuery("UPDATE Usuario SET password=:password WHERE id=:id");
+		theQuery.setParameter("password", passwordHash);
+		theQuery.setParameter("id", id);
+		theQuery.executeUpdate();
 	}
 
 }
@@ -0,0 +1,41 @@
+package com.tpo.unoMas.model.dao;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.tpo.unoMas.model.Zona;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Repository
+@Timed("unomas.dao")
+public class ZonaDAOImpl implements IZonaDAO {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Zona findById(Long id) {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Zona zona = currentSession.get(Zona.class, id);
+
+		return zona;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Zona> findAll() {
+		Session currentSession = entityManager.unwrap(Session.class);
+
+		Query<Zona> theQuery = currentSession.createQuery("FROM Zona", Zona.class);
+
+		return theQuery.getResultList();
+	}
+}
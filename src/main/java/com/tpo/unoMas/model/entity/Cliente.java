@@ -10,6 +10,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "clientes")
@@ -23,6 +24,10 @@ public class Cliente {
 	@Column(name = "create_at")
 	@Temporal(TemporalType.DATE)
 	private Date createAt;
+	// Control optimista: cada UPDATE la incrementa y PUT /clientes/{id} la recibe en If-Match
+	@Version
+	@Column(nullable = false)
+	private long version;
 
 	public Cliente() {
 		super();
@@ -77,6 +82,14 @@ public class Cliente {
 		this.createAt = createAt;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	@Override
 	public String toString() {
 		return "Cliente [id=" + id + ", nombre=" + nombre + ", apellido=" + apellido + ", email=" + email
@@ -1,6 +1,14 @@
 package com.tpo.unoMas.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class ClienteDTO {
+	// Solo de uso interno (cursor de paginación): no forma parte del JSON
+	@JsonIgnore
+	private Long id;
+	// Viaja en el ETag de GET /clientes/{id}, no en el JSON
+	@JsonIgnore
+	private Long version;
 	private String nombre;
 	private String apellido;
 	private String email;
@@ -23,6 +31,39 @@ public class ClienteDTO {
 		this.email = email;
 	}
 
+	/**
+	 * ClienteDTO Constructor usado por las consultas de proyección (select new ...)
+	 * @param id
+	 * @param nombre
+	 * @param apellido
+	 * @param email
+	 */
+	public ClienteDTO(Long id, String nombre, String apellido, String email) {
+		this(nombre, apellido, email);
+		this.id = id;
+	}
+
+	/**
+	 * ClienteDTO Constructor usado por la consulta de un cliente, con su versión
+	 * @param id
+	 * @param nombre
+	 * @param apellido
+	 * @param email
+	 * @param version
+	 */
+	public ClienteDTO(Long id, String nombre, String apellido, String email, Long version) {
+		this(id, nombre, apellido, email);
+		this.version = version;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
 	public String getNombre() {
 		return nombre;
 	}
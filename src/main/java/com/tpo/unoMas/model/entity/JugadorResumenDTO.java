@@ -0,0 +1,43 @@
+package com.tpo.unoMas.model.entity;
+
+public class JugadorResumenDTO {
+	private Long id;
+	private String nombre;
+	private boolean confirmado;
+
+	public JugadorResumenDTO() {
+		super();
+	}
+
+	public JugadorResumenDTO(Long id, String nombre, boolean confirmado) {
+		super();
+		this.id = id;
+		this.nombre = nombre;
+		this.confirmado = confirmado;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public void setNombre(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public boolean isConfirmado() {
+		return confirmado;
+	}
+
+	public void setConfirmado(boolean confirmado) {
+		this.confirmado = confirmado;
+	}
+
+}
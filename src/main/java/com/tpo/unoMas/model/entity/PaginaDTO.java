@@ -0,0 +1,40 @@
+package com.tpo.unoMas.model.entity;
+
+import java.util.List;
+
+public class PaginaDTO<T> {
+	private List<T> items;
+	private String siguienteCursor;
+
+	public PaginaDTO() {
+		super();
+	}
+
+	/**
+	 * PaginaDTO Constructor
+	 * @param items
+	 * @param siguienteCursor cursor opaco para pedir la página siguiente (null si no hay más)
+	 */
+	public PaginaDTO(List<T> items, String siguienteCursor) {
+		super();
+		this.items = items;
+		this.siguienteCursor = siguienteCursor;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	public void setItems(List<T> items) {
+		this.items = items;
+	}
+
+	public String getSiguienteCursor() {
+		return siguienteCursor;
+	}
+
+	public void setSiguienteCursor(String siguienteCursor) {
+		this.siguienteCursor = siguienteCursor;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.tpo.unoMas.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.tpo.unoMas.model.Nivel;
+
+public class PartidoCercanoDTO {
+	private Long id;
+	private String titulo;
+	private LocalDateTime fechaHora;
+	private Long deporteId;
+	private Nivel nivel;
+	private int plazasLibres;
+	private double distanciaKm;
+
+	public PartidoCercanoDTO() {
+		super();
+	}
+
+	public PartidoCercanoDTO(Long id, String titulo, LocalDateTime fechaHora, Long deporteId, Nivel nivel,
+			int plazasLibres, double distanciaKm) {
+		super();
+		this.id = id;
+		this.titulo = titulo;
+		this.fechaHora = fechaHora;
+		this.deporteId = deporteId;
+		this.nivel = nivel;
+		this.plazasLibres = plazasLibres;
+		this.distanciaKm = distanciaKm;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+
+	public void setTitulo(String titulo) {
+		this.titulo = titulo;
+	}
+
+	public LocalDateTime getFechaHora() {
+		return fechaHora;
+	}
+
+	public void setFechaHora(LocalDateTime fechaHora) {
+		this.fechaHora = fechaHora;
+	}
+
+	public Long getDeporteId() {
+		return deporteId;
+	}
+
+	public void setDeporteId(Long deporteId) {
+		this.deporteId = deporteId;
+	}
+
+	public Nivel getNivel() {
+		return nivel;
+	}
+
+	public void setNivel(Nivel nivel) {
+		this.nivel = nivel;
+	}
+
+	public int getPlazasLibres() {
+		return plazasLibres;
+	}
+
+	public void setPlazasLibres(int plazasLibres) {
+		this.plazasLibres = plazasLibres;
+	}
+
+	public double getDistanciaKm() {
+		return distanciaKm;
+	}
+
+	public void setDistanciaKm(double distanciaKm) {
+		this.distanciaKm = distanciaKm;
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.tpo.unoMas.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.tpo.unoMas.model.Nivel;
+
+public class PartidoDetalleDTO {
+	private Long id;
+	private String titulo;
+	private LocalDateTime fechaHora;
+	private Integer duracionMinutos;
+	private String estado;
+	private Nivel nivel;
+	private String deporte;
+	private String barrio;
+	private Integer minJugadores;
+	private Integer maxJugadores;
+	private List<JugadorResumenDTO> jugadores;
+
+	public PartidoDetalleDTO() {
+		super();
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+
+	public void setTitulo(String titulo) {
+		this.titulo = titulo;
+	}
+
+	public LocalDateTime getFechaHora() {
+		return fechaHora;
+	}
+
+	public void setFechaHora(LocalDateTime fechaHora) {
+		this.fechaHora = fechaHora;
+	}
+
+	public Integer getDuracionMinutos() {
+		return duracionMinutos;
+	}
+
+	public void setDuracionMinutos(Integer duracionMinutos) {
+		this.duracionMinutos = duracionMinutos;
+	}
+
+	public String getEstado() {
+		return estado;
+	}
+
+	public void setEstado(String estado) {
+		this.estado = estado;
+	}
+
+	public Nivel getNivel() {
+		return nivel;
+	}
+
+	public void setNivel(Nivel nivel) {
+		this.nivel = nivel;
+	}
+
+	public String getDeporte() {
+		return deporte;
+	}
+
+	public void setDeporte(String deporte) {
+		this.deporte = deporte;
+	}
+
+	public String getBarrio() {
+		return barrio;
+	}
+
+	public void setBarrio(String barrio) {
+		this.barrio = barrio;
+	}
+
+	public Integer getMinJugadores() {
+		return minJugadores;
+	}
+
+	public void setMinJugadores(Integer minJugadores) {
+		this.minJugadores = minJugadores;
+	}
+
+	public Integer getMaxJugadores() {
+		return maxJugadores;
+	}
+
+	public void setMaxJugadores(Integer maxJugadores) {
+		this.maxJugadores = maxJugadores;
+	}
+
+	public List<JugadorResumenDTO> getJugadores() {
+		return jugadores;
+	}
+
+	public void setJugadores(List<JugadorResumenDTO> jugadores) {
+		this.jugadores = jugadores;
+	}
+
+}
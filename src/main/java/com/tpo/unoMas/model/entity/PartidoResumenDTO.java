@@ -0,0 +1,155 @@
+package com.tpo.unoMas.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+
+public class PartidoResumenDTO {
+	private Long id;
+	private String titulo;
+	private LocalDateTime fechaHora;
+	private Long deporteId;
+	private Long zonaId;
+	private Nivel nivel;
+	private String estado;
+	private int confirmados;
+	private int inscriptos;
+	private int plazasLibres;
+	private Integer minJugadores;
+	private Integer maxJugadores;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<JugadorResumenDTO> jugadores;
+
+	public PartidoResumenDTO() {
+		super();
+	}
+
+	/**
+	 * PartidoResumenDTO Constructor, usado por la proyección de la búsqueda: solo columnas de la fila
+	 * del partido, sin tocar el plantel
+	 */
+	public PartidoResumenDTO(Long id, String titulo, LocalDateTime fechaHora, Long deporteId, Long zonaId, Nivel nivel,
+			EstadoPartido estado, int confirmados, int inscriptos, Integer minJugadores, Integer maxJugadores) {
+		super();
+		this.id = id;
+		this.titulo = titulo;
+		this.fechaHora = fechaHora;
+		this.deporteId = deporteId;
+		this.zonaId = zonaId;
+		this.nivel = nivel;
+		this.estado = estado.toString();
+		this.confirmados = confirmados;
+		this.inscriptos = inscriptos;
+		this.plazasLibres = Math.max(0, maxJugadores - inscriptos);
+		this.minJugadores = minJugadores;
+		this.maxJugadores = maxJugadores;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTitulo() {
+		return titulo;
+	}
+
+	public void setTitulo(String titulo) {
+		this.titulo = titulo;
+	}
+
+	public LocalDateTime getFechaHora() {
+		return fechaHora;
+	}
+
+	public void setFechaHora(LocalDateTime fechaHora) {
+		this.fechaHora = fechaHora;
+	}
+
+	public Long getDeporteId() {
+		return deporteId;
+	}
+
+	public void setDeporteId(Long deporteId) {
+		this.deporteId = deporteId;
+	}
+
+	public Long getZonaId() {
+		return zonaId;
+	}
+
+	public void setZonaId(Long zonaId) {
+		this.zonaId = zonaId;
+	}
+
+	public Nivel getNivel() {
+		return nivel;
+	}
+
+	public void setNivel(Nivel nivel) {
+		this.nivel = nivel;
+	}
+
+	public String getEstado() {
+		return estado;
+	}
+
+	public void setEstado(String estado) {
+		this.estado = estado;
+	}
+
+	public int getConfirmados() {
+		return confirmados;
+	}
+
+	public void setConfirmados(int confirmados) {
+		this.confirmados = confirmados;
+	}
+
+	public int getInscriptos() {
+		return inscriptos;
+	}
+
+	public void setInscriptos(int inscriptos) {
+		this.inscriptos = inscriptos;
+	}
+
+	public int getPlazasLibres() {
+		return plazasLibres;
+	}
+
+	public void setPlazasLibres(int plazasLibres) {
+		this.plazasLibres = plazasLibres;
+	}
+
+	public Integer getMinJugadores() {
+		return minJugadores;
+	}
+
+	public void setMinJugadores(Integer minJugadores) {
+		this.minJugadores = minJugadores;
+	}
+
+	public Integer getMaxJugadores() {
+		return maxJugadores;
+	}
+
+	public void setMaxJugadores(Integer maxJugadores) {
+		this.maxJugadores = maxJugadores;
+	}
+
+	public List<JugadorResumenDTO> getJugadores() {
+		return jugadores;
+	}
+
+	public void setJugadores(List<JugadorResumenDTO> jugadores) {
+		this.jugadores = jugadores;
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.tpo.unoMas.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Token revocado (logout, refresh ya usado) hasta su expiración. Es la copia persistente de
+ * ListaRevocacion: cada nodo la carga al arrancar, así que un token revocado no vuelve a servir
+ * después de un reinicio.
+ */
+@Entity
+@Table(name = "tokens_revocados", indexes = @Index(name = "idx_tokens_revocados_expiracion", columnList = "expiracion"))
+public class TokenRevocado {
+	@Id
+	@Column(length = 36)
+	private String jti;
+	// Epoch millis, igual que en ListaRevocacion
+	@Column(nullable = false)
+	private long expiracion;
+
+	protected TokenRevocado() {
+		// Requerido por JPA
+	}
+
+	public TokenRevocado(String jti, long expiracion) {
+		this.jti = jti;
+		this.expiracion = expiracion;
+	}
+
+	public String getJti() {
+		return jti;
+	}
+
+	public long getExpiracion() {
+		return expiracion;
+	}
+}
@@ -0,0 +1,59 @@
+package com.tpo.unoMas.model.entity;
+
+public class TokensDTO {
+	private String accessToken;
+	private String refreshToken;
+	private String tipo;
+	private long expiraEnSegundos;
+
+	public TokensDTO() {
+		super();
+	}
+
+	/**
+	 * TokensDTO Constructor
+	 * @param accessToken      token de acceso (Authorization: Bearer), de vida corta
+	 * @param refreshToken     token para pedir un par nuevo en /auth/refresh; se puede usar una sola vez
+	 * @param expiraEnSegundos vida del token de acceso
+	 */
+	public TokensDTO(String accessToken, String refreshToken, long expiraEnSegundos) {
+		super();
+		this.accessToken = accessToken;
+		this.refreshToken = refreshToken;
+		this.tipo = "Bearer";
+		this.expiraEnSegundos = expiraEnSegundos;
+	}
+
+	public String getAccessToken() {
+		return accessToken;
+	}
+
+	public void setAccessToken(String accessToken) {
+		this.accessToken = accessToken;
+	}
+
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
+	public String getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(String tipo) {
+		this.tipo = tipo;
+	}
+
+	public long getExpiraEnSegundos() {
+		return expiraEnSegundos;
+	}
+
+	public void setExpiraEnSegundos(long expiraEnSegundos) {
+		this.expiraEnSegundos = expiraEnSegundos;
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.tpo.unoMas.model.entity;
+
+import java.util.List;
+
+/**
+ * Estado de una importación o exportación masiva de clientes, en curso o terminada.
+ */
+public class TransferenciaDTO {
+	private long id;
+	private String operacion;
+	private String formato;
+	private String estado;
+	private long procesadas;
+	private long transferidas;
+	private long rechazadas;
+	private List<String> errores;
+	private long duracionMs;
+	private long filasPorSegundo;
+
+	public TransferenciaDTO() {
+		super();
+	}
+
+	/**
+	 * TransferenciaDTO Constructor
+	 * @param id
+	 * @param operacion    importacion o exportacion
+	 * @param formato      csv o ndjson
+	 * @param estado       EN_CURSO, TERMINADA o FALLIDA
+	 * @param procesadas   filas leídas (importación) o recorridas (exportación)
+	 * @param transferidas filas insertadas o escritas
+	 * @param rechazadas   filas que no pasaron la validación
+	 * @param errores      primeros errores de validación, con su número de línea
+	 * @param duracionMs
+	 * @param filasPorSegundo
+	 */
+	public TransferenciaDTO(long id, String operacion, String formato, String estado, long procesadas,
+			long transferidas, long rechazadas, List<String> errores, long duracionMs, long filasPorSegundo) {
+		super();
+		this.id = id;
+		this.operacion = operacion;
+		this.formato = formato;
+		this.estado = estado;
+		this.procesadas = procesadas;
+		this.transferidas = transferidas;
+		this.rechazadas = rechazadas;
+		this.errores = errores;
+		this.duracionMs = duracionMs;
+		this.filasPorSegundo = filasPorSegundo;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getOperacion() {
+		return operacion;
+	}
+
+	public void setOperacion(String operacion) {
+		this.operacion = operacion;
+	}
+
+	public String getFormato() {
+		return formato;
+	}
+
+	public void setFormato(String formato) {
+		this.formato = formato;
+	}
+
+	public String getEstado() {
+		return estado;
+	}
+
+	public void setEstado(String estado) {
+		this.estado = estado;
+	}
+
+	public long getProcesadas() {
+		return procesadas;
+	}
+
+	public void setProcesadas(long procesadas) {
+		this.procesadas = procesadas;
+	}
+
+	public long getTransferidas() {
+		return transferidas;
+	}
+
+	public void setTransferidas(long transferidas) {
+		this.transferidas = transferidas;
+	}
+
+	public long getRechazadas() {
+		return rechazadas;
+	}
+
+	public void setRechazadas(long rechazadas) {
+		this.rechazadas = rechazadas;
+	}
+
+	public List<String> getErrores() {
+		return errores;
+	}
+
+	public void setErrores(List<String> errores) {
+		this.errores = errores;
+	}
+
+	public long getDuracionMs() {
+		return duracionMs;
+	}
+
+	public void setDuracionMs(long duracionMs) {
+		this.duracionMs = duracionMs;
+	}
+
+	public long getFilasPorSegundo() {
+		return filasPorSegundo;
+	}
+
+	public void setFilasPorSegundo(long filasPorSegundo) {
+		this.filasPorSegundo = filasPorSegundo;
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.tpo.unoMas.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Versión de un listado completo (una fila por listado). Cada alta, baja o modificación la
+ * incrementa en su misma transacción, así que un GET condicional se resuelve leyendo esta fila
+ * sola, sin recorrer la tabla del listado.
+ */
+@Entity
+@Table(name = "versiones_listado")
+public class VersionListado {
+	@Id
+	@Column(length = 40)
+	private String nombre;
+	@Column(nullable = false)
+	private long valor;
+
+	protected VersionListado() {
+		// Requerido por JPA
+	}
+
+	public VersionListado(String nombre) {
+		this.nombre = nombre;
+	}
+
+	public String getNombre() {
+		return nombre;
+	}
+
+	public long getValor() {
+		return valor;
+	}
+}
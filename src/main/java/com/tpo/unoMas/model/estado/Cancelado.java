@@ -3,6 +3,17 @@ import com.tpo.unoMas.model.Jugador;
 import com.tpo.unoMas.model.Partido;
 
 public class Cancelado extends EstadoPartido{
+
+    public static final Cancelado INSTANCIA = new Cancelado();
+
+    private Cancelado() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'X';
+    }
+
     // ESTADO FINAL
     @Override
     public void agregarJugador(Partido partido, Jugador jugador) {
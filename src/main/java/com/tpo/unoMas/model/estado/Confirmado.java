@@ -4,23 +4,44 @@ import com.tpo.unoMas.model.Jugador;
 import com.tpo.unoMas.model.Partido;
 
 public class Confirmado extends EstadoPartido{
+
+    public static final Confirmado INSTANCIA = new Confirmado();
+
+    private Confirmado() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'C';
+    }
+
     @Override
     public void agregarJugador(Partido partido, Jugador jugador) {
         // STATE PATTERN: En estado confirmado, normalmente no se permiten cambios
         throw new IllegalStateException("No se pueden agregar jugadores a un partido ya confirmado");
     }
 
+    @Override
+    public void promoverJugador(Partido partido, Jugador jugador) {
+        // Ocupa el lugar que dejó una baja: el partido sigue confirmado y el promovido confirma
+        // su asistencia como cualquiera
+        if (partido.estaCompleto()) {
+            throw new IllegalStateException("El partido ya tiene el máximo de jugadores permitidos");
+        }
+        partido.agregarJugadorInterno(jugador);
+    }
+
     @Override
     public void removerJugador(Partido partido, Jugador jugador) {
         // STATE PATTERN: Permitir remover pero con consecuencias
-        if (!partido.getJugadores().contains(jugador)) {
+        if (!partido.estaInscripto(jugador)) {
             throw new IllegalStateException("El jugador no está en el partido");
         }
 
         partido.removerJugadorInterno(jugador);
 
-        if (partido.getJugadores().size() < partido.getMinJugadores()) {
-            partido.cambiarEstado(new NecesitamosJugadores());
+        if (partido.getCantidadJugadores() < partido.getMinJugadores()) {
+            partido.cambiarEstado(NecesitamosJugadores.INSTANCIA);
         }
     }
 
@@ -31,7 +52,7 @@ public class Confirmado extends EstadoPartido{
 
     @Override
     public void iniciarPartido(Partido partido) {
-        partido.cambiarEstado(new EnJuego());
+        partido.cambiarEstado(EnJuego.INSTANCIA);
     }
 
     @Override
@@ -41,6 +62,6 @@ public class Confirmado extends EstadoPartido{
 
     @Override
     public void cancelarPartido(Partido partido) {
-        partido.cambiarEstado(new Cancelado());
+        partido.cambiarEstado(Cancelado.INSTANCIA);
     }
 }
@@ -5,6 +5,16 @@ import com.tpo.unoMas.model.Partido;
 import java.util.Objects;
 public class EnJuego extends EstadoPartido{
 
+    public static final EnJuego INSTANCIA = new EnJuego();
+
+    private EnJuego() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'J';
+    }
+
     @Override
     public void agregarJugador(Partido partido, Jugador jugador) {
         throw new IllegalStateException("No se pueden agregar jugadores a un partido en juego");
@@ -28,13 +38,13 @@ public class EnJuego extends EstadoPartido{
     @Override
     public void finalizarPartido(Partido partido) {
         Objects.requireNonNull(partido, "El partido no puede ser null");
-        partido.cambiarEstado(new Finalizado());
+        partido.cambiarEstado(Finalizado.INSTANCIA);
     }
 
     @Override
     public void cancelarPartido(Partido partido) {
         Objects.requireNonNull(partido, "El partido no puede ser null");
-        partido.cambiarEstado(new Cancelado());
+        partido.cambiarEstado(Cancelado.INSTANCIA);
     }
 
 }
@@ -3,11 +3,22 @@ package com.tpo.unoMas.model.estado;
 import com.tpo.unoMas.model.Jugador;
 import com.tpo.unoMas.model.Partido;
 
+/**
+ * Los estados no guardan datos propios: cada subclase expone una única INSTANCIA compartida
+ * y se persiste en la columna "estado" del partido a través de su código de una letra.
+ */
 public abstract class EstadoPartido {
 
-    public EstadoPartido() {
+    private static final char[] CODIGOS = { 'N', 'A', 'C', 'J', 'F', 'X' };
+
+    protected EstadoPartido() {
     }
 
+    /**
+     * Código con el que se persiste el estado (ver EstadoPartidoConverter).
+     */
+    public abstract char getCodigo();
+
     public abstract void agregarJugador(Partido partido, Jugador jugador);
     public abstract void removerJugador(Partido partido, Jugador jugador);
     public abstract void confirmarPartido(Partido partido);
@@ -15,4 +26,49 @@ public abstract class EstadoPartido {
     public abstract void finalizarPartido(Partido partido);
     public abstract void cancelarPartido(Partido partido);
 
-}
\ No newline at end of file
+    /**
+     * Pasa al plantel a un jugador de la lista de espera. Por defecto es un alta más; los estados
+     * que no admiten altas pero sí promociones lo redefinen.
+     */
+    public void promoverJugador(Partido partido, Jugador jugador) {
+        agregarJugador(partido, jugador);
+    }
+
+    public static EstadoPartido desdeCodigo(char codigo) {
+        switch (codigo) {
+            case 'N':
+                return NecesitamosJugadores.INSTANCIA;
+            case 'A':
+                return PartidoArmado.INSTANCIA;
+            case 'C':
+                return Confirmado.INSTANCIA;
+            case 'J':
+                return EnJuego.INSTANCIA;
+            case 'F':
+                return Finalizado.INSTANCIA;
+            case 'X':
+                return Cancelado.INSTANCIA;
+            default:
+                throw new IllegalArgumentException("Código de estado desconocido: " + codigo);
+        }
+    }
+
+    /**
+     * Estado a partir de su nombre (el de toString), por ejemplo "NecesitamosJugadores".
+     */
+    public static EstadoPartido desdeNombre(String nombre) {
+        for (char codigo : CODIGOS) {
+            EstadoPartido estado = desdeCodigo(codigo);
+            if (estado.toString().equalsIgnoreCase(nombre)) {
+                return estado;
+            }
+        }
+        throw new IllegalArgumentException("Estado desconocido: " + nombre);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName();
+    }
+
+}
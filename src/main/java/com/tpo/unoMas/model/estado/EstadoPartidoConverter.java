@@ -0,0 +1,22 @@
+package com.tpo.unoMas.model.estado;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Persiste el estado como un único carácter: la rehidratación es una búsqueda
+ * sobre la misma fila, sin joins ni recalcular nada a partir de los jugadores.
+ */
+@Converter
+public class EstadoPartidoConverter implements AttributeConverter<EstadoPartido, String> {
+
+    @Override
+    public String convertToDatabaseColumn(EstadoPartido estado) {
+        return estado == null ? null : String.valueOf(estado.getCodigo());
+    }
+
+    @Override
+    public EstadoPartido convertToEntityAttribute(String codigo) {
+        return codigo == null || codigo.isEmpty() ? null : EstadoPartido.desdeCodigo(codigo.charAt(0));
+    }
+}
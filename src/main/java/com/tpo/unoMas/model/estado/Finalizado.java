@@ -4,6 +4,17 @@ import com.tpo.unoMas.model.Jugador;
 import com.tpo.unoMas.model.Partido;
 
 public class Finalizado extends EstadoPartido{
+
+    public static final Finalizado INSTANCIA = new Finalizado();
+
+    private Finalizado() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'F';
+    }
+
     //ESTADO FINAL
 
     @Override
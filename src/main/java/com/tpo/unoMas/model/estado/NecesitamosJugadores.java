@@ -4,17 +4,28 @@ import com.tpo.unoMas.model.Jugador;
 import com.tpo.unoMas.model.Partido;
 
 public class NecesitamosJugadores extends EstadoPartido {
+
+    public static final NecesitamosJugadores INSTANCIA = new NecesitamosJugadores();
+
+    private NecesitamosJugadores() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'N';
+    }
+
     @Override
     public void agregarJugador(Partido partido, Jugador jugador) {
 
-        if (partido.getJugadores().size() > partido.getMaxJugadores()) {
+        if (partido.getCantidadJugadores() >= partido.getMaxJugadores()) {
             throw new IllegalStateException("El partido ya tiene el máximo de jugadores permitidos");
         }
 
         partido.agregarJugadorInterno(jugador);
 
-        if (partido.getJugadores().size() == partido.getMinJugadores()) {
-            partido.cambiarEstado(new PartidoArmado());
+        if (partido.getCantidadJugadores() >= partido.getMinJugadores()) {
+            partido.cambiarEstado(PartidoArmado.INSTANCIA);
         }
     }
 
@@ -40,6 +51,7 @@ public class NecesitamosJugadores extends EstadoPartido {
 
     @Override
     public void cancelarPartido(Partido partido) {
-        throw new IllegalStateException("No se puede confirmar un partido que aún necesita jugadores");
+        // Un partido que no llegó al mínimo se puede cancelar (p. ej. al llegar la hora sin jugadores)
+        partido.cambiarEstado(Cancelado.INSTANCIA);
     }
 }
@@ -6,17 +6,28 @@ import java.util.Objects;
 
 public class PartidoArmado extends EstadoPartido {
 
+    public static final PartidoArmado INSTANCIA = new PartidoArmado();
+
+    private PartidoArmado() {
+    }
+
+    @Override
+    public char getCodigo() {
+        return 'A';
+    }
 
     @Override
     public void agregarJugador(Partido partido, Jugador jugador) {
         Objects.requireNonNull(jugador, "El jugador no puede ser null");
 
-        if (partido.getJugadores().contains(jugador)) {
+        if (partido.estaInscripto(jugador)) {
             throw new IllegalStateException("El jugador ya está en el partido");
         }
 
+        // Completo: en lugar de rechazar (y que el jugador reintente), pasa a la lista de espera
         if (partido.estaCompleto()) {
-            throw new IllegalStateException("El partido ya tiene todos los jugadores necesarios");
+            partido.agregarAEsperaInterno(jugador);
+            return;
         }
 
         partido.agregarJugadorInterno(jugador);
@@ -26,20 +37,20 @@ public class PartidoArmado extends EstadoPartido {
     public void removerJugador(Partido partido, Jugador jugador) {
         Objects.requireNonNull(jugador, "El jugador no puede ser null");
 
-        if (!partido.getJugadores().contains(jugador)) {
+        if (!partido.estaInscripto(jugador)) {
             throw new IllegalStateException("El jugador no está en el partido");
         }
 
         partido.removerJugadorInterno(jugador);
 
-        if (partido.getJugadores().size() < partido.getMinJugadores()) {
-            partido.cambiarEstado(new NecesitamosJugadores());
+        if (partido.getCantidadJugadores() < partido.getMinJugadores()) {
+            partido.cambiarEstado(NecesitamosJugadores.INSTANCIA);
         }
     }
 
     @Override
     public void confirmarPartido(Partido partido) {
-        partido.cambiarEstado(new Confirmado());
+        partido.cambiarEstado(Confirmado.INSTANCIA);
     }
 
     @Override
@@ -54,6 +65,6 @@ public class PartidoArmado extends EstadoPartido {
 
     @Override
     public void cancelarPartido(Partido partido) {
-        partido.cambiarEstado(new Cancelado());
+        partido.cambiarEstado(Cancelado.INSTANCIA);
     }
 }
@@ -0,0 +1,21 @@
+package com.tpo.unoMas.model.evento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Un jugador del plantel confirmó su asistencia.
+ */
+public record AsistenciaConfirmada(Long jugadorId, LocalDateTime ocurrido) implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "ASISTENCIA_CONFIRMADA";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Collections.singletonMap("jugadorId", jugadorId);
+    }
+}
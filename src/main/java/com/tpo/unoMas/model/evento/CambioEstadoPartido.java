@@ -0,0 +1,23 @@
+package com.tpo.unoMas.model.evento;
+
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transición de estado de un partido, con los tokens FCM de los involucrados al momento del cambio.
+ */
+public record CambioEstadoPartido(String titulo, EstadoPartido anterior, EstadoPartido nuevo,
+        Set<String> tokensFCM, LocalDateTime ocurrido) implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "ESTADO_CAMBIADO";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Map.of("anterior", String.valueOf(anterior.getCodigo()), "nuevo", String.valueOf(nuevo.getCodigo()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.tpo.unoMas.model.evento;
+
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * El partido pasó a un estado que ya no promueve desde la lista de espera (empezó, se canceló o
+ * terminó) y la lista se descartó. Lleva los tokens FCM de quienes esperaban, tomados en la transacción.
+ */
+public record EsperaDescartada(String titulo, EstadoPartido estado, int descartados, Set<String> tokensFCM,
+        LocalDateTime ocurrido) implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "ESPERA_DESCARTADA";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Map.of("estado", String.valueOf(estado.getCodigo()), "descartados", descartados);
+    }
+}
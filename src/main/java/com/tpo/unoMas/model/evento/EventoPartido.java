@@ -0,0 +1,21 @@
+package com.tpo.unoMas.model.evento;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Evento de dominio de un Partido. Se registra en la entidad al ocurrir y se publica
+ * (outbox + EventoBus) cuando la transacción que lo produjo confirma.
+ */
+public sealed interface EventoPartido
+        permits CambioEstadoPartido, JugadorAgregado, JugadorRemovido, AsistenciaConfirmada, JugadorPromovido,
+        EsperaDescartada {
+
+    /** Nombre estable del tipo, el que queda en la tabla partido_eventos. */
+    String tipo();
+
+    LocalDateTime ocurrido();
+
+    /** Datos a persistir en el outbox (sin información personal). */
+    Map<String, Object> datos();
+}
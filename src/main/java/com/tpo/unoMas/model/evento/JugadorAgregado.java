@@ -0,0 +1,21 @@
+package com.tpo.unoMas.model.evento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Un jugador se sumó al plantel del partido.
+ */
+public record JugadorAgregado(Long jugadorId, LocalDateTime ocurrido) implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "JUGADOR_AGREGADO";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Collections.singletonMap("jugadorId", jugadorId);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tpo.unoMas.model.evento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Se liberó un lugar y el primero de la lista de espera pasó al plantel. Lleva el token FCM
+ * del jugador, tomado en la transacción, para avisarle sin volver a la base.
+ */
+public record JugadorPromovido(Long jugadorId, String titulo, String tokenFCM, LocalDateTime ocurrido)
+        implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "JUGADOR_PROMOVIDO";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Collections.singletonMap("jugadorId", jugadorId);
+    }
+}
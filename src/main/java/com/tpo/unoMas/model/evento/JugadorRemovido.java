@@ -0,0 +1,21 @@
+package com.tpo.unoMas.model.evento;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Un jugador salió del plantel del partido.
+ */
+public record JugadorRemovido(Long jugadorId, LocalDateTime ocurrido) implements EventoPartido {
+
+    @Override
+    public String tipo() {
+        return "JUGADOR_REMOVIDO";
+    }
+
+    @Override
+    public Map<String, Object> datos() {
+        return Collections.singletonMap("jugadorId", jugadorId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.tpo.unoMas.model.evento;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Fila del outbox de eventos de partidos: solo se inserta (en lote, ver PartidoEventoDAOImpl)
+ * dentro de la misma transacción que produjo el evento, y nunca se modifica.
+ */
+@Entity
+@Immutable
+@Table(name = "partido_eventos", indexes = @Index(name = "idx_partido_eventos_partido", columnList = "partido_id"))
+public class RegistroEventoPartido {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "partido_id", nullable = false)
+    private Long partidoId;
+
+    @Column(nullable = false, length = 40)
+    private String tipo;
+
+    @Column(nullable = false, length = 1000)
+    private String datos;
+
+    @Column(nullable = false)
+    private LocalDateTime ocurrido;
+
+    protected RegistroEventoPartido() {
+        // Requerido por JPA
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPartidoId() {
+        return partidoId;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public String getDatos() {
+        return datos;
+    }
+
+    public LocalDateTime getOcurrido() {
+        return ocurrido;
+    }
+}
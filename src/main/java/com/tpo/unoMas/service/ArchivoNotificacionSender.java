@@ -0,0 +1,41 @@
+package com.tpo.unoMas.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sender local: agrega cada lote como una línea JSON al archivo configurado.
+ */
+@Component
+@ConditionalOnProperty(name = "unomas.notificaciones.sender", havingValue = "archivo")
+public class ArchivoNotificacionSender implements INotificacionSender {
+
+	private final Path archivo;
+	private final ObjectMapper objectMapper;
+
+	public ArchivoNotificacionSender(ObjectMapper objectMapper,
+			@Value("${unomas.notificaciones.archivo:notificaciones.ndjson}") String archivo) {
+		this.objectMapper = objectMapper;
+		this.archivo = Path.of(archivo);
+	}
+
+	@Override
+	public synchronized void enviar(Notificacion notificacion, List<String> tokens) throws IOException {
+		String linea = objectMapper.writeValueAsString(Map.of("clave", notificacion.clave(), "titulo",
+				notificacion.titulo(), "cuerpo", notificacion.cuerpo(), "tokens", tokens)) + "\n";
+
+		Files.writeString(archivo, linea, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+	}
+}
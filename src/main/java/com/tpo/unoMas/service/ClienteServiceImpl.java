@@ -2,12 +2,17 @@ package com.tpo.unoMas.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import com.tpo.unoMas.model.dao.IClienteDAO;
 import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class ClienteServiceImpl implements IClienteService {
@@ -27,6 +32,48 @@ public class ClienteServiceImpl implements IClienteService {
 		return cliente;
 	}
 
+	@Override
+	public List<ClienteDTO> findAllDTO() {
+		List<ClienteDTO> clientes = clientesDAO.findAllDTO();
+		return clientes;
+	}
+
+	@Override
+	public ClienteDTO findDTOById(int id) {
+		ClienteDTO cliente = clientesDAO.findDTOById(id);
+		return cliente;
+	}
+
+	@Override
+	public Long findVersion(int id) {
+		return clientesDAO.findVersion(id);
+	}
+
+	@PostConstruct
+	public void inicializar() {
+		clientesDAO.inicializarVersionListado();
+	}
+
+	/**
+	 * Versión del listado completo: la incrementa cada alta, baja o modificación en su propia
+	 * transacción, así que dos listados con la misma versión tienen los mismos clientes.
+	 */
+	@Override
+	public String versionListado() {
+		return String.valueOf(clientesDAO.findVersionListado());
+	}
+
+	@Override
+	public List<ClienteDTO> findPagina(Long despuesDeId, int limite) {
+		List<ClienteDTO> clientes = clientesDAO.findPaginaDTO(despuesDeId, limite);
+		return clientes;
+	}
+
+	@Override
+	public void exportar(Consumer<ClienteDTO> consumidor) {
+		clientesDAO.recorrerTodos(consumidor);
+	}
+
 	@Override
 	public void save(Cliente cliente) {
 		cliente.setCreateAt(new Date());
@@ -34,19 +81,45 @@ public class ClienteServiceImpl implements IClienteService {
 
 	}
 
+	/**
+	 * Alta de un lote completo en una transacción, con un único batch JDBC.
+	 */
 	@Override
-	public void update(int clienteId, Cliente cliente) {
-		Cliente clienteExistente = clientesDAO.findById(clienteId);
+	public int saveLote(List<Cliente> clientes) {
+		Date ahora = new Date();
+		for (Cliente cliente : clientes) {
+			cliente.setCreateAt(ahora);
+		}
+		return clientesDAO.insertarLote(clientes);
+	}
+
+	/**
+	 * Modificación con un único UPDATE condicional en una transacción, sin leer antes la entidad.
+	 * Solo si no se modificó ninguna fila se consulta si el cliente existe, para distinguir
+	 * un cliente inexistente de uno que cambió de versión.
+	 * @param clienteId
+	 * @param cliente         valores nuevos; al volver tiene id y versión actualizados
+	 * @param versionEsperada versión con la que el cliente lo leyó (If-Match), o null para no controlarla
+	 * @return la versión nueva
+	 * @throws NoSuchElementException si el cliente no existe
+	 * @throws OptimisticLockingFailureException si el cliente ya no está en versionEsperada
+	 */
+	@Override
+	public long update(int clienteId, Cliente cliente, Long versionEsperada) {
+		cliente.setCreateAt(new Date());
+		Long version = clientesDAO.actualizar(clienteId, cliente, versionEsperada);
 
-		if (clienteExistente != null) {
-			clienteExistente.setNombre(cliente.getNombre());
-			clienteExistente.setApellido(cliente.getApellido());
-			clienteExistente.setEmail(cliente.getEmail());
-			clienteExistente.setCreateAt(new Date());
-			
-			clientesDAO.save(clienteExistente);
+		if (version == null) {
+			if (versionEsperada != null && clientesDAO.existe(clienteId)) {
+				throw new OptimisticLockingFailureException(
+						"El cliente " + clienteId + " fue modificado por otro request (versión esperada " + versionEsperada + ")");
+			}
+			throw new NoSuchElementException("Cliente no encontrado con ID: " + clienteId);
 		}
 
+		cliente.setId((long) clienteId);
+		cliente.setVersion(version);
+		return version;
 	}
 
 	@Override
@@ -0,0 +1,80 @@
+package com.tpo.unoMas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.tpo.unoMas.model.entity.ClienteDTO;
+
+/**
+ * CSV de clientes (RFC 4180, una fila por línea): encabezado nombre,apellido,email y campos
+ * entre comillas cuando contienen comas o comillas. No se admiten saltos de línea dentro de un campo:
+ * al exportar se reemplazan por espacios.
+ */
+final class ClientesCsv {
+
+	static final String ENCABEZADO = "nombre,apellido,email";
+
+	private ClientesCsv() {
+	}
+
+	/**
+	 * @param linea
+	 * @return los campos de la línea, sin comillas
+	 * @throws IllegalArgumentException si hay comillas sin cerrar o texto después de un campo entre comillas
+	 */
+	static List<String> parsear(String linea) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder campo = new StringBuilder();
+		int i = 0;
+
+		while (true) {
+			if (i < linea.length() && linea.charAt(i) == '"') {
+				i++;
+				while (true) {
+					if (i >= linea.length()) {
+						throw new IllegalArgumentException("comillas sin cerrar");
+					}
+					char c = linea.charAt(i++);
+					if (c != '"') {
+						campo.append(c);
+					} else if (i < linea.length() && linea.charAt(i) == '"') {
+						campo.append('"');
+						i++;
+					} else {
+						break;
+					}
+				}
+				if (i < linea.length() && linea.charAt(i) != ',') {
+					throw new IllegalArgumentException("texto después de un campo entre comillas");
+				}
+			} else {
+				int fin = linea.indexOf(',', i);
+				fin = fin < 0 ? linea.length() : fin;
+				campo.append(linea, i, fin);
+				i = fin;
+			}
+
+			campos.add(campo.toString());
+			campo.setLength(0);
+			if (i >= linea.length()) {
+				return campos;
+			}
+			i++; // la coma
+		}
+	}
+
+	static String formatear(ClienteDTO cliente) {
+		return campo(cliente.getNombre()) + ',' + campo(cliente.getApellido()) + ',' + campo(cliente.getEmail());
+	}
+
+	private static String campo(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		valor = valor.replace('\r', ' ').replace('\n', ' ');
+		if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0) {
+			return valor;
+		}
+		return '"' + valor.replace("\"", "\"\"") + '"';
+	}
+}
@@ -0,0 +1,120 @@
+package com.tpo.unoMas.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tpo.unoMas.model.Deporte;
+import com.tpo.unoMas.model.Zona;
+import com.tpo.unoMas.model.dao.IDeporteDAO;
+import com.tpo.unoMas.model.dao.IZonaDAO;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Copia en memoria de las zonas y los deportes, para resolverlos sin ir a la base.
+ * <p>
+ * Cada recarga arma un Snapshot nuevo con mapas inmutables y lo publica de una sola vez,
+ * así quien lee ve siempre una versión completa. ReferenciaListener pide la recarga cuando
+ * confirma una transacción que modificó zonas o deportes. Lo que todavía no está en el
+ * snapshot se lee del DAO, que pasa por la caché de segundo nivel.
+ */
+@Component
+public class DatosReferencia {
+
+	public record Snapshot(Map<Long, Zona> zonas, Map<String, Zona> zonasPorBarrio, Map<Long, Deporte> deportes,
+			Map<String, Deporte> deportesPorNombre) {
+
+		static final Snapshot VACIO = new Snapshot(Map.of(), Map.of(), Map.of(), Map.of());
+	}
+
+	@Autowired
+	private IZonaDAO zonaDAO;
+
+	@Autowired
+	private IDeporteDAO deporteDAO;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private volatile Snapshot snapshot = Snapshot.VACIO;
+
+	public DatosReferencia(PlatformTransactionManager transactionManager) {
+		// Transacción propia: la recarga corre en afterCommit, cuando la transacción original ya terminó
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	/**
+	 * Vuelve a leer zonas y deportes y reemplaza el snapshot. Las recargas se serializan para que
+	 * una lectura vieja no pise a una más nueva.
+	 */
+	@PostConstruct
+	public synchronized void recargar() {
+		snapshot = transactionTemplate.execute(status -> armar(zonaDAO.findAll(), deporteDAO.findAll()));
+	}
+
+	static Snapshot armar(List<Zona> zonas, List<Deporte> deportes) {
+		Map<Long, Zona> zonasPorId = new HashMap<>();
+		Map<String, Zona> zonasPorBarrio = new HashMap<>();
+		for (Zona zona : zonas) {
+			zonasPorId.put(zona.getId(), zona);
+			zonasPorBarrio.put(clave(zona.getBarrio(), zona.getPartido()), zona);
+		}
+
+		Map<Long, Deporte> deportesPorId = new HashMap<>();
+		Map<String, Deporte> deportesPorNombre = new HashMap<>();
+		for (Deporte deporte : deportes) {
+			deportesPorId.put(deporte.getId(), deporte);
+			deportesPorNombre.put(normalizar(deporte.getNombre()), deporte);
+		}
+
+		return new Snapshot(Map.copyOf(zonasPorId), Map.copyOf(zonasPorBarrio), Map.copyOf(deportesPorId),
+				Map.copyOf(deportesPorNombre));
+	}
+
+	public Snapshot getSnapshot() {
+		return snapshot;
+	}
+
+	public Zona zona(Long id) {
+		Zona zona = snapshot.zonas().get(id);
+		return zona != null ? zona : zonaDAO.findById(id);
+	}
+
+	/**
+	 * @param barrio
+	 * @param partido
+	 * @return la zona, sin distinguir mayúsculas, o null si no existe
+	 */
+	public Zona zona(String barrio, String partido) {
+		return snapshot.zonasPorBarrio().get(clave(barrio, partido));
+	}
+
+	public Deporte deporte(Long id) {
+		Deporte deporte = snapshot.deportes().get(id);
+		return deporte != null ? deporte : deporteDAO.findById(id);
+	}
+
+	/**
+	 * @param nombre
+	 * @return el deporte, sin distinguir mayúsculas, o null si no existe
+	 */
+	public Deporte deporte(String nombre) {
+		return snapshot.deportesPorNombre().get(normalizar(nombre));
+	}
+
+	private static String clave(String barrio, String partido) {
+		return normalizar(barrio) + "/" + normalizar(partido);
+	}
+
+	private static String normalizar(String texto) {
+		return texto == null ? "" : texto.trim().toLowerCase(Locale.ROOT);
+	}
+}
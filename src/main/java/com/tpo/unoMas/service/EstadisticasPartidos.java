@@ -0,0 +1,38 @@
+package com.tpo.unoMas.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.evento.CambioEstadoPartido;
+import com.tpo.unoMas.model.evento.EventoPartido;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Suscriptor analítico del EventoBus: cuenta eventos por tipo y transiciones por estado de
+ * origen y destino, fuera del camino de escritura.
+ */
+@Component
+public class EstadisticasPartidos {
+
+	@Autowired
+	private EventoBus bus;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@PostConstruct
+	public void suscribir() {
+		bus.suscribir("estadisticas", this::procesar);
+	}
+
+	void procesar(EventoDePartido eventoDePartido) {
+		EventoPartido evento = eventoDePartido.evento();
+		registry.counter("unomas.eventos.partido", "tipo", evento.tipo()).increment();
+
+		if (evento instanceof CambioEstadoPartido cambio) {
+			registry.counter("unomas.partidos.transiciones", "desde", cambio.anterior().toString(), "hacia",
+					cambio.nuevo().toString()).increment();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.tpo.unoMas.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bus en proceso de eventos de partidos sobre un ring buffer sin locks (estilo Disruptor).
+ * <p>
+ * Los productores reservan una secuencia con CAS sobre el cursor, escriben el slot y lo marcan
+ * como publicado; cada suscriptor tiene su propio hilo y su propia secuencia, y recibe todos los
+ * eventos en orden. Publicar no toma locks y, mientras haya lugar, no espera; si el suscriptor
+ * más lento tiene el buffer lleno, el productor espera a que libere un slot (contrapresión) en vez
+ * de descartar: el outbox no se vuelve a leer y las notificaciones llevan tokens que no guarda, así
+ * que un evento descartado sería un aviso perdido. El tiempo esperado queda en métricas.
+ */
+@Component
+public class EventoBus {
+
+	private static final Log logger = LogFactory.getLog(EventoBus.class);
+
+	private static final int ESPERAS_ACTIVAS = 100;
+	private static final int ESPERAS_CEDIENDO = 200;
+	private static final int ESPERAS_CORTAS = 10_000;
+
+	private final EventoDePartido[] slots;
+	private final AtomicLongArray publicados;
+	private final int capacidad;
+	private final int mascara;
+	private final AtomicLong cursor = new AtomicLong(-1);
+	private final List<Suscripcion> suscripciones = new CopyOnWriteArrayList<>();
+	private final MeterRegistry registry;
+	private final Timer esperasPorLugar;
+	private volatile boolean activo = true;
+
+	private final class Suscripcion implements Runnable {
+		private final String nombre;
+		private final Consumer<EventoDePartido> consumidor;
+		private final AtomicLong consumido;
+		private final Counter errores;
+		private Thread hilo;
+
+		private Suscripcion(String nombre, Consumer<EventoDePartido> consumidor, long desde) {
+			this.nombre = nombre;
+			this.consumidor = consumidor;
+			this.consumido = new AtomicLong(desde);
+			this.errores = Counter.builder("unomas.eventos.errores").tag("suscriptor", nombre)
+					.description("Eventos cuyo procesamiento lanzó una excepción").register(registry);
+		}
+
+		@Override
+		public void run() {
+			long siguiente = consumido.get() + 1;
+			int ociosas = 0;
+
+			while (activo) {
+				int indice = (int) (siguiente & mascara);
+				if (publicados.get(indice) != siguiente) {
+					esperar(ociosas++);
+					continue;
+				}
+				ociosas = 0;
+
+				try {
+					consumidor.accept(slots[indice]);
+				} catch (RuntimeException e) {
+					errores.increment();
+					logger.error("El suscriptor " + nombre + " falló procesando un evento", e);
+				}
+
+				// Libera el slot para los productores
+				consumido.lazySet(siguiente);
+				siguiente++;
+			}
+		}
+	}
+
+	public EventoBus(MeterRegistry registry, @Value("${unomas.eventos.capacidad:65536}") int capacidad) {
+		this.registry = registry;
+		this.capacidad = Integer.highestOneBit(Math.max(capacidad - 1, 1)) << 1;
+		this.mascara = this.capacidad - 1;
+		this.slots = new EventoDePartido[this.capacidad];
+		this.publicados = new AtomicLongArray(this.capacidad);
+		for (int i = 0; i < this.capacidad; i++) {
+			publicados.set(i, -1);
+		}
+
+		this.esperasPorLugar = Timer.builder("unomas.eventos.espera")
+				.description("Tiempo que un productor esperó lugar con el buffer lleno").register(registry);
+	}
+
+	/**
+	 * Publica el evento para todos los suscriptores. Con el buffer lleno espera a que el suscriptor
+	 * más lento libere un slot; los suscriptores no deben publicar, porque se esperarían a sí mismos.
+	 * @param evento
+	 * @return false si el bus se detuvo antes de que hubiera lugar
+	 * @throws IllegalStateException si lo llama un suscriptor con el buffer lleno
+	 */
+	public boolean publicar(EventoDePartido evento) {
+		long siguiente;
+		int esperas = 0;
+		long inicioEspera = 0;
+
+		while (true) {
+			long actual = cursor.get();
+			siguiente = actual + 1;
+			if (siguiente - capacidad <= minimoConsumido(actual)) {
+				if (cursor.compareAndSet(actual, siguiente)) {
+					break;
+				}
+				continue;
+			}
+
+			if (!activo) {
+				return false;
+			}
+			if (esperas == 0) {
+				verificarQueNoEsSuscriptor();
+				inicioEspera = System.nanoTime();
+			}
+			esperar(esperas++);
+		}
+		if (esperas > 0) {
+			esperasPorLugar.record(System.nanoTime() - inicioEspera, TimeUnit.NANOSECONDS);
+		}
+
+		int indice = (int) (siguiente & mascara);
+		slots[indice] = evento;
+		publicados.set(indice, siguiente);
+		return true;
+	}
+
+	/**
+	 * Registra un suscriptor que recibe, en su propio hilo, los eventos publicados desde ahora.
+	 * @param nombre     identifica al suscriptor en hilos y métricas
+	 * @param consumidor
+	 */
+	public void suscribir(String nombre, Consumer<EventoDePartido> consumidor) {
+		Suscripcion suscripcion = new Suscripcion(nombre, consumidor, cursor.get());
+		suscripciones.add(suscripcion);
+
+		Gauge.builder("unomas.eventos.atraso", suscripcion, s -> cursor.get() - s.consumido.get())
+				.tag("suscriptor", nombre).description("Eventos publicados que el suscriptor todavía no procesó")
+				.register(registry);
+
+		suscripcion.hilo = new Thread(suscripcion, "eventos-" + nombre);
+		suscripcion.hilo.setDaemon(true);
+		suscripcion.hilo.start();
+	}
+
+	public int getCapacidad() {
+		return capacidad;
+	}
+
+	private void verificarQueNoEsSuscriptor() {
+		for (Suscripcion suscripcion : suscripciones) {
+			if (suscripcion.hilo == Thread.currentThread()) {
+				throw new IllegalStateException(
+						"El suscriptor " + suscripcion.nombre + " no puede publicar con el buffer lleno");
+			}
+		}
+	}
+
+	private long minimoConsumido(long porDefecto) {
+		long minimo = porDefecto;
+		for (Suscripcion suscripcion : suscripciones) {
+			minimo = Math.min(minimo, suscripcion.consumido.get());
+		}
+		return minimo;
+	}
+
+	/**
+	 * Espera progresiva del suscriptor ocioso: primero activa, luego cediendo el procesador
+	 * y por último durmiendo, para no quemar CPU cuando no hay eventos.
+	 */
+	private static void esperar(int ociosas) {
+		if (ociosas < ESPERAS_ACTIVAS) {
+			Thread.onSpinWait();
+		} else if (ociosas < ESPERAS_CEDIENDO) {
+			Thread.yield();
+		} else {
+			LockSupport.parkNanos(ociosas < ESPERAS_CORTAS ? 50_000 : 1_000_000);
+		}
+	}
+
+	@PreDestroy
+	public void detener() {
+		activo = false;
+		for (Suscripcion suscripcion : suscripciones) {
+			LockSupport.unpark(suscripcion.hilo);
+		}
+	}
+}
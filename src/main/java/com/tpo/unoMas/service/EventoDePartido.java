@@ -0,0 +1,9 @@
+package com.tpo.unoMas.service;
+
+import com.tpo.unoMas.model.evento.EventoPartido;
+
+/**
+ * Evento confirmado de un partido, tal como circula por el EventoBus.
+ */
+public record EventoDePartido(Long partidoId, EventoPartido evento) {
+}
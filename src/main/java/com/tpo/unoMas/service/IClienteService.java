@@ -1,17 +1,33 @@
 package com.tpo.unoMas.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
 
 public interface IClienteService {
 	public List<Cliente> findAll();
 
 	public Cliente findById(int id);
 
+	public List<ClienteDTO> findAllDTO();
+
+	public ClienteDTO findDTOById(int id);
+
+	public Long findVersion(int id);
+
+	public String versionListado();
+
+	public List<ClienteDTO> findPagina(Long despuesDeId, int limite);
+
+	public void exportar(Consumer<ClienteDTO> consumidor);
+
 	public void save(Cliente cliente);
+
+	public int saveLote(List<Cliente> clientes);
 	
-	public void update(int clienteId, Cliente cliente);
+	public long update(int clienteId, Cliente cliente, Long versionEsperada);
 
 	public void deleteById(int id);
 }
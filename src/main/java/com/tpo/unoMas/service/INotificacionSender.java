@@ -0,0 +1,11 @@
+package com.tpo.unoMas.service;
+
+import java.util.List;
+
+/**
+ * Envía una notificación a un lote de dispositivos. Las implementaciones no reintentan:
+ * si lanzan una excepción, NotificacionDispatcher vuelve a encolar el lote con backoff.
+ */
+public interface INotificacionSender {
+	public void enviar(Notificacion notificacion, List<String> tokens) throws Exception;
+}
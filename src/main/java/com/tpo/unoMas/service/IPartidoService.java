@@ -0,0 +1,44 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.entity.PartidoCercanoDTO;
+import com.tpo.unoMas.model.entity.PartidoDetalleDTO;
+import com.tpo.unoMas.model.entity.PartidoRecomendadoDTO;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+
+public interface IPartidoService {
+	public List<PartidoCercanoDTO> buscarCercanos(double latitud, double longitud, double radioKm, Long deporteId,
+			Nivel nivel, int limite);
+
+	public List<PartidoResumenDTO> buscar(FiltroPartidos filtro, LocalDateTime despuesDeFecha, Long despuesDeId,
+			int limite, boolean incluirJugadores);
+
+	public PartidoDetalleDTO findDetalle(Long partidoId);
+
+	public List<PartidoRecomendadoDTO> recomendar(Long jugadorId, double radioKm, int limite);
+
+	/**
+	 * Suma al jugador al plantel o, si el partido está completo, a la lista de espera.
+	 * @return posición en la lista de espera, o null si entró al plantel
+	 */
+	public Integer agregarJugador(Long partidoId, Long jugadorId);
+
+	/**
+	 * Baja al jugador del plantel (y promueve al primero de la lista de espera) o de la lista de espera.
+	 */
+	public void removerJugador(Long partidoId, Long jugadorId);
+
+	public void confirmarAsistencia(Long partidoId, Long jugadorId);
+
+	public void aplicarAgenda(Long partidoId);
+
+	/**
+	 * Aplica las reglas de estado y de la lista de espera a un partido cuyo contador de inscriptos
+	 * se corrigió por fuera de las altas y bajas.
+	 */
+	public void aplicarPlantelReparado(Long partidoId);
+}
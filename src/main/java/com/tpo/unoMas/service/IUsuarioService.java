@@ -1,7 +1,11 @@
 package com.tpo.unoMas.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.tpo.unoMas.model.entity.Usuario;
 
 public interface IUsuarioService {
 	public Usuario findUser(String username, String password);
+
+	public CompletableFuture<Usuario> autenticar(String username, String password);
 }
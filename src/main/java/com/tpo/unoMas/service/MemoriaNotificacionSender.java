@@ -0,0 +1,40 @@
+package com.tpo.unoMas.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sender de prueba: guarda en memoria los últimos envíos en lugar de mandarlos.
+ */
+@Component
+@ConditionalOnProperty(name = "unomas.notificaciones.sender", havingValue = "memoria", matchIfMissing = true)
+public class MemoriaNotificacionSender implements INotificacionSender {
+
+	static final int MAXIMO_ENVIOS = 1000;
+
+	private final Deque<Envio> envios = new ArrayDeque<>();
+
+	public record Envio(Notificacion notificacion, List<String> tokens) {
+	}
+
+	@Override
+	public synchronized void enviar(Notificacion notificacion, List<String> tokens) {
+		if (envios.size() == MAXIMO_ENVIOS) {
+			envios.removeFirst();
+		}
+		envios.addLast(new Envio(notificacion, List.copyOf(tokens)));
+	}
+
+	public synchronized List<Envio> getEnvios() {
+		return new ArrayList<>(envios);
+	}
+
+	public synchronized void limpiar() {
+		envios.clear();
+	}
+}
@@ -0,0 +1,11 @@
+package com.tpo.unoMas.service;
+
+/**
+ * Mensaje push a enviar. Dos notificaciones con la misma clave que todavía esperan en la cola
+ * se fusionan en una sola (ver NotificacionDispatcher).
+ * @param clave  identifica el evento, p. ej. "partido:12:X"
+ * @param titulo
+ * @param cuerpo
+ */
+public record Notificacion(String clave, String titulo, String cuerpo) {
+}
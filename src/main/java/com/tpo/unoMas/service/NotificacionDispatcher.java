@@ -0,0 +1,248 @@
+package com.tpo.unoMas.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Envío asíncrono de notificaciones push.
+ * <p>
+ * publicar() nunca bloquea: encola en una cola acotada y, si está llena, descarta (back-pressure)
+ * y lo cuenta en métricas. Mientras una notificación espera en la cola, las publicaciones con la
+ * misma clave se fusionan en ella en lugar de encolarse de nuevo. Los hilos de envío parten los
+ * destinatarios en lotes y reintentan cada lote fallido con backoff exponencial.
+ */
+@Component
+public class NotificacionDispatcher {
+
+	private static final Log logger = LogFactory.getLog(NotificacionDispatcher.class);
+
+	private final INotificacionSender sender;
+	private final BlockingQueue<Envio> cola;
+	private final Map<String, Envio> pendientes = new ConcurrentHashMap<>();
+	private final List<Thread> hilos = new ArrayList<>();
+	private final ScheduledExecutorService reintentos;
+	private final int tamanioLote;
+	private final int maxIntentos;
+	private final long backoffInicialMs;
+	private volatile boolean activo = true;
+
+	private final Counter enviadas;
+	private final Counter lotes;
+	private final Counter fusionadas;
+	private final Counter descartadas;
+	private final Counter reintentadas;
+	private final Counter fallidas;
+	private final Timer demora;
+	private final Timer tiempoEnvio;
+
+	/**
+	 * Notificación en la cola. Los tokens solo se tocan dentro de pendientes.compute mientras la
+	 * notificación es nueva (intento 0); los reintentos llevan su lote fijo.
+	 */
+	private static final class Envio {
+		private final Notificacion notificacion;
+		private final Set<String> tokens;
+		private final int intento;
+		private final long creadoNanos;
+
+		private Envio(Notificacion notificacion, Collection<String> tokens, int intento, long creadoNanos) {
+			this.notificacion = notificacion;
+			this.tokens = new LinkedHashSet<>(tokens);
+			this.intento = intento;
+			this.creadoNanos = creadoNanos;
+		}
+	}
+
+	public NotificacionDispatcher(INotificacionSender sender, MeterRegistry registry,
+			@Value("${unomas.notificaciones.hilos:2}") int cantidadHilos,
+			@Value("${unomas.notificaciones.capacidad-cola:10000}") int capacidadCola,
+			@Value("${unomas.notificaciones.tamanio-lote:500}") int tamanioLote,
+			@Value("${unomas.notificaciones.max-intentos:5}") int maxIntentos,
+			@Value("${unomas.notificaciones.backoff-ms:200}") long backoffInicialMs) {
+		this.sender = sender;
+		this.cola = new ArrayBlockingQueue<>(capacidadCola);
+		this.tamanioLote = tamanioLote;
+		this.maxIntentos = maxIntentos;
+		this.backoffInicialMs = backoffInicialMs;
+
+		this.enviadas = Counter.builder("unomas.notificaciones.enviadas")
+				.description("Destinatarios a los que se entregó una notificación").register(registry);
+		this.lotes = Counter.builder("unomas.notificaciones.lotes").description("Lotes enviados")
+				.register(registry);
+		this.fusionadas = Counter.builder("unomas.notificaciones.fusionadas")
+				.description("Publicaciones fusionadas con una notificación pendiente").register(registry);
+		this.descartadas = Counter.builder("unomas.notificaciones.descartadas")
+				.description("Destinatarios descartados por cola llena").register(registry);
+		this.reintentadas = Counter.builder("unomas.notificaciones.reintentos").description("Lotes reintentados")
+				.register(registry);
+		this.fallidas = Counter.builder("unomas.notificaciones.fallidas")
+				.description("Destinatarios sin entregar tras agotar los reintentos").register(registry);
+		this.demora = Timer.builder("unomas.notificaciones.demora")
+				.description("Tiempo desde la publicación hasta el envío").register(registry);
+		this.tiempoEnvio = Timer.builder("unomas.notificaciones.envio").description("Duración de cada lote")
+				.register(registry);
+		Gauge.builder("unomas.notificaciones.cola", cola, Collection::size)
+				.description("Notificaciones esperando envío").register(registry);
+
+		this.reintentos = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread hilo = new Thread(runnable, "notificaciones-reintentos");
+			hilo.setDaemon(true);
+			return hilo;
+		});
+		for (int i = 1; i <= cantidadHilos; i++) {
+			Thread hilo = new Thread(this::procesar, "notificaciones-" + i);
+			hilo.setDaemon(true);
+			hilo.start();
+			hilos.add(hilo);
+		}
+	}
+
+	/**
+	 * Encola la notificación para los tokens dados sin bloquear.
+	 * @param notificacion
+	 * @param tokens
+	 * @return false si la cola estaba llena y la notificación se descartó
+	 */
+	public boolean publicar(Notificacion notificacion, Collection<String> tokens) {
+		if (tokens.isEmpty()) {
+			return true;
+		}
+
+		// Crear y encolar van dentro del mismo compute: una notificación está en pendientes solo si
+		// está en la cola, así lo que se fusiona en ella nunca se descarta sin contarse
+		boolean[] descartada = { false };
+		pendientes.compute(notificacion.clave(), (clave, existente) -> {
+			if (existente != null) {
+				existente.tokens.addAll(tokens);
+				fusionadas.increment();
+				return existente;
+			}
+
+			Envio nuevo = new Envio(notificacion, tokens, 0, System.nanoTime());
+			if (!cola.offer(nuevo)) {
+				descartada[0] = true;
+				descartadas.increment(nuevo.tokens.size());
+				return null;
+			}
+			return nuevo;
+		});
+
+		if (descartada[0]) {
+			logger.warn("Cola de notificaciones llena, se descarta " + notificacion.clave());
+			return false;
+		}
+		return true;
+	}
+
+	public int pendientes() {
+		return cola.size();
+	}
+
+	private void procesar() {
+		while (activo) {
+			Envio envio;
+			try {
+				envio = cola.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			try {
+				if (envio.intento == 0) {
+					enviarNueva(envio);
+				} else {
+					enviarLote(envio.notificacion, new ArrayList<>(envio.tokens), envio.intento, envio.creadoNanos);
+				}
+			} catch (RuntimeException e) {
+				logger.error("Error inesperado enviando " + envio.notificacion.clave(), e);
+			}
+		}
+	}
+
+	private void enviarNueva(Envio envio) {
+		// Desde acá las publicaciones con la misma clave arman una notificación nueva
+		List<String> tokens = new ArrayList<>();
+		pendientes.compute(envio.notificacion.clave(), (clave, actual) -> {
+			tokens.addAll(envio.tokens);
+			return actual == envio ? null : actual;
+		});
+
+		demora.record(System.nanoTime() - envio.creadoNanos, TimeUnit.NANOSECONDS);
+
+		for (int desde = 0; desde < tokens.size(); desde += tamanioLote) {
+			List<String> lote = tokens.subList(desde, Math.min(desde + tamanioLote, tokens.size()));
+			enviarLote(envio.notificacion, lote, 1, envio.creadoNanos);
+		}
+	}
+
+	private void enviarLote(Notificacion notificacion, List<String> lote, int intento, long creadoNanos) {
+		long inicio = System.nanoTime();
+		try {
+			sender.enviar(notificacion, lote);
+			enviadas.increment(lote.size());
+			lotes.increment();
+		} catch (Exception e) {
+			reintentar(notificacion, lote, intento, creadoNanos, e);
+		} finally {
+			tiempoEnvio.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void reintentar(Notificacion notificacion, List<String> lote, int intento, long creadoNanos,
+			Exception causa) {
+		if (intento >= maxIntentos || !activo) {
+			fallidas.increment(lote.size());
+			logger.warn("No se pudo enviar " + notificacion.clave() + " a " + lote.size() + " destinatarios tras "
+					+ intento + " intentos", causa);
+			return;
+		}
+
+		reintentadas.increment();
+		Envio reintento = new Envio(notificacion, lote, intento + 1, creadoNanos);
+		reintentos.schedule(() -> {
+			if (!cola.offer(reintento)) {
+				descartadas.increment(lote.size());
+			}
+		}, backoffMs(intento), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Backoff exponencial con jitter de ±20% para que los lotes fallidos juntos no reintenten juntos.
+	 */
+	long backoffMs(int intento) {
+		long base = backoffInicialMs << Math.min(intento - 1, 16);
+		return (long) (base * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+	}
+
+	@PreDestroy
+	public void detener() {
+		activo = false;
+		reintentos.shutdownNow();
+		for (Thread hilo : hilos) {
+			hilo.interrupt();
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.estado.Confirmado;
+import com.tpo.unoMas.model.estado.EnJuego;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Agenda en memoria que dispara el ciclo de vida de los partidos según fechaHora y duracionMinutos:
+ * a la hora de inicio arranca los Confirmado y cancela los que siguen en NecesitamosJugadores,
+ * y al cumplirse la duración finaliza los EnJuego.
+ *
+ * Cada partido tiene como mucho un vencimiento vigente en una DelayQueue (heap binario, O(log n)),
+ * que un único hilo consume sin consultar la base en cada tick. Guardar el partido sin cambiar su
+ * vencimiento (altas, bajas, confirmaciones) no toca la cola. Si el vencimiento cambia, el anterior no
+ * se saca de la cola (eso sería O(n)): queda obsoleto y se descarta al salir, así que en la cola hay a
+ * lo sumo un obsoleto por cada cambio real de vencimiento. Al arrancar la agenda se reconstruye con
+ * una sola consulta de proyección.
+ */
+@Component
+public class PartidoAgenda {
+
+	private static final Log logger = LogFactory.getLog(PartidoAgenda.class);
+
+	private final DelayQueue<Vencimiento> cola = new DelayQueue<>();
+	private final Map<Long, Vencimiento> pendientes = new ConcurrentHashMap<>();
+
+	// Lazy: Hibernate crea PartidoAgendaListener mientras arma el EntityManagerFactory, que el DAO
+	// todavía no puede recibir; sin esto el listener queda instanciado sin la agenda
+	@Lazy
+	@Autowired
+	private IPartidoDAO partidoDAO;
+
+	// Lazy: el servicio depende indirectamente de la agenda a través del entity listener
+	@Lazy
+	@Autowired
+	private IPartidoService partidoService;
+
+	private volatile Thread worker;
+
+	private static final class Vencimiento implements Delayed {
+		private final Long partidoId;
+		private final long instanteMillis;
+
+		private Vencimiento(Long partidoId, long instanteMillis) {
+			this.partidoId = partidoId;
+			this.instanteMillis = instanteMillis;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(instanteMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed otro) {
+			return Long.compare(instanteMillis, ((Vencimiento) otro).instanteMillis);
+		}
+	}
+
+	/**
+	 * Próximo momento en que el partido necesita una transición automática, o null si no necesita ninguna.
+	 * @param estado
+	 * @param fechaHora
+	 * @param duracionMinutos
+	 * @return
+	 */
+	public static LocalDateTime proximoVencimiento(EstadoPartido estado, LocalDateTime fechaHora,
+			Integer duracionMinutos) {
+		if (fechaHora == null) {
+			return null;
+		}
+
+		if (estado == NecesitamosJugadores.INSTANCIA || estado == Confirmado.INSTANCIA) {
+			return fechaHora;
+		}
+
+		if (estado == EnJuego.INSTANCIA && duracionMinutos != null) {
+			return fechaHora.plusMinutes(duracionMinutos);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Reemplaza el vencimiento pendiente del partido (o lo quita si vencimiento es null).
+	 * @param partidoId
+	 * @param vencimiento
+	 */
+	public void programar(Long partidoId, LocalDateTime vencimiento) {
+		if (partidoId == null) {
+			return;
+		}
+
+		if (vencimiento == null) {
+			desprogramar(partidoId);
+			return;
+		}
+
+		long instanteMillis = vencimiento.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		Vencimiento vigente = pendientes.get(partidoId);
+		if (vigente != null && vigente.instanteMillis == instanteMillis) {
+			return;
+		}
+
+		Vencimiento nuevo = new Vencimiento(partidoId, instanteMillis);
+		pendientes.put(partidoId, nuevo);
+		cola.add(nuevo);
+	}
+
+	public void desprogramar(Long partidoId) {
+		pendientes.remove(partidoId);
+	}
+
+	public int size() {
+		return pendientes.size();
+	}
+
+	/**
+	 * Vencimientos en la cola, vigentes más obsoletos todavía no descartados.
+	 * @return
+	 */
+	public int encolados() {
+		return cola.size();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void iniciar() {
+		long inicio = System.currentTimeMillis();
+		int recuperados = recuperar();
+		logger.info("Agenda de partidos recuperada: " + recuperados + " vencimientos en "
+				+ (System.currentTimeMillis() - inicio) + " ms");
+
+		worker = new Thread(this::procesar, "partido-agenda");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	/**
+	 * Programa los partidos pendientes según la base. Los que ya estaban programados con el mismo
+	 * vencimiento no se vuelven a encolar.
+	 * @return cantidad de partidos con vencimiento
+	 */
+	public int recuperar() {
+		int recuperados = 0;
+		for (Object[] fila : partidoDAO.findPendientesDeAgenda()) {
+			LocalDateTime vencimiento = proximoVencimiento((EstadoPartido) fila[3], (LocalDateTime) fila[1],
+					(Integer) fila[2]);
+
+			if (vencimiento != null) {
+				programar((Long) fila[0], vencimiento);
+				recuperados++;
+			}
+		}
+		return recuperados;
+	}
+
+	@PreDestroy
+	public void detener() {
+		Thread actual = worker;
+		if (actual != null) {
+			actual.interrupt();
+		}
+	}
+
+	private void procesar() {
+		while (!Thread.currentThread().isInterrupted()) {
+			Vencimiento vencimiento;
+			try {
+				vencimiento = cola.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			// Si se reprogramó mientras tanto, este vencimiento ya no es el vigente
+			if (!pendientes.remove(vencimiento.partidoId, vencimiento)) {
+				continue;
+			}
+
+			try {
+				partidoService.aplicarAgenda(vencimiento.partidoId);
+			} catch (RuntimeException e) {
+				logger.error("No se pudo aplicar la agenda al partido " + vencimiento.partidoId, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.Partido;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Reprograma el próximo vencimiento del partido en la PartidoAgenda cada vez que se guarda,
+ * una vez confirmada la transacción.
+ */
+@Component
+public class PartidoAgendaListener {
+
+	@Autowired
+	private PartidoAgenda agenda;
+
+	@PostPersist
+	@PostUpdate
+	public void partidoGuardado(Partido partido) {
+		Long id = partido.getId();
+		LocalDateTime vencimiento = PartidoAgenda.proximoVencimiento(partido.getEstado(), partido.getFechaHora(),
+				partido.getDuracionMinutos());
+
+		Transacciones.despuesDelCommit(() -> agenda.programar(id, vencimiento));
+	}
+
+	@PostRemove
+	public void partidoEliminado(Partido partido) {
+		Long id = partido.getId();
+		Transacciones.despuesDelCommit(() -> agenda.desprogramar(id));
+	}
+}
@@ -0,0 +1,86 @@
+package com.tpo.unoMas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.dao.IPartidoEventoDAO;
+import com.tpo.unoMas.model.evento.EventoPartido;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Toma los eventos registrados en el Partido al guardarlo y los junta por transacción:
+ * se insertan todos juntos en el outbox (partido_eventos) antes del commit y, si la
+ * transacción confirma, se publican en el EventoBus. Nada de esto corre fuera del flush
+ * ni espera a los suscriptores.
+ */
+@Component
+public class PartidoEventoListener {
+
+	// Lazy: Hibernate crea el listener mientras arma el EntityManagerFactory que usa el DAO
+	@Lazy
+	@Autowired
+	private IPartidoEventoDAO eventoDAO;
+
+	@Autowired
+	private EventoBus bus;
+
+	@PostPersist
+	@PostUpdate
+	public void partidoGuardado(Partido partido) {
+		List<EventoPartido> eventos = partido.tomarEventos();
+		if (eventos.isEmpty()) {
+			return;
+		}
+
+		List<EventoDePartido> confirmables = new ArrayList<>(eventos.size());
+		for (EventoPartido evento : eventos) {
+			confirmables.add(new EventoDePartido(partido.getId(), evento));
+		}
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			publicar(confirmables);
+			return;
+		}
+
+		pendientesDeLaTransaccion().addAll(confirmables);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<EventoDePartido> pendientesDeLaTransaccion() {
+		List<EventoDePartido> pendientes = (List<EventoDePartido>) TransactionSynchronizationManager.getResource(this);
+		if (pendientes != null) {
+			return pendientes;
+		}
+
+		List<EventoDePartido> nuevos = new ArrayList<>();
+		TransactionSynchronizationManager.bindResource(this, nuevos);
+		eventoDAO.insertarAlConfirmar(nuevos);
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publicar(nuevos);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(PartidoEventoListener.this);
+			}
+		});
+		return nuevos;
+	}
+
+	private void publicar(List<EventoDePartido> eventos) {
+		for (EventoDePartido evento : eventos) {
+			bus.publicar(evento);
+		}
+	}
+}
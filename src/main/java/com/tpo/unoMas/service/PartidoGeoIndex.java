@@ -0,0 +1,322 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.Ubicacion;
+import com.tpo.unoMas.model.Zona;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+
+/**
+ * Índice espacial en memoria de los partidos abiertos (que todavía aceptan jugadores).
+ * Divide el plano lat/lon en una grilla de celdas fijas y busca en anillos alrededor
+ * de la celda del punto consultado, cortando apenas ningún anillo más lejano puede
+ * mejorar el top-K.
+ * <p>
+ * Además agrupa los partidos en buckets por (deporte, nivel, celda gruesa) para que el
+ * recomendador recorra solo las combinaciones que le interesan a cada jugador.
+ */
+@Component
+public class PartidoGeoIndex {
+
+	static final double TAMANIO_CELDA_GRADOS = 0.005; // ~550 m de latitud
+	static final double TAMANIO_BUCKET_GRADOS = 0.05; // ~5,5 km de latitud
+	private static final double RADIO_TIERRA_KM = 6371.0;
+	static final double KM_POR_GRADO = 111.32;
+
+	private final Map<Long, Map<Long, Entrada>> celdas = new ConcurrentHashMap<>();
+	private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+	private final Map<ClaveBucket, Map<Long, Entrada>> buckets = new ConcurrentHashMap<>();
+
+	/**
+	 * Datos mínimos de un partido abierto: lo necesario para filtrar, ordenar y mostrar sin ir a la base.
+	 */
+	public record Entrada(Long id, String titulo, LocalDateTime fechaHora, double latitud, double longitud,
+			Long deporteId, Nivel nivel, int plazasLibres, long celda) {
+	}
+
+	public record Resultado(Entrada entrada, double distanciaKm) {
+	}
+
+	record ClaveBucket(Long deporteId, Nivel nivel, int fila, int columna) {
+	}
+
+	/**
+	 * Arma la entrada del índice para el partido, o null si el partido no está abierto
+	 * o no tiene coordenadas.
+	 * @param partido
+	 * @return
+	 */
+	public Entrada crearEntrada(Partido partido) {
+		return crearEntrada(partido, partido.getZona());
+	}
+
+	/**
+	 * Igual que {@link #crearEntrada(Partido)}, con la zona ya resuelta (por ejemplo desde
+	 * DatosReferencia), sin tocar el proxy de la zona del partido.
+	 * @param partido
+	 * @param zona
+	 * @return
+	 */
+	public Entrada crearEntrada(Partido partido, Zona zona) {
+		if (partido.getId() == null || !estaAbierto(partido) || zona == null) {
+			return null;
+		}
+
+		Ubicacion ubicacion = zona.getUbicacion();
+		if (ubicacion == null || ubicacion.getLatitud() == null || ubicacion.getLongitud() == null) {
+			return null;
+		}
+
+		double latitud = ubicacion.getLatitud();
+		double longitud = ubicacion.getLongitud();
+		Long deporteId = partido.getDeporte() != null ? partido.getDeporte().getId() : null;
+
+		return new Entrada(partido.getId(), partido.getTitulo(), partido.getFechaHora(), latitud, longitud,
+				deporteId, partido.getNivel(), partido.getPlazasLibres(), celda(latitud, longitud));
+	}
+
+	public static boolean estaAbierto(Partido partido) {
+		return partido.getEstado() instanceof NecesitamosJugadores || partido.getEstado() instanceof PartidoArmado;
+	}
+
+	public void actualizar(Partido partido) {
+		actualizar(partido, partido.getZona());
+	}
+
+	public void actualizar(Partido partido, Zona zona) {
+		Entrada entrada = crearEntrada(partido, zona);
+
+		if (entrada == null) {
+			remover(partido.getId());
+		} else {
+			indexar(entrada);
+		}
+	}
+
+	public void indexar(Entrada entrada) {
+		Entrada anterior = porId.put(entrada.id(), entrada);
+
+		if (anterior != null && anterior.celda() != entrada.celda()) {
+			quitarDeCelda(anterior);
+		}
+		if (anterior != null && !claveBucket(anterior).equals(claveBucket(entrada))) {
+			quitarDeBucket(anterior);
+		}
+
+		// compute en lugar de computeIfAbsent + put: evita perder la entrada si en paralelo
+		// quitarDeCelda descarta la celda por quedar vacía
+		celdas.compute(entrada.celda(), (k, celda) -> {
+			Map<Long, Entrada> destino = celda != null ? celda : new ConcurrentHashMap<>();
+			destino.put(entrada.id(), entrada);
+			return destino;
+		});
+		buckets.compute(claveBucket(entrada), (k, bucket) -> {
+			Map<Long, Entrada> destino = bucket != null ? bucket : new ConcurrentHashMap<>();
+			destino.put(entrada.id(), entrada);
+			return destino;
+		});
+	}
+
+	public void remover(Long partidoId) {
+		if (partidoId == null) {
+			return;
+		}
+
+		Entrada anterior = porId.remove(partidoId);
+		if (anterior != null) {
+			quitarDeCelda(anterior);
+			quitarDeBucket(anterior);
+		}
+	}
+
+	public void limpiar() {
+		porId.clear();
+		celdas.clear();
+		buckets.clear();
+	}
+
+	public int size() {
+		return porId.size();
+	}
+
+	/**
+	 * Devuelve los partidos abiertos más cercanos dentro del radio, ordenados por distancia.
+	 * @param latitud
+	 * @param longitud
+	 * @param radioKm
+	 * @param deporteId filtro opcional (null = cualquiera)
+	 * @param nivel     filtro opcional (null = cualquiera)
+	 * @param limite    cantidad máxima de resultados
+	 * @return
+	 */
+	public List<Resultado> buscarCercanos(double latitud, double longitud, double radioKm, Long deporteId,
+			Nivel nivel, int limite) {
+		// Un radio no finito haría infinitos los anillos: el controller lo rechaza antes, esto es de resguardo
+		if (limite <= 0 || !(radioKm > 0) || !Double.isFinite(radioKm)) {
+			return List.of();
+		}
+
+		LocalDateTime ahora = LocalDateTime.now();
+		double cosLatitud = Math.cos(Math.toRadians(latitud));
+
+		// Max-heap por distancia: la raíz es el peor de los K mejores
+		PriorityQueue<Resultado> mejores = new PriorityQueue<>(limite + 1,
+				Comparator.comparingDouble(Resultado::distanciaKm).reversed());
+
+		int filaCentro = indice(latitud);
+		int columnaCentro = indice(longitud);
+
+		double kmPorCeldaLat = TAMANIO_CELDA_GRADOS * KM_POR_GRADO;
+		double kmPorCeldaLon = TAMANIO_CELDA_GRADOS * KM_POR_GRADO
+				* Math.max(Math.cos(Math.toRadians(Math.min(Math.abs(latitud) + TAMANIO_CELDA_GRADOS, 89.0))), 0.01);
+		double kmPorCelda = Math.min(kmPorCeldaLat, kmPorCeldaLon);
+
+		int anillosLat = (int) Math.ceil(radioKm / kmPorCeldaLat);
+		int anillosLon = (int) Math.ceil(radioKm / kmPorCeldaLon);
+		int maxAnillo = Math.max(anillosLat, anillosLon);
+
+		for (int anillo = 0; anillo <= maxAnillo; anillo++) {
+			// Cualquier punto de este anillo está al menos a (anillo - 1) celdas completas
+			double distanciaMinimaAnillo = (anillo - 1) * kmPorCelda;
+			if (distanciaMinimaAnillo > radioKm) {
+				break;
+			}
+			if (mejores.size() == limite && distanciaMinimaAnillo > mejores.peek().distanciaKm()) {
+				break;
+			}
+
+			int filas = Math.min(anillo, anillosLat);
+			int columnas = Math.min(anillo, anillosLon);
+
+			for (int fila = filaCentro - filas; fila <= filaCentro + filas; fila++) {
+				boolean bordeFila = Math.abs(fila - filaCentro) == anillo;
+				for (int columna = columnaCentro - columnas; columna <= columnaCentro + columnas; columna++) {
+					// Solo el perímetro del anillo: el interior ya se visitó
+					if (!bordeFila && Math.abs(columna - columnaCentro) != anillo) {
+						continue;
+					}
+
+					Map<Long, Entrada> celda = celdas.get(clave(fila, columna));
+					if (celda != null) {
+						evaluar(celda.values(), latitud, longitud, cosLatitud, radioKm, deporteId, nivel, ahora,
+								limite, mejores);
+					}
+				}
+			}
+		}
+
+		List<Resultado> resultados = new ArrayList<>(mejores);
+		resultados.sort(Comparator.comparingDouble(Resultado::distanciaKm));
+		return resultados;
+	}
+
+	private void evaluar(Collection<Entrada> candidatos, double latitud, double longitud, double cosLatitud,
+			double radioKm, Long deporteId, Nivel nivel, LocalDateTime ahora, int limite,
+			PriorityQueue<Resultado> mejores) {
+		for (Entrada entrada : candidatos) {
+			if (deporteId != null && !deporteId.equals(entrada.deporteId())) {
+				continue;
+			}
+			if (nivel != null && nivel != entrada.nivel()) {
+				continue;
+			}
+			if (entrada.fechaHora() != null && !entrada.fechaHora().isAfter(ahora)) {
+				continue;
+			}
+
+			double distancia = distanciaAproximadaKm(latitud, longitud, cosLatitud, entrada.latitud(),
+					entrada.longitud());
+			if (distancia > radioKm) {
+				continue;
+			}
+
+			if (mejores.size() < limite) {
+				mejores.add(new Resultado(entrada, distancia));
+			} else if (distancia < mejores.peek().distanciaKm()) {
+				mejores.poll();
+				mejores.add(new Resultado(entrada, distancia));
+			}
+		}
+	}
+
+	/**
+	 * Partidos abiertos de un deporte y nivel dentro de una celda gruesa (ver indiceBucket).
+	 * @param deporteId
+	 * @param nivel
+	 * @param fila
+	 * @param columna
+	 * @return vista en vivo del bucket, vacía si no hay partidos
+	 */
+	public Collection<Entrada> bucket(Long deporteId, Nivel nivel, int fila, int columna) {
+		Map<Long, Entrada> bucket = buckets.get(new ClaveBucket(deporteId, nivel, fila, columna));
+		return bucket != null ? bucket.values() : List.of();
+	}
+
+	private void quitarDeBucket(Entrada entrada) {
+		buckets.computeIfPresent(claveBucket(entrada), (k, bucket) -> {
+			bucket.remove(entrada.id(), entrada);
+			return bucket.isEmpty() ? null : bucket;
+		});
+	}
+
+	private void quitarDeCelda(Entrada entrada) {
+		celdas.computeIfPresent(entrada.celda(), (k, celda) -> {
+			celda.remove(entrada.id(), entrada);
+			return celda.isEmpty() ? null : celda;
+		});
+	}
+
+	/**
+	 * Proyección equirectangular: a escala de ciudad el error frente a haversine es despreciable
+	 * y evita las funciones trigonométricas por candidato.
+	 */
+	static double distanciaAproximadaKm(double lat1, double lon1, double cosLat1, double lat2, double lon2) {
+		double x = Math.toRadians(lon2 - lon1) * cosLat1;
+		double y = Math.toRadians(lat2 - lat1);
+		return RADIO_TIERRA_KM * Math.sqrt(x * x + y * y);
+	}
+
+	/**
+	 * Distancia haversine en kilómetros.
+	 */
+	public static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+				* Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+	}
+
+	public static long celda(double latitud, double longitud) {
+		return clave(indice(latitud), indice(longitud));
+	}
+
+	private static ClaveBucket claveBucket(Entrada entrada) {
+		return new ClaveBucket(entrada.deporteId(), entrada.nivel(), indiceBucket(entrada.latitud()),
+				indiceBucket(entrada.longitud()));
+	}
+
+	public static int indiceBucket(double grados) {
+		return (int) Math.floor(grados / TAMANIO_BUCKET_GRADOS);
+	}
+
+	static int indice(double grados) {
+		return (int) Math.floor(grados / TAMANIO_CELDA_GRADOS);
+	}
+
+	static long clave(int fila, int columna) {
+		return ((long) fila << 32) | (columna & 0xffffffffL);
+	}
+}
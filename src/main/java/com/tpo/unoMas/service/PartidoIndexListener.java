@@ -0,0 +1,42 @@
+package com.tpo.unoMas.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.Partido;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Mantiene el PartidoGeoIndex al día a medida que se crean, modifican o eliminan partidos.
+ * La entrada se arma durante el flush (con la sesión abierta) y se aplica recién
+ * cuando la transacción confirma, para no indexar cambios que terminan en rollback.
+ */
+@Component
+public class PartidoIndexListener {
+
+	@Autowired
+	private PartidoGeoIndex geoIndex;
+
+	@PostPersist
+	@PostUpdate
+	public void partidoGuardado(Partido partido) {
+		Long id = partido.getId();
+		PartidoGeoIndex.Entrada entrada = geoIndex.crearEntrada(partido);
+
+		Transacciones.despuesDelCommit(() -> {
+			if (entrada == null) {
+				geoIndex.remover(id);
+			} else {
+				geoIndex.indexar(entrada);
+			}
+		});
+	}
+
+	@PostRemove
+	public void partidoEliminado(Partido partido) {
+		Long id = partido.getId();
+		Transacciones.despuesDelCommit(() -> geoIndex.remover(id));
+	}
+}
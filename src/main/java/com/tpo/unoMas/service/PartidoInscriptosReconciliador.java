@@ -0,0 +1,84 @@
+package com.tpo.unoMas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Compara periódicamente Partido.inscriptos con las filas de partido_jugador de los partidos activos
+ * y corrige los que se desviaron (cambios hechos por fuera de la entidad, una columna recién agregada).
+ * Cada partido corregido suma a unomas.partidos.inscriptos.reparados, pasa por las reglas de estado y
+ * de la lista de espera (un lugar que aparece al corregir se ofrece al primero que espera) y se vuelve
+ * a indexar, para que los listados del PartidoGeoIndex muestren las plazas libres correctas.
+ */
+@Component
+public class PartidoInscriptosReconciliador {
+
+	private static final Log logger = LogFactory.getLog(PartidoInscriptosReconciliador.class);
+
+	@Autowired
+	private IPartidoDAO partidoDAO;
+
+	@Autowired
+	private IPartidoService partidoService;
+
+	@Autowired
+	private PartidoGeoIndex geoIndex;
+
+	@Autowired
+	private DatosReferencia datosReferencia;
+
+	private final Counter reparados;
+
+	public PartidoInscriptosReconciliador(MeterRegistry registry) {
+		this.reparados = Counter.builder("unomas.partidos.inscriptos.reparados")
+				.description("Partidos cuyo contador de inscriptos se corrigió").register(registry);
+	}
+
+	/**
+	 * @return cantidad de partidos corregidos
+	 */
+	@Scheduled(initialDelayString = "${unomas.partidos.reconciliacion-ms:600000}",
+			fixedDelayString = "${unomas.partidos.reconciliacion-ms:600000}")
+	public int reconciliar() {
+		List<Object[]> desfasados = partidoDAO.findInscriptosDesfasados();
+		if (desfasados.isEmpty()) {
+			return 0;
+		}
+
+		List<Long> ids = new ArrayList<>();
+		for (Object[] fila : desfasados) {
+			ids.add((Long) fila[0]);
+			logger.warn("Partido " + fila[0] + ": inscriptos=" + fila[1] + ", en partido_jugador=" + fila[2]);
+		}
+
+		// El UPDATE vuelve a comparar: lo que se corrigió solo entre la consulta y acá no cuenta
+		int corregidos = partidoDAO.repararInscriptos(ids);
+		// Si corre dentro de una transacción, solo cuenta lo que efectivamente se confirmó
+		Transacciones.despuesDelCommit(() -> reparados.increment(corregidos));
+
+		for (Long id : ids) {
+			try {
+				partidoService.aplicarPlantelReparado(id);
+			} catch (RuntimeException e) {
+				// El contador ya quedó corregido: la próxima baja o alta vuelve a aplicar las reglas
+				logger.warn("Partido " + id + ": no se pudieron aplicar las reglas tras la reparación", e);
+			}
+			Partido partido = partidoDAO.findById(id);
+			if (partido != null) {
+				geoIndex.actualizar(partido, datosReferencia.zona(partido.getZona().getId()));
+			}
+		}
+		return corregidos;
+	}
+}
@@ -0,0 +1,29 @@
+package com.tpo.unoMas.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Locks por partido repartidos en franjas: dos partidos distintos casi nunca comparten
+ * lock y no hace falta un lock global ni un mapa que crezca con cada partido.
+ */
+@Component
+public class PartidoLocks {
+
+	private static final int FRANJAS = 256; // potencia de 2
+
+	private final ReentrantLock[] locks = new ReentrantLock[FRANJAS];
+
+	public PartidoLocks() {
+		for (int i = 0; i < FRANJAS; i++) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	public ReentrantLock lockDe(Long partidoId) {
+		int hash = Long.hashCode(partidoId);
+		hash ^= (hash >>> 16);
+		return locks[hash & (FRANJAS - 1)];
+	}
+}
@@ -0,0 +1,74 @@
+package com.tpo.unoMas.service;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.evento.CambioEstadoPartido;
+import com.tpo.unoMas.model.evento.EsperaDescartada;
+import com.tpo.unoMas.model.evento.JugadorPromovido;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Suscriptor del EventoBus que convierte cada transición de estado de un partido en una
+ * notificación push para sus jugadores, cada promoción desde la lista de espera en un
+ * aviso al jugador promovido y cada lista de espera descartada en un aviso a quienes esperaban.
+ */
+@Component
+public class PartidoNotificacionListener {
+
+	@Autowired
+	private NotificacionDispatcher dispatcher;
+
+	@Autowired
+	private EventoBus bus;
+
+	@PostConstruct
+	public void suscribir() {
+		bus.suscribir("notificaciones", this::procesar);
+	}
+
+	void procesar(EventoDePartido evento) {
+		if (evento.evento() instanceof CambioEstadoPartido cambio) {
+			dispatcher.publicar(crearNotificacion(evento.partidoId(), cambio), cambio.tokensFCM());
+		} else if (evento.evento() instanceof JugadorPromovido promovido && promovido.tokenFCM() != null) {
+			String clave = "partido:" + evento.partidoId() + ":promovido:" + promovido.jugadorId();
+			dispatcher.publicar(new Notificacion(clave, "¡Tenés lugar!",
+					"Se liberó un lugar en " + promovido.titulo() + " y ya estás en el plantel."),
+					Set.of(promovido.tokenFCM()));
+		} else if (evento.evento() instanceof EsperaDescartada descartada && !descartada.tokensFCM().isEmpty()) {
+			String clave = "partido:" + evento.partidoId() + ":espera:" + descartada.estado().getCodigo();
+			dispatcher.publicar(new Notificacion(clave, "Saliste de la lista de espera",
+					"El partido " + descartada.titulo() + " " + motivo(descartada.estado())
+							+ " y ya no se liberan lugares."),
+					descartada.tokensFCM());
+		}
+	}
+
+	static Notificacion crearNotificacion(Long partidoId, CambioEstadoPartido cambio) {
+		String titulo = cambio.titulo();
+		char codigo = cambio.nuevo().getCodigo();
+		String clave = "partido:" + partidoId + ":" + codigo;
+
+		return switch (codigo) {
+		case 'N' -> new Notificacion(clave, "Faltan jugadores", "El partido " + titulo + " necesita jugadores otra vez.");
+		case 'A' -> new Notificacion(clave, "¡Partido armado!", "El partido " + titulo + " ya tiene los jugadores necesarios.");
+		case 'C' -> new Notificacion(clave, "Partido confirmado", "Todos confirmaron asistencia a " + titulo + ".");
+		case 'J' -> new Notificacion(clave, "El partido empezó", titulo + " está en juego.");
+		case 'F' -> new Notificacion(clave, "Partido finalizado", titulo + " terminó.");
+		case 'X' -> new Notificacion(clave, "Partido cancelado", "El partido " + titulo + " fue cancelado.");
+		default -> new Notificacion(clave, titulo, "El partido cambió a " + cambio.nuevo() + ".");
+		};
+	}
+
+	private static String motivo(EstadoPartido estado) {
+		return switch (estado.getCodigo()) {
+		case 'J' -> "empezó";
+		case 'F' -> "terminó";
+		case 'X' -> "fue cancelado";
+		default -> "pasó a " + estado;
+		};
+	}
+}
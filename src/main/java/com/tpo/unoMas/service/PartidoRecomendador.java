@@ -0,0 +1,218 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.Nivel;
+
+/**
+ * Rankea partidos abiertos para un jugador según su preferencia de deporte, la cercanía
+ * de nivel, la distancia y qué tan pronto se juegan.
+ * <p>
+ * Solo recorre los buckets (deporte, nivel, celda gruesa) del PartidoGeoIndex que pueden
+ * aportar: cada bucket tiene una cota superior de puntaje, se visitan de mayor a menor
+ * cota y se corta apenas ninguno restante puede mejorar el top-K.
+ */
+@Component
+public class PartidoRecomendador {
+
+	static final double PESO_DEPORTE = 0.35;
+	static final double PESO_NIVEL = 0.25;
+	static final double PESO_DISTANCIA = 0.25;
+	static final double PESO_HORARIO = 0.15;
+
+	static final double AFINIDAD_FAVORITO = 1.0;
+	static final double AFINIDAD_NO_FAVORITO = 0.6;
+
+	/** Diferencia máxima de nivel (en ordinales) que se considera recomendable. */
+	static final int DIFERENCIA_NIVEL_MAXIMA = 1;
+
+	/** Más allá de este horizonte todos los partidos puntúan igual por horario. */
+	static final long HORIZONTE_SEGUNDOS = 7 * 24 * 3600L;
+
+	private static final int MAXIMA_DIFERENCIA_POSIBLE = Nivel.values().length - 1;
+
+	@Autowired
+	private PartidoGeoIndex geoIndex;
+
+	public PartidoRecomendador() {
+	}
+
+	public PartidoRecomendador(PartidoGeoIndex geoIndex) {
+		this.geoIndex = geoIndex;
+	}
+
+	/**
+	 * Deporte que practica el jugador, con su nivel y si es su favorito.
+	 */
+	public record Preferencia(Long deporteId, Nivel nivel, boolean favorito) {
+	}
+
+	/**
+	 * Lo que hace falta saber del jugador para recomendarle partidos.
+	 */
+	public record Perfil(double latitud, double longitud, List<Preferencia> preferencias) {
+	}
+
+	public record Recomendacion(PartidoGeoIndex.Entrada entrada, double distanciaKm, double puntaje) {
+	}
+
+	private record Combinacion(Long deporteId, Nivel nivel) {
+	}
+
+	/**
+	 * Bucket candidato con la parte del puntaje que no depende del partido y la cota superior total.
+	 */
+	private record Grupo(Long deporteId, Nivel nivel, int fila, int columna, double puntajeFijo, double cota) {
+	}
+
+	/**
+	 * Devuelve hasta {@code limite} partidos ordenados de mayor a menor puntaje.
+	 * @param perfil
+	 * @param radioKm   distancia máxima al partido
+	 * @param limite
+	 * @param excluidos ids de partidos a descartar (p. ej. donde el jugador ya está anotado)
+	 * @param ahora
+	 * @return
+	 */
+	public List<Recomendacion> recomendar(Perfil perfil, double radioKm, int limite, Set<Long> excluidos,
+			LocalDateTime ahora) {
+		// Los grupos crecen con el cuadrado del radio: el controller lo acota, esto es de resguardo
+		if (limite <= 0 || !(radioKm > 0) || !Double.isFinite(radioKm) || perfil.preferencias().isEmpty()) {
+			return List.of();
+		}
+
+		double cosLatitud = Math.cos(Math.toRadians(perfil.latitud()));
+		long ahoraSegundos = ahora.toEpochSecond(ZoneOffset.UTC);
+		List<Grupo> grupos = armarGrupos(perfil, radioKm, cosLatitud);
+
+		// Min-heap por puntaje: la raíz es el peor de los K mejores
+		PriorityQueue<Recomendacion> mejores = new PriorityQueue<>(limite + 1,
+				Comparator.comparingDouble(Recomendacion::puntaje));
+
+		for (Grupo grupo : grupos) {
+			if (mejores.size() == limite && grupo.cota() <= mejores.peek().puntaje()) {
+				break;
+			}
+
+			Collection<PartidoGeoIndex.Entrada> bucket = geoIndex.bucket(grupo.deporteId(), grupo.nivel(),
+					grupo.fila(), grupo.columna());
+			for (PartidoGeoIndex.Entrada entrada : bucket) {
+				evaluar(entrada, grupo, perfil, cosLatitud, radioKm, ahoraSegundos, limite, excluidos, mejores);
+			}
+		}
+
+		List<Recomendacion> resultados = new ArrayList<>(mejores);
+		resultados.sort(Comparator.comparingDouble(Recomendacion::puntaje).reversed());
+		return resultados;
+	}
+
+	private void evaluar(PartidoGeoIndex.Entrada entrada, Grupo grupo, Perfil perfil, double cosLatitud,
+			double radioKm, long ahoraSegundos, int limite, Set<Long> excluidos,
+			PriorityQueue<Recomendacion> mejores) {
+		if (entrada.fechaHora() == null) {
+			return;
+		}
+
+		long faltan = entrada.fechaHora().toEpochSecond(ZoneOffset.UTC) - ahoraSegundos;
+		if (faltan <= 0) {
+			return;
+		}
+
+		double distancia = PartidoGeoIndex.distanciaAproximadaKm(perfil.latitud(), perfil.longitud(), cosLatitud,
+				entrada.latitud(), entrada.longitud());
+		if (distancia > radioKm) {
+			return;
+		}
+
+		double puntaje = grupo.puntajeFijo() + PESO_DISTANCIA * (1 - distancia / radioKm)
+				+ PESO_HORARIO * (1 - (double) Math.min(faltan, HORIZONTE_SEGUNDOS) / HORIZONTE_SEGUNDOS);
+
+		if (mejores.size() == limite && puntaje <= mejores.peek().puntaje()) {
+			return;
+		}
+		if (excluidos.contains(entrada.id())) {
+			return;
+		}
+
+		mejores.add(new Recomendacion(entrada, distancia, puntaje));
+		if (mejores.size() > limite) {
+			mejores.poll();
+		}
+	}
+
+	private List<Grupo> armarGrupos(Perfil perfil, double radioKm, double cosLatitud) {
+		// Un mismo deporte cargado dos veces (aun con distinto nivel) no debe recorrer sus buckets dos veces:
+		// por cada deporte y nivel de partido se queda el mejor puntaje fijo entre las preferencias
+		Map<Combinacion, Double> puntajesFijos = new LinkedHashMap<>();
+		Nivel[] niveles = Nivel.values();
+		for (Preferencia preferencia : perfil.preferencias()) {
+			double afinidad = preferencia.favorito() ? AFINIDAD_FAVORITO : AFINIDAD_NO_FAVORITO;
+			int ordinal = preferencia.nivel() != null ? preferencia.nivel().ordinal() : 0;
+
+			for (int diferencia = -DIFERENCIA_NIVEL_MAXIMA; diferencia <= DIFERENCIA_NIVEL_MAXIMA; diferencia++) {
+				int candidato = ordinal + diferencia;
+				if (candidato < 0 || candidato >= niveles.length) {
+					continue;
+				}
+
+				double puntajeFijo = PESO_DEPORTE * afinidad
+						+ PESO_NIVEL * (1 - (double) Math.abs(diferencia) / MAXIMA_DIFERENCIA_POSIBLE);
+				puntajesFijos.merge(new Combinacion(preferencia.deporteId(), niveles[candidato]), puntajeFijo,
+						Math::max);
+			}
+		}
+
+		double kmPorBucketLat = PartidoGeoIndex.TAMANIO_BUCKET_GRADOS * PartidoGeoIndex.KM_POR_GRADO;
+		double kmPorBucketLon = kmPorBucketLat * Math.max(cosLatitud, 0.01);
+		int filaCentro = PartidoGeoIndex.indiceBucket(perfil.latitud());
+		int columnaCentro = PartidoGeoIndex.indiceBucket(perfil.longitud());
+		int filas = (int) Math.ceil(radioKm / kmPorBucketLat);
+		int columnas = (int) Math.ceil(radioKm / kmPorBucketLon);
+
+		// Distancia mínima del jugador a cada celda gruesa alcanzable dentro del radio
+		List<double[]> celdas = new ArrayList<>();
+		for (int fila = filaCentro - filas; fila <= filaCentro + filas; fila++) {
+			for (int columna = columnaCentro - columnas; columna <= columnaCentro + columnas; columna++) {
+				double minima = distanciaMinimaACelda(perfil.latitud(), perfil.longitud(), cosLatitud, fila,
+						columna);
+				if (minima <= radioKm) {
+					celdas.add(new double[] { fila, columna, minima });
+				}
+			}
+		}
+
+		List<Grupo> grupos = new ArrayList<>();
+		for (Map.Entry<Combinacion, Double> combinacion : puntajesFijos.entrySet()) {
+			double puntajeFijo = combinacion.getValue();
+			for (double[] celda : celdas) {
+				double cota = puntajeFijo + PESO_DISTANCIA * (1 - celda[2] / radioKm) + PESO_HORARIO;
+				grupos.add(new Grupo(combinacion.getKey().deporteId(), combinacion.getKey().nivel(), (int) celda[0],
+						(int) celda[1], puntajeFijo, cota));
+			}
+		}
+
+		grupos.sort(Comparator.comparingDouble(Grupo::cota).reversed());
+		return grupos;
+	}
+
+	private static double distanciaMinimaACelda(double latitud, double longitud, double cosLatitud, int fila,
+			int columna) {
+		double tamanio = PartidoGeoIndex.TAMANIO_BUCKET_GRADOS;
+		double latitudCercana = Math.max(fila * tamanio, Math.min(latitud, (fila + 1) * tamanio));
+		double longitudCercana = Math.max(columna * tamanio, Math.min(longitud, (columna + 1) * tamanio));
+		return PartidoGeoIndex.distanciaAproximadaKm(latitud, longitud, cosLatitud, latitudCercana,
+				longitudCercana);
+	}
+}
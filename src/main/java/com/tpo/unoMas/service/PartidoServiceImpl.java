@@ -0,0 +1,392 @@
+package com.tpo.unoMas.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.tpo.unoMas.model.DeporteJugador;
+import com.tpo.unoMas.model.EnEspera;
+import com.tpo.unoMas.model.Inscripcion;
+import com.tpo.unoMas.model.Jugador;
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.Ubicacion;
+import com.tpo.unoMas.model.dao.IJugadorDAO;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.dao.IEnEsperaDAO;
+import com.tpo.unoMas.model.dao.IInscripcionDAO;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.entity.JugadorResumenDTO;
+import com.tpo.unoMas.model.entity.PartidoCercanoDTO;
+import com.tpo.unoMas.model.entity.PartidoDetalleDTO;
+import com.tpo.unoMas.model.entity.PartidoRecomendadoDTO;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.Confirmado;
+import com.tpo.unoMas.model.estado.EnJuego;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class PartidoServiceImpl implements IPartidoService {
+
+	private static final int MAX_REINTENTOS = 3;
+
+	@Autowired
+	private IPartidoDAO partidoDAO;
+
+	@Autowired
+	private IJugadorDAO jugadorDAO;
+
+	@Autowired
+	private IEnEsperaDAO enEsperaDAO;
+
+	@Autowired
+	private IInscripcionDAO inscripcionDAO;
+
+	@Autowired
+	private PartidoGeoIndex geoIndex;
+
+	@Autowired
+	private DatosReferencia datosReferencia;
+
+	@Autowired
+	private PartidoRecomendador recomendador;
+
+	@Autowired
+	private PartidoLocks partidoLocks;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	/**
+	 * Carga el índice espacial al arrancar; desde ahí se mantiene con PartidoIndexListener.
+	 * Las coordenadas salen de DatosReferencia: la consulta de partidos no toca la tabla de zonas.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void cargarIndice() {
+		for (Partido partido : partidoDAO.findAbiertos()) {
+			geoIndex.actualizar(partido, datosReferencia.zona(partido.getZona().getId()));
+		}
+	}
+
+	@Override
+	public List<PartidoCercanoDTO> buscarCercanos(double latitud, double longitud, double radioKm, Long deporteId,
+			Nivel nivel, int limite) {
+		List<PartidoCercanoDTO> partidos = new ArrayList<>();
+
+		for (PartidoGeoIndex.Resultado resultado : geoIndex.buscarCercanos(latitud, longitud, radioKm, deporteId,
+				nivel, limite)) {
+			PartidoGeoIndex.Entrada entrada = resultado.entrada();
+			partidos.add(new PartidoCercanoDTO(entrada.id(), entrada.titulo(), entrada.fechaHora(),
+					entrada.deporteId(), entrada.nivel(), entrada.plazasLibres(), resultado.distanciaKm()));
+		}
+
+		return partidos;
+	}
+
+	/**
+	 * Página de la búsqueda, en orden de fechaHora e id. El plantel solo se lee si se pide, y en ese
+	 * caso con una única consulta para todos los partidos de la página.
+	 */
+	@Override
+	public List<PartidoResumenDTO> buscar(FiltroPartidos filtro, LocalDateTime despuesDeFecha, Long despuesDeId,
+			int limite, boolean incluirJugadores) {
+		List<PartidoResumenDTO> partidos = partidoDAO.buscar(filtro, despuesDeFecha, despuesDeId, limite);
+		if (!incluirJugadores || partidos.isEmpty()) {
+			return partidos;
+		}
+
+		Map<Long, PartidoResumenDTO> porId = new HashMap<>();
+		for (PartidoResumenDTO partido : partidos) {
+			partido.setJugadores(new ArrayList<>());
+			porId.put(partido.getId(), partido);
+		}
+		for (Object[] fila : partidoDAO.findPlanteles(new ArrayList<>(porId.keySet()))) {
+			porId.get((Long) fila[0]).getJugadores()
+					.add(new JugadorResumenDTO((Long) fila[1], (String) fila[2], (Boolean) fila[3]));
+		}
+		for (PartidoResumenDTO partido : partidos) {
+			partido.getJugadores().sort(Comparator.comparing(JugadorResumenDTO::getNombre));
+		}
+		return partidos;
+	}
+
+	@Override
+	public PartidoDetalleDTO findDetalle(Long partidoId) {
+		Partido partido = partidoDAO.findDetalle(partidoId);
+		if (partido == null) {
+			throw new NoSuchElementException("Partido no encontrado con ID: " + partidoId);
+		}
+
+		return convertToDetalleDTO(partido);
+	}
+
+	/**
+	 * Copia el partido y su plantel (ya cargados) al DTO del detalle, jugadores ordenados por nombre.
+	 */
+	public static PartidoDetalleDTO convertToDetalleDTO(Partido partido) {
+		List<JugadorResumenDTO> jugadores = new ArrayList<>();
+		for (Inscripcion inscripcion : partido.getInscripciones()) {
+			Jugador jugador = inscripcion.getJugador();
+			jugadores.add(new JugadorResumenDTO(jugador.getId(), jugador.getNombre(), inscripcion.isConfirmado()));
+		}
+		jugadores.sort(Comparator.comparing(JugadorResumenDTO::getNombre));
+
+		PartidoDetalleDTO detalle = new PartidoDetalleDTO();
+		detalle.setId(partido.getId());
+		detalle.setTitulo(partido.getTitulo());
+		detalle.setFechaHora(partido.getFechaHora());
+		detalle.setDuracionMinutos(partido.getDuracionMinutos());
+		detalle.setEstado(partido.getEstado().toString());
+		detalle.setNivel(partido.getNivel());
+		detalle.setDeporte(partido.getDeporte().getNombre());
+		detalle.setBarrio(partido.getZona().getBarrio());
+		detalle.setMinJugadores(partido.getMinJugadores());
+		detalle.setMaxJugadores(partido.getMaxJugadores());
+		detalle.setJugadores(jugadores);
+		return detalle;
+	}
+
+	/**
+	 * Recomienda partidos abiertos a partir de los deportes del jugador (DeporteJugador) y de su zona.
+	 * Los partidos donde ya está anotado quedan afuera.
+	 */
+	@Override
+	public List<PartidoRecomendadoDTO> recomendar(Long jugadorId, double radioKm, int limite) {
+		Jugador jugador = jugadorDAO.findConDeportes(jugadorId);
+		if (jugador == null) {
+			throw new NoSuchElementException("Jugador no encontrado con ID: " + jugadorId);
+		}
+
+		// La zona sale de DatosReferencia: findConDeportes no la trae y el jugador ya está desacoplado
+		Ubicacion ubicacion = datosReferencia.zona(jugador.getZona().getId()).getUbicacion();
+		if (ubicacion == null || ubicacion.getLatitud() == null || ubicacion.getLongitud() == null) {
+			return List.of();
+		}
+
+		List<PartidoRecomendador.Preferencia> preferencias = new ArrayList<>();
+		for (DeporteJugador deporteJugador : jugador.getDeportes()) {
+			preferencias.add(new PartidoRecomendador.Preferencia(deporteJugador.getDeporte().getId(),
+					deporteJugador.getNivel(), deporteJugador.isEsFavorito()));
+		}
+
+		PartidoRecomendador.Perfil perfil = new PartidoRecomendador.Perfil(ubicacion.getLatitud(),
+				ubicacion.getLongitud(), preferencias);
+		List<PartidoRecomendadoDTO> partidos = new ArrayList<>();
+
+		for (PartidoRecomendador.Recomendacion recomendacion : recomendador.recomendar(perfil, radioKm, limite,
+				new HashSet<>(partidoDAO.findIdsConJugador(jugadorId)), LocalDateTime.now())) {
+			PartidoGeoIndex.Entrada entrada = recomendacion.entrada();
+			partidos.add(new PartidoRecomendadoDTO(entrada.id(), entrada.titulo(), entrada.fechaHora(),
+					entrada.deporteId(), entrada.nivel(), entrada.plazasLibres(), recomendacion.distanciaKm(),
+					recomendacion.puntaje()));
+		}
+
+		return partidos;
+	}
+
+	/**
+	 * Con el partido completo, PartidoArmado anota al jugador en la lista de espera en lugar de
+	 * rechazarlo; la entrada se guarda en la misma transacción que el contador del partido.
+	 */
+	@Override
+	public Integer agregarJugador(Long partidoId, Long jugadorId) {
+		AtomicReference<Integer> posicion = new AtomicReference<>();
+		modificarPlantel(partidoId, jugadorId, "agregarJugador", (partido, jugador) -> {
+			if (enEsperaDAO.find(partidoId, jugadorId) != null) {
+				throw new IllegalStateException("El jugador ya está en la lista de espera");
+			}
+
+			partido.agregarJugador(jugador);
+			List<EnEspera> altas = partido.tomarAltasEnEspera();
+			for (EnEspera alta : altas) {
+				enEsperaDAO.save(alta);
+			}
+			posicion.set(altas.isEmpty() ? null : partido.getEnEspera());
+		});
+		return posicion.get();
+	}
+
+	@Override
+	public void removerJugador(Long partidoId, Long jugadorId) {
+		modificarPlantel(partidoId, jugadorId, "removerJugador", (partido, jugador) -> {
+			EnEspera enEspera = enEsperaDAO.find(partidoId, jugadorId);
+			if (enEspera != null) {
+				partido.salirDeEspera();
+				enEsperaDAO.delete(enEspera);
+				return;
+			}
+
+			partido.removerJugador(jugador);
+			promoverDesdeEspera(partido);
+		});
+	}
+
+	/**
+	 * Mientras haya lugar y el estado admita promociones (también Confirmado), pasa al plantel el primero
+	 * de la lista de espera (una lectura por índice cada uno). Corre dentro de la transacción y del lock
+	 * de la baja: dos bajas simultáneas nunca promueven al mismo jugador ni dejan un lugar libre con gente
+	 * esperando.
+	 */
+	private void promoverDesdeEspera(Partido partido) {
+		while (partido.getEnEspera() > 0 && partido.admitePromociones() && !partido.estaCompleto()) {
+			EnEspera primero = enEsperaDAO.findPrimero(partido.getId());
+			if (primero == null) {
+				return;
+			}
+
+			Jugador jugador = primero.getJugador();
+			partido.conocerInscripcion(jugador, inscripcionDAO.find(partido.getId(), jugador.getId()));
+			partido.promoverDeEspera(primero);
+			enEsperaDAO.delete(primero);
+			// conPartidoBloqueado puede reintentar la transacción: se cuenta solo la que confirma
+			Transacciones.despuesDelCommit(() -> registry.counter("unomas.partidos.espera.promovidos").increment());
+		}
+	}
+
+	@Override
+	public void confirmarAsistencia(Long partidoId, Long jugadorId) {
+		modificarPlantel(partidoId, jugadorId, "confirmarAsistencia", Partido::confirmarAsistencia);
+	}
+
+	/**
+	 * Aplica la transición automática que corresponda según la hora actual: inicia los partidos
+	 * confirmados, cancela los que llegaron a la hora sin el mínimo de jugadores y finaliza
+	 * los que ya cumplieron su duración. Es idempotente: si no corresponde nada, no hace nada.
+	 */
+	@Override
+	public void aplicarAgenda(Long partidoId) {
+		conPartidoBloqueado(partidoId, partido -> {
+			LocalDateTime ahora = LocalDateTime.now();
+			EstadoPartido estado = partido.getEstado();
+
+			if (estado == EnJuego.INSTANCIA) {
+				if (!ahora.isBefore(partido.getFechaHora().plusMinutes(partido.getDuracionMinutos()))) {
+					partido.finalizar();
+				}
+			} else if (!ahora.isBefore(partido.getFechaHora())) {
+				if (estado == Confirmado.INSTANCIA) {
+					partido.iniciar();
+				} else if (estado == NecesitamosJugadores.INSTANCIA) {
+					partido.cancelar();
+				}
+			}
+			descartarEsperaSiCerro(partido);
+		});
+	}
+
+	/**
+	 * Un partido que empezó, se canceló o terminó ya no promueve a nadie: se borra su lista de espera
+	 * con un solo DELETE y se avisa a quienes esperaban, en la misma transacción que la transición.
+	 */
+	private void descartarEsperaSiCerro(Partido partido) {
+		if (partido.getEnEspera() == 0 || partido.admitePromociones()) {
+			return;
+		}
+		Set<String> tokens = new LinkedHashSet<>(enEsperaDAO.findTokensFCM(partido.getId()));
+		enEsperaDAO.deleteByPartido(partido.getId());
+		partido.descartarEspera(tokens);
+	}
+
+	/**
+	 * Con el contador ya corregido, ajusta el estado al mínimo de jugadores y, si quedó lugar,
+	 * promueve desde la lista de espera, bajo el mismo lock y transacción que una baja.
+	 */
+	@Override
+	public void aplicarPlantelReparado(Long partidoId) {
+		conPartidoBloqueado(partidoId, partido -> {
+			partido.reevaluarMinimo();
+			promoverDesdeEspera(partido);
+			guardarPlantel(partido);
+		});
+	}
+
+	private void modificarPlantel(Long partidoId, Long jugadorId, String nombre, BiConsumer<Partido, Jugador> operacion) {
+		conPartidoBloqueado(partidoId, partido -> {
+			Jugador jugador = jugadorDAO.findById(jugadorId);
+			if (jugador == null) {
+				throw new NoSuchElementException("Jugador no encontrado con ID: " + jugadorId);
+			}
+
+			// Una lectura por clave de partido_jugador en lugar de cargar el plantel completo
+			partido.conocerInscripcion(jugador, inscripcionDAO.find(partidoId, jugadorId));
+
+			EstadoPartido estado = partido.getEstado();
+			try {
+				operacion.accept(partido, jugador);
+			} catch (IllegalStateException e) {
+				// El estado actual no admite la operación: se cuenta por estado y operación
+				registry.counter("unomas.partidos.rechazos", "estado", estado.toString(), "operacion", nombre)
+						.increment();
+				throw e;
+			}
+
+			guardarPlantel(partido);
+		});
+	}
+
+	// Altas y bajas hechas sin el plantel cargado: se guardan fila por fila en partido_jugador
+	private void guardarPlantel(Partido partido) {
+		for (Inscripcion baja : partido.tomarBajasPlantel()) {
+			inscripcionDAO.delete(baja);
+		}
+		for (Inscripcion alta : partido.tomarAltasPlantel()) {
+			inscripcionDAO.save(alta);
+		}
+	}
+
+	/**
+	 * Serializa las operaciones sobre un mismo partido con su lock de franja (dentro del nodo)
+	 * y confía en @Version para detectar carreras entre nodos; el commit ocurre antes de liberar
+	 * el lock, así el siguiente en la cola ya lee el partido actualizado.
+	 */
+	private void conPartidoBloqueado(Long partidoId, Consumer<Partido> operacion) {
+		ReentrantLock lock = partidoLocks.lockDe(partidoId);
+		lock.lock();
+		try {
+			for (int intento = 1;; intento++) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> {
+						Partido partido = partidoDAO.findById(partidoId);
+						if (partido == null) {
+							throw new NoSuchElementException("Partido no encontrado con ID: " + partidoId);
+						}
+
+						operacion.accept(partido);
+					});
+					return;
+				} catch (ObjectOptimisticLockingFailureException e) {
+					if (intento >= MAX_REINTENTOS) {
+						throw e;
+					}
+					registry.counter("unomas.partidos.reintentos").increment();
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+}
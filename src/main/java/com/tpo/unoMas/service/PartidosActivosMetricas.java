@@ -0,0 +1,51 @@
+package com.tpo.unoMas.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.estado.Confirmado;
+import com.tpo.unoMas.model.estado.EnJuego;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Gauge unomas.partidos.activos{estado} con la cantidad de partidos en cada estado no terminal.
+ * Los valores se refrescan con un único GROUP BY periódico, así el scrape no consulta la base.
+ */
+@Component
+public class PartidosActivosMetricas {
+
+	private static final List<EstadoPartido> ACTIVOS = List.of(NecesitamosJugadores.INSTANCIA,
+			PartidoArmado.INSTANCIA, Confirmado.INSTANCIA, EnJuego.INSTANCIA);
+
+	private final Map<EstadoPartido, AtomicLong> cantidades = new HashMap<>();
+
+	@Autowired
+	private IPartidoDAO partidoDAO;
+
+	public PartidosActivosMetricas(MeterRegistry registry) {
+		for (EstadoPartido estado : ACTIVOS) {
+			AtomicLong cantidad = new AtomicLong();
+			cantidades.put(estado, cantidad);
+			Gauge.builder("unomas.partidos.activos", cantidad, AtomicLong::get).tag("estado", estado.toString())
+					.description("Partidos en cada estado no terminal").register(registry);
+		}
+	}
+
+	@Scheduled(initialDelayString = "${unomas.metricas.partidos-activos-ms:30000}",
+			fixedDelayString = "${unomas.metricas.partidos-activos-ms:30000}")
+	public void actualizar() {
+		Map<EstadoPartido, Long> actuales = partidoDAO.contarActivosPorEstado();
+		cantidades.forEach((estado, cantidad) -> cantidad.set(actuales.getOrDefault(estado, 0L)));
+	}
+}
@@ -0,0 +1,50 @@
+package com.tpo.unoMas.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Recarga DatosReferencia cuando confirma una transacción que creó, modificó o borró zonas
+ * o deportes; una sola vez por transacción aunque cambien varios registros.
+ */
+@Component
+public class ReferenciaListener {
+
+	// Lazy: Hibernate crea el listener mientras arma el EntityManagerFactory que usan los DAO
+	@Lazy
+	@Autowired
+	private DatosReferencia datosReferencia;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void referenciaModificada(Object entidad) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			datosReferencia.recargar();
+			return;
+		}
+		if (TransactionSynchronizationManager.hasResource(this)) {
+			return;
+		}
+
+		TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				datosReferencia.recargar();
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(ReferenciaListener.this);
+			}
+		});
+	}
+}
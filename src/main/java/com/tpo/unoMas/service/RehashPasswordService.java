@@ -0,0 +1,32 @@
+package com.tpo.unoMas.service;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import com.tpo.unoMas.model.dao.IUsuarioDAO;
+
+/**
+ * Guarda el hash recalculado en un login, fuera del pool de BCrypt y del request: ese pool es
+ * de CPU y no debe esperar conexiones de Hikari. Si la escritura falla, el login ya se resolvió;
+ * el hash viejo sigue siendo válido y se vuelve a recalcular en el próximo login correcto.
+ */
+@Service
+public class RehashPasswordService {
+
+	private static final Log logger = LogFactory.getLog(RehashPasswordService.class);
+
+	@Autowired
+	private IUsuarioDAO usuariosDAO;
+
+	@Async
+	public void guardar(Long usuarioId, String nuevoHash) {
+		try {
+			usuariosDAO.updatePassword(usuarioId, nuevoHash);
+		} catch (RuntimeException e) {
+			logger.warn("No se pudo guardar el hash recalculado del usuario " + usuarioId, e);
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package com.tpo.unoMas.service;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.tpo.unoMas.config.ClavesJwt;
+import com.tpo.unoMas.config.ListaRevocacion;
+import com.tpo.unoMas.model.dao.ITokenRevocadoDAO;
+import com.tpo.unoMas.model.entity.TokenRevocado;
+import com.tpo.unoMas.model.entity.TokensDTO;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Emisión, renovación y revocación de tokens. El token de acceso es de vida corta y se valida
+ * sin estado en JwtAuthFilter; el refresh token es de vida larga, solo sirve en /auth/refresh y
+ * se rota en cada uso: el usado queda revocado, así que reusarlo falla.
+ * Las revocaciones se guardan en la tabla tokens_revocados y se recargan al arrancar, así que
+ * sobreviven a un reinicio. Sin DAO (tests unitarios) quedan solo en memoria.
+ */
+@Service
+public class TokenService {
+
+	private static final Log logger = LogFactory.getLog(TokenService.class);
+
+	private final ClavesJwt claves;
+	private final ListaRevocacion revocados;
+	private final long vidaAccesoMillis;
+	private final long vidaRefrescoMillis;
+
+	@Autowired
+	private ITokenRevocadoDAO revocadosDAO;
+
+	public TokenService(ClavesJwt claves, ListaRevocacion revocados,
+			@Value("${unomas.jwt.acceso-minutos:15}") long accesoMinutos,
+			@Value("${unomas.jwt.refresco-horas:168}") long refrescoHoras) {
+		this.claves = claves;
+		this.revocados = revocados;
+		this.vidaAccesoMillis = TimeUnit.MINUTES.toMillis(accesoMinutos);
+		this.vidaRefrescoMillis = TimeUnit.HOURS.toMillis(refrescoHoras);
+	}
+
+	/**
+	 * Carga en la lista de este nodo los tokens revocados que todavía no vencieron.
+	 */
+	@PostConstruct
+	public void cargarRevocados() {
+		if (revocadosDAO == null) {
+			return;
+		}
+		long ahora = System.currentTimeMillis();
+		int cargados = 0;
+		for (TokenRevocado token : revocadosDAO.findVigentes(ahora)) {
+			if (revocados.revocar(token.getJti(), token.getExpiracion(), ahora)) {
+				cargados++;
+			}
+		}
+		logger.info("Tokens revocados cargados: " + cargados);
+	}
+
+	/**
+	 * Borra de la tabla los tokens que la lista en memoria ya descartó (los de buckets anteriores al actual).
+	 */
+	@Scheduled(initialDelayString = "${unomas.jwt.revocacion.ancho-bucket-s:60}",
+			fixedDelayString = "${unomas.jwt.revocacion.ancho-bucket-s:60}", timeUnit = TimeUnit.SECONDS)
+	public void purgarRevocados() {
+		if (revocadosDAO != null) {
+			revocadosDAO.deleteVencidosAntesDe(revocados.inicioBucketActual(System.currentTimeMillis()));
+		}
+	}
+
+	public TokensDTO emitir(String username) {
+		long ahora = System.currentTimeMillis();
+		String acceso = firmar(username, ClavesJwt.TIPO_ACCESO, ahora, vidaAccesoMillis);
+		String refresco = firmar(username, ClavesJwt.TIPO_REFRESCO, ahora, vidaRefrescoMillis);
+		return new TokensDTO(acceso, refresco, TimeUnit.MILLISECONDS.toSeconds(vidaAccesoMillis));
+	}
+
+	/**
+	 * Revoca el refresh token y emite un par nuevo para el mismo usuario.
+	 * @param refreshToken
+	 * @return
+	 * @throws JwtException si el token no es un refresh token válido o ya se usó
+	 */
+	public TokensDTO refrescar(String refreshToken) {
+		Claims claims = verificar(refreshToken, ClavesJwt.TIPO_REFRESCO);
+
+		// revocar es atómico: de dos refresh simultáneos con el mismo token solo uno obtiene el par nuevo.
+		// La clave primaria de la tabla hace lo mismo entre nodos
+		if (!revocados.revocar(claims.getId(), claims.getExpiration().getTime(), System.currentTimeMillis())
+				|| !persistir(claims)) {
+			throw new JwtException("Refresh token ya utilizado");
+		}
+		return emitir(claims.getSubject());
+	}
+
+	/**
+	 * Revoca un token de acceso o de refresco hasta su expiración. Los tokens inválidos se ignoran.
+	 * @param token
+	 */
+	public void revocar(String token) {
+		Claims claims;
+		try {
+			claims = claves.parser().parseClaimsJws(token).getBody();
+		} catch (JwtException | IllegalArgumentException e) {
+			return;
+		}
+		if (claims.getId() != null && claims.getExpiration() != null
+				&& revocados.revocar(claims.getId(), claims.getExpiration().getTime(), System.currentTimeMillis())) {
+			persistir(claims);
+		}
+	}
+
+	/**
+	 * @param claims
+	 * @return false si el token ya estaba en la tabla (revocado por otro nodo o antes de un reinicio)
+	 */
+	private boolean persistir(Claims claims) {
+		if (revocadosDAO == null) {
+			return true;
+		}
+		try {
+			revocadosDAO.insertar(claims.getId(), claims.getExpiration().getTime());
+			return true;
+		} catch (DataIntegrityViolationException e) {
+			return false;
+		}
+	}
+
+	private Claims verificar(String token, String tipo) {
+		Claims claims;
+		try {
+			claims = claves.parser().parseClaimsJws(token).getBody();
+		} catch (IllegalArgumentException e) {
+			throw new JwtException("Token vacío", e);
+		}
+
+		if (!tipo.equals(claims.get(ClavesJwt.CLAIM_TIPO)) || claims.getId() == null || claims.getSubject() == null
+				|| claims.getExpiration() == null) {
+			throw new JwtException("El token no es de tipo " + tipo);
+		}
+		if (revocados.estaRevocado(claims.getId(), claims.getExpiration().getTime(), System.currentTimeMillis())) {
+			throw new JwtException("Token revocado");
+		}
+		return claims;
+	}
+
+	private String firmar(String username, String tipo, long ahora, long vidaMillis) {
+		return claves.firmar(Jwts.builder().setSubject(username).setId(UUID.randomUUID().toString())
+				.claim(ClavesJwt.CLAIM_TIPO, tipo).setIssuedAt(new Date(ahora))
+				.setExpiration(new Date(ahora + vidaMillis)));
+	}
+}
@@ -0,0 +1,33 @@
+package com.tpo.unoMas.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utilidades para efectos que tienen que esperar a que la transacción confirme (índices en memoria,
+ * agenda, métricas): así un rollback o un reintento no los deja aplicados de más.
+ */
+public final class Transacciones {
+
+	private Transacciones() {
+	}
+
+	/**
+	 * Ejecuta la acción cuando confirma la transacción actual, o en el momento si no hay ninguna.
+	 * Si la transacción termina en rollback, la acción no se ejecuta.
+	 * @param accion
+	 */
+	public static void despuesDelCommit(Runnable accion) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			accion.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				accion.run();
+			}
+		});
+	}
+}
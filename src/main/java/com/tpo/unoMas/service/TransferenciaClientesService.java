@@ -0,0 +1,321 @@
+package com.tpo.unoMas.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import com.tpo.unoMas.model.entity.TransferenciaDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Importación y exportación masiva de clientes en CSV o NDJSON, leyendo y escribiendo en streaming.
+ * La importación valida cada fila y acumula las válidas en lotes de tamanioLote; cada lote se inserta
+ * con un batch JDBC en su propia transacción, así que un archivo de cientos de miles de filas no
+ * retiene una transacción ni su contenido en memoria. Si la importación falla a mitad de camino,
+ * los lotes ya confirmados quedan guardados y se informan en transferidas.
+ * Las transferencias en curso y las últimas terminadas se consultan con listar().
+ */
+@Service
+public class TransferenciaClientesService {
+
+	public enum Formato {
+		CSV, NDJSON;
+
+		/**
+		 * @param nombre csv o ndjson, sin distinguir mayúsculas
+		 * @throws IllegalArgumentException si el formato no es ninguno de los dos
+		 */
+		public static Formato de(String nombre) {
+			for (Formato formato : values()) {
+				if (formato.name().equalsIgnoreCase(nombre)) {
+					return formato;
+				}
+			}
+			throw new IllegalArgumentException("Formato no soportado: " + nombre + " (csv o ndjson)");
+		}
+	}
+
+	private static final int MAX_ERRORES = 100;
+	private static final int MAX_TERMINADAS = 20;
+	private static final int LARGO_MAXIMO = 255;
+	private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+	private final IClienteService clienteService;
+	private final ObjectReader lectorJson;
+	private final ObjectWriter escritorJson;
+	private final int tamanioLote;
+	private final Counter importados;
+	private final Counter rechazados;
+	private final Counter exportados;
+
+	private final AtomicLong secuencia = new AtomicLong();
+	private final Map<Long, Transferencia> enCurso = new ConcurrentHashMap<>();
+	private final Deque<TransferenciaDTO> terminadas = new ConcurrentLinkedDeque<>();
+
+	public TransferenciaClientesService(IClienteService clienteService, ObjectMapper objectMapper,
+			MeterRegistry registry, @Value("${unomas.clientes.transferencia.tamanio-lote:1000}") int tamanioLote) {
+		this.clienteService = clienteService;
+		this.lectorJson = objectMapper.readerFor(ClienteDTO.class);
+		this.escritorJson = objectMapper.writerFor(ClienteDTO.class);
+		this.tamanioLote = tamanioLote;
+		this.importados = Counter.builder("unomas.clientes.transferidos").tag("operacion", "importacion")
+				.description("Clientes insertados por importación masiva").register(registry);
+		this.exportados = Counter.builder("unomas.clientes.transferidos").tag("operacion", "exportacion")
+				.description("Clientes escritos por exportación masiva").register(registry);
+		this.rechazados = Counter.builder("unomas.clientes.rechazados")
+				.description("Filas de importación que no pasaron la validación").register(registry);
+	}
+
+	/**
+	 * Importa los clientes de la entrada. Las filas inválidas se saltean y se informan con su número de línea.
+	 * @param entrada
+	 * @param formato
+	 * @return resumen de la importación
+	 * @throws IllegalArgumentException si el encabezado CSV no tiene las columnas nombre, apellido y email
+	 * @throws IOException
+	 */
+	public TransferenciaDTO importar(InputStream entrada, Formato formato) throws IOException {
+		Transferencia transferencia = iniciar("importacion", formato);
+		BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+
+		try {
+			int[] columnas = null;
+			List<Cliente> lote = new ArrayList<>(tamanioLote);
+			long numeroLinea = 0;
+			String linea;
+
+			while ((linea = lector.readLine()) != null) {
+				numeroLinea++;
+				if (linea.isBlank()) {
+					continue;
+				}
+				if (formato == Formato.CSV && columnas == null) {
+					columnas = columnasCsv(linea);
+					continue;
+				}
+
+				transferencia.procesadas.incrementAndGet();
+				try {
+					lote.add(formato == Formato.CSV ? desdeCsv(linea, columnas) : desdeJson(linea));
+				} catch (IllegalArgumentException e) {
+					transferencia.rechazar(numeroLinea, e.getMessage());
+					rechazados.increment();
+					continue;
+				}
+
+				if (lote.size() == tamanioLote) {
+					guardar(lote, transferencia);
+				}
+			}
+			guardar(lote, transferencia);
+
+			return terminar(transferencia, "TERMINADA");
+		} catch (IOException | RuntimeException e) {
+			terminar(transferencia, "FALLIDA");
+			throw e;
+		}
+	}
+
+	/**
+	 * Escribe todos los clientes en la salida, en orden de id, a medida que se recorre el resultado.
+	 * @param salida
+	 * @param formato
+	 * @throws IOException
+	 */
+	public void exportar(OutputStream salida, Formato formato) throws IOException {
+		Transferencia transferencia = iniciar("exportacion", formato);
+		Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+
+		try {
+			if (formato == Formato.CSV) {
+				escritor.write(ClientesCsv.ENCABEZADO);
+				escritor.write('\n');
+			}
+			try {
+				clienteService.exportar(cliente -> {
+					try {
+						escritor.write(formato == Formato.CSV ? ClientesCsv.formatear(cliente)
+								: escritorJson.writeValueAsString(cliente));
+						escritor.write('\n');
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+					transferencia.procesadas.incrementAndGet();
+					transferencia.transferidas.incrementAndGet();
+					exportados.increment();
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			escritor.flush();
+
+			terminar(transferencia, "TERMINADA");
+		} catch (IOException | RuntimeException e) {
+			terminar(transferencia, "FALLIDA");
+			throw e;
+		}
+	}
+
+	/**
+	 * @return las transferencias en curso seguidas de las últimas terminadas (la más reciente primero)
+	 */
+	public List<TransferenciaDTO> listar() {
+		List<TransferenciaDTO> transferencias = new ArrayList<>();
+		for (Transferencia transferencia : enCurso.values()) {
+			transferencias.add(transferencia.resumen("EN_CURSO"));
+		}
+		transferencias.addAll(terminadas);
+		return transferencias;
+	}
+
+	private void guardar(List<Cliente> lote, Transferencia transferencia) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		int insertadas = clienteService.saveLote(lote);
+		transferencia.transferidas.addAndGet(insertadas);
+		importados.increment(insertadas);
+		lote.clear();
+	}
+
+	private int[] columnasCsv(String encabezado) {
+		List<String> nombres = ClientesCsv.parsear(encabezado.strip());
+		int[] columnas = new int[3];
+		String[] requeridas = ClientesCsv.ENCABEZADO.split(",");
+		for (int i = 0; i < requeridas.length; i++) {
+			columnas[i] = -1;
+			for (int j = 0; j < nombres.size(); j++) {
+				if (nombres.get(j).strip().toLowerCase(Locale.ROOT).equals(requeridas[i])) {
+					columnas[i] = j;
+				}
+			}
+			if (columnas[i] < 0) {
+				throw new IllegalArgumentException("El encabezado CSV debe incluir " + ClientesCsv.ENCABEZADO);
+			}
+		}
+		return columnas;
+	}
+
+	private Cliente desdeCsv(String linea, int[] columnas) {
+		List<String> campos = ClientesCsv.parsear(linea);
+		for (int columna : columnas) {
+			if (columna >= campos.size()) {
+				throw new IllegalArgumentException("faltan columnas");
+			}
+		}
+		return validar(campos.get(columnas[0]), campos.get(columnas[1]), campos.get(columnas[2]));
+	}
+
+	private Cliente desdeJson(String linea) {
+		ClienteDTO cliente;
+		try {
+			cliente = lectorJson.readValue(linea);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("JSON inválido");
+		}
+		return validar(cliente.getNombre(), cliente.getApellido(), cliente.getEmail());
+	}
+
+	private Cliente validar(String nombre, String apellido, String email) {
+		nombre = requerido("nombre", nombre);
+		apellido = requerido("apellido", apellido);
+		email = requerido("email", email);
+		if (!EMAIL.matcher(email).matches()) {
+			throw new IllegalArgumentException("email inválido: " + email);
+		}
+		return new Cliente(nombre, apellido, email, null);
+	}
+
+	private String requerido(String campo, String valor) {
+		if (valor == null || valor.isBlank()) {
+			throw new IllegalArgumentException(campo + " vacío");
+		}
+		valor = valor.strip();
+		if (valor.length() > LARGO_MAXIMO) {
+			throw new IllegalArgumentException(campo + " supera los " + LARGO_MAXIMO + " caracteres");
+		}
+		return valor;
+	}
+
+	private Transferencia iniciar(String operacion, Formato formato) {
+		Transferencia transferencia = new Transferencia(secuencia.incrementAndGet(), operacion, formato);
+		enCurso.put(transferencia.id, transferencia);
+		return transferencia;
+	}
+
+	private TransferenciaDTO terminar(Transferencia transferencia, String estado) {
+		TransferenciaDTO resumen = transferencia.resumen(estado);
+		terminadas.addFirst(resumen);
+		enCurso.remove(transferencia.id);
+		while (terminadas.size() > MAX_TERMINADAS) {
+			terminadas.pollLast();
+		}
+		return resumen;
+	}
+
+	/**
+	 * Progreso de una transferencia: lo actualiza el hilo que la ejecuta y lo lee listar().
+	 */
+	private static final class Transferencia {
+		private final long id;
+		private final String operacion;
+		private final Formato formato;
+		private final long inicio = System.nanoTime();
+		private final AtomicLong procesadas = new AtomicLong();
+		private final AtomicLong transferidas = new AtomicLong();
+		private final AtomicLong rechazadas = new AtomicLong();
+		private final List<String> errores = Collections.synchronizedList(new ArrayList<>());
+
+		private Transferencia(long id, String operacion, Formato formato) {
+			this.id = id;
+			this.operacion = operacion;
+			this.formato = formato;
+		}
+
+		private void rechazar(long numeroLinea, String motivo) {
+			if (rechazadas.incrementAndGet() <= MAX_ERRORES) {
+				errores.add("línea " + numeroLinea + ": " + motivo);
+			}
+		}
+
+		private TransferenciaDTO resumen(String estado) {
+			long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+			long filas = transferidas.get();
+			long filasPorSegundo = duracionMs > 0 ? filas * 1000 / duracionMs : filas;
+			List<String> copiaErrores;
+			synchronized (errores) {
+				copiaErrores = List.copyOf(errores);
+			}
+			return new TransferenciaDTO(id, operacion, formato.name().toLowerCase(Locale.ROOT), estado,
+					procesadas.get(), filas, rechazadas.get(), copiaErrores, duracionMs, filasPorSegundo);
+		}
+	}
+}
@@ -1,6 +1,11 @@
 package com.tpo.unoMas.service;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
 import com.tpo.unoMas.model.dao.IUsuarioDAO;
@@ -9,13 +14,48 @@ import com.tpo.unoMas.model.entity.Usuario;
 @Service
 public class UsuarioServiceImpl implements IUsuarioService {
 
+	private static final Log logger = LogFactory.getLog(UsuarioServiceImpl.class);
+
 	@Autowired
 	private IUsuarioDAO usuariosDAO;
 
+	@Autowired
+	private VerificadorPasswordService verificadorPassword;
+
+	@Autowired
+	private RehashPasswordService rehashPassword;
+
 	@Override
 	public Usuario findUser(String username, String password) {
-		Usuario usuario = usuariosDAO.findUser(username, password);
+		Usuario usuario = autenticar(username, password).join();
 		return usuario;
 	}
 
+	@Override
+	public CompletableFuture<Usuario> autenticar(String username, String password) {
+		Usuario usuario = usuariosDAO.findByUsername(username);
+
+		if (usuario == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return verificadorPassword.verificar(password, usuario.getPassword()).thenApply(resultado -> {
+			if (!resultado.valido()) {
+				return null;
+			}
+
+			// Esto corre en el pool de BCrypt: la escritura del hash nuevo va aparte y nunca hace fallar el login
+			if (resultado.nuevoHash() != null) {
+				try {
+					rehashPassword.guardar(usuario.getId(), resultado.nuevoHash());
+				} catch (TaskRejectedException e) {
+					logger.warn("No se pudo programar el guardado del hash recalculado del usuario " + usuario.getId(), e);
+				}
+				usuario.setPassword(resultado.nuevoHash());
+			}
+
+			return usuario;
+		});
+	}
+
 }
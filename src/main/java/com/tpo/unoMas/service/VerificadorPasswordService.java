@@ -0,0 +1,99 @@
+package com.tpo.unoMas.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Verificación de contraseñas BCrypt en un pool acotado, separado de los hilos de Tomcat.
+ * El pool tiene tantos hilos como núcleos y una cola de tamaño fijo: en una ráfaga de logins
+ * las verificaciones esperan en la cola y, si se llena, se rechazan (RejectedExecutionException)
+ * en lugar de bloquear todos los hilos de requests.
+ */
+@Service
+public class VerificadorPasswordService {
+
+	private final BCryptPasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final Timer tiempoEnCola;
+	private final Timer tiempoVerificacion;
+
+	/**
+	 * Resultado de una verificación.
+	 * @param valido    si la contraseña coincide con el hash
+	 * @param nuevoHash hash recalculado con la fuerza actual, o null si no hacía falta
+	 */
+	public record Resultado(boolean valido, String nuevoHash) {
+	}
+
+	public VerificadorPasswordService(BCryptPasswordEncoder passwordEncoder, MeterRegistry registry,
+			@Value("${unomas.password.hilos:0}") int hilos,
+			@Value("${unomas.password.capacidad-cola:256}") int capacidadCola) {
+		this.passwordEncoder = passwordEncoder;
+
+		int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+		AtomicInteger numeroHilo = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(cantidadHilos, cantidadHilos, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacidadCola), runnable -> {
+					Thread hilo = new Thread(runnable, "bcrypt-" + numeroHilo.incrementAndGet());
+					hilo.setDaemon(true);
+					return hilo;
+				}, new ThreadPoolExecutor.AbortPolicy());
+
+		this.tiempoEnCola = Timer.builder("unomas.password.espera")
+				.description("Tiempo en cola antes de verificar una contraseña").register(registry);
+		this.tiempoVerificacion = Timer.builder("unomas.password.verificacion")
+				.description("Duración de la verificación BCrypt").register(registry);
+		Gauge.builder("unomas.password.cola", executor, e -> e.getQueue().size())
+				.description("Verificaciones esperando un hilo libre").register(registry);
+		Gauge.builder("unomas.password.activas", executor, ThreadPoolExecutor::getActiveCount)
+				.description("Verificaciones en curso").register(registry);
+	}
+
+	/**
+	 * Verifica la contraseña en el pool de BCrypt. Si coincide y el hash fue generado con una
+	 * fuerza menor a la configurada, devuelve además el hash recalculado para guardarlo.
+	 * @param password
+	 * @param passwordHash
+	 * @return
+	 * @throws RejectedExecutionException si la cola de verificaciones está llena
+	 */
+	public CompletableFuture<Resultado> verificar(String password, String passwordHash) {
+		long encolado = System.nanoTime();
+
+		return CompletableFuture.supplyAsync(() -> {
+			long inicio = System.nanoTime();
+			tiempoEnCola.record(inicio - encolado, TimeUnit.NANOSECONDS);
+
+			try {
+				if (passwordHash == null || !passwordEncoder.matches(password, passwordHash)) {
+					return new Resultado(false, null);
+				}
+
+				// Rehash transparente al subir la fuerza: solo se puede hacer acá, con la contraseña en claro
+				String nuevoHash = passwordEncoder.upgradeEncoding(passwordHash) ? passwordEncoder.encode(password)
+						: null;
+				return new Resultado(true, nuevoHash);
+			} finally {
+				tiempoVerificacion.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+			}
+		}, executor);
+	}
+
+	@PreDestroy
+	public void cerrar() {
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,100 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.config.AdmisionFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del control de admisión de requests")
+public class AdmisionFilterTest {
+
+    private static final FilterChain SINCRONICA = (request, response) -> { };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Un request asíncrono conserva su permiso hasta completar la respuesta")
+    void testAsincronicaLiberaAlCompletar() throws Exception {
+        AdmisionFilter filtro = new AdmisionFilter(1, 1, 0, registry);
+        MockHttpServletRequest login = request();
+
+        MockHttpServletResponse respuesta = filtrar(filtro, login, (request, response) -> request.startAsync());
+        assertEquals(200, respuesta.getStatus());
+        assertEquals(1, registry.get("unomas.web.en_curso").gauge().value());
+        // El hilo del request ya salió: el permiso de base está libre
+        assertEquals(0, registry.get("unomas.web.base.en_curso").gauge().value());
+
+        MockHttpServletResponse rechazada = filtrar(filtro, request(), SINCRONICA);
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader("Retry-After"));
+        assertEquals(1, registry.counter("unomas.web.rechazadas").count());
+
+        ((MockAsyncContext) login.getAsyncContext()).complete();
+        assertEquals(0, registry.get("unomas.web.en_curso").gauge().value());
+        assertEquals(200, filtrar(filtro, request(), SINCRONICA).getStatus());
+    }
+
+    @Test
+    @DisplayName("Un error en la respuesta asíncrona también devuelve el permiso, una sola vez")
+    void testAsincronicaConError() throws Exception {
+        AdmisionFilter filtro = new AdmisionFilter(2, 10, 0, registry);
+        MockHttpServletRequest login = request();
+        filtrar(filtro, login, (request, response) -> request.startAsync());
+
+        MockAsyncContext contexto = (MockAsyncContext) login.getAsyncContext();
+        for (AsyncListener listener : contexto.getListeners()) {
+            listener.onError(new AsyncEvent(contexto, new IllegalStateException("falló")));
+        }
+        contexto.complete();
+
+        assertEquals(0, registry.get("unomas.web.en_curso").gauge().value());
+        // Si se hubiera liberado dos veces entrarían tres requests a la vez
+        List<MockHttpServletResponse> anidadas = new ArrayList<>();
+        filtrar(filtro, request(), (a, b) -> filtrar(filtro, request(),
+                (c, d) -> anidadas.add(filtrar(filtro, request(), SINCRONICA))));
+        assertEquals(503, anidadas.get(0).getStatus());
+    }
+
+    @Test
+    @DisplayName("Con la base ocupada se rechaza aunque sobren permisos de requests")
+    void testGuardaDeBase() throws Exception {
+        AdmisionFilter filtro = new AdmisionFilter(10, 1, 0, registry);
+        List<MockHttpServletResponse> anidadas = new ArrayList<>();
+
+        // Mientras un request trabaja dentro de la aplicación, otro no consigue permiso de base
+        filtrar(filtro, request(), (request, response) -> anidadas.add(filtrar(filtro, request(), SINCRONICA)));
+        assertEquals(503, anidadas.get(0).getStatus());
+        assertEquals(1, registry.counter("unomas.web.rechazadas.base").count());
+        assertEquals(0, registry.counter("unomas.web.rechazadas").count());
+
+        // Rechazado por la base no se queda con el permiso de request
+        assertEquals(0, registry.get("unomas.web.en_curso").gauge().value());
+        assertEquals(200, filtrar(filtro, request(), SINCRONICA).getStatus());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static MockHttpServletResponse filtrar(AdmisionFilter filtro, MockHttpServletRequest request,
+            FilterChain chain) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, chain);
+        return response;
+    }
+}
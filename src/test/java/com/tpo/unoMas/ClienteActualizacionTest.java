@@ -0,0 +1,108 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.controller.ClienteController;
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import com.tpo.unoMas.service.IClienteService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Date;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests de la modificación de clientes con control optimista")
+public class ClienteActualizacionTest {
+
+    @Autowired
+    private IClienteService clienteService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteController clienteController;
+
+    private Statistics estadisticas;
+    private int clienteId;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Cliente cliente = new Cliente("Ana", "Gómez", "ana@test.com", new Date());
+        clienteService.save(cliente);
+        clienteId = cliente.getId().intValue();
+    }
+
+    @Test
+    @DisplayName("Con la versión vigente es un solo UPDATE del cliente y la versión avanza")
+    void testActualizarConVersion() {
+        ClienteDTO leido = clienteService.findDTOById(clienteId);
+        assertEquals(0L, leido.getVersion());
+
+        estadisticas.clear();
+        long version = clienteService.update(clienteId, new Cliente("Ana María", "Gómez", "ana@test.com", null),
+                leido.getVersion());
+
+        // El UPDATE del cliente y el de la versión del listado, sin leer la entidad
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertEquals(1L, version);
+
+        ClienteDTO actualizado = clienteService.findDTOById(clienteId);
+        assertEquals("Ana María", actualizado.getNombre());
+        assertEquals(1L, actualizado.getVersion());
+    }
+
+    @Test
+    @DisplayName("Una edición basada en una versión vieja se rechaza sin pisar la anterior")
+    void testEdicionConcurrenteRechazada() {
+        long versionLeida = clienteService.findDTOById(clienteId).getVersion();
+
+        clienteService.update(clienteId, new Cliente("Primera", "Gómez", "ana@test.com", null), versionLeida);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> clienteService.update(clienteId,
+                new Cliente("Segunda", "Gómez", "ana@test.com", null), versionLeida));
+        assertEquals("Primera", clienteService.findDTOById(clienteId).getNombre());
+
+        // Sin versión esperada no se controla: se aplica y devuelve la versión resultante
+        long version = clienteService.update(clienteId, new Cliente("Tercera", "Gómez", "ana@test.com", null), null);
+        assertEquals(versionLeida + 2, version);
+        assertEquals("Tercera", clienteService.findDTOById(clienteId).getNombre());
+    }
+
+    @Test
+    @DisplayName("Un cliente inexistente da NoSuchElementException con o sin versión")
+    void testClienteInexistente() {
+        Cliente cambios = new Cliente("Nadie", "Nadie", "nadie@test.com", null);
+
+        assertThrows(NoSuchElementException.class, () -> clienteService.update(-1, cambios, null));
+        assertThrows(NoSuchElementException.class, () -> clienteService.update(-1, cambios, 0L));
+    }
+
+    @Test
+    @DisplayName("If-Match compara en forma fuerte: un ETag débil responde 412 aunque la versión coincida")
+    void testIfMatchDebilRechazado() {
+        ClienteDTO cambios = new ClienteDTO("Débil", "Gómez", "ana@test.com");
+
+        for (String ifMatch : new String[] { "W/\"0\"", " W/0" }) {
+            assertEquals(412, clienteController.updateCliente(clienteId, ifMatch, cambios).getStatusCode().value(),
+                    ifMatch);
+        }
+        assertEquals("Ana", clienteService.findDTOById(clienteId).getNombre());
+        assertEquals(0L, clienteService.findDTOById(clienteId).getVersion());
+
+        assertEquals(200, clienteController.updateCliente(clienteId, "\"0\"", cambios).getStatusCode().value());
+        assertEquals("Débil", clienteService.findDTOById(clienteId).getNombre());
+    }
+}
@@ -0,0 +1,232 @@
+package com.tpo.unoMas;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import com.tpo.unoMas.service.IClienteService;
+import com.tpo.unoMas.service.TokenService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Servidor real: bytes y CPU medidos sobre HTTP, con Tomcat y los filtros de por medio
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true", "unomas.limite.politicas=" })
+@DisplayName("Tests de GET condicional y compresión del listado de clientes")
+public class ClienteCondicionalTest {
+
+    private static final int CLIENTES = 2_000;
+    private static final int REPETICIONES = 50;
+    private static final int CALENTAMIENTO = 200;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private IClienteService clienteService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (clienteService.findAllDTO().size() < CLIENTES) {
+            List<Cliente> lote = new ArrayList<>();
+            for (int i = 0; i < CLIENTES; i++) {
+                lote.add(new Cliente("Nombre " + i, "Apellido " + i, UUID.randomUUID() + "@test.com", null));
+            }
+            clienteService.saveLote(lote);
+        }
+    }
+
+    @Test
+    @DisplayName("El listado se comprime con gzip y con If-None-Match vigente es un 304 de una sola consulta")
+    void testListadoCondicionalYComprimido() throws Exception {
+        HttpResponse<byte[]> plano = get("/api/clientes", Map.of("Accept-Encoding", "identity"));
+        HttpResponse<byte[]> gzip = get("/api/clientes", Map.of("Accept-Encoding", "br, gzip"));
+        assertEquals(200, plano.statusCode());
+        assertEquals("gzip", gzip.headers().firstValue("Content-Encoding").orElse(null));
+        assertArrayEquals(plano.body(), new GZIPInputStream(new ByteArrayInputStream(gzip.body())).readAllBytes());
+        assertTrue(gzip.headers().firstValue("Vary").orElse("").contains("Accept-Encoding"));
+        // Se escribe a medida que se recorre la tabla: sin largo conocido de antemano, en chunks
+        assertTrue(plano.headers().firstValue("Content-Length").isEmpty());
+        assertTrue(gzip.headers().firstValue("Content-Length").isEmpty());
+        JsonNode listado = objectMapper.readTree(plano.body());
+        assertTrue(listado.isArray());
+        assertEquals(jdbcTemplate.queryForObject("SELECT count(*) FROM clientes", Integer.class), listado.size());
+
+        // Cada representación tiene su ETag fuerte
+        String etag = plano.headers().firstValue("ETag").orElseThrow();
+        String etagComprimido = gzip.headers().firstValue("ETag").orElseThrow();
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gzip\"", etagComprimido);
+
+        estadisticas.clear();
+        HttpResponse<byte[]> noModificado = get("/api/clientes",
+                Map.of("Accept-Encoding", "gzip", "If-None-Match", etagComprimido));
+        assertEquals(304, noModificado.statusCode());
+        assertEquals(0, noModificado.body().length);
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        // La única consulta es la de la versión: el 304 no recorre la tabla de clientes
+        for (String consulta : estadisticas.getQueries()) {
+            assertFalse(consulta.contains("Cliente"), consulta);
+        }
+
+        System.out.println("Listado de " + CLIENTES + " clientes: " + plano.body().length + " bytes sin comprimir, "
+                + gzip.body().length + " con gzip, " + noModificado.body().length + " con 304");
+        assertTrue(gzip.body().length * 3 < plano.body().length);
+
+        // Modificar, dar de alta o dar de baja un cliente cambia el ETag
+        ClienteDTO primero = clienteService.findPagina(null, 1).get(0);
+        clienteService.update(primero.getId().intValue(), new Cliente("Otro", "Nombre", "otro@test.com", null), null);
+        HttpResponse<byte[]> modificado = get("/api/clientes", Map.of("If-None-Match", etag));
+        assertEquals(200, modificado.statusCode());
+        String etagModificado = modificado.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etag, etagModificado);
+
+        clienteService.save(new Cliente("Nuevo", "Cliente", UUID.randomUUID() + "@test.com", null));
+        HttpResponse<byte[]> alta = get("/api/clientes", Map.of("If-None-Match", etagModificado));
+        assertEquals(200, alta.statusCode());
+        String etagAlta = alta.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etagModificado, etagAlta);
+
+        clienteService.deleteById(clienteService.findPagina(primero.getId(), 1).get(0).getId().intValue());
+        HttpResponse<byte[]> baja = get("/api/clientes", Map.of("If-None-Match", etagAlta));
+        assertEquals(200, baja.statusCode());
+        String etagBaja = baja.headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etagAlta, etagBaja);
+
+        // Una modificación rechazada o una baja de un cliente que no existe no cambian nada, ni el ETag
+        assertThrows(OptimisticLockingFailureException.class, () -> clienteService.update(
+                primero.getId().intValue(), new Cliente("Tarde", "Nombre", "tarde@test.com", null), 0L));
+        clienteService.deleteById(Integer.MAX_VALUE);
+        assertEquals(304, get("/api/clientes", Map.of("If-None-Match", etagBaja)).statusCode());
+    }
+
+    @Test
+    @DisplayName("Un cliente sin cambios responde 304 con la consulta de la versión sola")
+    void testClienteCondicional() throws Exception {
+        String token = tokenService.emitir("ana").getAccessToken();
+        ClienteDTO cliente = clienteService.findPagina(null, 1).get(0);
+        String ruta = "/api/clientes/" + cliente.getId();
+
+        HttpResponse<byte[]> completo = get(ruta, Map.of("Authorization", "Bearer " + token));
+        assertEquals(200, completo.statusCode());
+        String etag = completo.headers().firstValue("ETag").orElseThrow();
+
+        estadisticas.clear();
+        HttpResponse<byte[]> noModificado = get(ruta, Map.of("Authorization", "Bearer " + token,
+                "If-None-Match", "\"otro\", " + etag));
+        assertEquals(304, noModificado.statusCode());
+        assertEquals(etag, noModificado.headers().firstValue("ETag").orElseThrow());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        clienteService.update(cliente.getId().intValue(), new Cliente("Otro", "Nombre", "otro@test.com", null), null);
+        HttpResponse<byte[]> modificado = get(ruta, Map.of("Authorization", "Bearer " + token, "If-None-Match", etag));
+        assertEquals(200, modificado.statusCode());
+        assertNotEquals(etag, modificado.headers().firstValue("ETag").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Un 304 cuesta una fracción de la CPU del listado completo en el servidor")
+    void testAhorroDeCpu() throws Exception {
+        String etag = get("/api/clientes", Map.of()).headers().firstValue("ETag").orElseThrow();
+        // Sin JIT los dos caminos cuestan parecido: lo que se mide es el estado estable
+        for (int i = 0; i < CALENTAMIENTO; i++) {
+            get("/api/clientes", Map.of("Accept-Encoding", "gzip"));
+            get("/api/clientes", Map.of("If-None-Match", etag));
+        }
+
+        long bytesCompletos = 0;
+        Map<Long, Long> antes = cpuServidor();
+        for (int i = 0; i < REPETICIONES; i++) {
+            bytesCompletos += get("/api/clientes", Map.of("Accept-Encoding", "gzip")).body().length;
+        }
+        long cpuCompletos = diferencia(antes, cpuServidor());
+
+        long bytesCondicionales = 0;
+        antes = cpuServidor();
+        for (int i = 0; i < REPETICIONES; i++) {
+            HttpResponse<byte[]> respuesta = get("/api/clientes", Map.of("If-None-Match", etag));
+            assertEquals(304, respuesta.statusCode());
+            bytesCondicionales += respuesta.body().length;
+        }
+        long cpuCondicionales = diferencia(antes, cpuServidor());
+
+        System.out.println(REPETICIONES + " GET completos: " + bytesCompletos + " bytes, "
+                + TimeUnit.NANOSECONDS.toMicros(cpuCompletos) + " us de CPU en el servidor; " + REPETICIONES
+                + " GET condicionales: " + bytesCondicionales + " bytes, "
+                + TimeUnit.NANOSECONDS.toMicros(cpuCondicionales) + " us");
+        assertEquals(0, bytesCondicionales);
+        // Cota holgada: la CPU de hilos es ruidosa y el 304 sigue pagando HTTP, seguridad y la consulta
+        assertTrue(cpuCondicionales * 2 < cpuCompletos);
+    }
+
+    private HttpResponse<byte[]> get(String ruta, Map<String, String> encabezados) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta)).GET();
+        encabezados.forEach(request::header);
+        // ofByteArray no descomprime: el largo es lo que viajó
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * CPU acumulada por cada hilo de Tomcat (http-nio-*) y del executor de @Async (task-*): el listado
+     * completo se lee, serializa y comprime en el dispatch asíncrono de StreamingResponseBody.
+     */
+    private static Map<Long, Long> cpuServidor() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Map<Long, Long> cpu = new HashMap<>();
+        for (Thread hilo : Thread.getAllStackTraces().keySet()) {
+            if (hilo.getName().startsWith("http-nio") || hilo.getName().startsWith("task-")) {
+                cpu.put(hilo.getId(), threads.getThreadCpuTime(hilo.getId()));
+            }
+        }
+        return cpu;
+    }
+
+    private static long diferencia(Map<Long, Long> antes, Map<Long, Long> despues) {
+        long total = 0;
+        for (Map.Entry<Long, Long> hilo : despues.entrySet()) {
+            total += Math.max(0, hilo.getValue() - antes.getOrDefault(hilo.getKey(), 0L));
+        }
+        return total;
+    }
+}
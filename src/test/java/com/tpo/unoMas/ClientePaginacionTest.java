@@ -0,0 +1,161 @@
+package com.tpo.unoMas;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.service.IClienteService;
+import com.tpo.unoMas.service.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Misma configuración que ClienteCondicionalTest: comparten el contexto y el servidor
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true", "unomas.limite.politicas=" })
+@DisplayName("Tests de la paginación por cursor y la exportación de clientes")
+public class ClientePaginacionTest {
+
+    private static final int CLIENTES = 130;
+    private static final int LIMITE = 50;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private IClienteService clienteService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = tokenService.emitir("ana").getAccessToken();
+        String dominio = UUID.randomUUID() + ".com";
+        List<Cliente> lote = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            lote.add(new Cliente("Nombre " + i, "Apellido " + i, "c" + i + "@" + dominio, null));
+        }
+        clienteService.saveLote(lote);
+    }
+
+    @Test
+    @DisplayName("Seguir los cursores recorre todos los clientes una vez, en orden de id, y la última página no trae cursor")
+    void testRecorrerConCursor() throws Exception {
+        List<String> esperados = jdbcTemplate.queryForList("SELECT email FROM clientes ORDER BY id", String.class);
+
+        List<String> recorridos = new ArrayList<>();
+        List<String> cursores = new ArrayList<>();
+        String cursor = null;
+        JsonNode pagina;
+        do {
+            pagina = pagina(cursor, LIMITE);
+            for (JsonNode cliente : pagina.get("items")) {
+                recorridos.add(cliente.get("email").asText());
+                // El id es interno: solo viaja dentro del cursor
+                assertFalse(cliente.has("id"));
+            }
+            cursor = pagina.get("siguienteCursor").isNull() ? null : pagina.get("siguienteCursor").asText();
+            if (cursor != null) {
+                assertEquals(LIMITE, pagina.get("items").size());
+                cursores.add(cursor);
+            }
+        } while (cursor != null);
+
+        assertEquals(esperados, recorridos);
+        int ultima = pagina.get("items").size();
+        assertTrue(ultima > 0 && ultima <= LIMITE);
+
+        // Una página que termina justo en el último cliente tampoco trae cursor
+        String anteultimo = cursores.size() > 1 ? cursores.get(cursores.size() - 2) : null;
+        JsonNode exacta = pagina(anteultimo, LIMITE + ultima);
+        assertEquals(LIMITE + ultima, exacta.get("items").size());
+        assertTrue(exacta.get("siguienteCursor").isNull());
+        assertEquals(esperados.get(esperados.size() - 1),
+                exacta.get("items").get(LIMITE + ultima - 1).get("email").asText());
+    }
+
+    @Test
+    @DisplayName("Un cursor o un límite inválidos responden 400")
+    void testParametrosInvalidos() throws Exception {
+        String noNumerico = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("abc".getBytes(StandardCharsets.UTF_8));
+        for (String consulta : List.of("cursor=%25%25%25", "cursor=" + noNumerico)) {
+            HttpResponse<String> respuesta = get("/api/clientes/pagina?" + consulta);
+            assertEquals(400, respuesta.statusCode(), consulta);
+            assertEquals("Cursor inválido", respuesta.body());
+        }
+        for (String limite : List.of("0", "-1", "501")) {
+            HttpResponse<String> respuesta = get("/api/clientes/pagina?limite=" + limite);
+            assertEquals(400, respuesta.statusCode(), limite);
+            assertEquals("El límite debe estar entre 1 y 500", respuesta.body());
+        }
+        assertEquals(400, get("/api/clientes/pagina?limite=muchos").statusCode());
+        assertEquals(200, get("/api/clientes/pagina?limite=500").statusCode());
+
+        // Sin token sigue sin pasar, aunque el error se resuelva en otro dispatch
+        HttpRequest anonimo = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + puerto + "/api/clientes/pagina?limite=muchos")).GET().build();
+        assertEquals(403, http.send(anonimo, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    @Test
+    @DisplayName("La exportación NDJSON trae un cliente por línea, todos y en orden de id")
+    void testExportarNdjson() throws Exception {
+        // La exportación termina en un dispatch ASYNC, que también tiene que pasar la seguridad
+        HttpResponse<String> respuesta = get("/api/clientes/export");
+        assertEquals(200, respuesta.statusCode());
+        assertTrue(respuesta.headers().firstValue("Content-Type").orElse("").startsWith("application/x-ndjson"));
+
+        List<String> esperados = jdbcTemplate.queryForList("SELECT email FROM clientes ORDER BY id", String.class);
+        List<String> exportados = new ArrayList<>();
+        for (String linea : respuesta.body().split("\n")) {
+            JsonNode cliente = objectMapper.readTree(linea);
+            assertTrue(cliente.hasNonNull("nombre") && cliente.hasNonNull("apellido"), linea);
+            exportados.add(cliente.get("email").asText());
+        }
+        assertEquals(esperados, exportados);
+        assertTrue(respuesta.body().endsWith("\n"));
+
+        HttpResponse<String> invalido = get("/api/clientes/export?formato=xml");
+        assertEquals(400, invalido.statusCode());
+        assertTrue(invalido.body().startsWith("Formato no soportado"));
+    }
+
+    private JsonNode pagina(String cursor, int limite) throws Exception {
+        HttpResponse<String> respuesta = get("/api/clientes/pagina?limite=" + limite
+                + (cursor != null ? "&cursor=" + cursor : ""));
+        assertEquals(200, respuesta.statusCode(), respuesta.body());
+        return objectMapper.readTree(respuesta.body());
+    }
+
+    private HttpResponse<String> get(String ruta) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Authorization", "Bearer " + token).GET().build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Datos de prueba compartidos por los tests de partidos. Las entidades llevan barrio, nombre de
+ * deporte y email únicos: los tests de Spring comparten la base y no se pisan entre sí.
+ * Los métodos sin EntityManager solo construyen; los que lo reciben persisten y tienen que
+ * llamarse dentro de una transacción.
+ */
+public final class DatosDePrueba {
+
+    public static final double LATITUD = -34.6037;
+    public static final double LONGITUD = -58.3816;
+
+    private DatosDePrueba() {
+    }
+
+    public static Zona zona(String barrio, double latitud, double longitud) {
+        Ubicacion ubicacion = new Ubicacion();
+        ubicacion.setLatitud(latitud);
+        ubicacion.setLongitud(longitud);
+        return new Zona(barrio, "CABA", ubicacion);
+    }
+
+    public static Zona zona() {
+        return zona("Barrio " + UUID.randomUUID(), LATITUD, LONGITUD);
+    }
+
+    public static Deporte deporte(String nombre) {
+        return new Deporte(nombre + " " + UUID.randomUUID().toString().substring(0, 8), "Deporte de prueba");
+    }
+
+    public static Jugador jugador(String nombre, Zona zona) {
+        return new Jugador(nombre, UUID.randomUUID() + "@test.com", "password123", zona);
+    }
+
+    /**
+     * Partido para mañana, nivel intermedio, de una hora.
+     */
+    public static Partido partido(String titulo, Zona zona, Deporte deporte, Jugador organizador,
+                                  int minJugadores, int maxJugadores) {
+        Partido partido = new Partido();
+        partido.setTitulo(titulo);
+        partido.setFechaHora(LocalDateTime.now().plusDays(1));
+        partido.setZona(zona);
+        partido.setDeporte(deporte);
+        partido.setNivel(Nivel.INTERMEDIO);
+        partido.setOrganizador(organizador);
+        partido.setMinJugadores(minJugadores);
+        partido.setMaxJugadores(maxJugadores);
+        partido.setDuracionMinutos(60);
+        return partido;
+    }
+
+    /**
+     * Persiste zona, deporte, organizador, un partido vacío y {@code jugadores} jugadores libres.
+     */
+    public static Escenario escenario(EntityManager entityManager, String deporte, int jugadores,
+                                      int minJugadores, int maxJugadores) {
+        Zona zona = zona();
+        entityManager.persist(zona);
+        Deporte nuevoDeporte = deporte(deporte);
+        entityManager.persist(nuevoDeporte);
+        Jugador organizador = jugador("Organizador", zona);
+        entityManager.persist(organizador);
+
+        List<Long> jugadorIds = new ArrayList<>();
+        for (int i = 0; i < jugadores; i++) {
+            Jugador jugador = jugador("Jugador " + i, zona);
+            jugador.setTokenFCM("token-" + UUID.randomUUID());
+            entityManager.persist(jugador);
+            jugadorIds.add(jugador.getId());
+        }
+
+        Partido partido = partido("Partido de " + deporte.toLowerCase(), zona, nuevoDeporte, organizador,
+                minJugadores, maxJugadores);
+        entityManager.persist(partido);
+        return new Escenario(partido.getId(), zona.getId(), nuevoDeporte.getId(), organizador.getId(), jugadorIds);
+    }
+
+    public record Escenario(Long partidoId, Long zonaId, Long deporteId, Long organizadorId, List<Long> jugadorIds) {
+    }
+}
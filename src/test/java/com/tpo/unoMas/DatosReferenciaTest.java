@@ -0,0 +1,115 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.service.DatosReferencia;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests de la caché de zonas y deportes")
+public class DatosReferenciaTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DatosReferencia datosReferencia;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    private Statistics estadisticas;
+    private String barrio;
+    private String nombreDeporte;
+    private Long zonaId;
+    private Long deporteId;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> {
+            Zona zona = DatosDePrueba.zona();
+            entityManager.persist(zona);
+            Deporte deporte = DatosDePrueba.deporte("Pádel");
+            entityManager.persist(deporte);
+            Jugador organizador = DatosDePrueba.jugador("Organizador", zona);
+            entityManager.persist(organizador);
+            entityManager.persist(DatosDePrueba.partido("Partido de pádel", zona, deporte, organizador, 2, 4));
+
+            barrio = zona.getBarrio();
+            nombreDeporte = deporte.getNombre();
+            zonaId = zona.getId();
+            deporteId = deporte.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("Al confirmar el alta, las zonas y deportes nuevos ya están en el snapshot")
+    void testAltaActualizaSnapshot() {
+        assertEquals(zonaId, datosReferencia.zona(barrio.toUpperCase(), "caba").getId());
+        assertEquals(deporteId, datosReferencia.deporte(nombreDeporte.toLowerCase()).getId());
+        assertSame(datosReferencia.zona(zonaId), datosReferencia.getSnapshot().zonas().get(zonaId));
+        assertSame(datosReferencia.deporte(deporteId), datosReferencia.getSnapshot().deportes().get(deporteId));
+    }
+
+    @Test
+    @DisplayName("Una modificación publica un snapshot nuevo completo")
+    void testModificacionReemplazaSnapshot() {
+        DatosReferencia.Snapshot anterior = datosReferencia.getSnapshot();
+        String nuevoBarrio = "Renombrado " + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> entityManager.find(Zona.class, zonaId).setBarrio(nuevoBarrio));
+
+        assertNotSame(anterior, datosReferencia.getSnapshot());
+        assertNull(datosReferencia.zona(barrio, "CABA"));
+        assertEquals(zonaId, datosReferencia.zona(nuevoBarrio, "CABA").getId());
+        // El snapshot anterior no cambia: quien lo tenía sigue viendo una versión consistente
+        assertEquals(zonaId, anterior.zonasPorBarrio().get(barrio.toLowerCase() + "/caba").getId());
+    }
+
+    @Test
+    @DisplayName("Listar partidos abiertos no consulta zonas ni deportes")
+    void testListadoSinConsultasDeReferencia() {
+        estadisticas.clear();
+
+        List<Partido> abiertos = partidoDAO.findAbiertos();
+        Partido partido = abiertos.stream().filter(p -> p.getZona().getId().equals(zonaId)).findFirst().orElseThrow();
+        Zona zona = datosReferencia.zona(partido.getZona().getId());
+        Deporte deporte = datosReferencia.deporte(partido.getDeporte().getId());
+
+        assertEquals(barrio, zona.getBarrio());
+        assertEquals(nombreDeporte, deporte.getNombre());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        // Dentro de una sesión, los proxies se resuelven desde la caché de segundo nivel
+        estadisticas.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Partido enSesion = entityManager.find(Partido.class, partido.getId());
+            assertEquals(barrio, enSesion.getZona().getBarrio());
+            assertEquals(nombreDeporte, enSesion.getDeporte().getNombre());
+        });
+        assertEquals(0, estadisticas.getEntityStatistics(Zona.class.getName()).getFetchCount()
+                + estadisticas.getEntityStatistics(Deporte.class.getName()).getFetchCount());
+        assertTrue(estadisticas.getSecondLevelCacheHitCount() >= 2);
+    }
+}
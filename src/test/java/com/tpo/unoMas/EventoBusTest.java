@@ -0,0 +1,181 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.evento.JugadorAgregado;
+import com.tpo.unoMas.service.EventoBus;
+import com.tpo.unoMas.service.EventoDePartido;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del bus de eventos en ring buffer")
+public class EventoBusTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private EventoBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) {
+            bus.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Cada suscriptor recibe todos los eventos en orden")
+    void testDifusionEnOrden() throws Exception {
+        bus = new EventoBus(registry, 8);
+        List<Long> primero = Collections.synchronizedList(new ArrayList<>());
+        List<Long> segundo = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("primero", e -> primero.add(e.partidoId()));
+        bus.suscribir("segundo", e -> segundo.add(e.partidoId()));
+
+        List<Long> esperados = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            esperados.add(id);
+            assertTrue(bus.publicar(evento(id)));
+        }
+
+        esperar(() -> primero.size() == 1000 && segundo.size() == 1000);
+        assertEquals(esperados, primero);
+        assertEquals(esperados, segundo);
+    }
+
+    @Test
+    @DisplayName("Productores concurrentes no pierden ni duplican eventos")
+    void testProductoresConcurrentes() throws Exception {
+        bus = new EventoBus(registry, 1024);
+        int productores = 8;
+        int porProductor = 20_000;
+        long[] recibidos = new long[productores * porProductor + 1];
+        bus.suscribir("contador", e -> recibidos[e.partidoId().intValue()]++);
+
+        CountDownLatch listos = new CountDownLatch(productores);
+        List<Thread> hilos = new ArrayList<>();
+        for (int p = 0; p < productores; p++) {
+            int base = p * porProductor;
+            Thread hilo = new Thread(() -> {
+                listos.countDown();
+                for (int i = 1; i <= porProductor; i++) {
+                    assertTrue(bus.publicar(evento(base + i)));
+                }
+            });
+            hilos.add(hilo);
+            hilo.start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        esperar(() -> registry.get("unomas.eventos.atraso").gauge().value() == 0);
+        for (int id = 1; id < recibidos.length; id++) {
+            assertEquals(1, recibidos[id], "Evento " + id);
+        }
+    }
+
+    @Test
+    @DisplayName("Con el buffer lleno el productor espera lugar y no se pierde ningún evento")
+    void testEsperaConBufferLleno() throws Exception {
+        bus = new EventoBus(registry, 4);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Long> recibidos = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("lento", e -> {
+            try {
+                liberar.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            recibidos.add(e.partidoId());
+        });
+
+        AtomicInteger publicados = new AtomicInteger();
+        Thread productor = new Thread(() -> {
+            for (long id = 1; id <= 10; id++) {
+                assertTrue(bus.publicar(evento(id)));
+                publicados.incrementAndGet();
+            }
+        });
+        productor.start();
+
+        // Llena el buffer (el slot que el suscriptor está procesando sigue ocupado) y se queda esperando
+        esperar(() -> publicados.get() == bus.getCapacidad());
+        Thread.sleep(100);
+        assertEquals(bus.getCapacidad(), publicados.get());
+        assertTrue(productor.isAlive());
+
+        liberar.countDown();
+        productor.join(TimeUnit.SECONDS.toMillis(10));
+        esperar(() -> recibidos.size() == 10);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), recibidos);
+        assertTrue(registry.get("unomas.eventos.espera").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Un suscriptor que publica con el buffer lleno falla en vez de esperarse a sí mismo")
+    void testSuscriptorNoSeBloqueaASiMismo() throws Exception {
+        bus = new EventoBus(registry, 2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Throwable> errores = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("reentrante", e -> {
+            if (e.partidoId() == 1L) {
+                try {
+                    liberar.await();
+                    bus.publicar(evento(100));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (IllegalStateException ex) {
+                    errores.add(ex);
+                }
+            }
+        });
+
+        for (long id = 1; id <= bus.getCapacidad(); id++) {
+            assertTrue(bus.publicar(evento(id)));
+        }
+        liberar.countDown();
+
+        esperar(() -> errores.size() == 1);
+        esperar(() -> registry.get("unomas.eventos.atraso").gauge().value() == 0);
+    }
+
+    @Test
+    @DisplayName("Un suscriptor que falla no frena a los demás")
+    void testErrorEnSuscriptor() throws Exception {
+        bus = new EventoBus(registry, 8);
+        List<Long> recibidos = Collections.synchronizedList(new ArrayList<>());
+        bus.suscribir("roto", e -> {
+            throw new IllegalStateException("falla");
+        });
+        bus.suscribir("sano", e -> recibidos.add(e.partidoId()));
+
+        for (long id = 1; id <= 5; id++) {
+            bus.publicar(evento(id));
+        }
+
+        esperar(() -> recibidos.size() == 5);
+        esperar(() -> registry.counter("unomas.eventos.errores", "suscriptor", "roto").count() == 5);
+    }
+
+    private static EventoDePartido evento(long partidoId) {
+        return new EventoDePartido(partidoId, new JugadorAgregado(1L, LocalDateTime.now()));
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+}
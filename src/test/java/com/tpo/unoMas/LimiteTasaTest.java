@@ -0,0 +1,167 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.config.LimitadorTasa;
+import com.tpo.unoMas.config.LimiteTasaFilter;
+import com.tpo.unoMas.config.PoliticaLimite;
+import com.tpo.unoMas.config.TokenCache;
+import com.tpo.unoMas.config.TokenVerificado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del límite de tasa por cliente")
+public class LimiteTasaTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TokenCache tokenCache = new TokenCache(60_000, 100);
+    private final AtomicLong reloj = new AtomicLong(1_000 * SEGUNDO);
+
+    @Test
+    @DisplayName("Admite la ráfaga, después responde 429 con Retry-After y recarga con el tiempo")
+    void testRafagaYRetryAfter() throws Exception {
+        LimiteTasaFilter filtro = filtro("POST /auth/login 10/60 5, * /api 50/1 100");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, filtrar(filtro, "POST", "/auth/login", "10.0.0.1", null).getStatus());
+        }
+        MockHttpServletResponse limitada = filtrar(filtro, "POST", "/auth/login", "10.0.0.1", null);
+        assertEquals(429, limitada.getStatus());
+        assertEquals("6", limitada.getHeader("Retry-After"));
+        assertEquals(1, registry.counter("unomas.web.limitadas", "politica", "POST /auth/login").count());
+
+        // Otra IP, otro método u otra política no comparten el bucket; actuator nunca se limita
+        assertEquals(200, filtrar(filtro, "POST", "/auth/login", "10.0.0.2", null).getStatus());
+        assertEquals(200, filtrar(filtro, "GET", "/auth/login", "10.0.0.1", null).getStatus());
+        assertEquals(200, filtrar(filtro, "GET", "/api/partidos", "10.0.0.1", null).getStatus());
+        assertEquals(200, filtrar(filtro, "GET", "/actuator/health", "10.0.0.1", null).getStatus());
+
+        // Cada 6 s se recupera un permiso
+        reloj.addAndGet(6 * SEGUNDO);
+        assertEquals(200, filtrar(filtro, "POST", "/auth/login", "10.0.0.1", null).getStatus());
+        assertEquals(429, filtrar(filtro, "POST", "/auth/login", "10.0.0.1", null).getStatus());
+
+        // La purga programada descarta, con el reloj del filtro, los clientes que ya recargaron
+        assertTrue(registry.get("unomas.web.limite.clientes").gauge().value() > 0);
+        reloj.addAndGet(60 * SEGUNDO);
+        filtro.purgar();
+        assertEquals(0, registry.get("unomas.web.limite.clientes").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Con un token ya verificado el cliente es el usuario; con uno desconocido, la IP")
+    void testClientePorUsuarioOIp() throws Exception {
+        LimiteTasaFilter filtro = filtro("* /api 1/1 2");
+        tokenCache.put("token-ana", new TokenVerificado("ana", "jti", System.currentTimeMillis() + 60_000),
+                System.currentTimeMillis());
+
+        // El mismo usuario desde dos IPs consume un único bucket
+        assertEquals(200, filtrar(filtro, "GET", "/api/partidos", "10.0.0.1", "token-ana").getStatus());
+        assertEquals(200, filtrar(filtro, "GET", "/api/partidos", "10.0.0.2", "token-ana").getStatus());
+        assertEquals(429, filtrar(filtro, "GET", "/api/partidos", "10.0.0.3", "token-ana").getStatus());
+
+        // Tokens inventados no abren buckets nuevos: cuentan contra la IP
+        assertEquals(200, filtrar(filtro, "GET", "/api/partidos", "10.0.0.9", "falso-1").getStatus());
+        assertEquals(200, filtrar(filtro, "GET", "/api/partidos", "10.0.0.9", "falso-2").getStatus());
+        assertEquals(429, filtrar(filtro, "GET", "/api/partidos", "10.0.0.9", "falso-3").getStatus());
+    }
+
+    @Test
+    @DisplayName("Los clientes inactivos se purgan y por encima del tope comparten un bucket")
+    void testMemoriaAcotada() {
+        LimitadorTasa limitador = new LimitadorTasa(1, SEGUNDO, 1, 100);
+        long ahora = reloj.get();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limitador.intentar("ip:" + i, ahora));
+        }
+        assertEquals(100, limitador.size());
+
+        // Sin lugar: los clientes nuevos comparten el bucket de desborde
+        assertEquals(0, limitador.intentar("ip:100", ahora));
+        assertTrue(limitador.intentar("ip:101", ahora) > 0);
+        assertEquals(100, limitador.size());
+
+        // La purga no corre en el camino del request: el estado queda hasta la próxima pasada
+        assertEquals(0, limitador.intentar("ip:200", ahora + 2 * SEGUNDO));
+        assertEquals(100, limitador.size());
+
+        // Pasado un intervalo sin requests todos tienen el bucket lleno y la purga los descarta
+        assertEquals(100, limitador.purgar(ahora + 2 * SEGUNDO));
+        assertEquals(0, limitador.size());
+        assertEquals(0, limitador.intentar("ip:201", ahora + 2 * SEGUNDO));
+        assertEquals(1, limitador.size());
+    }
+
+    @Test
+    @DisplayName("Requests simultáneas del mismo cliente no admiten más que la ráfaga")
+    void testConcurrencia() throws Exception {
+        LimitadorTasa limitador = new LimitadorTasa(1, 60 * SEGUNDO, 100, 1000);
+        long ahora = reloj.get();
+        AtomicInteger admitidas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        try {
+            for (int hilo = 0; hilo < 8; hilo++) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (limitador.intentar("u:ana", ahora) == 0) {
+                            admitidas.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, admitidas.get());
+    }
+
+    @Test
+    @DisplayName("Una política mal configurada falla al arrancar")
+    void testConfiguracionInvalida() {
+        assertTrue(PoliticaLimite.desdeConfiguracion(" ").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> PoliticaLimite.desdeConfiguracion("POST /auth/login 10 5"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaLimite.desdeConfiguracion("POST auth 10/60 5"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaLimite.desdeConfiguracion("* /api 0/1 5"));
+    }
+
+    private LimiteTasaFilter filtro(String politicas) {
+        return new LimiteTasaFilter(PoliticaLimite.desdeConfiguracion(politicas), 1000, tokenCache, registry,
+                reloj::get);
+    }
+
+    private static MockHttpServletResponse filtrar(LimiteTasaFilter filtro, String metodo, String ruta, String ip,
+            String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, ruta);
+        request.setRemoteAddr(ip);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+}
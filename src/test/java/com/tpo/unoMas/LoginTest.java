@@ -0,0 +1,180 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.dao.IUsuarioDAO;
+import com.tpo.unoMas.model.entity.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+
+// Un solo hilo de BCrypt con una verificación en cola: la tercera simultánea ya no tiene lugar
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "unomas.password.hilos=1", "unomas.password.capacidad-cola=1", "unomas.limite.politicas=" })
+@DisplayName("Tests del login con verificación BCrypt en un pool acotado")
+public class LoginTest {
+
+    private static final String PASSWORD = "clave-de-prueba";
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Espía para retener las verificaciones en el pool hasta que el test las suelte
+    @MockitoSpyBean
+    private BCryptPasswordEncoder passwordEncoder;
+
+    // Espía para ver en qué hilo se guarda el hash recalculado y para hacer fallar esa escritura
+    @MockitoSpyBean
+    private IUsuarioDAO usuarioDAO;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "usuario-" + UUID.randomUUID();
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        transactionTemplate.executeWithoutResult(status -> entityManager.persist(new Usuario(username, hash)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+    }
+
+    @Test
+    @DisplayName("Con el pool y su cola ocupados el login responde 503 con Retry-After")
+    void testPoolLlenoResponde503() throws Exception {
+        doAnswer(invocacion -> {
+            assertTrue(liberar.await(30, TimeUnit.SECONDS));
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).matches(any(), any());
+
+        CompletableFuture<HttpResponse<String>> enCurso = loginAsync(PASSWORD);
+        esperar(() -> registry.get("unomas.password.activas").gauge().value() == 1, "no arrancó la verificación");
+        CompletableFuture<HttpResponse<String>> enCola = loginAsync(PASSWORD);
+        esperar(() -> registry.get("unomas.password.cola").gauge().value() == 1, "no se encoló la verificación");
+
+        HttpResponse<String> rechazada = loginAsync(PASSWORD).get(10, TimeUnit.SECONDS);
+        assertEquals(503, rechazada.statusCode());
+        assertEquals("1", rechazada.headers().firstValue("Retry-After").orElse(null));
+
+        liberar.countDown();
+        assertEquals(200, enCurso.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(200, enCola.get(10, TimeUnit.SECONDS).statusCode());
+        assertEquals(0, registry.get("unomas.password.cola").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Al subir la fuerza de BCrypt el hash se recalcula en el primer login correcto y una sola vez")
+    void testRehashAlLoguearse() throws Exception {
+        String debil = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        jdbcTemplate.update("UPDATE usuarios SET password = ? WHERE username = ?", debil, username);
+
+        // Con la contraseña equivocada no se toca el hash
+        assertEquals(401, login("otra-clave").statusCode());
+        assertEquals(debil, hashGuardado());
+
+        AtomicReference<String> hiloEscritura = new AtomicReference<>();
+        doAnswer(invocacion -> {
+            hiloEscritura.set(Thread.currentThread().getName());
+            return invocacion.callRealMethod();
+        }).when(usuarioDAO).updatePassword(anyLong(), anyString());
+
+        // El hash nuevo se guarda después de responder, fuera del pool de BCrypt
+        assertEquals(200, login(PASSWORD).statusCode());
+        esperar(() -> !debil.equals(hashGuardado()), "no se guardó el hash recalculado");
+        String recalculado = hashGuardado();
+        assertTrue(recalculado.startsWith("$2a$10$"), recalculado);
+        assertTrue(passwordEncoder.matches(PASSWORD, recalculado));
+        assertFalse(hiloEscritura.get().startsWith("bcrypt-"), hiloEscritura.get());
+
+        assertEquals(200, login(PASSWORD).statusCode());
+        assertEquals(recalculado, hashGuardado());
+    }
+
+    @Test
+    @DisplayName("Si falla la escritura del hash recalculado el login igual responde 200 y se reintenta en el próximo")
+    void testRehashFallidoNoRechazaElLogin() throws Exception {
+        String debil = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        jdbcTemplate.update("UPDATE usuarios SET password = ? WHERE username = ?", debil, username);
+
+        CountDownLatch intentada = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            intentada.countDown();
+            throw new IllegalStateException("base caída");
+        }).when(usuarioDAO).updatePassword(anyLong(), anyString());
+
+        assertEquals(200, login(PASSWORD).statusCode());
+        assertTrue(intentada.await(10, TimeUnit.SECONDS));
+        assertEquals(debil, hashGuardado());
+
+        doCallRealMethod().when(usuarioDAO).updatePassword(anyLong(), anyString());
+        assertEquals(200, login(PASSWORD).statusCode());
+        esperar(() -> hashGuardado().startsWith("$2a$10$"), "no se guardó el hash recalculado");
+    }
+
+    private String hashGuardado() {
+        return jdbcTemplate.queryForObject("SELECT password FROM usuarios WHERE username = ?", String.class,
+                username);
+    }
+
+    private HttpResponse<String> login(String password) throws Exception {
+        return loginAsync(password).get(30, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<HttpResponse<String>> loginAsync(String password) {
+        String cuerpo = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo)).build();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void esperar(BooleanSupplier condicion, String mensaje) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, mensaje);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.service.INotificacionSender;
+import com.tpo.unoMas.service.MemoriaNotificacionSender;
+import com.tpo.unoMas.service.Notificacion;
+import com.tpo.unoMas.service.NotificacionDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del envío asíncrono de notificaciones")
+public class NotificacionDispatcherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private NotificacionDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.detener();
+        }
+    }
+
+    @Test
+    @DisplayName("Parte los destinatarios en lotes sin repetir tokens")
+    void testLotesSinDuplicados() throws Exception {
+        MemoriaNotificacionSender sender = new MemoriaNotificacionSender();
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 100, 3, 3, 10);
+
+        List<String> tokens = List.of("a", "b", "c", "a", "d", "e", "b", "f", "g");
+        assertTrue(dispatcher.publicar(notificacion("partido:1:A"), tokens));
+
+        esperar(() -> registry.counter("unomas.notificaciones.enviadas").count() == 7);
+        List<MemoriaNotificacionSender.Envio> envios = sender.getEnvios();
+        assertEquals(List.of(3, 3, 1), envios.stream().map(e -> e.tokens().size()).toList());
+
+        Set<String> entregados = new HashSet<>();
+        envios.forEach(e -> entregados.addAll(e.tokens()));
+        assertEquals(Set.of("a", "b", "c", "d", "e", "f", "g"), entregados);
+    }
+
+    @Test
+    @DisplayName("Fusiona publicaciones con la misma clave mientras esperan en la cola")
+    void testFusionaPendientes() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<List<String>> recibidos = new ArrayList<>();
+        INotificacionSender sender = (notificacion, tokens) -> {
+            liberar.await();
+            synchronized (recibidos) {
+                recibidos.add(List.copyOf(tokens));
+            }
+        };
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 100, 500, 3, 10);
+
+        // La primera ocupa al único hilo; las siguientes esperan en la cola y se fusionan
+        dispatcher.publicar(notificacion("partido:1:A"), List.of("x"));
+        esperar(() -> dispatcher.pendientes() == 0);
+        dispatcher.publicar(notificacion("partido:2:X"), List.of("a", "b"));
+        dispatcher.publicar(notificacion("partido:2:X"), List.of("b", "c"));
+        dispatcher.publicar(notificacion("partido:2:X"), List.of("d"));
+        liberar.countDown();
+
+        esperar(() -> registry.counter("unomas.notificaciones.enviadas").count() == 5);
+        assertEquals(2, recibidos.size());
+        assertEquals(List.of("a", "b", "c", "d"), recibidos.get(1));
+        assertEquals(2.0, registry.counter("unomas.notificaciones.fusionadas").count());
+    }
+
+    @Test
+    @DisplayName("Reintenta con backoff los lotes que fallan")
+    void testReintentaLotesFallidos() throws Exception {
+        AtomicInteger llamadas = new AtomicInteger();
+        INotificacionSender sender = (notificacion, tokens) -> {
+            if (llamadas.incrementAndGet() < 3) {
+                throw new IllegalStateException("FCM no disponible");
+            }
+        };
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 100, 500, 5, 10);
+
+        dispatcher.publicar(notificacion("partido:1:C"), List.of("a", "b"));
+
+        esperar(() -> registry.counter("unomas.notificaciones.enviadas").count() == 2);
+        assertEquals(3, llamadas.get());
+        assertEquals(2.0, registry.counter("unomas.notificaciones.reintentos").count());
+        assertEquals(0.0, registry.counter("unomas.notificaciones.fallidas").count());
+    }
+
+    @Test
+    @DisplayName("Abandona el lote al agotar los intentos")
+    void testAgotaIntentos() throws Exception {
+        INotificacionSender sender = (notificacion, tokens) -> {
+            throw new IllegalStateException("token inválido");
+        };
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 100, 500, 3, 1);
+
+        dispatcher.publicar(notificacion("partido:1:X"), List.of("a", "b"));
+
+        esperar(() -> registry.counter("unomas.notificaciones.fallidas").count() == 2);
+        assertEquals(2.0, registry.counter("unomas.notificaciones.reintentos").count());
+        assertEquals(0.0, registry.counter("unomas.notificaciones.enviadas").count());
+    }
+
+    @Test
+    @DisplayName("Con la cola llena descarta sin bloquear a quien publica")
+    void testDescartaConColaLlena() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        INotificacionSender sender = (notificacion, tokens) -> liberar.await();
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 2, 500, 3, 10);
+
+        dispatcher.publicar(notificacion("partido:0:A"), List.of("x"));
+        esperar(() -> dispatcher.pendientes() == 0);
+
+        assertTrue(dispatcher.publicar(notificacion("partido:1:A"), List.of("a")));
+        assertTrue(dispatcher.publicar(notificacion("partido:2:A"), List.of("b")));
+        long inicio = System.nanoTime();
+        assertFalse(dispatcher.publicar(notificacion("partido:3:A"), List.of("c", "d")));
+        assertTrue(System.nanoTime() - inicio < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(2.0, registry.counter("unomas.notificaciones.descartadas").count());
+
+        liberar.countDown();
+    }
+
+    @Test
+    @DisplayName("Con publicaciones simultáneas y la cola llena cada token se entrega o se cuenta como descartado")
+    void testFusionesConColaLlenaNoSePierden() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Set<String> entregados = ConcurrentHashMap.newKeySet();
+        INotificacionSender sender = (notificacion, tokens) -> {
+            liberar.await();
+            entregados.addAll(tokens);
+        };
+        dispatcher = new NotificacionDispatcher(sender, registry, 1, 1, 10_000, 3, 10);
+
+        dispatcher.publicar(notificacion("partido:0:A"), List.of("x"));
+        esperar(() -> dispatcher.pendientes() == 0);
+        assertTrue(dispatcher.publicar(notificacion("partido:1:A"), List.of("inicial")));
+
+        // Mitad se fusiona con la pendiente, mitad choca con la cola llena
+        Set<String> aceptados = ConcurrentHashMap.newKeySet();
+        AtomicInteger rechazados = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        try {
+            for (int hilo = 0; hilo < 8; hilo++) {
+                int h = hilo;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < 500; i++) {
+                        String token = h + "-" + i;
+                        String clave = i % 2 == 0 ? "partido:1:A" : "partido:" + (2 + h) + ":B";
+                        if (dispatcher.publicar(notificacion(clave), List.of(token))) {
+                            aceptados.add(token);
+                        } else {
+                            rechazados.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        liberar.countDown();
+
+        aceptados.add("inicial");
+        esperar(() -> registry.counter("unomas.notificaciones.enviadas").count() == aceptados.size() + 1);
+        entregados.remove("x");
+        assertEquals(aceptados, entregados);
+        assertEquals(rechazados.get(), registry.counter("unomas.notificaciones.descartadas").count());
+        assertEquals(8 * 500, aceptados.size() - 1 + rechazados.get());
+    }
+
+    private static Notificacion notificacion(String clave) {
+        return new Notificacion(clave, "Título", "Cuerpo");
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "La condición no se cumplió a tiempo");
+            Thread.sleep(5);
+        }
+    }
+}
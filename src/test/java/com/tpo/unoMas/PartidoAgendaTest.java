@@ -0,0 +1,138 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.estado.Cancelado;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.service.IPartidoService;
+import com.tpo.unoMas.service.PartidoAgenda;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Tests de la agenda de partidos")
+public class PartidoAgendaTest {
+
+    // Con el mínimo sin cubrir el partido sigue en NecesitamosJugadores y su vencimiento es la hora de inicio
+    private static final int JUGADORES = 3;
+    private static final int MIN_JUGADORES = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    @Autowired
+    private PartidoAgenda agenda;
+
+    private Long partidoId;
+    private List<Long> jugadorIds;
+    private int programados;
+
+    @BeforeEach
+    void setUp() {
+        programados = agenda.size();
+        DatosDePrueba.Escenario escenario = transactionTemplate.execute(status ->
+                DatosDePrueba.escenario(entityManager, "Básquet", JUGADORES, MIN_JUGADORES, 12));
+        partidoId = escenario.partidoId();
+        jugadorIds = escenario.jugadorIds();
+    }
+
+    @Test
+    @DisplayName("Guardar el partido sin cambiar el vencimiento no encola nada; cambiarlo encola uno")
+    void testSoloEncolaCuandoCambiaElVencimiento() {
+        assertEquals(programados + 1, agenda.size());
+        int encolados = agenda.encolados();
+
+        // Cada alta, baja y confirmación dispara @PostUpdate con el mismo vencimiento
+        for (Long jugadorId : jugadorIds) {
+            partidoService.agregarJugador(partidoId, jugadorId);
+        }
+        partidoService.confirmarAsistencia(partidoId, jugadorIds.get(0));
+        partidoService.removerJugador(partidoId, jugadorIds.get(1));
+        assertEquals(encolados, agenda.encolados());
+        assertEquals(programados + 1, agenda.size());
+
+        transactionTemplate.executeWithoutResult(status ->
+                partidoDAO.findById(partidoId).setFechaHora(LocalDateTime.now().plusDays(2)));
+        assertEquals(encolados + 1, agenda.encolados());
+        assertEquals(programados + 1, agenda.size());
+
+        agenda.desprogramar(partidoId);
+        assertEquals(programados, agenda.size());
+    }
+
+    @Test
+    @DisplayName("Un vencimiento reemplazado se descarta al salir de la cola sin aplicarse")
+    void testVencimientoObsoletoSeDescarta() throws Exception {
+        int encolados = agenda.encolados();
+        LocalDateTime vigente = partidoDAO.findById(partidoId).getFechaHora();
+
+        agenda.programar(partidoId, LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(200)));
+        agenda.programar(partidoId, vigente);
+        assertEquals(encolados + 2, agenda.encolados());
+
+        esperar(() -> agenda.encolados() == encolados + 1, "el vencimiento obsoleto no salió de la cola");
+        // Si se hubiera tomado como vigente, el partido ya no estaría programado
+        assertEquals(programados + 1, agenda.size());
+        assertTrue(partidoDAO.findById(partidoId).getEstado() instanceof NecesitamosJugadores);
+    }
+
+    @Test
+    @DisplayName("Al llegar la hora de inicio se cancela el partido que no juntó el mínimo")
+    void testVencimientoCancelaPartidoIncompleto() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                partidoDAO.findById(partidoId).setFechaHora(LocalDateTime.now().plusSeconds(1)));
+
+        esperar(() -> partidoDAO.findById(partidoId).getEstado() instanceof Cancelado,
+                "el partido no se canceló a la hora de inicio");
+        // Cancelado no tiene próximo vencimiento: el guardado lo saca de la agenda
+        esperar(() -> agenda.size() == programados, "el partido cancelado sigue programado");
+    }
+
+    @Test
+    @DisplayName("Al arrancar se recuperan de la base los partidos pendientes, sin duplicar los ya programados")
+    void testRecuperarAlArrancar() {
+        // Otros tests desprograman partidos que en la base siguen pendientes: se parte de la agenda completa
+        agenda.recuperar();
+        int completa = agenda.size();
+
+        agenda.desprogramar(partidoId);
+        assertEquals(completa - 1, agenda.size());
+
+        assertEquals(completa, agenda.recuperar());
+        assertEquals(completa, agenda.size());
+
+        int encolados = agenda.encolados();
+        agenda.recuperar();
+        assertEquals(encolados, agenda.encolados());
+        assertEquals(completa, agenda.size());
+    }
+
+    private static void esperar(BooleanSupplier condicion, String mensaje) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condicion.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, mensaje);
+            Thread.sleep(20);
+        }
+    }
+}
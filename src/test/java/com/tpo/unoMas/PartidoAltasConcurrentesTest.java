@@ -0,0 +1,131 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.dao.IEnEsperaDAO;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import com.tpo.unoMas.service.IPartidoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+// Lo mismo que PartidoConcurrenciaTest pero por el servicio: lock por partido, transacción y @Version contra la base
+@SpringBootTest
+@DisplayName("Tests de altas simultáneas a un Partido a través del servicio")
+public class PartidoAltasConcurrentesTest {
+
+    private static final int JUGADORES = 200;
+    private static final int MIN_JUGADORES = 10;
+    private static final int MAX_JUGADORES = 22;
+    // Cada tantas lecturas, otro "nodo" modifica el partido; nunca dos intentos seguidos de la misma alta
+    private static final int CONFLICTO_CADA = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Cada alta consulta primero la lista de espera: ahí se mete la escritura concurrente
+    @MockitoSpyBean
+    private IEnEsperaDAO enEsperaDAO;
+
+    private Long partidoId;
+    private List<Long> jugadorIds;
+
+    @BeforeEach
+    void setUp() {
+        DatosDePrueba.Escenario escenario = transactionTemplate.execute(status ->
+                DatosDePrueba.escenario(entityManager, "Fútbol", JUGADORES, MIN_JUGADORES, MAX_JUGADORES));
+        partidoId = escenario.partidoId();
+        jugadorIds = escenario.jugadorIds();
+    }
+
+    @Test
+    @DisplayName("Cientos de altas simultáneas no superan el cupo y los conflictos de versión se reintentan")
+    void testAltasSimultaneasConConflictosDeVersion() throws Exception {
+        AtomicInteger lecturas = new AtomicInteger();
+        AtomicInteger conflictos = new AtomicInteger();
+        doAnswer(invocacion -> {
+            if (lecturas.incrementAndGet() % CONFLICTO_CADA == 0) {
+                // Otra conexión: la transacción del alta ya leyó el partido y su commit falla por @Version
+                ExecutorService otroNodo = Executors.newSingleThreadExecutor();
+                try {
+                    otroNodo.submit(() -> jdbcTemplate.update(
+                            "UPDATE partidos SET version = version + 1 WHERE id = ?", partidoId)).get();
+                } finally {
+                    otroNodo.shutdown();
+                }
+                conflictos.incrementAndGet();
+            }
+            return invocacion.callRealMethod();
+        }).when(enEsperaDAO).find(eq(partidoId), anyLong());
+        double reintentos = registry.counter("unomas.partidos.reintentos").count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(JUGADORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> futuros = new ArrayList<>();
+        try {
+            for (Long jugadorId : jugadorIds) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    return partidoService.agregarJugador(partidoId, jugadorId);
+                }));
+            }
+            largada.countDown();
+
+            int inscriptos = 0;
+            for (Future<Integer> futuro : futuros) {
+                if (futuro.get(60, TimeUnit.SECONDS) == null) {
+                    inscriptos++;
+                }
+            }
+            assertEquals(MAX_JUGADORES, inscriptos);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(MAX_JUGADORES, partido.getCantidadJugadores());
+        assertEquals(JUGADORES - MAX_JUGADORES, partido.getEnEspera());
+        assertTrue(partido.getEstado() instanceof PartidoArmado);
+        assertEquals(MAX_JUGADORES, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_jugador WHERE partido_id = ?", Integer.class, partidoId));
+        assertEquals(JUGADORES - MAX_JUGADORES, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_espera WHERE partido_id = ?", Integer.class, partidoId));
+
+        assertTrue(conflictos.get() > 0);
+        assertEquals(reintentos + conflictos.get(), registry.counter("unomas.partidos.reintentos").count());
+        System.out.println("✓ " + JUGADORES + " altas simultáneas con " + conflictos.get()
+                + " conflictos de versión reintentados");
+    }
+}
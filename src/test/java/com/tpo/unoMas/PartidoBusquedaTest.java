@@ -0,0 +1,165 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.entity.JugadorResumenDTO;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.service.IPartidoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests de la búsqueda paginada de partidos")
+public class PartidoBusquedaTest {
+
+    private static final int PARTIDOS = 25;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    private Statistics estadisticas;
+    private LocalDateTime base;
+    private Long deporteId;
+    private Long zonaId;
+    private Long primeroId;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        base = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Zona zona = DatosDePrueba.zona();
+            entityManager.persist(zona);
+            Deporte deporte = DatosDePrueba.deporte("Vóley");
+            entityManager.persist(deporte);
+            Jugador organizador = DatosDePrueba.jugador("Organizador", zona);
+            entityManager.persist(organizador);
+
+            // De a tres partidos por horario: el keyset tiene que desempatar por id
+            for (int i = 0; i < PARTIDOS; i++) {
+                Partido partido = DatosDePrueba.partido("Partido " + i, zona, deporte, organizador, 2, 12);
+                partido.setFechaHora(base.plusHours(i / 3));
+                partido.setNivel(i % 5 == 0 ? Nivel.AVANZADO : Nivel.INTERMEDIO);
+                if (i == 1) {
+                    for (String nombre : List.of("Zoe", "Ana")) {
+                        Jugador jugador = DatosDePrueba.jugador(nombre, zona);
+                        entityManager.persist(jugador);
+                        partido.agregarJugador(jugador);
+                    }
+                }
+                entityManager.persist(partido);
+                if (i == 1) {
+                    primeroId = partido.getId();
+                }
+            }
+
+            deporteId = deporte.getId();
+            zonaId = zona.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("Recorrer las páginas devuelve cada partido una vez y en orden de fecha e id")
+    void testPaginasSinHuecosNiRepetidos() {
+        FiltroPartidos filtro = new FiltroPartidos(deporteId, Nivel.INTERMEDIO, null, null, null, null);
+        List<PartidoResumenDTO> recorridos = new ArrayList<>();
+        LocalDateTime despuesDeFecha = null;
+        Long despuesDeId = null;
+        List<PartidoResumenDTO> pagina;
+        do {
+            pagina = partidoService.buscar(filtro, despuesDeFecha, despuesDeId, 4, false);
+            recorridos.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                despuesDeFecha = pagina.get(pagina.size() - 1).getFechaHora();
+                despuesDeId = pagina.get(pagina.size() - 1).getId();
+            }
+        } while (pagina.size() == 4);
+
+        assertEquals(PARTIDOS - 5, recorridos.size());
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < recorridos.size(); i++) {
+            PartidoResumenDTO partido = recorridos.get(i);
+            assertTrue(ids.add(partido.getId()), "repetido " + partido.getId());
+            assertEquals(Nivel.INTERMEDIO, partido.getNivel());
+            if (i > 0) {
+                PartidoResumenDTO anterior = recorridos.get(i - 1);
+                int orden = anterior.getFechaHora().compareTo(partido.getFechaHora());
+                assertTrue(orden < 0 || (orden == 0 && anterior.getId() < partido.getId()));
+            }
+        }
+
+        // Ventana [desde, hasta) por zona y estado
+        FiltroPartidos ventana = new FiltroPartidos(null, null, zonaId, NecesitamosJugadores.INSTANCIA,
+                base.plusHours(2), base.plusHours(4));
+        List<PartidoResumenDTO> enVentana = partidoService.buscar(ventana, null, null, 100, false);
+        assertEquals(6, enVentana.size());
+        assertTrue(enVentana.stream().allMatch(p -> !p.getFechaHora().isBefore(base.plusHours(2))
+                && p.getFechaHora().isBefore(base.plusHours(4))));
+    }
+
+    @Test
+    @DisplayName("La búsqueda es una sola consulta y solo lee el plantel si se pide")
+    void testPlantelSoloSiSePide() {
+        FiltroPartidos filtro = new FiltroPartidos(deporteId, null, null, null, null, null);
+
+        estadisticas.clear();
+        List<PartidoResumenDTO> sinPlantel = partidoService.buscar(filtro, null, null, 10, false);
+        assertEquals(10, sinPlantel.size());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertEquals(0, estadisticas.getCollectionFetchCount());
+        assertNull(sinPlantel.get(1).getJugadores());
+
+        estadisticas.clear();
+        List<PartidoResumenDTO> conPlantel = partidoService.buscar(filtro, null, null, 10, true);
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        PartidoResumenDTO primero = conPlantel.stream().filter(p -> p.getId().equals(primeroId)).findFirst().orElseThrow();
+        assertEquals(List.of("Ana", "Zoe"), primero.getJugadores().stream().map(JugadorResumenDTO::getNombre).toList());
+        assertTrue(conPlantel.get(0).getJugadores().isEmpty());
+    }
+
+    @Test
+    @DisplayName("El filtro por deporte y nivel usa el índice compuesto y no ordena aparte")
+    void testPlanUsaIndiceCompuesto() {
+        // Mismo ORDER BY que arma PartidoDAOImpl.buscar para este filtro
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT id, fecha_hora FROM partidos "
+                + "WHERE deporte_id = " + deporteId + " AND nivel_id = 'INTERMEDIO' AND fecha_hora >= CURRENT_TIMESTAMP "
+                + "ORDER BY deporte_id, nivel_id, fecha_hora, id LIMIT 5", String.class);
+        String texto = String.join("\n", plan);
+        System.out.println(texto);
+        assertTrue(texto.toUpperCase().contains("IDX_PARTIDOS_DEPORTE_NIVEL_FECHA"), texto);
+        assertTrue(texto.contains("index sorted"), texto);
+    }
+}
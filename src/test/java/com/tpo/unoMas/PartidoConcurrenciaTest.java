@@ -0,0 +1,170 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.estado.*;
+import com.tpo.unoMas.model.evento.AsistenciaConfirmada;
+import com.tpo.unoMas.model.evento.CambioEstadoPartido;
+import com.tpo.unoMas.model.evento.EventoPartido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de concurrencia al sumarse a un Partido")
+public class PartidoConcurrenciaTest {
+
+    private static final int HILOS = 500;
+    private static final int RONDAS = 20;
+    private static final int MIN_JUGADORES = 10;
+    private static final int MAX_JUGADORES = 22;
+
+    private Partido partido;
+    private Zona zona;
+
+    @BeforeEach
+    void setUp() {
+        zona = DatosDePrueba.zona("Centro", DatosDePrueba.LATITUD, DatosDePrueba.LONGITUD);
+        partido = DatosDePrueba.partido("Partido Concurrido", zona, DatosDePrueba.deporte("Fútbol"), null,
+                MIN_JUGADORES, MAX_JUGADORES);
+        partido.setDuracionMinutos(90);
+    }
+
+    @Test
+    @DisplayName("Cientos de altas simultáneas nunca superan el máximo")
+    void testAltasSimultaneasRespetanCupo() throws Exception {
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            setUp();
+            AtomicInteger aceptados = new AtomicInteger();
+            AtomicInteger rechazados = new AtomicInteger();
+
+            // Con el cupo lleno el alta no se rechaza: el jugador pasa a la lista de espera
+            ejecutarEnParalelo(HILOS, i -> {
+                try {
+                    Jugador jugador = crearJugador(i);
+                    partido.agregarJugador(jugador);
+                    if (partido.estaInscripto(jugador)) {
+                        aceptados.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    rechazados.incrementAndGet();
+                }
+            });
+
+            assertEquals(MAX_JUGADORES, aceptados.get(), "ronda " + ronda);
+            assertEquals(0, rechazados.get(), "ronda " + ronda);
+            assertEquals(HILOS - MAX_JUGADORES, partido.getEnEspera(), "ronda " + ronda);
+            assertEquals(HILOS - MAX_JUGADORES, partido.tomarAltasEnEspera().size(), "ronda " + ronda);
+            assertEquals(MAX_JUGADORES, partido.getJugadores().size(), "ronda " + ronda);
+            assertTrue(partido.estaCompleto());
+            assertTrue(partido.getEstado() instanceof PartidoArmado);
+        }
+        System.out.println("✓ " + RONDAS + " rondas de " + HILOS + " altas simultáneas sin superar el cupo ni perder esperas");
+    }
+
+    @Test
+    @DisplayName("Altas y bajas simultáneas mantienen plantel y estado consistentes")
+    void testAltasYBajasSimultaneas() throws Exception {
+        List<Jugador> iniciales = new ArrayList<>();
+        for (int i = 0; i < MAX_JUGADORES; i++) {
+            Jugador jugador = crearJugador(-i - 1);
+            iniciales.add(jugador);
+            partido.agregarJugador(jugador);
+        }
+
+        ejecutarEnParalelo(HILOS, i -> {
+            try {
+                if (i % 2 == 0) {
+                    partido.removerJugador(iniciales.get((i / 2) % MAX_JUGADORES));
+                } else {
+                    partido.agregarJugador(crearJugador(i));
+                }
+            } catch (IllegalStateException e) {
+                // cupo lleno o jugador ya removido: rechazo esperado
+            }
+        });
+
+        int cantidad = partido.getJugadores().size();
+        System.out.println("Jugadores finales: " + cantidad + " - Estado: " + partido.getEstado());
+        assertTrue(cantidad <= MAX_JUGADORES);
+        if (cantidad >= MIN_JUGADORES) {
+            assertTrue(partido.getEstado() instanceof PartidoArmado);
+        } else {
+            assertTrue(partido.getEstado() instanceof NecesitamosJugadores);
+        }
+    }
+
+    @Test
+    @DisplayName("Confirmaciones simultáneas de un plantel completo confirman el partido una sola vez")
+    void testConfirmacionesSimultaneas() throws Exception {
+        for (int ronda = 0; ronda < RONDAS; ronda++) {
+            setUp();
+            List<Jugador> plantel = new ArrayList<>();
+            for (int i = 0; i < MAX_JUGADORES; i++) {
+                Jugador jugador = crearJugador(i);
+                plantel.add(jugador);
+                partido.agregarJugador(jugador);
+            }
+            partido.tomarEventos();
+
+            ejecutarEnParalelo(MAX_JUGADORES, i -> partido.confirmarAsistencia(plantel.get(i)));
+
+            assertEquals(MAX_JUGADORES, partido.getConfirmados(), "ronda " + ronda);
+            assertEquals(MAX_JUGADORES, partido.getJugadoresConfirmados().size(), "ronda " + ronda);
+            assertTrue(partido.getEstado() instanceof Confirmado, "ronda " + ronda);
+
+            List<EventoPartido> eventos = partido.tomarEventos();
+            assertEquals(MAX_JUGADORES, eventos.stream().filter(AsistenciaConfirmada.class::isInstance).count());
+            assertEquals(1, eventos.stream().filter(CambioEstadoPartido.class::isInstance).count());
+        }
+    }
+
+    private void ejecutarEnParalelo(int tareas, IntTarea tarea) throws Exception {
+        ExecutorService executor = crearExecutor(tareas);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < tareas; i++) {
+                int indice = i;
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarea.ejecutar(indice);
+                    return null;
+                }));
+            }
+
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hilos virtuales cuando la JVM los soporta (21+); si no, un pool de hilos de plataforma del mismo tamaño.
+     */
+    private static ExecutorService crearExecutor(int hilos) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(hilos);
+        }
+    }
+
+    private Jugador crearJugador(int i) {
+        return DatosDePrueba.jugador("Jugador " + i, zona);
+    }
+
+    @FunctionalInterface
+    private interface IntTarea {
+        void ejecutar(int indice);
+    }
+}
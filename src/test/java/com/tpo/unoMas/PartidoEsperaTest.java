@@ -0,0 +1,307 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.estado.Cancelado;
+import com.tpo.unoMas.model.estado.Confirmado;
+import com.tpo.unoMas.model.estado.EnJuego;
+import com.tpo.unoMas.model.estado.Finalizado;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import com.tpo.unoMas.model.dao.IEnEsperaDAO;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.service.IPartidoService;
+import com.tpo.unoMas.service.MemoriaNotificacionSender;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@DisplayName("Tests de la lista de espera de Partido")
+public class PartidoEsperaTest {
+
+    private static final int MAX_JUGADORES = 4;
+    private static final int JUGADORES = 10;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    @Autowired
+    private MemoriaNotificacionSender sender;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // Espía para meter una escritura concurrente en medio de una promoción y forzar un reintento
+    @MockitoSpyBean
+    private IEnEsperaDAO enEsperaDAO;
+
+    private Long partidoId;
+    private List<Long> jugadorIds;
+
+    @BeforeEach
+    void setUp() {
+        DatosDePrueba.Escenario escenario = transactionTemplate.execute(status ->
+                DatosDePrueba.escenario(entityManager, "Pádel", JUGADORES, MAX_JUGADORES, MAX_JUGADORES));
+        partidoId = escenario.partidoId();
+        jugadorIds = escenario.jugadorIds();
+    }
+
+    @Test
+    @DisplayName("Con el cupo lleno el jugador queda en espera y entra por orden de llegada al liberarse un lugar")
+    void testEsperaEnOrdenDeLlegada() throws Exception {
+        for (int i = 0; i < MAX_JUGADORES; i++) {
+            assertNull(partidoService.agregarJugador(partidoId, jugadorIds.get(i)));
+        }
+        assertEquals(1, partidoService.agregarJugador(partidoId, jugadorIds.get(4)));
+        assertEquals(2, partidoService.agregarJugador(partidoId, jugadorIds.get(5)));
+        assertEquals(3, partidoService.agregarJugador(partidoId, jugadorIds.get(6)));
+        assertThrows(IllegalStateException.class, () -> partidoService.agregarJugador(partidoId, jugadorIds.get(5)));
+        assertEquals(3, enEsperaGuardados());
+
+        // El segundo se baja de la espera: el turno del tercero no cambia de lugar relativo
+        partidoService.removerJugador(partidoId, jugadorIds.get(5));
+        assertEquals(2, enEsperaGuardados());
+
+        partidoService.removerJugador(partidoId, jugadorIds.get(0));
+        partidoService.removerJugador(partidoId, jugadorIds.get(1));
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(MAX_JUGADORES, partido.getCantidadJugadores());
+        assertEquals(0, partido.getEnEspera());
+        assertEquals(0, enEsperaGuardados());
+        assertTrue(partido.getEstado() instanceof PartidoArmado);
+        assertEquals(Set.of(jugadorIds.get(2), jugadorIds.get(3), jugadorIds.get(4), jugadorIds.get(6)), plantel());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_eventos WHERE partido_id = ? AND tipo = 'JUGADOR_PROMOVIDO'",
+                Integer.class, partidoId));
+
+        // Sin nadie esperando, una baja deja el lugar libre
+        partidoService.removerJugador(partidoId, jugadorIds.get(2));
+        partido = partidoDAO.findById(partidoId);
+        assertEquals(MAX_JUGADORES - 1, partido.getCantidadJugadores());
+        assertTrue(partido.getEstado() instanceof NecesitamosJugadores);
+
+        esperarNotificacion("partido:" + partidoId + ":promovido:" + jugadorIds.get(4), 1);
+    }
+
+    @Test
+    @DisplayName("En un partido confirmado el lugar que deja una baja pasa al primero de la espera y el partido sigue confirmado")
+    void testConfirmadoPromueveDesdeEspera() throws Exception {
+        // Mínimo 2: una baja del partido confirmado no lo devuelve a NecesitamosJugadores
+        partidoId = transactionTemplate.execute(status ->
+                DatosDePrueba.escenario(entityManager, "Tenis", 0, 2, MAX_JUGADORES)).partidoId();
+        for (int i = 0; i < MAX_JUGADORES + 2; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        for (int i = 0; i < MAX_JUGADORES; i++) {
+            partidoService.confirmarAsistencia(partidoId, jugadorIds.get(i));
+        }
+        assertTrue(partidoDAO.findById(partidoId).getEstado() instanceof Confirmado);
+
+        partidoService.removerJugador(partidoId, jugadorIds.get(0));
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertTrue(partido.getEstado() instanceof Confirmado);
+        assertEquals(MAX_JUGADORES, partido.getCantidadJugadores());
+        assertEquals(1, partido.getEnEspera());
+        assertEquals(Set.of(jugadorIds.get(1), jugadorIds.get(2), jugadorIds.get(3), jugadorIds.get(4)), plantel());
+        esperarNotificacion("partido:" + partidoId + ":promovido:" + jugadorIds.get(4), 1);
+
+        // El promovido confirma sobre el partido ya confirmado; en Confirmado no se anotan esperas nuevas
+        partidoService.confirmarAsistencia(partidoId, jugadorIds.get(4));
+        partido = partidoDAO.findById(partidoId);
+        assertTrue(partido.getEstado() instanceof Confirmado);
+        assertEquals(MAX_JUGADORES, partido.getConfirmados());
+        assertThrows(IllegalStateException.class, () -> partidoService.agregarJugador(partidoId, jugadorIds.get(6)));
+        assertEquals(1, enEsperaGuardados());
+    }
+
+    @Test
+    @DisplayName("Al empezar el partido la lista de espera se borra y se avisa a quienes esperaban; al terminar no queda nada")
+    void testInicioDescartaEspera() throws Exception {
+        for (int i = 0; i < MAX_JUGADORES + 2; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        for (int i = 0; i < MAX_JUGADORES; i++) {
+            partidoService.confirmarAsistencia(partidoId, jugadorIds.get(i));
+        }
+        jdbcTemplate.update("UPDATE partidos SET fecha_hora = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(1), partidoId);
+
+        partidoService.aplicarAgenda(partidoId);
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertTrue(partido.getEstado() instanceof EnJuego);
+        assertEquals(0, partido.getEnEspera());
+        assertEquals(0, enEsperaGuardados());
+        assertEquals(1, eventosGuardados("ESPERA_DESCARTADA"));
+        esperarNotificacion("partido:" + partidoId + ":espera:J", 2);
+
+        jdbcTemplate.update("UPDATE partidos SET fecha_hora = ? WHERE id = ?",
+                LocalDateTime.now().minusMinutes(partido.getDuracionMinutos() + 1), partidoId);
+        partidoService.aplicarAgenda(partidoId);
+        assertTrue(partidoDAO.findById(partidoId).getEstado() instanceof Finalizado);
+        assertEquals(1, eventosGuardados("ESPERA_DESCARTADA"));
+    }
+
+    @Test
+    @DisplayName("Al cancelarse el partido la lista de espera se borra y se avisa a quienes esperaban")
+    void testCancelacionDescartaEspera() throws Exception {
+        for (int i = 0; i < MAX_JUGADORES + 2; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        // Un partido que llega a la hora sin el mínimo y con gente esperando (mínimo subido por fuera)
+        jdbcTemplate.update("UPDATE partidos SET min_jugadores = ?, estado = 'N', fecha_hora = ? WHERE id = ?",
+                MAX_JUGADORES + 1, LocalDateTime.now().minusMinutes(1), partidoId);
+
+        partidoService.aplicarAgenda(partidoId);
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertTrue(partido.getEstado() instanceof Cancelado);
+        assertEquals(0, partido.getEnEspera());
+        assertEquals(0, enEsperaGuardados());
+        esperarNotificacion("partido:" + partidoId + ":espera:X", 2);
+    }
+
+    @Test
+    @DisplayName("Bajas y altas simultáneas promueven a cada jugador una sola vez y sin superar el cupo")
+    void testBajasYAltasSimultaneas() throws Exception {
+        for (int i = 0; i < MAX_JUGADORES * 2; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        double antes = registry.counter("unomas.partidos.espera.promovidos").count();
+
+        // Bajas de todo el plantel y dos altas nuevas, todas a la vez
+        List<Runnable> tareas = new ArrayList<>();
+        for (int i = 0; i < MAX_JUGADORES; i++) {
+            Long jugadorId = jugadorIds.get(i);
+            tareas.add(() -> partidoService.removerJugador(partidoId, jugadorId));
+        }
+        for (int i = MAX_JUGADORES * 2; i < JUGADORES; i++) {
+            Long jugadorId = jugadorIds.get(i);
+            tareas.add(() -> partidoService.agregarJugador(partidoId, jugadorId));
+        }
+        ejecutarEnParalelo(tareas);
+
+        // Las bajas y sus promociones van en la misma transacción: las altas nuevas nunca
+        // encuentran un lugar libre y quedan detrás de los que ya esperaban
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(Set.of(jugadorIds.get(4), jugadorIds.get(5), jugadorIds.get(6), jugadorIds.get(7)), plantel());
+        assertEquals(MAX_JUGADORES, partido.getCantidadJugadores());
+        assertEquals(JUGADORES - MAX_JUGADORES * 2, partido.getEnEspera());
+        assertEquals(JUGADORES - MAX_JUGADORES * 2, enEsperaGuardados());
+        assertEquals(antes + MAX_JUGADORES, registry.counter("unomas.partidos.espera.promovidos").count());
+    }
+
+    @Test
+    @DisplayName("Una promoción reintentada tras un conflicto de versión se cuenta una sola vez")
+    void testPromocionReintentadaCuentaUnaVez() throws Exception {
+        for (int i = 0; i < MAX_JUGADORES + 1; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        double antes = registry.counter("unomas.partidos.espera.promovidos").count();
+
+        // La primera vez que se busca al primero de la fila, otra conexión modifica el partido:
+        // el commit de ese intento falla por @Version y conPartidoBloqueado lo repite
+        AtomicBoolean conflicto = new AtomicBoolean();
+        doAnswer(invocacion -> {
+            if (conflicto.compareAndSet(false, true)) {
+                ExecutorService otraConexion = Executors.newSingleThreadExecutor();
+                try {
+                    otraConexion.submit(() -> jdbcTemplate.update(
+                            "UPDATE partidos SET version = version + 1 WHERE id = ?", partidoId)).get();
+                } finally {
+                    otraConexion.shutdown();
+                }
+            }
+            return invocacion.callRealMethod();
+        }).when(enEsperaDAO).findPrimero(partidoId);
+
+        partidoService.removerJugador(partidoId, jugadorIds.get(0));
+
+        verify(enEsperaDAO, times(2)).findPrimero(partidoId);
+        assertEquals(Set.of(jugadorIds.get(1), jugadorIds.get(2), jugadorIds.get(3), jugadorIds.get(4)), plantel());
+        assertEquals(0, enEsperaGuardados());
+        assertEquals(antes + 1, registry.counter("unomas.partidos.espera.promovidos").count());
+    }
+
+    private void ejecutarEnParalelo(List<Runnable> tareas) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tareas.size());
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+        try {
+            for (Runnable tarea : tareas) {
+                futuros.add(executor.submit(() -> {
+                    largada.await();
+                    tarea.run();
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> futuro : futuros) {
+                futuro.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Espera a que la notificación llegue a la cantidad de tokens indicada
+    private void esperarNotificacion(String clave, int tokens) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sender.getEnvios().stream().filter(e -> e.notificacion().clave().equals(clave))
+                .mapToInt(e -> e.tokens().size()).sum() < tokens) {
+            assertTrue(System.nanoTime() < limite, "no llegó la notificación " + clave);
+            Thread.sleep(20);
+        }
+    }
+
+    private int eventosGuardados(String tipo) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM partido_eventos WHERE partido_id = ? AND tipo = ?",
+                Integer.class, partidoId, tipo);
+    }
+
+    private Set<Long> plantel() {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT jugador_id FROM partido_jugador WHERE partido_id = ?", Long.class, partidoId));
+    }
+
+    private int enEsperaGuardados() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_espera WHERE partido_id = ?", Integer.class, partidoId);
+    }
+}
@@ -0,0 +1,229 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.controller.PartidoController;
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.service.PartidoGeoIndex;
+import com.tpo.unoMas.service.PartidoGeoIndex.Entrada;
+import com.tpo.unoMas.service.PartidoGeoIndex.Resultado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del índice espacial de partidos contra un filtro por fuerza bruta")
+public class PartidoGeoIndexTest {
+
+    private static final int PARTIDOS = 3_000;
+    private static final int CONSULTAS = 200;
+    private static final double TAMANIO_CELDA_GRADOS = 0.005;
+    // El índice usa la proyección equirectangular; a escala de ciudad difiere de haversine en metros
+    private static final double TOLERANCIA_KM = 0.05;
+
+    private final Random random = new Random(42);
+    private final List<Entrada> entradas = new ArrayList<>();
+    private PartidoGeoIndex indice;
+    private LocalDateTime ahora;
+
+    @BeforeEach
+    void setUp() {
+        indice = new PartidoGeoIndex();
+        ahora = LocalDateTime.now();
+        Nivel[] niveles = Nivel.values();
+        for (long id = 1; id <= PARTIDOS; id++) {
+            // Unos pocos ya empezaron: la búsqueda los tiene que descartar igual que el filtro
+            LocalDateTime fechaHora = id % 50 == 0 ? ahora.minusHours(1) : ahora.plusDays(1 + id % 7);
+            Entrada entrada = entrada(id, DatosDePrueba.LATITUD + (random.nextDouble() - 0.5) * 0.4,
+                    DatosDePrueba.LONGITUD + (random.nextDouble() - 0.5) * 0.4, 1 + id % 3,
+                    niveles[(int) (id % niveles.length)], fechaHora);
+            indice.indexar(entrada);
+            entradas.add(entrada);
+        }
+    }
+
+    @Test
+    @DisplayName("Cualquier radio y filtro devuelve los mismos partidos que recorrer todos con haversine")
+    void testCoincideConFuerzaBruta() {
+        for (int i = 0; i < CONSULTAS; i++) {
+            double latitud = DatosDePrueba.LATITUD + (random.nextDouble() - 0.5) * 0.5;
+            double longitud = DatosDePrueba.LONGITUD + (random.nextDouble() - 0.5) * 0.5;
+            double radioKm = 0.2 + random.nextDouble() * 8;
+            Long deporteId = random.nextBoolean() ? null : 1L + random.nextInt(3);
+            Nivel nivel = random.nextBoolean() ? null : Nivel.values()[random.nextInt(Nivel.values().length)];
+
+            List<Resultado> todos = indice.buscarCercanos(latitud, longitud, radioKm, deporteId, nivel, PARTIDOS);
+            comparar(latitud, longitud, radioKm, fuerzaBruta(latitud, longitud, radioKm, deporteId, nivel),
+                    ids(todos), "consulta " + i);
+
+            // Top-K: los mismos que los K más cercanos del filtro, salvo empates dentro de la tolerancia
+            int limite = 1 + random.nextInt(10);
+            List<Resultado> mejores = indice.buscarCercanos(latitud, longitud, radioKm, deporteId, nivel, limite);
+            List<Entrada> esperados = fuerzaBruta(latitud, longitud, radioKm, deporteId, nivel);
+            esperados.sort(Comparator.comparingDouble(e -> haversine(latitud, longitud, e)));
+            assertEquals(Math.min(limite, esperados.size()), mejores.size(), "consulta " + i);
+            for (int k = 0; k < mejores.size(); k++) {
+                assertEquals(haversine(latitud, longitud, esperados.get(k)),
+                        haversine(latitud, longitud, mejores.get(k).entrada()), TOLERANCIA_KM, "consulta " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Un partido pegado al borde de la celda aparece desde la celda vecina")
+    void testBordeDeCelda() {
+        // Partido justo sobre la línea entre dos filas y dos columnas de celdas
+        double latitudBorde = Math.floor(DatosDePrueba.LATITUD / TAMANIO_CELDA_GRADOS) * TAMANIO_CELDA_GRADOS;
+        double longitudBorde = Math.floor(DatosDePrueba.LONGITUD / TAMANIO_CELDA_GRADOS) * TAMANIO_CELDA_GRADOS;
+        indice.limpiar();
+        indice.indexar(entrada(1L, latitudBorde, longitudBorde, 1L, Nivel.INTERMEDIO, ahora.plusDays(1)));
+
+        // Consultas a unos metros, desde cada una de las cuatro celdas que comparten la esquina
+        double delta = 0.0001;
+        Set<Long> celdas = new HashSet<>();
+        for (double dLat : new double[] { -delta, delta }) {
+            for (double dLon : new double[] { -delta, delta }) {
+                double latitud = latitudBorde + dLat;
+                double longitud = longitudBorde + dLon;
+                celdas.add(PartidoGeoIndex.celda(latitud, longitud));
+                assertEquals(Set.of(1L), ids(indice.buscarCercanos(latitud, longitud, 0.05, null, null, 5)),
+                        "desde " + latitud + ", " + longitud);
+            }
+        }
+        assertEquals(4, celdas.size());
+
+        // Y no aparece si el radio no lo alcanza, aunque esté en la celda de al lado
+        assertTrue(indice.buscarCercanos(latitudBorde + delta, longitudBorde + delta, 0.005, null, null, 5)
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Mover un partido de celda o sacarlo del índice se refleja en la búsqueda")
+    void testActualizarYRemover() {
+        Entrada original = entradas.get(0);
+        double latitud = original.latitud();
+        double longitud = original.longitud();
+
+        // Se muda a 5 km: deja de aparecer donde estaba y aparece en el lugar nuevo
+        Entrada movida = entrada(original.id(), latitud + 0.045, longitud, original.deporteId(), original.nivel(),
+                original.fechaHora());
+        indice.indexar(movida);
+        entradas.set(0, movida);
+        assertEquals(PARTIDOS, indice.size());
+        assertFalse(ids(indice.buscarCercanos(latitud, longitud, 0.5, null, null, PARTIDOS))
+                .contains(original.id()));
+        assertTrue(ids(indice.buscarCercanos(movida.latitud(), movida.longitud(), 0.5, null, null, PARTIDOS))
+                .contains(original.id()));
+        assertTrue(indice.bucket(movida.deporteId(), movida.nivel(),
+                PartidoGeoIndex.indiceBucket(movida.latitud()), PartidoGeoIndex.indiceBucket(movida.longitud()))
+                .contains(movida));
+
+        // Sacar la mitad sigue coincidiendo con el filtro sobre los que quedan
+        for (int i = 0; i < PARTIDOS / 2; i++) {
+            indice.remover(entradas.remove(entradas.size() - 1).id());
+        }
+        indice.remover(original.id());
+        entradas.remove(0);
+        assertEquals(entradas.size(), indice.size());
+        assertFalse(indice.bucket(movida.deporteId(), movida.nivel(),
+                PartidoGeoIndex.indiceBucket(movida.latitud()), PartidoGeoIndex.indiceBucket(movida.longitud()))
+                .contains(movida));
+
+        for (int i = 0; i < CONSULTAS / 4; i++) {
+            double lat = DatosDePrueba.LATITUD + (random.nextDouble() - 0.5) * 0.4;
+            double lon = DatosDePrueba.LONGITUD + (random.nextDouble() - 0.5) * 0.4;
+            comparar(lat, lon, 3, fuerzaBruta(lat, lon, 3, null, null),
+                    ids(indice.buscarCercanos(lat, lon, 3, null, null, PARTIDOS)), "consulta " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Un radio enorme o no finito y las coordenadas fuera de rango responden 400 sin recorrer el índice")
+    void testParametrosFueraDeRango() {
+        // Sin servicio: si la validación dejara pasar algo, el controller fallaría al usarlo
+        PartidoController controller = new PartidoController();
+        double latitud = DatosDePrueba.LATITUD;
+        double longitud = DatosDePrueba.LONGITUD;
+        for (double radioKm : new double[] { 0, -1, 50.01, 1e6, Double.POSITIVE_INFINITY, Double.NaN }) {
+            assertEquals(400, controller.buscarCercanos(latitud, longitud, radioKm, null, null, 20)
+                    .getStatusCode().value(), "radio " + radioKm);
+        }
+        for (double[] coordenadas : new double[][] { { 90.5, longitud }, { -91, longitud }, { latitud, 180.5 },
+                { latitud, -181 }, { Double.NaN, longitud }, { latitud, Double.NEGATIVE_INFINITY } }) {
+            assertEquals(400, controller.buscarCercanos(coordenadas[0], coordenadas[1], 5, null, null, 20)
+                    .getStatusCode().value(), coordenadas[0] + ", " + coordenadas[1]);
+        }
+
+        // El índice tampoco se cuelga si alguien lo llama directo con un radio infinito
+        assertTrue(indice.buscarCercanos(latitud, longitud, Double.POSITIVE_INFINITY, null, null, 5).isEmpty());
+        assertTrue(indice.buscarCercanos(latitud, longitud, Double.NaN, null, null, 5).isEmpty());
+    }
+
+    /**
+     * Mismos conjuntos, salvo los partidos que caen a menos de la tolerancia del borde del radio.
+     */
+    private void comparar(double latitud, double longitud, double radioKm, List<Entrada> esperados,
+                          Set<Long> obtenidos, String mensaje) {
+        Set<Long> faltantes = new HashSet<>();
+        for (Entrada entrada : esperados) {
+            if (!obtenidos.contains(entrada.id()) && haversine(latitud, longitud, entrada) < radioKm - TOLERANCIA_KM) {
+                faltantes.add(entrada.id());
+            }
+        }
+        assertEquals(Set.of(), faltantes, mensaje + ": faltan partidos dentro del radio");
+
+        Set<Long> idsEsperados = idsDe(esperados);
+        for (Entrada entrada : entradas) {
+            if (obtenidos.contains(entrada.id()) && !idsEsperados.contains(entrada.id())) {
+                assertTrue(haversine(latitud, longitud, entrada) < radioKm + TOLERANCIA_KM,
+                        mensaje + ": sobra el partido " + entrada.id());
+            }
+        }
+    }
+
+    private List<Entrada> fuerzaBruta(double latitud, double longitud, double radioKm, Long deporteId, Nivel nivel) {
+        List<Entrada> resultado = new ArrayList<>();
+        for (Entrada entrada : entradas) {
+            if ((deporteId == null || deporteId.equals(entrada.deporteId()))
+                    && (nivel == null || nivel == entrada.nivel())
+                    && entrada.fechaHora().isAfter(ahora)
+                    && haversine(latitud, longitud, entrada) <= radioKm) {
+                resultado.add(entrada);
+            }
+        }
+        return resultado;
+    }
+
+    private static double haversine(double latitud, double longitud, Entrada entrada) {
+        return PartidoGeoIndex.distanciaKm(latitud, longitud, entrada.latitud(), entrada.longitud());
+    }
+
+    private static Entrada entrada(Long id, double latitud, double longitud, Long deporteId, Nivel nivel,
+                                   LocalDateTime fechaHora) {
+        return new Entrada(id, "Partido " + id, fechaHora, latitud, longitud, deporteId, nivel, 4,
+                PartidoGeoIndex.celda(latitud, longitud));
+    }
+
+    private static Set<Long> ids(List<Resultado> resultados) {
+        Set<Long> ids = new HashSet<>();
+        for (Resultado resultado : resultados) {
+            ids.add(resultado.entrada().id());
+        }
+        return ids;
+    }
+
+    private static Set<Long> idsDe(List<Entrada> entradas) {
+        Set<Long> ids = new HashSet<>();
+        for (Entrada entrada : entradas) {
+            ids.add(entrada.id());
+        }
+        return ids;
+    }
+}
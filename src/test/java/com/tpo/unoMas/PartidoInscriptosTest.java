@@ -0,0 +1,174 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.model.estado.PartidoArmado;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.service.IPartidoService;
+import com.tpo.unoMas.service.PartidoInscriptosReconciliador;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests del contador de inscriptos de Partido")
+public class PartidoInscriptosTest {
+
+    private static final int MAX_JUGADORES = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    @Autowired
+    private PartidoInscriptosReconciliador reconciliador;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private Long partidoId;
+    private Long deporteId;
+    private List<Long> jugadorIds;
+
+    @BeforeEach
+    void setUp() {
+        DatosDePrueba.Escenario escenario = transactionTemplate.execute(status ->
+                DatosDePrueba.escenario(entityManager, "Handball", MAX_JUGADORES, 2, MAX_JUGADORES));
+        partidoId = escenario.partidoId();
+        deporteId = escenario.deporteId();
+        jugadorIds = escenario.jugadorIds();
+    }
+
+    @Test
+    @DisplayName("Altas y bajas actualizan el contador persistido en la misma transacción")
+    void testContadorSigueAlPlantel() {
+        partidoService.agregarJugador(partidoId, jugadorIds.get(0));
+        partidoService.agregarJugador(partidoId, jugadorIds.get(1));
+        partidoService.agregarJugador(partidoId, jugadorIds.get(2));
+        partidoService.removerJugador(partidoId, jugadorIds.get(1));
+
+        assertEquals(2, inscriptosGuardados());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_jugador WHERE partido_id = ?", Integer.class, partidoId));
+
+        // El cupo se resuelve con la fila sola: fuera de la sesión, el plantel ni siquiera se podría leer
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(2, partido.getCantidadJugadores());
+        assertEquals(MAX_JUGADORES - 2, partido.getPlazasLibres());
+        assertFalse(partido.estaCompleto());
+        assertEquals(0, estadisticas.getCollectionFetchCount());
+    }
+
+    @Test
+    @DisplayName("El listado trae las plazas libres en la misma fila, sin leer partido_jugador")
+    void testListadoSinLeerPlantel() {
+        partidoService.agregarJugador(partidoId, jugadorIds.get(0));
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        estadisticas.clear();
+        List<PartidoResumenDTO> partidos = partidoService.buscar(
+                new FiltroPartidos(deporteId, null, null, null, null, null), null, null, 10, false);
+
+        assertEquals(1, partidos.size());
+        assertEquals(1, partidos.get(0).getInscriptos());
+        assertEquals(MAX_JUGADORES - 1, partidos.get(0).getPlazasLibres());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getCollectionFetchCount());
+    }
+
+    @Test
+    @DisplayName("La reconciliación detecta y corrige un contador desviado")
+    void testReconciliacionCorrigeDesvio() {
+        partidoService.agregarJugador(partidoId, jugadorIds.get(0));
+        jdbcTemplate.update("UPDATE partidos SET inscriptos = 7 WHERE id = ?", partidoId);
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM partidos WHERE id = ?", Long.class, partidoId);
+        double antes = registry.counter("unomas.partidos.inscriptos.reparados").count();
+
+        assertTrue(reconciliador.reconciliar() >= 1);
+        assertEquals(1, inscriptosGuardados());
+        assertEquals(version + 1, jdbcTemplate.queryForObject(
+                "SELECT version FROM partidos WHERE id = ?", Long.class, partidoId));
+        assertTrue(registry.counter("unomas.partidos.inscriptos.reparados").count() >= antes + 1);
+        assertTrue(partidoDAO.findInscriptosDesfasados().stream().noneMatch(fila -> partidoId.equals(fila[0])));
+
+        // Con el contador corregido, el cupo vuelve a funcionar
+        for (int i = 1; i < MAX_JUGADORES; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        assertEquals(MAX_JUGADORES, inscriptosGuardados());
+        assertTrue(partidoDAO.findById(partidoId).estaCompleto());
+    }
+
+    @Test
+    @DisplayName("Si la corrección libera un lugar, la reconciliación promueve al primero de la lista de espera")
+    void testReconciliacionPromueveDesdeEspera() {
+        for (int i = 0; i < MAX_JUGADORES - 1; i++) {
+            partidoService.agregarJugador(partidoId, jugadorIds.get(i));
+        }
+        // El contador desviado da el partido por completo: el último queda en espera con un lugar libre
+        jdbcTemplate.update("UPDATE partidos SET inscriptos = ? WHERE id = ?", MAX_JUGADORES, partidoId);
+        assertEquals(1, partidoService.agregarJugador(partidoId, jugadorIds.get(MAX_JUGADORES - 1)));
+
+        assertTrue(reconciliador.reconciliar() >= 1);
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(MAX_JUGADORES, partido.getCantidadJugadores());
+        assertEquals(0, partido.getEnEspera());
+        assertEquals(MAX_JUGADORES, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_jugador WHERE partido_id = ?", Integer.class, partidoId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM partido_espera WHERE partido_id = ?", Integer.class, partidoId));
+        assertTrue(partido.getEstado() instanceof PartidoArmado);
+    }
+
+    @Test
+    @DisplayName("Si la corrección alcanza el mínimo, la reconciliación pasa el partido a PartidoArmado")
+    void testReconciliacionAplicaElMinimo() {
+        partidoService.agregarJugador(partidoId, jugadorIds.get(0));
+        // Una inscripción escrita por fuera de la entidad: el contador y el estado no se enteran
+        jdbcTemplate.update("INSERT INTO partido_jugador (partido_id, jugador_id, confirmado) VALUES (?, ?, false)",
+                partidoId, jugadorIds.get(1));
+        assertTrue(partidoDAO.findById(partidoId).getEstado() instanceof NecesitamosJugadores);
+
+        assertTrue(reconciliador.reconciliar() >= 1);
+
+        Partido partido = partidoDAO.findById(partidoId);
+        assertEquals(2, partido.getCantidadJugadores());
+        assertTrue(partido.getEstado() instanceof PartidoArmado);
+    }
+
+    private int inscriptosGuardados() {
+        return jdbcTemplate.queryForObject("SELECT inscriptos FROM partidos WHERE id = ?", Integer.class, partidoId);
+    }
+}
@@ -0,0 +1,182 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.dao.IPartidoDAO;
+import com.tpo.unoMas.service.IPartidoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Tests del mapeo del plantel de un Partido")
+public class PartidoPlantelTest {
+
+    private static final int JUGADORES = 6;
+    private static final int CONFIRMADOS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private IPartidoDAO partidoDAO;
+
+    @Autowired
+    private IPartidoService partidoService;
+
+    private Statistics estadisticas;
+    private Long partidoId;
+    private List<Long> jugadorIds;
+
+    @BeforeEach
+    void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jugadorIds = new ArrayList<>();
+
+        partidoId = transactionTemplate.execute(status -> {
+            Zona zona = DatosDePrueba.zona("Centro", DatosDePrueba.LATITUD, DatosDePrueba.LONGITUD);
+            entityManager.persist(zona);
+            Deporte deporte = DatosDePrueba.deporte("Fútbol");
+            entityManager.persist(deporte);
+
+            Jugador organizador = crearJugador("Organizador", zona);
+            Partido partido = DatosDePrueba.partido("Partido con plantel", zona, deporte, organizador, JUGADORES, 10);
+            partido.setDuracionMinutos(90);
+            entityManager.persist(partido);
+
+            List<Jugador> jugadores = new ArrayList<>();
+            for (int i = 0; i < JUGADORES; i++) {
+                Jugador jugador = crearJugador("Jugador " + i, zona);
+                partido.agregarJugador(jugador);
+                jugadores.add(jugador);
+                jugadorIds.add(jugador.getId());
+            }
+            for (int i = 0; i < CONFIRMADOS; i++) {
+                partido.confirmarAsistencia(jugadores.get(i));
+            }
+            return partido.getId();
+        });
+    }
+
+    @Test
+    @DisplayName("El detalle trae zona, deporte, jugadores y confirmados en un SELECT")
+    void testDetalleEnUnaConsulta() {
+        estadisticas.clear();
+
+        Partido partido = partidoDAO.findDetalle(partidoId);
+
+        // Fuera de la transacción: todo lo que usa el detalle ya tiene que estar cargado
+        assertEquals("Centro", partido.getZona().getBarrio());
+        assertTrue(partido.getDeporte().getNombre().startsWith("Fútbol"));
+        assertEquals(JUGADORES, partido.getJugadores().size());
+        partido.getJugadores().forEach(jugador -> assertNotNull(jugador.getNombre()));
+        assertEquals(CONFIRMADOS, partido.getJugadoresConfirmados().size());
+
+        System.out.println("SELECTs del detalle: " + estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getPrepareStatementCount(),
+                "Se ejecutaron " + estadisticas.getPrepareStatementCount() + " sentencias");
+    }
+
+    @Test
+    @DisplayName("Cada alta escribe una sola fila de unión")
+    void testUnaSolaTablaDeUnion() {
+        Number filas = (Number) transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("SELECT count(*) FROM partido_jugador WHERE partido_id = :id")
+                .setParameter("id", partidoId).getSingleResult());
+        assertEquals(JUGADORES, filas.intValue());
+
+        Number tablasViejas = (Number) transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("SELECT count(*) FROM information_schema.tables"
+                        + " WHERE lower(table_name) IN ('jugador_partidos', 'partido_jugador_confirmado')")
+                .getSingleResult());
+        assertEquals(0, tablasViejas.intValue());
+    }
+
+    @Test
+    @DisplayName("Confirmar asistencia actualiza una fila del plantel y el contador del partido")
+    void testConfirmarEsUnaFila() {
+        estadisticas.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Partido partido = entityManager.find(Partido.class, partidoId);
+            partido.confirmarAsistencia(entityManager.find(Jugador.class, jugadorIds.get(CONFIRMADOS)));
+        });
+
+        // Una fila de partido_jugador y el partido (contador y versión); nada se borra ni se reinserta
+        assertEquals(2, estadisticas.getEntityUpdateCount());
+        assertEquals(0, estadisticas.getEntityInsertCount());
+        assertEquals(0, estadisticas.getEntityDeleteCount());
+        assertEquals(0, estadisticas.getCollectionRecreateCount());
+
+        Number confirmados = (Number) transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("SELECT confirmados FROM partidos WHERE id = :id")
+                .setParameter("id", partidoId).getSingleResult());
+        assertEquals(CONFIRMADOS + 1, confirmados.intValue());
+    }
+
+    @Test
+    @DisplayName("Altas, bajas y confirmaciones leen la fila del jugador por clave sin cargar el plantel")
+    void testOperacionesSinCargarElPlantel() {
+        Long nuevoId = transactionTemplate.execute(status ->
+                crearJugador("Nuevo", entityManager.find(Partido.class, partidoId).getZona()).getId());
+        estadisticas.clear();
+
+        partidoService.confirmarAsistencia(partidoId, jugadorIds.get(CONFIRMADOS));
+        partidoService.agregarJugador(partidoId, nuevoId);
+        partidoService.removerJugador(partidoId, jugadorIds.get(0));
+
+        assertEquals(0, estadisticas.getCollectionLoadCount(),
+                "Se cargaron " + estadisticas.getCollectionLoadCount() + " colecciones");
+        Number filas = (Number) transactionTemplate.execute(status -> entityManager
+                .createNativeQuery("SELECT count(*) FROM partido_jugador WHERE partido_id = :id")
+                .setParameter("id", partidoId).getSingleResult());
+        assertEquals(JUGADORES, filas.intValue());
+
+        Partido partido = partidoDAO.findDetalle(partidoId);
+        assertEquals(JUGADORES, partido.getCantidadJugadores());
+        assertEquals(CONFIRMADOS, partido.getConfirmados());
+        assertTrue(partido.getJugadores().stream().anyMatch(jugador -> jugador.getId().equals(nuevoId)));
+        assertTrue(partido.getJugadores().stream().noneMatch(jugador -> jugador.getId().equals(jugadorIds.get(0))));
+    }
+
+    @Test
+    @DisplayName("Los partidos de varios jugadores se cargan en lote desde el lado inverso")
+    void testPartidosParticipadosEnLote() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Jugador> jugadores = entityManager
+                    .createQuery("FROM Jugador j WHERE j.id IN :ids", Jugador.class)
+                    .setParameter("ids", jugadorIds).getResultList();
+
+            estadisticas.clear();
+            for (Jugador jugador : jugadores) {
+                assertEquals(1, jugador.getPartidosParticipados().size());
+                assertEquals(partidoId, jugador.getPartidosParticipados().iterator().next().getId());
+            }
+
+            assertEquals(1, estadisticas.getPrepareStatementCount());
+        });
+    }
+
+    private Jugador crearJugador(String nombre, Zona zona) {
+        Jugador jugador = DatosDePrueba.jugador(nombre, zona);
+        entityManager.persist(jugador);
+        return jugador;
+    }
+}
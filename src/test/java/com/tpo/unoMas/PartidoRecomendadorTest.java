@@ -0,0 +1,178 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.controller.PartidoController;
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.service.PartidoGeoIndex;
+import com.tpo.unoMas.service.PartidoGeoIndex.Entrada;
+import com.tpo.unoMas.service.PartidoRecomendador;
+import com.tpo.unoMas.service.PartidoRecomendador.Perfil;
+import com.tpo.unoMas.service.PartidoRecomendador.Preferencia;
+import com.tpo.unoMas.service.PartidoRecomendador.Recomendacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests del recomendador de partidos contra el puntaje exhaustivo")
+public class PartidoRecomendadorTest {
+
+    private static final int PARTIDOS = 2_000;
+    private static final int DEPORTES = 5;
+    private static final int PERFILES = 300;
+
+    // Los pesos del puntaje, escritos de nuevo: si el recomendador los cambia, el test lo nota
+    private static final double PESO_DEPORTE = 0.35;
+    private static final double PESO_NIVEL = 0.25;
+    private static final double PESO_DISTANCIA = 0.25;
+    private static final double PESO_HORARIO = 0.15;
+    private static final long HORIZONTE_SEGUNDOS = Duration.ofDays(7).toSeconds();
+    // El recomendador mide con la proyección equirectangular y el test con haversine
+    private static final double TOLERANCIA = 1e-4;
+
+    private final Random random = new Random(7);
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final LocalDateTime ahora = LocalDateTime.of(2030, 3, 1, 12, 0);
+    private PartidoRecomendador recomendador;
+
+    @BeforeEach
+    void setUp() {
+        PartidoGeoIndex indice = new PartidoGeoIndex();
+        for (long id = 1; id <= PARTIDOS; id++) {
+            double latitud = DatosDePrueba.LATITUD + (random.nextDouble() - 0.5) * 0.3;
+            double longitud = DatosDePrueba.LONGITUD + (random.nextDouble() - 0.5) * 0.3;
+            // Algunos ya empezaron y otros caen más allá del horizonte de horario
+            LocalDateTime fechaHora = ahora.plusMinutes(random.nextInt(14 * 24 * 60) - 12 * 60);
+            Entrada entrada = new Entrada(id, "Partido " + id, fechaHora, latitud, longitud,
+                    1L + random.nextInt(DEPORTES), Nivel.values()[random.nextInt(Nivel.values().length)], 3,
+                    PartidoGeoIndex.celda(latitud, longitud));
+            indice.indexar(entrada);
+            entradas.put(id, entrada);
+        }
+        recomendador = new PartidoRecomendador(indice);
+    }
+
+    @Test
+    @DisplayName("El top-K con poda por cota coincide con puntuar todos los partidos")
+    void testPodaCoincideConPuntajeExhaustivo() {
+        for (int i = 0; i < PERFILES; i++) {
+            Perfil perfil = perfilAlAzar();
+            double radioKm = 1 + random.nextDouble() * 14;
+            int limite = 1 + random.nextInt(20);
+            Set<Long> excluidos = new HashSet<>();
+            for (int j = 0; j < PARTIDOS / 20; j++) {
+                excluidos.add(1L + random.nextInt(PARTIDOS));
+            }
+
+            List<Recomendacion> podadas = recomendador.recomendar(perfil, radioKm, limite, excluidos, ahora);
+            List<Double> exhaustivo = puntajesExhaustivos(perfil, radioKm, excluidos);
+            String mensaje = "perfil " + i + " " + perfil + " radio " + radioKm + " límite " + limite;
+
+            assertEquals(Math.min(limite, exhaustivo.size()), podadas.size(), mensaje);
+            for (int k = 0; k < podadas.size(); k++) {
+                Recomendacion recomendacion = podadas.get(k);
+                // Mismo puntaje en cada puesto: con empates puede cambiar el partido, no el ranking
+                assertEquals(exhaustivo.get(k), recomendacion.puntaje(), TOLERANCIA, mensaje + " puesto " + k);
+                assertFalse(excluidos.contains(recomendacion.entrada().id()), mensaje);
+                assertEquals(puntaje(perfil, radioKm, recomendacion.entrada()), recomendacion.puntaje(), TOLERANCIA,
+                        mensaje + " partido " + recomendacion.entrada().id());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Un deporte cargado dos veces puntúa con la mejor de sus preferencias, sin repetir partidos")
+    void testDeporteRepetido() {
+        Perfil perfil = new Perfil(DatosDePrueba.LATITUD, DatosDePrueba.LONGITUD, List.of(
+                new Preferencia(1L, Nivel.PRINCIPIANTE, false), new Preferencia(1L, Nivel.AVANZADO, true)));
+
+        List<Recomendacion> podadas = recomendador.recomendar(perfil, 10, 50, Set.of(), ahora);
+        List<Double> exhaustivo = puntajesExhaustivos(perfil, 10, Set.of());
+        assertEquals(Math.min(50, exhaustivo.size()), podadas.size());
+        Set<Long> ids = new HashSet<>();
+        for (int k = 0; k < podadas.size(); k++) {
+            assertTrue(ids.add(podadas.get(k).entrada().id()));
+            assertEquals(exhaustivo.get(k), podadas.get(k).puntaje(), TOLERANCIA);
+        }
+    }
+
+    @Test
+    @DisplayName("Un radio enorme o no finito responde 400 antes de armar un solo grupo")
+    void testRadioFueraDeRango() {
+        // Sin servicio: si la validación dejara pasar el radio, el controller fallaría al usarlo
+        PartidoController controller = new PartidoController();
+        for (double radioKm : new double[] { 0, -3, 50.01, 1e6, Double.POSITIVE_INFINITY, Double.NaN }) {
+            assertEquals(400, controller.recomendar(1L, radioKm, 20).getStatusCode().value(), "radio " + radioKm);
+        }
+
+        Perfil perfil = perfilAlAzar();
+        assertTrue(recomendador.recomendar(perfil, Double.POSITIVE_INFINITY, 10, Set.of(), ahora).isEmpty());
+        assertTrue(recomendador.recomendar(perfil, Double.NaN, 10, Set.of(), ahora).isEmpty());
+    }
+
+    private Perfil perfilAlAzar() {
+        List<Preferencia> preferencias = new ArrayList<>();
+        int cantidad = 1 + random.nextInt(3);
+        for (int j = 0; j < cantidad; j++) {
+            preferencias.add(new Preferencia(1L + random.nextInt(DEPORTES),
+                    Nivel.values()[random.nextInt(Nivel.values().length)], random.nextBoolean()));
+        }
+        return new Perfil(DatosDePrueba.LATITUD + (random.nextDouble() - 0.5) * 0.3,
+                DatosDePrueba.LONGITUD + (random.nextDouble() - 0.5) * 0.3, preferencias);
+    }
+
+    /**
+     * Puntúa todos los partidos, sin índice ni cotas, y devuelve los puntajes de mayor a menor.
+     */
+    private List<Double> puntajesExhaustivos(Perfil perfil, double radioKm, Set<Long> excluidos) {
+        List<Double> puntajes = new ArrayList<>();
+        for (Entrada entrada : entradas.values()) {
+            if (excluidos.contains(entrada.id())) {
+                continue;
+            }
+            Double puntaje = puntaje(perfil, radioKm, entrada);
+            if (puntaje != null) {
+                puntajes.add(puntaje);
+            }
+        }
+        puntajes.sort((a, b) -> Double.compare(b, a));
+        return puntajes;
+    }
+
+    /**
+     * Puntaje del partido para el perfil, o null si no es recomendable.
+     */
+    private Double puntaje(Perfil perfil, double radioKm, Entrada entrada) {
+        long faltan = Duration.between(ahora, entrada.fechaHora()).toSeconds();
+        double distancia = PartidoGeoIndex.distanciaKm(perfil.latitud(), perfil.longitud(), entrada.latitud(),
+                entrada.longitud());
+        if (faltan <= 0 || distancia > radioKm) {
+            return null;
+        }
+
+        Double mejor = null;
+        for (Preferencia preferencia : perfil.preferencias()) {
+            int diferencia = Math.abs(preferencia.nivel().ordinal() - entrada.nivel().ordinal());
+            if (!preferencia.deporteId().equals(entrada.deporteId()) || diferencia > 1) {
+                continue;
+            }
+
+            double puntaje = PESO_DEPORTE * (preferencia.favorito() ? 1.0 : 0.6)
+                    + PESO_NIVEL * (1 - diferencia / (double) (Nivel.values().length - 1))
+                    + PESO_DISTANCIA * (1 - distancia / radioKm)
+                    + PESO_HORARIO * (1 - (double) Math.min(faltan, HORIZONTE_SEGUNDOS) / HORIZONTE_SEGUNDOS);
+            mejor = mejor == null ? puntaje : Math.max(mejor, puntaje);
+        }
+        return mejor;
+    }
+}
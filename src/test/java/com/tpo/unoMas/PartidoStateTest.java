@@ -2,12 +2,15 @@ package com.tpo.unoMas;
 
 import com.tpo.unoMas.model.*;
 import com.tpo.unoMas.model.estado.*;
+import com.tpo.unoMas.model.evento.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 @DisplayName("Tests del Patrón State en Partido")
 public class PartidoStateTest {
@@ -123,6 +126,35 @@ public class PartidoStateTest {
         assertEquals(1, partido.getJugadores().size());
     }
 
+    @Test
+    @DisplayName("Las transiciones y los cambios de plantel quedan registrados como eventos")
+    void testRegistraEventos() {
+        System.out.println("\n=== TEST: Eventos registrados ===");
+
+        organizador.setTokenFCM("token-org");
+        jugador1.setTokenFCM("token-1");
+        partido.agregarJugador(jugador1);
+        partido.agregarJugador(jugador2);
+        partido.confirmarAsistencia(jugador1);
+        partido.removerJugador(jugador2);
+        partido.cancelar();
+
+        List<EventoPartido> eventos = partido.tomarEventos();
+        System.out.println("Eventos: " + eventos);
+        assertEquals(List.of("JUGADOR_AGREGADO", "JUGADOR_AGREGADO", "ESTADO_CAMBIADO", "ASISTENCIA_CONFIRMADA",
+                "JUGADOR_REMOVIDO", "ESTADO_CAMBIADO", "ESTADO_CAMBIADO"),
+                eventos.stream().map(EventoPartido::tipo).toList());
+
+        CambioEstadoPartido armado = (CambioEstadoPartido) eventos.get(2);
+        assertSame(NecesitamosJugadores.INSTANCIA, armado.anterior());
+        assertSame(PartidoArmado.INSTANCIA, armado.nuevo());
+
+        CambioEstadoPartido cancelado = (CambioEstadoPartido) eventos.get(6);
+        assertSame(Cancelado.INSTANCIA, cancelado.nuevo());
+        assertEquals(Set.of("token-org", "token-1"), cancelado.tokensFCM());
+        assertTrue(partido.tomarEventos().isEmpty());
+    }
+
     @Test
     @DisplayName("Transición de PartidoArmado a Confirmado")
     void testTransicionAConfirmado() {
@@ -252,7 +284,7 @@ public class PartidoStateTest {
         
         // Intentar confirmar sin tener jugadores suficientes
         assertThrows(IllegalStateException.class, () -> {
-            EstadoPartido estado = new NecesitamosJugadores();
+            EstadoPartido estado = NecesitamosJugadores.INSTANCIA;
             estado.confirmarPartido(partido);
         });
         System.out.println("✓ Excepción correcta al intentar confirmar sin jugadores suficientes");
@@ -0,0 +1,132 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.config.ClavesJwt;
+import com.tpo.unoMas.config.JwtAuthFilter;
+import com.tpo.unoMas.config.ListaRevocacion;
+import com.tpo.unoMas.model.entity.TokensDTO;
+import com.tpo.unoMas.service.TokenService;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests de claves JWT, refresh tokens y revocación")
+public class TokensJwtTest {
+
+    private final SecretKey clave1 = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final SecretKey clave2 = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final ListaRevocacion revocados = new ListaRevocacion(60_000);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Al rotar la clave activa los tokens firmados con la anterior siguen valiendo")
+    void testRotacionDeClaves() throws Exception {
+        ClavesJwt antes = new ClavesJwt(Map.of("k1", clave1), "k1");
+        String token = servicio(antes).emitir("ana").getAccessToken();
+
+        ClavesJwt durante = ClavesJwt.desdeConfiguracion(
+                "k1:" + base64(clave1) + ", k2:" + base64(clave2), "k2");
+        String nuevo = servicio(durante).emitir("ana").getAccessToken();
+        assertEquals("ana", autenticar(new JwtAuthFilter(durante, revocados), token));
+        assertEquals("ana", autenticar(new JwtAuthFilter(durante, revocados), nuevo));
+
+        // Quitada k1, sus tokens dejan de valer; los de k2 no
+        ClavesJwt despues = new ClavesJwt(Map.of("k2", clave2), "k2");
+        assertNull(autenticar(new JwtAuthFilter(despues, revocados), token));
+        assertEquals("ana", autenticar(new JwtAuthFilter(despues, revocados), nuevo));
+
+        assertThrows(IllegalArgumentException.class, () -> new ClavesJwt(Map.of("k1", clave1), "k2"));
+    }
+
+    @Test
+    @DisplayName("Cada refresh token sirve una vez y no sirve como token de acceso")
+    void testRefreshTokenDeUnSoloUso() throws Exception {
+        ClavesJwt claves = new ClavesJwt(Map.of("k1", clave1), "k1");
+        TokenService servicio = servicio(claves);
+        JwtAuthFilter filtro = new JwtAuthFilter(claves, revocados);
+
+        TokensDTO tokens = servicio.emitir("ana");
+        assertNull(autenticar(filtro, tokens.getRefreshToken()));
+        assertThrows(JwtException.class, () -> servicio.refrescar(tokens.getAccessToken()));
+
+        TokensDTO renovados = servicio.refrescar(tokens.getRefreshToken());
+        assertEquals("ana", autenticar(filtro, renovados.getAccessToken()));
+        assertThrows(JwtException.class, () -> servicio.refrescar(tokens.getRefreshToken()));
+        assertNotNull(servicio.refrescar(renovados.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("Un token revocado se rechaza aunque ya esté en la cache del filtro")
+    void testLogoutRevocaTokenCacheado() throws Exception {
+        ClavesJwt claves = new ClavesJwt(Map.of("k1", clave1), "k1");
+        TokenService servicio = servicio(claves);
+        JwtAuthFilter filtro = new JwtAuthFilter(claves, revocados);
+        TokensDTO tokens = servicio.emitir("ana");
+
+        assertEquals("ana", autenticar(filtro, tokens.getAccessToken()));
+
+        servicio.revocar(tokens.getAccessToken());
+        servicio.revocar(tokens.getRefreshToken());
+
+        assertNull(autenticar(filtro, tokens.getAccessToken()));
+        assertThrows(JwtException.class, () -> servicio.refrescar(tokens.getRefreshToken()));
+        assertEquals(2, revocados.size());
+    }
+
+    @Test
+    @DisplayName("Los buckets de la lista de revocación se descartan al vencer sus tokens")
+    void testBucketsVencen() {
+        ListaRevocacion lista = new ListaRevocacion(1_000);
+        long ahora = 1_000_000;
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(lista.revocar("t" + i, ahora + 500 + i * 100, ahora));
+        }
+        assertFalse(lista.revocar("t0", ahora + 500, ahora));
+        assertFalse(lista.revocar("vencido", ahora - 1, ahora));
+        assertEquals(100, lista.size());
+        assertTrue(lista.estaRevocado("t50", ahora + 500 + 50 * 100, ahora));
+
+        // A los 5 s vencieron los primeros ~45 tokens y sus buckets ya no existen
+        assertFalse(lista.estaRevocado("t0", ahora + 500, ahora + 5_000));
+        assertTrue(lista.estaRevocado("t99", ahora + 500 + 99 * 100, ahora + 5_000));
+        assertTrue(lista.size() < 100 && lista.size() > 50, "quedaron " + lista.size());
+
+        lista.estaRevocado("t99", ahora + 500 + 99 * 100, ahora + 20_000);
+        assertEquals(0, lista.size());
+    }
+
+    private TokenService servicio(ClavesJwt claves) {
+        return new TokenService(claves, revocados, 15, 24);
+    }
+
+    private static String autenticar(JwtAuthFilter filtro, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/partidos");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth == null ? null : (String) auth.getPrincipal();
+    }
+
+    private static String base64(SecretKey clave) {
+        return Base64.getEncoder().encodeToString(clave.getEncoded());
+    }
+}
@@ -0,0 +1,92 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.config.ClavesJwt;
+import com.tpo.unoMas.config.ListaRevocacion;
+import com.tpo.unoMas.model.entity.TokensDTO;
+import com.tpo.unoMas.service.TokenService;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DisplayName("Tests de la persistencia de los tokens revocados")
+public class TokensRevocadosTest {
+
+    private static final long ANCHO_BUCKET_MILLIS = 60_000;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private ClavesJwt claves;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Un refresh token revocado o ya usado sigue rechazado después de un reinicio")
+    void testRevocacionSobreviveAlReinicio() {
+        TokensDTO deslogueado = tokenService.emitir("ana");
+        tokenService.revocar(deslogueado.getRefreshToken());
+        TokensDTO rotado = tokenService.emitir("ana");
+        tokenService.refrescar(rotado.getRefreshToken());
+        TokensDTO vigente = tokenService.emitir("ana");
+
+        // Un nodo nuevo arranca con la lista vacía y la carga desde la tabla
+        TokenService reiniciado = nodo();
+        reiniciado.cargarRevocados();
+
+        assertThrows(JwtException.class, () -> reiniciado.refrescar(deslogueado.getRefreshToken()));
+        assertThrows(JwtException.class, () -> reiniciado.refrescar(rotado.getRefreshToken()));
+        assertNotNull(reiniciado.refrescar(vigente.getRefreshToken()).getAccessToken());
+    }
+
+    @Test
+    @DisplayName("Un refresh token usado en un nodo no sirve en otro que ya había arrancado")
+    void testRefreshDeUnSoloUsoEntreNodos() {
+        TokenService otroNodo = nodo();
+        otroNodo.cargarRevocados();
+
+        TokensDTO tokens = tokenService.emitir("ana");
+        assertNotNull(tokenService.refrescar(tokens.getRefreshToken()).getAccessToken());
+        assertThrows(JwtException.class, () -> otroNodo.refrescar(tokens.getRefreshToken()));
+    }
+
+    @Test
+    @DisplayName("La purga borra de la tabla los tokens de buckets anteriores al actual y deja los vigentes")
+    void testPurgaPorBucket() {
+        long ahora = System.currentTimeMillis();
+        long inicioBucket = ahora / ANCHO_BUCKET_MILLIS * ANCHO_BUCKET_MILLIS;
+        String vencido = UUID.randomUUID().toString();
+        jdbcTemplate.update("INSERT INTO tokens_revocados (jti, expiracion) VALUES (?, ?)", vencido, inicioBucket - 1);
+        TokensDTO tokens = tokenService.emitir("ana");
+        tokenService.revocar(tokens.getRefreshToken());
+
+        tokenService.purgarRevocados();
+
+        assertEquals(0, contar(vencido));
+        String jti = claves.parser().parseClaimsJws(tokens.getRefreshToken()).getBody().getId();
+        assertEquals(1, contar(jti));
+    }
+
+    private TokenService nodo() {
+        TokenService nodo = new TokenService(claves, new ListaRevocacion(ANCHO_BUCKET_MILLIS), 15, 168);
+        beanFactory.autowireBean(nodo);
+        return nodo;
+    }
+
+    private int contar(String jti) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tokens_revocados WHERE jti = ?", Integer.class, jti);
+    }
+}
@@ -0,0 +1,127 @@
+package com.tpo.unoMas;
+
+import com.tpo.unoMas.model.entity.TransferenciaDTO;
+import com.tpo.unoMas.service.TransferenciaClientesService;
+import com.tpo.unoMas.service.TransferenciaClientesService.Formato;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "unomas.clientes.transferencia.tamanio-lote=7")
+@DisplayName("Tests de importación y exportación masiva de clientes")
+public class TransferenciaClientesTest {
+
+    @Autowired
+    private TransferenciaClientesService transferenciaService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String dominio;
+
+    @BeforeEach
+    void setUp() {
+        dominio = UUID.randomUUID() + ".com";
+    }
+
+    @Test
+    @DisplayName("El CSV se importa por lotes y las filas inválidas se informan con su línea")
+    void testImportarCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("email,nombre,apellido\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append("c").append(i).append('@').append(dominio).append(",Nombre ").append(i).append(",Apellido\n");
+        }
+        csv.append("\"d@").append(dominio).append("\",\"Pérez, Juan\",\"O\"\"Brien\"\n");
+        csv.append("sin-arroba,Ana,Gómez\n");
+        csv.append("e@").append(dominio).append(",,Gómez\n");
+        csv.append("f@").append(dominio).append(",\"sin cerrar,Gómez\n");
+
+        TransferenciaDTO resumen = transferenciaService.importar(entrada(csv.toString()), Formato.CSV);
+
+        assertEquals("TERMINADA", resumen.getEstado());
+        assertEquals(24, resumen.getProcesadas());
+        assertEquals(21, resumen.getTransferidas());
+        assertEquals(3, resumen.getRechazadas());
+        assertTrue(resumen.getErrores().get(0).startsWith("línea 23: email inválido"), resumen.getErrores().toString());
+        assertTrue(resumen.getErrores().get(1).startsWith("línea 24: nombre vacío"));
+        assertTrue(resumen.getErrores().get(2).startsWith("línea 25: comillas sin cerrar"));
+        assertEquals(21, contarClientes());
+
+        String apellido = (String) transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT c.apellido FROM Cliente c WHERE c.email = :email")
+                .setParameter("email", "d@" + dominio).getSingleResult());
+        assertEquals("O\"Brien", apellido);
+        assertTrue(transferenciaService.listar().stream().anyMatch(t -> t.getId() == resumen.getId()));
+    }
+
+    @Test
+    @DisplayName("Un encabezado CSV sin las columnas requeridas no importa nada")
+    void testEncabezadoInvalido() {
+        String csv = "nombre,apellido\nAna,Gómez\n";
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transferenciaService.importar(entrada(csv), Formato.CSV));
+        assertEquals("FALLIDA", transferenciaService.listar().get(0).getEstado());
+    }
+
+    @Test
+    @DisplayName("Lo exportado en CSV y NDJSON se vuelve a importar igual")
+    void testExportarEImportar() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 15; i++) {
+            ndjson.append("{\"nombre\":\"N").append(i).append("\",\"apellido\":\"Díaz, \\\"el ").append(i)
+                    .append("\\\"\",\"email\":\"n").append(i).append('@').append(dominio).append("\"}\n");
+        }
+        ndjson.append("{no es json}\n");
+
+        TransferenciaDTO importacion = transferenciaService.importar(entrada(ndjson.toString()), Formato.NDJSON);
+        assertEquals(15, importacion.getTransferidas());
+        assertEquals(List.of("línea 16: JSON inválido"), importacion.getErrores());
+
+        for (Formato formato : Formato.values()) {
+            ByteArrayOutputStream salida = new ByteArrayOutputStream();
+            transferenciaService.exportar(salida, formato);
+            List<String> propias = Arrays.stream(salida.toString(StandardCharsets.UTF_8).split("\n"))
+                    .filter(linea -> linea.contains("@" + dominio)).toList();
+            assertEquals(15, propias.size(), formato.name());
+
+            String reimportar = (formato == Formato.CSV ? "nombre,apellido,email\n" : "")
+                    + String.join("\n", propias).replace("@" + dominio, "@" + formato.name() + dominio);
+            TransferenciaDTO reimportacion = transferenciaService.importar(entrada(reimportar), formato);
+            assertEquals(15, reimportacion.getTransferidas(), formato.name());
+            assertEquals(0, reimportacion.getRechazadas(), formato.name());
+        }
+
+        Number conComillas = (Number) transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT count(c) FROM Cliente c WHERE c.apellido = 'Díaz, \"el 3\"'")
+                .getSingleResult());
+        assertEquals(3, conComillas.intValue());
+    }
+
+    private long contarClientes() {
+        return transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT count(c) FROM Cliente c WHERE c.email LIKE :dominio", Long.class)
+                .setParameter("dominio", "%@" + dominio).getSingleResult());
+    }
+
+    private static InputStream entrada(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
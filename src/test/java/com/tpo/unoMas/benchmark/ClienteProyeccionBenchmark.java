@@ -0,0 +1,96 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.ClienteDTO;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de 10k clientes: entidades administradas + copia manual a ClienteDTO (como hacía
+ * ClienteController.convertToDTO) contra la proyección "select new ClienteDTO(...)".
+ * Con el GCProfiler, gc.alloc.rate.norm muestra los bytes asignados por lectura.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClienteProyeccionBenchmark {
+
+    @Param({"10000"})
+    public int filas;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Cliente.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:clientes;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", "500")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < filas; i++) {
+                session.persist(new Cliente("Nombre" + i, "Apellido" + i, "cliente" + i + "@test.com", new Date()));
+                if (i % 500 == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<ClienteDTO> entidadesMasCopia() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            // Mismo orden que la proyección: sin él se compararía una consulta sin sort contra una con sort
+            List<Cliente> clientes = session.createQuery("from Cliente c order by c.id", Cliente.class).getResultList();
+            List<ClienteDTO> clienteDTOs = new ArrayList<>();
+            for (Cliente cliente : clientes) {
+                clienteDTOs.add(new ClienteDTO(cliente.getNombre(), cliente.getApellido(), cliente.getEmail()));
+            }
+            session.getTransaction().commit();
+            return clienteDTOs;
+        }
+    }
+
+    @Benchmark
+    public List<ClienteDTO> proyeccionDTO() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            List<ClienteDTO> clienteDTOs = session.createQuery(
+                    "select new com.tpo.unoMas.model.entity.ClienteDTO(c.id, c.nombre, c.apellido, c.email) from Cliente c order by c.id",
+                    ClienteDTO.class).getResultList();
+            session.getTransaction().commit();
+            return clienteDTOs;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ClienteProyeccionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,80 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.evento.JugadorAgregado;
+import com.tpo.unoMas.service.EventoBus;
+import com.tpo.unoMas.service.EventoDePartido;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de publicar un evento desde 4 hilos productores con dos suscriptores activos,
+ * frente a una ArrayBlockingQueue (con lock) de la misma capacidad drenada por un hilo.
+ * Los dos esperan lugar si se llenan, como el bus con contrapresión.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class EventoBusBenchmark {
+
+    private static final int CAPACIDAD = 65536;
+
+    private EventoBus bus;
+    private ArrayBlockingQueue<EventoDePartido> cola;
+    private Thread drenador;
+    private volatile boolean activo;
+    private EventoDePartido evento;
+
+    @Setup
+    public void setUp() {
+        evento = new EventoDePartido(1L, new JugadorAgregado(1L, LocalDateTime.now()));
+
+        bus = new EventoBus(new SimpleMeterRegistry(), CAPACIDAD);
+        bus.suscribir("a", e -> { });
+        bus.suscribir("b", e -> { });
+
+        activo = true;
+        cola = new ArrayBlockingQueue<>(CAPACIDAD);
+        drenador = new Thread(() -> {
+            while (activo) {
+                try {
+                    cola.poll(1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        drenador.setDaemon(true);
+        drenador.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        activo = false;
+        bus.detener();
+    }
+
+    @Benchmark
+    public boolean ringBuffer() {
+        return bus.publicar(evento);
+    }
+
+    @Benchmark
+    public void arrayBlockingQueue() throws InterruptedException {
+        cola.put(evento);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventoBusBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.config.ClavesJwt;
+import com.tpo.unoMas.config.JwtAuthFilter;
+import com.tpo.unoMas.config.ListaRevocacion;
+import com.tpo.unoMas.config.TokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el camino anterior de JwtAuthFilter (dos parsers nuevos y dos verificaciones por request)
+ * contra el actual, con y sin cache de tokens verificados.
+ *
+ * Ejecutar con: mvn test-compile y luego org.openjdk.jmh.Main JwtAuthFilterBenchmark
+ * (o directamente el main de esta clase).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private String token;
+    private OncePerRequestFilter filtroAnterior;
+    private JwtAuthFilter filtroSinCache;
+    private JwtAuthFilter filtroConCache;
+
+    @Setup
+    public void setUp() {
+        SecretKey secretKey = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+        ClavesJwt claves = new ClavesJwt(Map.of("k1", secretKey), "k1");
+        ListaRevocacion revocados = new ListaRevocacion(60_000);
+        token = claves.firmar(Jwts.builder().setSubject("usuario").setId(UUID.randomUUID().toString())
+                .claim(ClavesJwt.CLAIM_TIPO, ClavesJwt.TIPO_ACCESO).setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60 * 60 * 1000)));
+
+        filtroAnterior = new FiltroAnterior(secretKey);
+        filtroSinCache = new JwtAuthFilter(claves, revocados, new TokenCache(0, 0));
+        filtroConCache = new JwtAuthFilter(claves, revocados);
+    }
+
+    @Benchmark
+    public Object filtroAnterior() throws Exception {
+        return filtrar(filtroAnterior);
+    }
+
+    @Benchmark
+    public Object filtroNuevoSinCache() throws Exception {
+        return filtrar(filtroSinCache);
+    }
+
+    @Benchmark
+    public Object filtroNuevoConCache() throws Exception {
+        return filtrar(filtroConCache);
+    }
+
+    private Object filtrar(OncePerRequestFilter filtro) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/clientes/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), CHAIN);
+
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+
+    /**
+     * Copia del filtro tal como estaba antes: construye un parser en validateToken
+     * y otro en extractUsernameFromToken, verificando la firma dos veces.
+     */
+    static class FiltroAnterior extends OncePerRequestFilter {
+
+        private final SecretKey secretKey;
+
+        FiltroAnterior(SecretKey secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws java.io.IOException, jakarta.servlet.ServletException {
+            String bearerToken = request.getHeader("Authorization");
+            String token = bearerToken != null && bearerToken.startsWith("Bearer ") ? bearerToken.substring(7) : null;
+
+            if (token != null && validateToken(token)) {
+                Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+                String username = claims.getSubject();
+
+                if (username != null) {
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                            username, null, null);
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                }
+            }
+
+            filterChain.doFilter(request, response);
+        }
+
+        private boolean validateToken(String token) {
+            try {
+                Date expiration = Jwts.parserBuilder().setSigningKey(secretKey).build()
+                        .parseClaimsJws(token).getBody().getExpiration();
+                return expiration != null && !expiration.before(new Date());
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
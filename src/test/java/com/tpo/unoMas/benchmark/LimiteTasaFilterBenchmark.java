@@ -0,0 +1,99 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.config.LimiteTasaFilter;
+import com.tpo.unoMas.config.PoliticaLimite;
+import com.tpo.unoMas.config.TokenCache;
+import com.tpo.unoMas.config.TokenVerificado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de LimiteTasaFilter por request: el camino admitido con clientes por IP (100k IPs
+ * distintas, así el mapa trabaja con un tamaño realista y sin hits de cache de CPU gratis),
+ * por usuario (lookup en la TokenCache), y el rechazo con 429. La línea base pasa el mismo
+ * request directo a la cadena; la diferencia es el overhead del filtro.
+ *
+ * Ejecutar con: mvn -Pbenchmark verify -Djmh.incluir=LimiteTasaFilterBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LimiteTasaFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+    private static final int IPS = 100_000;
+
+    private LimiteTasaFilter filtro;
+    private MockHttpServletRequest[] porIp;
+    private MockHttpServletRequest porUsuario;
+    private MockHttpServletRequest limitado;
+    private MockHttpServletResponse response;
+    private int siguiente;
+
+    @Setup
+    public void setUp() {
+        TokenCache tokenCache = new TokenCache(60 * 60 * 1000, 10_000);
+        long ahora = System.currentTimeMillis();
+        tokenCache.put("token-ana", new TokenVerificado("ana", "jti", ahora + 60 * 60 * 1000), ahora);
+
+        // Tasas altas en /api para que el camino medido sea el admitido; /auth/login se agota enseguida
+        filtro = new LimiteTasaFilter(PoliticaLimite.desdeConfiguracion(
+                "POST /auth/login 1/3600 1, * /api/clientes 1000000000/1 1000000, * /api 1000000000/1 1000000"),
+                IPS * 2, tokenCache, new SimpleMeterRegistry());
+
+        porIp = new MockHttpServletRequest[IPS];
+        for (int i = 0; i < IPS; i++) {
+            porIp[i] = new MockHttpServletRequest("GET", "/api/partidos");
+            porIp[i].setRemoteAddr("10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+        }
+        porUsuario = new MockHttpServletRequest("GET", "/api/clientes/1");
+        porUsuario.addHeader("Authorization", "Bearer token-ana");
+        limitado = new MockHttpServletRequest("POST", "/auth/login");
+        limitado.setRemoteAddr("10.9.9.9");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object sinFiltro() throws Exception {
+        MockHttpServletRequest request = porIp[siguiente];
+        siguiente = (siguiente + 1) % IPS;
+        CHAIN.doFilter(request, response);
+        return request;
+    }
+
+    @Benchmark
+    public Object admitidaPorIp() throws Exception {
+        MockHttpServletRequest request = porIp[siguiente];
+        siguiente = (siguiente + 1) % IPS;
+        filtro.doFilter(request, response, CHAIN);
+        return request;
+    }
+
+    @Benchmark
+    public Object admitidaPorUsuario() throws Exception {
+        filtro.doFilter(porUsuario, response, CHAIN);
+        return porUsuario;
+    }
+
+    @Benchmark
+    public Object rechazada() throws Exception {
+        MockHttpServletResponse rechazo = new MockHttpServletResponse();
+        filtro.doFilter(limitado, rechazo, CHAIN);
+        return rechazo;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LimiteTasaFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.*;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta y baja de un jugador en cada EstadoPartido (N, A, C, J, F, X). En los estados que rechazan
+ * el cambio se mide el camino de la excepción; en los que lo aceptan, la operación se deshace con
+ * los métodos internos y se restaura el estado para que cada invocación parta del mismo plantel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PartidoBenchmark {
+
+    private static final int MIN_JUGADORES = 10;
+    private static final int MAX_JUGADORES = 22;
+
+    @Param({"N", "A", "C", "J", "F", "X"})
+    public String estado;
+
+    private EstadoPartido estadoInicial;
+    private Partido partido;
+    private Jugador inscripto;
+    private Jugador nuevo;
+
+    @Setup
+    public void setUp() {
+        estadoInicial = EstadoPartido.desdeCodigo(estado.charAt(0));
+        Zona zona = zona();
+
+        // Con menos del mínimo en N; con un plantel intermedio en el resto
+        int inscriptos = estadoInicial.getCodigo() == 'N' ? MIN_JUGADORES / 2 : (MIN_JUGADORES + MAX_JUGADORES) / 2;
+        partido = partido(zona);
+        for (int i = 0; i < inscriptos; i++) {
+            partido.agregarJugadorInterno(jugador(i, zona));
+        }
+        inscripto = partido.getInscripciones().iterator().next().getJugador();
+        nuevo = jugador(-1, zona);
+        partido.setEstado(estadoInicial);
+        partido.tomarEventos();
+    }
+
+    @Benchmark
+    public void agregarJugador(Blackhole bh) {
+        try {
+            partido.agregarJugador(nuevo);
+            partido.removerJugadorInterno(nuevo);
+        } catch (IllegalStateException e) {
+            bh.consume(e);
+        }
+        restaurar(bh);
+    }
+
+    @Benchmark
+    public void removerJugador(Blackhole bh) {
+        try {
+            partido.removerJugador(inscripto);
+            partido.agregarJugadorInterno(inscripto);
+        } catch (IllegalStateException e) {
+            bh.consume(e);
+        }
+        restaurar(bh);
+    }
+
+    private void restaurar(Blackhole bh) {
+        partido.setEstado(estadoInicial);
+        bh.consume(partido.tomarEventos());
+    }
+
+    static Zona zona() {
+        Ubicacion ubicacion = new Ubicacion();
+        ubicacion.setLatitud(-34.6036840);
+        ubicacion.setLongitud(-58.3815591);
+        return new Zona("Centro", "CABA", ubicacion);
+    }
+
+    static Partido partido(Zona zona) {
+        Partido partido = new Partido();
+        partido.setTitulo("Partido de benchmark");
+        partido.setFechaHora(LocalDateTime.now().plusDays(1));
+        partido.setZona(zona);
+        partido.setDeporte(new Deporte("Fútbol", "Deporte de equipo"));
+        partido.setNivel(Nivel.INTERMEDIO);
+        partido.setMinJugadores(MIN_JUGADORES);
+        partido.setMaxJugadores(MAX_JUGADORES);
+        partido.setDuracionMinutos(90);
+        return partido;
+    }
+
+    static Jugador jugador(int i, Zona zona) {
+        Jugador jugador = new Jugador("Jugador " + i, "j" + i + "@test.com", "password123", zona);
+        jugador.setTokenFCM("token-" + i);
+        return jugador;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartidoBenchmark.class.getSimpleName()).build()).run();
+    }
+}
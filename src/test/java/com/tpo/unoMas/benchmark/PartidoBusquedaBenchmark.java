@@ -0,0 +1,198 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.UnoMasApplication;
+import com.tpo.unoMas.model.Deporte;
+import com.tpo.unoMas.model.Jugador;
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.model.Ubicacion;
+import com.tpo.unoMas.model.Zona;
+import com.tpo.unoMas.model.dao.FiltroPartidos;
+import com.tpo.unoMas.model.entity.PartidoResumenDTO;
+import com.tpo.unoMas.model.estado.NecesitamosJugadores;
+import com.tpo.unoMas.service.IPartidoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de /api/partidos contra la aplicación completa (servicio, DAO, Hibernate y la base
+ * embebida) con 1M partidos repartidos en 60 días, 50 zonas y 8 deportes. SampleTime reporta
+ * los percentiles, p0.99 incluido. Antes de medir se imprime el plan de cada forma de consulta:
+ * el índice elegido tiene que ser el compuesto del filtro, recorrido en orden y sin ordenar aparte.
+ * <p>
+ * Contra MySQL (spring.datasource.* apuntando a la base) el mismo EXPLAIN muestra el rango sobre
+ * idx_partidos_deporte_nivel_fecha / idx_partidos_zona_fecha sin "Using filesort": InnoDB agrega
+ * el id al final de cada índice secundario, así que el orden (fecha_hora, id) sale del índice.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PartidoBusquedaBenchmark {
+
+    private static final int ZONAS = 50;
+    private static final int DEPORTES = 8;
+    private static final int DIAS = 60;
+    private static final int LOTE = 10_000;
+    private static final int LIMITE = 21;
+
+    @Param({"1000000"})
+    public int partidos;
+
+    private ConfigurableApplicationContext contexto;
+    private IPartidoService partidoService;
+    private List<Long> zonaIds;
+    private List<Long> deporteIds;
+    private LocalDateTime base;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(UnoMasApplication.class).web(WebApplicationType.NONE)
+                .properties("logging.level.root=WARN", "spring.jpa.show-sql=false")
+                .run();
+        partidoService = contexto.getBean(IPartidoService.class);
+        random = new SplittableRandom(42);
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        Long organizadorId = sembrarReferencias();
+        sembrarPartidos(organizadorId);
+
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("ANALYZE");
+        imprimirPlan(jdbcTemplate, "deporte_id = " + deporteIds.get(0) + " AND nivel_id = 'INTERMEDIO'",
+                "deporte_id, nivel_id");
+        imprimirPlan(jdbcTemplate, "zona_id = " + zonaIds.get(0) + " AND estado = 'N'", "zona_id");
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<PartidoResumenDTO> deporteYNivel() {
+        FiltroPartidos filtro = new FiltroPartidos(deporteAleatorio(), nivelAleatorio(), null, null,
+                fechaAleatoria(), null);
+        return partidoService.buscar(filtro, null, null, LIMITE, false);
+    }
+
+    @Benchmark
+    public List<PartidoResumenDTO> zonaSemana() {
+        LocalDateTime desde = fechaAleatoria();
+        FiltroPartidos filtro = new FiltroPartidos(null, null, zonaAleatoria(), NecesitamosJugadores.INSTANCIA,
+                desde, desde.plusDays(7));
+        return partidoService.buscar(filtro, null, null, LIMITE, false);
+    }
+
+    /**
+     * Una página en el medio del resultado: con keyset cuesta lo mismo que la primera.
+     */
+    @Benchmark
+    public List<PartidoResumenDTO> deporteYNivelPaginaSiguiente() {
+        FiltroPartidos filtro = new FiltroPartidos(deporteAleatorio(), nivelAleatorio(), null, null, null, null);
+        return partidoService.buscar(filtro, fechaAleatoria(), 0L, LIMITE, false);
+    }
+
+    private Long sembrarReferencias() {
+        EntityManager entityManager = contexto.getBean(EntityManagerFactory.class).createEntityManager();
+        zonaIds = new ArrayList<>();
+        deporteIds = new ArrayList<>();
+        try {
+            entityManager.getTransaction().begin();
+            for (int i = 0; i < ZONAS; i++) {
+                Ubicacion ubicacion = new Ubicacion();
+                ubicacion.setLatitud(-34.60 + i * 0.005);
+                ubicacion.setLongitud(-58.45 + i * 0.005);
+                Zona zona = new Zona("Barrio " + i, "CABA", ubicacion);
+                entityManager.persist(zona);
+                zonaIds.add(zona.getId());
+            }
+            for (int i = 0; i < DEPORTES; i++) {
+                Deporte deporte = new Deporte("Deporte " + i, "Deporte de prueba");
+                entityManager.persist(deporte);
+                deporteIds.add(deporte.getId());
+            }
+            Jugador organizador = new Jugador("Organizador", "organizador@benchmark.com", "password123",
+                    entityManager.find(Zona.class, zonaIds.get(0)));
+            entityManager.persist(organizador);
+            entityManager.getTransaction().commit();
+            return organizador.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void sembrarPartidos(Long organizadorId) {
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        String insert = "INSERT INTO partidos (titulo, fecha_hora, zona_id, deporte_id, nivel_id, confirmados, inscriptos, "
+                + "ultimo_turno_espera, en_espera, estado, organizador_id, min_jugadores, max_jugadores, "
+                + "duracion_minutos, version) VALUES (?, ?, ?, ?, ?, 0, 0, 0, 0, ?, ?, 10, 22, 90, 0)";
+        String[] estados = { "N", "N", "N", "A", "C", "F" };
+
+        long inicio = System.nanoTime();
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < partidos; i++) {
+            lote.add(new Object[] { "Partido " + i, Timestamp.valueOf(fechaAleatoria()), zonaAleatoria(),
+                    deporteAleatorio(), nivelAleatorio().name(), estados[random.nextInt(estados.length)],
+                    organizadorId });
+            if (lote.size() == LOTE) {
+                jdbcTemplate.batchUpdate(insert, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, lote);
+        }
+        System.out.println(partidos + " partidos sembrados en "
+                + TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio) + " s");
+    }
+
+    /**
+     * Plan de la consulta con el mismo ORDER BY que arma PartidoDAOImpl.buscar; "index sorted"
+     * indica que las filas salen en orden del índice y la lectura corta en el límite.
+     */
+    private static void imprimirPlan(JdbcTemplate jdbcTemplate, String filtro, String prefijoOrden) {
+        String consulta = "EXPLAIN SELECT id, fecha_hora FROM partidos WHERE " + filtro
+                + " AND fecha_hora >= CURRENT_TIMESTAMP ORDER BY " + prefijoOrden + ", fecha_hora, id LIMIT " + LIMITE;
+        System.out.println(String.join("\n", jdbcTemplate.queryForList(consulta, String.class)));
+    }
+
+    private LocalDateTime fechaAleatoria() {
+        return base.plusMinutes(random.nextInt(DIAS * 24 * 60));
+    }
+
+    private Long zonaAleatoria() {
+        return zonaIds.get(random.nextInt(ZONAS));
+    }
+
+    private Long deporteAleatorio() {
+        return deporteIds.get(random.nextInt(DEPORTES));
+    }
+
+    private Nivel nivelAleatorio() {
+        return Nivel.values()[random.nextInt(Nivel.values().length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartidoBusquedaBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package com.tpo.unoMas.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.tpo.unoMas.model.Jugador;
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.Zona;
+import com.tpo.unoMas.model.entity.PartidoDetalleDTO;
+import com.tpo.unoMas.service.PartidoServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de un partido con su plantel a PartidoDetalleDTO (GET /api/partidos/{id}) y
+ * serialización del DTO a JSON con Jackson, para plantel chico y de fútbol 11.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PartidoDetalleDTOBenchmark {
+
+    @Param({"10", "22"})
+    public int jugadores;
+
+    private Partido partido;
+    private PartidoDetalleDTO detalle;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        Zona zona = PartidoBenchmark.zona();
+        partido = PartidoBenchmark.partido(zona);
+        partido.setMaxJugadores(jugadores);
+        List<Jugador> plantel = new ArrayList<>();
+        for (int i = 0; i < jugadores; i++) {
+            Jugador jugador = PartidoBenchmark.jugador(i, zona);
+            partido.agregarJugador(jugador);
+            plantel.add(jugador);
+        }
+        // La mitad confirmada, para que el DTO lleve los dos valores
+        for (int i = 0; i < jugadores; i += 2) {
+            partido.confirmarAsistencia(plantel.get(i));
+        }
+        partido.tomarEventos();
+
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        detalle = PartidoServiceImpl.convertToDetalleDTO(partido);
+    }
+
+    @Benchmark
+    public PartidoDetalleDTO convertir() {
+        return PartidoServiceImpl.convertToDetalleDTO(partido);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(detalle);
+    }
+
+    @Benchmark
+    public byte[] convertirYSerializar() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(PartidoServiceImpl.convertToDetalleDTO(partido));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartidoDetalleDTOBenchmark.class.getSimpleName()).build()).run();
+    }
+}
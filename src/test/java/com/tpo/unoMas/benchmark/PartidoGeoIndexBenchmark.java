@@ -0,0 +1,73 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.service.PartidoGeoIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda "partidos cerca mío" sobre 100k partidos abiertos repartidos en el AMBA.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PartidoGeoIndexBenchmark {
+
+    private static final double LATITUD_CENTRO = -34.60;
+    private static final double LONGITUD_CENTRO = -58.45;
+    private static final double DISPERSION_GRADOS = 0.35;
+
+    @Param({"100000"})
+    public int partidos;
+
+    private PartidoGeoIndex indice;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        indice = new PartidoGeoIndex();
+        random = new SplittableRandom(42);
+        LocalDateTime manana = LocalDateTime.now().plusDays(1);
+        Nivel[] niveles = Nivel.values();
+
+        for (long id = 1; id <= partidos; id++) {
+            double latitud = LATITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+            double longitud = LONGITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+            indice.indexar(new PartidoGeoIndex.Entrada(id, "Partido " + id, manana, latitud, longitud,
+                    (long) random.nextInt(1, 6), niveles[random.nextInt(niveles.length)], 10,
+                    PartidoGeoIndex.celda(latitud, longitud)));
+        }
+    }
+
+    @Benchmark
+    public List<PartidoGeoIndex.Resultado> top20Radio5Km() {
+        return indice.buscarCercanos(latitudAleatoria(), longitudAleatoria(), 5, null, null, 20);
+    }
+
+    @Benchmark
+    public List<PartidoGeoIndex.Resultado> top20Radio10KmFiltrado() {
+        return indice.buscarCercanos(latitudAleatoria(), longitudAleatoria(), 10, 3L, Nivel.INTERMEDIO, 20);
+    }
+
+    private double latitudAleatoria() {
+        return LATITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+    }
+
+    private double longitudAleatoria() {
+        return LONGITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartidoGeoIndexBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.Nivel;
+import com.tpo.unoMas.service.PartidoGeoIndex;
+import com.tpo.unoMas.service.PartidoRecomendador;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomendaciones para jugadores al azar entre 1M perfiles, con 200k partidos abiertos
+ * repartidos en el AMBA durante la próxima semana.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PartidoRecomendadorBenchmark {
+
+    private static final double LATITUD_CENTRO = -34.60;
+    private static final double LONGITUD_CENTRO = -58.45;
+    private static final double DISPERSION_GRADOS = 0.35;
+    private static final int DEPORTES = 8;
+
+    @Param({"200000"})
+    public int partidos;
+
+    @Param({"1000000"})
+    public int jugadores;
+
+    private PartidoRecomendador recomendador;
+    private PartidoRecomendador.Perfil[] perfiles;
+    private LocalDateTime ahora;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        PartidoGeoIndex indice = new PartidoGeoIndex();
+        recomendador = new PartidoRecomendador(indice);
+        random = new SplittableRandom(42);
+        ahora = LocalDateTime.now();
+        Nivel[] niveles = Nivel.values();
+
+        for (long id = 1; id <= partidos; id++) {
+            double latitud = latitudAleatoria();
+            double longitud = longitudAleatoria();
+            LocalDateTime fechaHora = ahora.plusMinutes(random.nextInt(30, 7 * 24 * 60));
+            indice.indexar(new PartidoGeoIndex.Entrada(id, "Partido " + id, fechaHora, latitud, longitud,
+                    (long) random.nextInt(1, DEPORTES + 1), niveles[random.nextInt(niveles.length)], 10,
+                    PartidoGeoIndex.celda(latitud, longitud)));
+        }
+
+        perfiles = new PartidoRecomendador.Perfil[jugadores];
+        for (int i = 0; i < jugadores; i++) {
+            int cantidad = random.nextInt(1, 4);
+            List<PartidoRecomendador.Preferencia> preferencias = new ArrayList<>(cantidad);
+            for (int j = 0; j < cantidad; j++) {
+                preferencias.add(new PartidoRecomendador.Preferencia((long) random.nextInt(1, DEPORTES + 1),
+                        niveles[random.nextInt(niveles.length)], j == 0));
+            }
+            perfiles[i] = new PartidoRecomendador.Perfil(latitudAleatoria(), longitudAleatoria(), preferencias);
+        }
+    }
+
+    @Benchmark
+    public List<PartidoRecomendador.Recomendacion> top20Radio10Km() {
+        return recomendador.recomendar(perfiles[random.nextInt(jugadores)], 10, 20, Set.of(), ahora);
+    }
+
+    @Benchmark
+    public List<PartidoRecomendador.Recomendacion> top50Radio25Km() {
+        return recomendador.recomendar(perfiles[random.nextInt(jugadores)], 25, 50, Set.of(), ahora);
+    }
+
+    private double latitudAleatoria() {
+        return LATITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+    }
+
+    private double longitudAleatoria() {
+        return LONGITUD_CENTRO + (random.nextDouble() - 0.5) * DISPERSION_GRADOS;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PartidoRecomendadorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
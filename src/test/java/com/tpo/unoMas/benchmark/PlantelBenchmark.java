@@ -0,0 +1,114 @@
+package com.tpo.unoMas.benchmark;
+
+import com.tpo.unoMas.model.Jugador;
+import com.tpo.unoMas.model.Partido;
+import com.tpo.unoMas.model.Zona;
+import com.tpo.unoMas.model.estado.EstadoPartido;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de conjunto sobre jugadores (equals/hashCode) para un plantel de 22: el índice
+ * de inscripciones de Partido contra la vista getJugadores(), que arma un Set en cada llamada,
+ * y contra un HashSet de jugadores armado una sola vez. También la confirmación del plantel completo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlantelBenchmark {
+
+    private static final int JUGADORES = 22;
+
+    private Partido partido;
+    private Set<Jugador> jugadores;
+    private Jugador inscripto;
+    private Jugador ajeno;
+
+    @Setup
+    public void setUp() {
+        Zona zona = PartidoBenchmark.zona();
+        partido = PartidoBenchmark.partido(zona);
+        jugadores = new HashSet<>();
+        for (int i = 0; i < JUGADORES; i++) {
+            Jugador jugador = PartidoBenchmark.jugador(i, zona);
+            partido.agregarJugadorInterno(jugador);
+            jugadores.add(jugador);
+        }
+        inscripto = partido.getInscripciones().iterator().next().getJugador();
+        ajeno = PartidoBenchmark.jugador(-1, zona);
+        partido.tomarEventos();
+    }
+
+    @Benchmark
+    public boolean estaInscripto() {
+        return partido.estaInscripto(inscripto) & partido.estaInscripto(ajeno);
+    }
+
+    @Benchmark
+    public boolean vistaJugadoresContains() {
+        return partido.getJugadores().contains(inscripto) & partido.getJugadores().contains(ajeno);
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return jugadores.contains(inscripto) & jugadores.contains(ajeno);
+    }
+
+    @Benchmark
+    public boolean hashSetAgregarYRemover() {
+        return jugadores.add(ajeno) & jugadores.remove(ajeno);
+    }
+
+    @Benchmark
+    public int hashSetCopia() {
+        return new HashSet<>(jugadores).size();
+    }
+
+    /**
+     * Confirmación de un plantel completo de 22 (fútbol 11): 22 confirmaciones y la transición
+     * de PartidoArmado a Confirmado. Cada invocación recibe un partido recién armado.
+     */
+    @State(Scope.Thread)
+    public static class PlantelArmado {
+
+        Partido partido;
+        List<Jugador> jugadores;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            Zona zona = PartidoBenchmark.zona();
+            partido = PartidoBenchmark.partido(zona);
+            jugadores = new ArrayList<>(JUGADORES);
+            for (int i = 0; i < JUGADORES; i++) {
+                Jugador jugador = PartidoBenchmark.jugador(i, zona);
+                jugadores.add(jugador);
+                partido.agregarJugador(jugador);
+            }
+            partido.tomarEventos();
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public EstadoPartido confirmarAsistencia(PlantelArmado plantel) {
+        for (Jugador jugador : plantel.jugadores) {
+            plantel.partido.confirmarAsistencia(jugador);
+        }
+        return plantel.partido.getEstado();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PlantelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,255 @@
+package com.tpo.unoMas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tpo.unoMas.UnoMasApplication;
+import com.tpo.unoMas.model.entity.Cliente;
+import com.tpo.unoMas.model.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Prueba de carga que compara hilos de plataforma contra hilos virtuales sobre la aplicación real:
+ * por cada modo levanta el contexto en un puerto libre, crea un usuario y clientes de prueba y corre
+ * dos escenarios con carga.usuarios clientes HTTP concurrentes durante carga.segundos:
+ * <ul>
+ *   <li>login: POST /auth/login (JPA + BCrypt)</li>
+ *   <li>crud: POST, GET, PUT y DELETE de /api/clientes con un token ya emitido</li>
+ * </ul>
+ * Reporta throughput, p50/p99, errores y 503 (AdmisionFilter, pool BCrypt lleno). El modo virtual
+ * se omite, dejándolo anotado en el resultado, si la JVM es anterior a Java 21.
+ *
+ * Ejecutar con: mvn -Pcarga verify [-Dcarga.usuarios=200] [-Dcarga.segundos=20]
+ */
+public class CargaHilos {
+
+    private static final String USUARIO = "carga";
+    private static final String PASSWORD = "carga-password";
+    private static final int BORRABLES_POR_USUARIO = 100;
+
+    private final int usuarios = Integer.getInteger("carga.usuarios", 200);
+    private final int segundos = Integer.getInteger("carga.segundos", 20);
+    private final int calentamiento = Integer.getInteger("carga.calentamiento", 5);
+
+    public static void main(String[] args) throws Exception {
+        File salida = new File(args.length > 0 ? args[0] : "target/carga-result.json");
+        List<Map<String, Object>> resultados = new ArrayList<>();
+
+        // Sin el reinicio de devtools: cada modo levanta y cierra su propio contexto
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        CargaHilos carga = new CargaHilos();
+        resultados.addAll(carga.correr(false));
+        if (Runtime.version().feature() >= 21) {
+            resultados.addAll(carga.correr(true));
+        } else {
+            Map<String, Object> omitido = new LinkedHashMap<>();
+            omitido.put("modo", "virtual");
+            omitido.put("omitido", "Los hilos virtuales requieren Java 21+; JVM actual: " + Runtime.version());
+            resultados.add(omitido);
+            System.out.println("Modo virtual omitido: JVM " + Runtime.version());
+        }
+
+        salida.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(salida, resultados);
+        System.out.println("Resultados en " + salida.getAbsolutePath());
+        System.exit(0);
+    }
+
+    private List<Map<String, Object>> correr(boolean virtuales) throws Exception {
+        String modo = virtuales ? "virtual" : "plataforma";
+        ConfigurableApplicationContext contexto = new SpringApplicationBuilder(UnoMasApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtuales,
+                        "logging.level.root=WARN", "spring.jpa.show-sql=false",
+                        // Todos los clientes salen de la misma IP: sin límite de tasa se mide la capacidad
+                        "unomas.limite.politicas=")
+                .run();
+
+        try {
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            List<Long> propios = sembrar(contexto);
+            ConcurrentLinkedQueue<Long> borrables = new ConcurrentLinkedQueue<>(
+                    propios.subList(usuarios, propios.size()));
+
+            ExecutorService executor = Executors.newFixedThreadPool(usuarios);
+            HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5)).build();
+            try {
+                String token = new ObjectMapper().readTree(login(cliente, base).body()).get("accessToken").asText();
+
+                List<Map<String, Object>> resultados = new ArrayList<>();
+                resultados.add(escenario(modo, "login", executor, indice -> login(cliente, base).statusCode()));
+                resultados.add(escenario(modo, "crud", executor, indice -> crud(cliente, base, token,
+                        propios.get(indice), borrables)));
+                return resultados;
+            } finally {
+                executor.shutdownNow();
+            }
+        } finally {
+            contexto.close();
+        }
+    }
+
+    /**
+     * Crea el usuario del login y, por cada cliente HTTP, un cliente propio (GET y PUT)
+     * más BORRABLES_POR_USUARIO para los DELETE. Devuelve los ids en ese orden.
+     */
+    private List<Long> sembrar(ConfigurableApplicationContext contexto) {
+        String hash = contexto.getBean(BCryptPasswordEncoder.class).encode(PASSWORD);
+        EntityManager entityManager = contexto.getBean(EntityManagerFactory.class).createEntityManager();
+        List<Long> ids = new ArrayList<>();
+        try {
+            entityManager.getTransaction().begin();
+            entityManager.persist(new Usuario(USUARIO, hash));
+            for (int i = 0; i < usuarios * (1 + BORRABLES_POR_USUARIO); i++) {
+                Cliente nuevo = new Cliente("Nombre " + i, "Apellido " + i, "cliente" + i + "@carga.com", new Date());
+                entityManager.persist(nuevo);
+                ids.add(nuevo.getId());
+            }
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+        return ids;
+    }
+
+    private Map<String, Object> escenario(String modo, String nombre, ExecutorService executor, Operacion operacion)
+            throws Exception {
+        System.out.println("Escenario " + nombre + " (" + modo + "): " + usuarios + " usuarios, "
+                + calentamiento + " s de calentamiento + " + segundos + " s");
+        medir(executor, operacion, calentamiento);
+        Medicion medicion = medir(executor, operacion, segundos);
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("modo", modo);
+        resultado.put("escenario", nombre);
+        resultado.put("java", Runtime.version().toString());
+        resultado.put("usuarios", usuarios);
+        resultado.put("segundos", segundos);
+        resultado.put("requests", medicion.latencias.length);
+        resultado.put("throughputPorSegundo", Math.round(medicion.latencias.length / (double) segundos));
+        resultado.put("p50Ms", percentil(medicion.latencias, 0.50));
+        resultado.put("p99Ms", percentil(medicion.latencias, 0.99));
+        resultado.put("rechazos503", medicion.rechazos);
+        resultado.put("errores", medicion.errores);
+        System.out.println("  " + resultado);
+        return resultado;
+    }
+
+    private Medicion medir(ExecutorService executor, Operacion operacion, int duracionSegundos) throws Exception {
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(duracionSegundos);
+        List<Future<Medicion>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < usuarios; i++) {
+            int indice = i;
+            futuros.add(executor.submit(() -> {
+                Medicion parcial = new Medicion();
+                long[] latencias = new long[1024];
+                int cantidad = 0;
+                while (System.nanoTime() < fin) {
+                    long inicio = System.nanoTime();
+                    int status;
+                    try {
+                        status = operacion.ejecutar(indice);
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (cantidad == latencias.length) {
+                        latencias = Arrays.copyOf(latencias, cantidad * 2);
+                    }
+                    latencias[cantidad++] = System.nanoTime() - inicio;
+                    if (status == 503) {
+                        parcial.rechazos++;
+                    } else if (status < 200 || status >= 300) {
+                        parcial.errores++;
+                    }
+                }
+                parcial.latencias = Arrays.copyOf(latencias, cantidad);
+                return parcial;
+            }));
+        }
+
+        Medicion total = new Medicion();
+        List<long[]> todas = new ArrayList<>();
+        for (Future<Medicion> futuro : futuros) {
+            Medicion parcial = futuro.get();
+            total.rechazos += parcial.rechazos;
+            total.errores += parcial.errores;
+            todas.add(parcial.latencias);
+        }
+        total.latencias = todas.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return total;
+    }
+
+    private static HttpResponse<String> login(HttpClient cliente, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + USUARIO + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        return cliente.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Una vuelta de CRUD: alta, lectura y modificación del cliente propio y baja de uno sembrado.
+     * Devuelve el primer status fuera de 2xx, o 200 si todas salieron bien.
+     */
+    private static int crud(HttpClient cliente, String base, String token, Long propio,
+            ConcurrentLinkedQueue<Long> borrables) throws Exception {
+        String json = "{\"nombre\":\"Carga\",\"apellido\":\"Test\",\"email\":\"carga@test.com\"}";
+        List<HttpRequest> requests = new ArrayList<>();
+        requests.add(autenticado(base + "/api/clientes", token)
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build());
+        requests.add(autenticado(base + "/api/clientes/" + propio, token).GET().build());
+        requests.add(autenticado(base + "/api/clientes/" + propio, token)
+                .PUT(HttpRequest.BodyPublishers.ofString(json)).build());
+        Long borrable = borrables.poll();
+        if (borrable != null) {
+            requests.add(autenticado(base + "/api/clientes/" + borrable, token).DELETE().build());
+        }
+
+        for (HttpRequest request : requests) {
+            int status = cliente.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status < 200 || status >= 300) {
+                return status;
+            }
+        }
+        return 200;
+    }
+
+    private static HttpRequest.Builder autenticado(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return Math.round(ordenadas[Math.max(indice, 0)] / 10_000.0) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface Operacion {
+        int ejecutar(int indice) throws Exception;
+    }
+
+    private static final class Medicion {
+        long[] latencias;
+        long rechazos;
+        long errores;
+    }
+}